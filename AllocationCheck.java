@@ -0,0 +1,67 @@
+//------------------------------------------------------------------------------------------
+// AllocationCheck.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (AllocationCheck), which counts the allocated bytes per
+// loop in the simulator. It measures the sampling path of the SampleBus on its own and the
+// complete loop of the autopilot (with the EventLog and a FlightRecorder switched on)
+// while the robot drives straight over a long table. Both values must be 0 in the steady
+// state.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.File;
+import java.io.IOException;
+
+public class AllocationCheck {
+
+
+    public static void main(String[] args) throws IOException {
+      SimTable table = new SimTable(1000, 100);
+      table.setRobotStart(30, 50, 0);
+
+      // sampling path only
+      SimWorld world = new SimWorld(table, 1);
+      SampleBus bus = new SampleBus(new SimTouchSensor(world, true),
+          new SimTouchSensor(world, false), new SimInfraredSensor(world));
+      AllocationCounter sampling = new AllocationCounter(10000);
+      for (int i = 0; i < 110000; i++) {
+        sampling.tickStart();
+        bus.sampleTouch();
+        bus.sampleDistance();
+        sampling.tickEnd();
+      }
+
+      // complete loop of the autopilot
+      Simulator simulator = new Simulator(table, 1);
+      AllocationCounter loop = new AllocationCounter(500);
+      simulator.getController().setAllocationCounter(loop);
+      simulator.getController().getEventLog().setConsoleMirroring(true);
+      File recording = File.createTempFile("flight", ".rec");
+      recording.deleteOnExit();
+      FlightRecorder recorder = new FlightRecorder(recording, 1024);
+      simulator.getController().setFlightRecorder(recorder);
+      simulator.runAutopilot(true, 60000);
+      recorder.close();
+
+      if (!sampling.isSupported()) {
+        System.out.println("allocation counting is not supported by this JVM");
+        return;
+      }
+      report("sampling path", sampling);
+      report("autopilot loop", loop);
+    }
+
+
+    private static void report(String name, AllocationCounter counter) {
+      System.out.printf("%-15s %8d ticks, %10d bytes, %8.1f bytes/tick, max %d bytes%n",
+          name, counter.getTicks(), counter.getTotalBytes(), counter.getBytesPerTick(),
+          counter.getMaxTickBytes());
+    }
+}
@@ -0,0 +1,133 @@
+//------------------------------------------------------------------------------------------
+// AllocationCounter.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (AllocationCounter), which counts the bytes allocated by the
+// control thread in each loop of the autopilot. It uses the allocation counter of the
+// HotSpot JVM (com.sun.management.ThreadMXBean), on JVMs without this counter all values
+// stay 0 and isSupported() returns false. The own overhead of reading the counter gets
+// measured once and subtracted.
+//
+// Following methods are available:
+//
+// tickStart () / tickEnd ()  enclose one loop of the control thread
+//
+// getTicks () / getTotalBytes () / getMaxTickBytes ()  results after the warm-up
+//
+// isSupported ()  true if the JVM counts allocations
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.lang.management.ManagementFactory;
+
+
+public class AllocationCounter {
+
+
+    private final com.sun.management.ThreadMXBean bean;
+    private final long threadId;
+    private final long warmupTicks;
+    private long overhead;
+
+    private long startBytes;
+    private long seenTicks, ticks, totalBytes, maxTickBytes;
+
+
+    //constructor, counts the allocations of the calling thread,
+    //the first warmupTicks loops are not counted
+    public AllocationCounter(long warmupTicks) {
+      java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if (threads instanceof com.sun.management.ThreadMXBean
+          && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+        this.bean = (com.sun.management.ThreadMXBean) threads;
+        this.bean.setThreadAllocatedMemoryEnabled(true);
+      }
+      else {
+        this.bean = null;
+      }
+      this.threadId = Thread.currentThread().getId();
+      this.warmupTicks = warmupTicks;
+      this.overhead = calibrate();
+    }
+
+
+    //-------------------------------------------------------
+    //calibrate ()
+    //  measures the bytes which are allocated by reading the
+    //  counter itself
+    //-------------------------------------------------------
+    private long calibrate() {
+      long least = Long.MAX_VALUE;
+      for (int i = 0; i < 1000; i++) {
+        long before = allocatedBytes();
+        long after = allocatedBytes();
+        least = Math.min(least, after - before);
+      }
+      return least;
+    }
+
+
+    private long allocatedBytes() {
+      return bean == null ? 0 : bean.getThreadAllocatedBytes(threadId);
+    }
+
+
+    //-------------------------------------------------------
+    //tickStart ()
+    //  marks the start of a loop
+    //-------------------------------------------------------
+    public void tickStart() {
+      startBytes = allocatedBytes();
+    }
+
+
+    //-------------------------------------------------------
+    //tickEnd ()
+    //  marks the end of a loop, the allocated bytes get
+    //  counted after the warm-up
+    //-------------------------------------------------------
+    public void tickEnd() {
+      long bytes = Math.max(0, allocatedBytes() - startBytes - overhead);
+      if (seenTicks++ < warmupTicks) {
+        return;
+      }
+      ticks++;
+      totalBytes += bytes;
+      if (bytes > maxTickBytes) {
+        maxTickBytes = bytes;
+      }
+    }
+
+
+    public boolean isSupported() {
+      return bean != null;
+    }
+
+
+    // counted loops after the warm-up
+    public long getTicks() {
+      return ticks;
+    }
+
+
+    public long getTotalBytes() {
+      return totalBytes;
+    }
+
+
+    public long getMaxTickBytes() {
+      return maxTickBytes;
+    }
+
+
+    // mean allocated bytes per loop
+    public double getBytesPerTick() {
+      return ticks == 0 ? 0 : (double) totalBytes / ticks;
+    }
+}
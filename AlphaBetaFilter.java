@@ -0,0 +1,118 @@
+//------------------------------------------------------------------------------------------
+// AlphaBetaFilter.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (AlphaBetaFilter), a DistanceFilter which tracks the
+// distance and its change per reading (alpha-beta filter). Every reading is compared with
+// the prediction of the filter: the distance is corrected by alpha times the difference,
+// the change per reading by beta times the difference. Because the change is tracked, an
+// approaching barrier is followed without the lag of an average.
+//
+// Readings which differ from the prediction by more than the gate are outliers, they are
+// rejected and the filter keeps its prediction. After more than maxOutliers rejected
+// readings in a row the distance really changed (the robot turned towards a barrier) and
+// the filter starts again at the new reading. A filter step takes constant time.
+//
+// Following methods are available:
+//
+// DistanceFilter methods
+//
+// getRejected ()  number of rejected readings since the start
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class AlphaBetaFilter implements DistanceFilter {
+
+
+    private final float alpha, beta, gate;
+    private final int maxOutliers;
+
+    // estimated distance and change per reading
+    private float distance = Float.NaN, change;
+    private int outliers;
+    private long rejected;
+
+
+    //constructor, gate is the largest accepted difference from the prediction
+    //and maxOutliers the number of readings which get rejected in a row
+    public AlphaBetaFilter(float alpha, float beta, float gate, int maxOutliers) {
+      if (alpha <= 0 || alpha > 1 || beta < 0 || beta > 2) {
+        throw new IllegalArgumentException("alpha must be in (0, 1], beta in [0, 2]");
+      }
+      this.alpha = alpha;
+      this.beta = beta;
+      this.gate = gate;
+      this.maxOutliers = maxOutliers;
+    }
+
+
+    //-------------------------------------------------------
+    //add (float sample)
+    //  corrects the prediction with the reading, an outlier
+    //  is replaced by the prediction. NaN readings are
+    //  ignored.
+    //
+    // Effect:
+    //  returns the filtered distance
+    //-------------------------------------------------------
+    @Override
+    public float add(float sample) {
+      if (Float.isNaN(sample)) {
+        return distance;
+      }
+      if (Float.isNaN(distance)) {
+        distance = sample;
+        change = 0;
+        return distance;
+      }
+
+      float predicted = distance + change;
+      float residual = sample - predicted;
+
+      if (Math.abs(residual) > gate) {
+        if (outliers < maxOutliers) {
+          outliers++;
+          rejected++;
+          distance = predicted;
+          return distance;
+        }
+
+        // the distance jumped, the filter starts at the new reading
+        outliers = 0;
+        distance = sample;
+        change = 0;
+        return distance;
+      }
+
+      outliers = 0;
+      distance = predicted + alpha * residual;
+      change += beta * residual;
+      return distance;
+    }
+
+
+    @Override
+    public float value() {
+      return distance;
+    }
+
+
+    @Override
+    public void reset() {
+      distance = Float.NaN;
+      change = 0;
+      outliers = 0;
+    }
+
+
+    public long getRejected() {
+      return rejected;
+    }
+}
@@ -0,0 +1,164 @@
+//------------------------------------------------------------------------------------------
+// ArmBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (ArmBenchmark), which measures the pick/drop cycle of the
+// arm in the simulated world: a lift followed by a drop, queued in the ManeuverEngine at the
+// pace of lifting() and dropping() (200 degrees per second, 230 per second squared) and
+// advanced once per tick until the engine is idle. Three modes are compared:
+//
+//     timed      the arm runs for armDuration (1500 ms) without motion profile
+//     profile    the arm follows its motion profile and ends with it (the default so far)
+//     position   the ArmController is calibrated once, the arm goes to the measured
+//                positions with rotateTo() and the maneuver ends when it got there
+//
+// For every mode the time of the lift, the drop and the whole cycle is printed, the time the
+// arm motor pushed against an end stop and the end positions of the arm. A lift has to end
+// above the grip angle of the world, a drop below the release angle.
+//
+// Afterwards the mission mode runs on many random tables without and with the calibrated
+// arm, the calibration is done before the run and does not count to the mission time.
+//
+// usage: ArmBenchmark [runs] [seed] [threads]   (default 300 1 1)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class ArmBenchmark {
+
+
+    // modes of the arm
+    private static final int TIMED = 0, PROFILE = 1, POSITION = 2;
+    private static final String[] MODES = {"timed", "profile", "position"};
+
+    // pace and duration of lifting() and dropping()
+    private static final int ARM_SPEED = 200, ARM_ACCELERATION = 230, ARM_DURATION = 1500;
+
+    // cycles per mode, the first one starts from the lowered arm
+    private static final int CYCLES = 5;
+
+    private static final long TICK = InfraredSignalCheckerThread.CONTROL_PERIOD * 1000000L;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+      System.out.printf("%-9s %8s %8s %8s %9s %8s %8s %7s%n", "mode", "lift", "drop", "cycle",
+          "end stop", "raised", "lowered", "stalls");
+      for (int mode = TIMED; mode <= POSITION; mode++) {
+        cycle(mode);
+      }
+
+      System.out.println();
+      mission(runs, seed, threads, false);
+      mission(runs, seed, threads, true);
+    }
+
+
+    //-------------------------------------------------------
+    //cycle (int mode)
+    //  lifts and drops with the arm CYCLES times and prints
+    //  the mean times of one line of the table
+    //-------------------------------------------------------
+    private static void cycle(int mode) {
+      SimTable table = new SimTable(1000, 1000);
+      SimWorld world = new SimWorld(table, 1);
+      VirtualClock clock = world.getClock();
+      clock.setDeadline(Long.MAX_VALUE);
+
+      MotorPair drive = new MotorPair(new CachingMotorDevice(world.getLeftMotor()),
+          new CachingMotorDevice(world.getRightMotor()));
+      CachingMotorDevice armMotor = new CachingMotorDevice(world.getArmMotor());
+      PoseEstimator pose = new PoseEstimator();
+      ManeuverEngine engine = new ManeuverEngine(drive, armMotor, pose);
+      engine.setProfiled(mode != TIMED);
+      pose.reset(drive.getLeft().getTachoCount(), drive.getRight().getTachoCount());
+
+      ArmController arm = new ArmController(armMotor, clock);
+      engine.setArmController(arm);
+      long calibration = 0;
+      if (mode == POSITION) {
+        arm.calibrate();
+        calibration = arm.getCalibrationNanos();
+      }
+
+      long lift = 0, drop = 0;
+      long[] stalled = new long[1];
+      double raised = SimWorld.ARM_TOP, lowered = SimWorld.ARM_BOTTOM;
+      for (int i = 0; i < CYCLES; i++) {
+        armMotor.setSpeed(ARM_SPEED);
+        armMotor.setAcceleration(ARM_ACCELERATION);
+        engine.lift(ARM_DURATION);
+        lift += run(engine, clock, world.getArmMotor(), stalled);
+        raised = Math.max(raised, world.getArmMotor().getPosition());
+
+        engine.drop(ARM_DURATION);
+        drop += run(engine, clock, world.getArmMotor(), stalled);
+        lowered = Math.min(lowered, world.getArmMotor().getPosition());
+      }
+
+      System.out.printf("%-9s %5d ms %5d ms %5d ms %6d ms %8.1f %8.1f %7d%n", MODES[mode],
+          lift / CYCLES / 1000000L, drop / CYCLES / 1000000L, (lift + drop) / CYCLES / 1000000L,
+          stalled[0] / CYCLES / 1000000L, raised, lowered, arm.getStalls());
+      if (mode == POSITION) {
+        System.out.printf("%-9s calibration %d ms once, open %d, closed %d%n", "",
+            calibration / 1000000L, arm.getOpen(), arm.getClosed());
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //run (ManeuverEngine engine, VirtualClock clock,
+    //     SimMotor arm, long[] stalled)
+    //  advances the engine once per tick until it is idle
+    //
+    // Effect:
+    //  returns the virtual time in nanoseconds, stalled
+    //  sums the time the arm pushed against an end stop
+    //-------------------------------------------------------
+    private static long run(ManeuverEngine engine, VirtualClock clock, SimMotor arm,
+        long[] stalled) {
+      long start = clock.nanoTime();
+      boolean running = true;
+      while (running) {
+        clock.advance(TICK);
+        if (arm.isStalledAtEndStop()) {
+          stalled[0] += TICK;
+        }
+        running = engine.advance(clock.nanoTime());
+      }
+      return clock.nanoTime() - start;
+    }
+
+
+    //-------------------------------------------------------
+    //mission (int runs, long seed, int threads,
+    //         boolean calibrated)
+    //  runs the mission mode on random tables and prints
+    //  the result of the fleet
+    //-------------------------------------------------------
+    private static void mission(int runs, long seed, int threads, final boolean calibrated) {
+      FleetSimulator fleet = new FleetSimulator(threads) {
+        @Override
+        protected Simulator newSimulator(long seed) {
+          Simulator simulator = super.newSimulator(seed);
+          if (calibrated) {
+            simulator.getController().calibrateArm();
+          }
+          return simulator;
+        }
+      };
+      fleet.setMission(true);
+      FleetResult result = fleet.run(seed, runs);
+      fleet.shutdown();
+      System.out.printf("%-9s %s%n", calibrated ? "position" : "profile", result);
+    }
+}
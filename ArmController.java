@@ -0,0 +1,258 @@
+//------------------------------------------------------------------------------------------
+// ArmController.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (ArmController), which moves the arm with the claw to
+// measured positions instead of running the arm motor for a fixed time. calibrate() runs
+// the arm slowly against both end stops once at startup and takes the tacho counts there:
+// the arm lowered is the open position, the arm raised holds the object (closed). Both
+// positions keep MARGIN degrees from the end stops, so the motor never pushes against them.
+//
+// A movement (open(), close()) sends rotateTo(), the regulator of the motor stops it at the
+// position. The movement keeps the limits of the arm profiles of the ManeuverEngine
+// (ARM_SPEED, ARM_ACCELERATION, ARM_JERK), as the arm carries the object: a MotionProfile
+// is planned over the distance to the position and isDone() streams its speed to the
+// motor, at least SETTLE_SPEED, so the regulator brakes from a low speed at the position.
+// isDone() is called once per tick and returns true as soon as the tacho count is within
+// TOLERANCE of the position. If the tacho count did not
+// change for STALL_TIME, the arm is blocked (e.g. by an object under the claw): the motor
+// gets stopped and the movement counts as done and as stall.
+//
+// Following methods are available:
+//
+// calibrate ()  finds the end stops and moves the arm to the open position, blocking
+//
+// open (long now) / close (long now)  starts a movement to a position
+//
+// isDone (long now)  true when the position is reached or the arm stalled
+//
+// stop ()  stops a running movement
+//
+// isCalibrated () / getOpen () / getClosed ()  the calibrated positions
+//
+// getStalls () / getLastMove () / getCalibrationNanos ()  measurements
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class ArmController {
+
+
+    // lowest speed of a movement in degrees per second, it starts and
+    // settles with it, and the speed of calibrating
+    public static final int SETTLE_SPEED = 30;
+    public static final int CALIBRATION_SPEED = 120;
+
+    // distance in degrees of the positions from the end stops, the
+    // accepted deviation from a position and the smallest travel
+    // between the end stops which is taken as calibrated
+    public static final int MARGIN = 5, TOLERANCE = 2, MIN_TRAVEL = 90;
+
+    // time in ms without a change of the tacho count by STALL_ANGLE
+    // degrees after which the arm counts as stalled, the pause
+    // between two looks while calibrating and the longest search
+    // for an end stop
+    public static final int STALL_TIME = 100, STALL_ANGLE = 1;
+    public static final int POLL = 10;
+    public static final int CALIBRATION_TIMEOUT = 5000;
+
+
+    private final MotorDevice motor;
+    private final RobotClock clock;
+    private final MotionProfile profile = new MotionProfile(ManeuverEngine.ARM_ACCELERATION,
+        ManeuverEngine.ARM_JERK);
+
+    // positions as tacho counts
+    private boolean calibrated;
+    private int open, closed;
+    private long calibrationNanos;
+
+    // running movement and the last change of the tacho count
+    private boolean moving;
+    private int target;
+    private int lastTacho;
+    private long lastChange, moveStart, lastMove;
+    private long stalls;
+
+
+    //constructor, the arm motor and the clock for calibrating
+    public ArmController(MotorDevice motor, RobotClock clock) {
+      this.motor = motor;
+      this.clock = clock;
+    }
+
+
+    //-------------------------------------------------------
+    //calibrate ()
+    //  lowers the arm to its end stop, raises it to the other
+    //  one and moves it to the open position. Blocks until
+    //  the arm is there.
+    //
+    // Effect:
+    //  the positions are set, throws IllegalStateException
+    //  if an end stop was not found or the travel between
+    //  them is too short
+    //-------------------------------------------------------
+    public void calibrate() {
+      long start = clock.nanoTime();
+      motor.setSpeed(CALIBRATION_SPEED);
+      motor.setAcceleration(ManeuverEngine.ARM_ACCELERATION);
+      int lowered = findEndStop(true);
+      int raised = findEndStop(false);
+      if (lowered - raised < MIN_TRAVEL) {
+        throw new IllegalStateException("arm travels only " + (lowered - raised) + " degrees");
+      }
+      open = lowered - MARGIN;
+      closed = raised + MARGIN;
+      calibrated = true;
+
+      motor.setSpeed(ManeuverEngine.ARM_SPEED);
+      motor.rotateTo(open, false);
+      calibrationNanos = clock.nanoTime() - start;
+    }
+
+
+    // runs the arm until it stalls, forward lowers the arm
+    private int findEndStop(boolean forward) {
+      if (forward) {
+        motor.forward();
+      }
+      else {
+        motor.backward();
+      }
+      long start = clock.nanoTime();
+      long changed = start;
+      int last = motor.getTachoCount();
+      while (true) {
+        clock.msDelay(POLL);
+        long now = clock.nanoTime();
+        int tacho = motor.getTachoCount();
+        if (Math.abs(tacho - last) >= STALL_ANGLE) {
+          last = tacho;
+          changed = now;
+        }
+        else if (now - changed >= STALL_TIME * 1000000L) {
+          break;
+        }
+        if (now - start > CALIBRATION_TIMEOUT * 1000000L) {
+          motor.stop();
+          throw new IllegalStateException("arm end stop not found");
+        }
+      }
+      motor.stop();
+      return motor.getTachoCount();
+    }
+
+
+    // lowers the arm, the claw releases the object
+    public void open(long now) {
+      moveTo(open, now);
+    }
+
+
+    // raises the arm, the claw holds the object
+    public void close(long now) {
+      moveTo(closed, now);
+    }
+
+
+    private void moveTo(int position, long now) {
+      if (!calibrated) {
+        throw new IllegalStateException("arm not calibrated");
+      }
+      profile.plan(Math.abs(position - motor.getTachoCount()), ManeuverEngine.ARM_SPEED);
+      motor.setSpeed(SETTLE_SPEED);
+      motor.setAcceleration(ManeuverEngine.ARM_ACCELERATION);
+      motor.rotateTo(position, true);
+      target = position;
+      lastTacho = motor.getTachoCount();
+      lastChange = now;
+      moveStart = now;
+      moving = true;
+    }
+
+
+    //-------------------------------------------------------
+    //isDone (long now)
+    //  checks the running movement and sets the speed of its
+    //  profile, called once per tick
+    //
+    // Effect:
+    //  returns true when the arm is at the position or when
+    //  it stalled, a stalled arm gets stopped
+    //-------------------------------------------------------
+    public boolean isDone(long now) {
+      if (!moving) {
+        return true;
+      }
+      int tacho = motor.getTachoCount();
+      if (Math.abs(tacho - target) <= TOLERANCE) {
+        moving = false;
+        lastMove = now - moveStart;
+        return true;
+      }
+      double t = (now - moveStart) / 1e9;
+      motor.setSpeed((int) Math.max(SETTLE_SPEED, profile.speed(t)));
+      if (Math.abs(tacho - lastTacho) >= STALL_ANGLE) {
+        lastTacho = tacho;
+        lastChange = now;
+      }
+      else if (now - lastChange >= STALL_TIME * 1000000L) {
+        motor.stop(true);
+        stalls++;
+        moving = false;
+        lastMove = now - moveStart;
+        return true;
+      }
+      return false;
+    }
+
+
+    // stops a movement which did not reach its position
+    public void stop() {
+      if (moving) {
+        motor.stop(true);
+        moving = false;
+      }
+    }
+
+
+    public boolean isCalibrated() {
+      return calibrated;
+    }
+
+
+    // tacho count of the lowered arm
+    public int getOpen() {
+      return open;
+    }
+
+
+    // tacho count of the raised arm
+    public int getClosed() {
+      return closed;
+    }
+
+
+    // movements which ended because the arm stalled
+    public long getStalls() {
+      return stalls;
+    }
+
+
+    // time of the last finished movement in nanoseconds
+    public long getLastMove() {
+      return lastMove;
+    }
+
+
+    public long getCalibrationNanos() {
+      return calibrationNanos;
+    }
+}
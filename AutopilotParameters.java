@@ -0,0 +1,156 @@
+//------------------------------------------------------------------------------------------
+// AutopilotParameters.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (AutopilotParameters), the numbers which decide how the
+// autopilot drives: the infrared threshold of a barrier, the paces of the drive motors,
+// the angles of the turns, the distances of the back-ups and the time of the arm
+// movements. A new parameter set holds the values the autopilot was built with, the
+// constants of InfraredSignalCheckerThread. The controller reads the set it was given
+// with setParameters(), the AutopilotTuner searches better values in the simulator.
+//
+// The cruising pace is only used without SpeedGovernor. The timed arm movements end
+// earlier with the motion profiles of the ManeuverEngine.
+//
+// Following methods are available:
+//
+// get (int index) / set (int index, float value)  a parameter by its index in NAMES
+//
+// copy ()  a new set with the same values
+//
+// check ()  throws an IllegalArgumentException if a value is out of its range
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class AutopilotParameters {
+
+
+    // names of the parameters in the order of get() and set()
+    public static final String[] NAMES = {
+      "obstacleDistance", "cruiseSpeed", "cruiseAcceleration", "edgeSpeed", "edgeAcceleration",
+      "dropSpeed", "dropAcceleration", "barrierTurn", "edgeTurn", "case4Turn",
+      "edgeBackUp", "barrierBackUp", "dodgeBackUp", "shortBackUp", "armDuration",
+    };
+
+    // filtered infrared distance below which a barrier is reported
+    public float obstacleDistance = InfraredSignalCheckerThread.OBSTACLE_DISTANCE;
+
+    // paces of the drive motors in degrees per second and degrees per
+    // second squared: cruising without governor, near the edge and
+    // backing away after the drop
+    public int cruiseSpeed = 270, cruiseAcceleration = 220;
+    public int edgeSpeed = 220, edgeAcceleration = 200;
+    public int dropSpeed = 700, dropAcceleration = 300;
+
+    // angles of the turns in degrees
+    public int barrierTurn = InfraredSignalCheckerThread.BARRIER_TURN;
+    public int edgeTurn = InfraredSignalCheckerThread.EDGE_TURN;
+    public int case4Turn = InfraredSignalCheckerThread.CASE_4_TURN;
+
+    // distances of the back-ups in cm
+    public int edgeBackUp = InfraredSignalCheckerThread.EDGE_BACK_UP;
+    public int barrierBackUp = InfraredSignalCheckerThread.BARRIER_BACK_UP;
+    public int dodgeBackUp = InfraredSignalCheckerThread.DODGE_BACK_UP;
+    public int shortBackUp = InfraredSignalCheckerThread.SHORT_BACK_UP;
+
+    // time of lifting and dropping the brick in ms
+    public int armDuration = 1500;
+
+
+    //-------------------------------------------------------
+    //get (int index)
+    //  value of the parameter NAMES[index]
+    //-------------------------------------------------------
+    public float get(int index) {
+      switch (index) {
+        case 0: return obstacleDistance;
+        case 1: return cruiseSpeed;
+        case 2: return cruiseAcceleration;
+        case 3: return edgeSpeed;
+        case 4: return edgeAcceleration;
+        case 5: return dropSpeed;
+        case 6: return dropAcceleration;
+        case 7: return barrierTurn;
+        case 8: return edgeTurn;
+        case 9: return case4Turn;
+        case 10: return edgeBackUp;
+        case 11: return barrierBackUp;
+        case 12: return dodgeBackUp;
+        case 13: return shortBackUp;
+        case 14: return armDuration;
+        default: throw new IllegalArgumentException("unknown parameter " + index);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //set (int index, float value)
+    //  sets the parameter NAMES[index], the integer
+    //  parameters get rounded
+    //-------------------------------------------------------
+    public void set(int index, float value) {
+      int rounded = Math.round(value);
+      switch (index) {
+        case 0: obstacleDistance = value; break;
+        case 1: cruiseSpeed = rounded; break;
+        case 2: cruiseAcceleration = rounded; break;
+        case 3: edgeSpeed = rounded; break;
+        case 4: edgeAcceleration = rounded; break;
+        case 5: dropSpeed = rounded; break;
+        case 6: dropAcceleration = rounded; break;
+        case 7: barrierTurn = rounded; break;
+        case 8: edgeTurn = rounded; break;
+        case 9: case4Turn = rounded; break;
+        case 10: edgeBackUp = rounded; break;
+        case 11: barrierBackUp = rounded; break;
+        case 12: dodgeBackUp = rounded; break;
+        case 13: shortBackUp = rounded; break;
+        case 14: armDuration = rounded; break;
+        default: throw new IllegalArgumentException("unknown parameter " + index);
+      }
+    }
+
+
+    public AutopilotParameters copy() {
+      AutopilotParameters copy = new AutopilotParameters();
+      for (int i = 0; i < NAMES.length; i++) {
+        copy.set(i, get(i));
+      }
+      return copy;
+    }
+
+
+    //-------------------------------------------------------
+    //check ()
+    //  checks the ranges: paces between 0 and 700 like in
+    //  customDrivingPace(), positive angles, distances and
+    //  times
+    //-------------------------------------------------------
+    public void check() {
+      for (int i = 0; i < NAMES.length; i++) {
+        float value = get(i);
+        if (value <= 0 || (i >= 1 && i <= 6 && value > 700)) {
+          throw new IllegalArgumentException(NAMES[i] + " out of range: " + value);
+        }
+      }
+    }
+
+
+    @Override
+    public String toString() {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < NAMES.length; i++) {
+        float value = get(i);
+        text.append(String.format("%-20s %s%n", NAMES[i],
+            i == 0 ? String.valueOf(value) : String.valueOf((int) value)));
+      }
+      return text.toString();
+    }
+}
@@ -0,0 +1,198 @@
+//------------------------------------------------------------------------------------------
+// AutopilotTuner.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (AutopilotTuner), which searches the AutopilotParameters
+// with the shortest mission time in the simulator. Every parameter set is rated by a
+// FleetSimulator, which runs the mission mode on the same random tables in all threads of
+// the machine. A set is better than another one if fewer robots fell off the table, with
+// the same number of falls if the mean mission time is shorter (a run which timed out
+// counts with its timeout), so the search goes for zero falls first.
+//
+// The search is a simple evolution: every generation CHILDREN copies of the best set get
+// one to three parameters changed by a random number of steps within their range, the
+// best one of them replaces the best set if it is better. The cruising pace is not
+// searched, as the SpeedGovernor sets the speed of driving forward.
+//
+// At the end the best set and the default set run on other tables, which were not used
+// for the search. The best set is only printed if no robot fell off the table with it,
+// neither on the searched tables nor on the other ones: a set with falls is never a
+// result, the tuner reports that no set reached zero falls and the defaults stay.
+//
+// usage: AutopilotTuner [generations] [runs] [seed] [speed factor]   (default 12 100 1 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+
+
+public class AutopilotTuner {
+
+
+    // changed copies of the best set per generation
+    private static final int CHILDREN = 8;
+
+    // searched parameters as index of AutopilotParameters.NAMES and
+    // their lowest value, highest value and step
+    private static final int[] SEARCHED = {0, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+    private static final float[][] RANGES = {
+      {4, 15, 0.5f},          // obstacleDistance
+      {100, 700, 30},         // cruiseSpeed
+      {100, 700, 50},         // cruiseAcceleration
+      {100, 700, 30},         // edgeSpeed
+      {100, 700, 50},         // edgeAcceleration
+      {100, 700, 50},         // dropSpeed
+      {100, 700, 50},         // dropAcceleration
+      {40, 120, 5},           // barrierTurn
+      {10, 60, 3},            // edgeTurn
+      {60, 150, 5},           // case4Turn
+      {1, 10, 1},             // edgeBackUp
+      {4, 20, 1},             // barrierBackUp
+      {4, 20, 1},             // dodgeBackUp
+      {1, 6, 1},              // shortBackUp
+      {600, 2000, 100},       // armDuration
+    };
+
+    // tables of the final comparison are taken after the searched ones
+    private static final long VALIDATION_OFFSET = 100000;
+
+
+    public static void main(String[] args) {
+      int generations = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+      int runs = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+      long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+      float speedFactor = args.length > 3 ? Float.parseFloat(args[3]) : 0.85f;
+
+      int threads = Runtime.getRuntime().availableProcessors();
+      Random random = new Random(seed);
+      AutopilotParameters defaults = new AutopilotParameters();
+      long start = System.nanoTime();
+
+      AutopilotParameters best = defaults;
+      FleetResult bestResult = evaluate(best, runs, seed, speedFactor, threads);
+      System.out.printf("%d mission runs per set, %d threads%n%n", runs, threads);
+      System.out.printf("%10s %5s %8s %10s %9s  %s%n", "generation", "fell", "success", "mission",
+          "obj/min", "changed");
+      print(0, bestResult, "defaults");
+
+      for (int generation = 1; generation <= generations; generation++) {
+        AutopilotParameters bestChild = null;
+        FleetResult bestChildResult = null;
+        for (int c = 0; c < CHILDREN; c++) {
+          AutopilotParameters child = mutate(best, random);
+          FleetResult result = evaluate(child, runs, seed, speedFactor, threads);
+          if (bestChildResult == null || isBetter(result, bestChildResult)) {
+            bestChild = child;
+            bestChildResult = result;
+          }
+        }
+        if (isBetter(bestChildResult, bestResult)) {
+          print(generation, bestChildResult, changes(best, bestChild));
+          best = bestChild;
+          bestResult = bestChildResult;
+        }
+        else {
+          print(generation, bestResult, "-");
+        }
+      }
+
+      long validationSeed = seed + VALIDATION_OFFSET;
+      FleetResult defaultCheck = evaluate(defaults, 2 * runs, validationSeed, speedFactor, threads);
+      FleetResult bestCheck = evaluate(best, 2 * runs, validationSeed, speedFactor, threads);
+      System.out.printf("%n%d other tables:%n", 2 * runs);
+      System.out.println("defaults:  " + defaultCheck);
+      System.out.println("best:      " + bestCheck);
+      System.out.printf("%ntuned in %.1f s", (System.nanoTime() - start) / 1e9);
+      if (bestResult.getFell() > 0 || bestCheck.getFell() > 0) {
+        System.out.printf(", no parameter set reached zero falls (best: %d of %d, other "
+            + "tables: %d of %d), the defaults stay%n", bestResult.getFell(), runs,
+            bestCheck.getFell(), 2 * runs);
+        return;
+      }
+      System.out.printf(", best parameters:%n");
+      System.out.print(best);
+    }
+
+
+    //-------------------------------------------------------
+    //evaluate (AutopilotParameters parameters, int runs,
+    //          long seed, float speedFactor, int threads)
+    //  runs the mission with the parameter set on the
+    //  tables seed to seed + runs - 1, every robot gets a
+    //  copy of the set
+    //-------------------------------------------------------
+    private static FleetResult evaluate(final AutopilotParameters parameters, int runs, long seed,
+        float speedFactor, int threads) {
+      FleetSimulator fleet = new FleetSimulator(threads) {
+        @Override
+        protected Simulator newSimulator(long seed) {
+          Simulator simulator = super.newSimulator(seed);
+          simulator.getController().setParameters(parameters.copy());
+          return simulator;
+        }
+      };
+      fleet.setMission(true);
+      fleet.setSpeedFactor(speedFactor);
+      FleetResult result = fleet.run(seed, runs);
+      fleet.shutdown();
+      return result;
+    }
+
+
+    // fewer falls first, then the shorter mission
+    private static boolean isBetter(FleetResult result, FleetResult other) {
+      if (result.getFell() != other.getFell()) {
+        return result.getFell() < other.getFell();
+      }
+      return result.getMissionNanos() < other.getMissionNanos();
+    }
+
+
+    //-------------------------------------------------------
+    //mutate (AutopilotParameters parameters, Random random)
+    //  a copy with one to three searched parameters moved by
+    //  one to three steps, within their range
+    //-------------------------------------------------------
+    private static AutopilotParameters mutate(AutopilotParameters parameters, Random random) {
+      AutopilotParameters child = parameters.copy();
+      int changes = 1 + random.nextInt(3);
+      for (int i = 0; i < changes; i++) {
+        int index = SEARCHED[random.nextInt(SEARCHED.length)];
+        float[] range = RANGES[index];
+        int steps = (1 + random.nextInt(3)) * (random.nextBoolean() ? 1 : -1);
+        float value = child.get(index) + steps * range[2];
+        child.set(index, Math.max(range[0], Math.min(range[1], value)));
+      }
+      return child;
+    }
+
+
+    // the parameters which differ, as "name old -> new"
+    private static String changes(AutopilotParameters from, AutopilotParameters to) {
+      StringBuilder text = new StringBuilder();
+      for (int i = 0; i < AutopilotParameters.NAMES.length; i++) {
+        if (from.get(i) != to.get(i)) {
+          text.append(String.format("%s %s -> %s  ", AutopilotParameters.NAMES[i],
+              format(i, from.get(i)), format(i, to.get(i))));
+        }
+      }
+      return text.toString();
+    }
+
+
+    private static String format(int index, float value) {
+      return index == 0 ? String.valueOf(value) : String.valueOf((int) value);
+    }
+
+
+    private static void print(int generation, FleetResult result, String changed) {
+      System.out.printf("%10d %5d %8d %8.2f s %9.2f  %s%n", generation, result.getFell(),
+          result.getSuccess(), result.getMeanMissionSeconds(), result.getObjectsPerMinute(), changed);
+    }
+}
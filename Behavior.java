@@ -0,0 +1,57 @@
+//------------------------------------------------------------------------------------------
+// Behavior.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (Behavior), one behavior of the autopilot which is run
+// by a BehaviorArbitrator, named after the subsumption behaviors of leJOS. Unlike those the
+// action does not block: it queues maneuvers in the ManeuverEngine or commands the motors
+// and returns within the tick, so the arbitrator can take the robot away from a running
+// behavior in any tick.
+//
+// Following methods are available:
+//
+// takeControl (boolean busy)  whether the behavior wants the robot
+//
+// action ()  one tick of the behavior
+//
+// suppress ()  stops the running maneuvers of the behavior
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface Behavior {
+
+
+    //-------------------------------------------------------
+    //takeControl (boolean busy)
+    //  whether the behavior wants the robot in this tick.
+    //  busy is true while a maneuver of the active behavior
+    //  is running, then only a behavior which has to
+    //  interrupt it returns true.
+    //-------------------------------------------------------
+    boolean takeControl(boolean busy);
+
+
+    //-------------------------------------------------------
+    //action ()
+    //  one tick of the behavior, called when it won the
+    //  arbitration and no maneuver is running
+    //-------------------------------------------------------
+    void action();
+
+
+    //-------------------------------------------------------
+    //suppress ()
+    //  called when a behavior of a higher or the same
+    //  priority takes the robot while a maneuver of this
+    //  behavior is running, the maneuver has to be stopped
+    //  before the method returns
+    //-------------------------------------------------------
+    void suppress();
+}
@@ -0,0 +1,265 @@
+//------------------------------------------------------------------------------------------
+// BehaviorArbitrator.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (BehaviorArbitrator), which decides in every tick of the
+// autopilot which Behavior drives the robot. The index of a behavior is its priority, the
+// last one has the highest. Two calls per tick:
+//
+//     preempt ()        while a maneuver of the active behavior is running: the highest
+//                       behavior which has to interrupt it (takeControl(true)) and has at
+//                       least the priority of the active one suppresses it
+//     arbitrate (now)   when no maneuver is running: the highest behavior which wants the
+//                       robot (takeControl(false)) becomes active and runs its action
+//
+// A preemption happens in the tick in which the sensor event that caused it was published,
+// so a running behavior is interrupted at most one tick after the event. A behavior of a
+// lower priority never interrupts a running one, it gets the robot when the maneuvers of
+// the active behavior are done.
+//
+// The latency of every change of the behavior is measured per pair (suppressed behavior,
+// new behavior): from the time of the sensor event of the tick (trigger()) until the
+// action of the new behavior starts. An event which arrives while a maneuver runs that
+// nobody preempts is counted as deferred for the active behavior.
+//
+// The arbitrator takes no lock and allocates no memory after its creation, it must only be
+// used by the control thread.
+//
+// Following methods are available:
+//
+// trigger (long nanos)  notes the time of a sensor event of the current tick
+//
+// preempt ()  interrupts the active behavior, while a maneuver is running
+//
+// arbitrate (long now)  selects the behavior and runs its action, when no maneuver runs
+//
+// reset ()  no behavior active, used when the autopilot gets started
+//
+// getActive () / getName (int index) / size ()  the behaviors
+//
+// getSwitches (int from, int to) / getMaxLatency (int from, int to) /
+// getMeanLatency (int from, int to) / getDeferred (int index)  the measured latencies
+//
+// add (BehaviorArbitrator other)  adds the measurements of another run
+//
+// toString ()  the latencies as table
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class BehaviorArbitrator {
+
+
+    private final Behavior[] behaviors;
+    private final String[] names;
+    private int active = -1;
+
+    // time of the first sensor event of the tick (-1 if none)
+    // and whether the active behavior was suppressed
+    private long pending = -1;
+    private boolean preempted;
+
+    // changes of the behavior and their latencies per pair,
+    // indexed by from * size + to
+    private final long[] switches;
+    private final long[] maxLatency;
+    private final long[] totalLatency;
+    private final long[] deferred;
+
+
+    //constructor, the behaviors in ascending priority with their
+    //names
+    public BehaviorArbitrator(Behavior[] behaviors, String[] names) {
+      if (behaviors.length != names.length) {
+        throw new IllegalArgumentException(behaviors.length + " behaviors, " + names.length
+            + " names");
+      }
+      this.behaviors = behaviors.clone();
+      this.names = names.clone();
+      int pairs = behaviors.length * behaviors.length;
+      this.switches = new long[pairs];
+      this.maxLatency = new long[pairs];
+      this.totalLatency = new long[pairs];
+      this.deferred = new long[behaviors.length];
+    }
+
+
+    //-------------------------------------------------------
+    //trigger (long nanos)
+    //  notes the time of a sensor event which can change the
+    //  behavior, the first event of a tick counts
+    //-------------------------------------------------------
+    public void trigger(long nanos) {
+      if (pending < 0) {
+        pending = nanos;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //preempt ()
+    //  called in a tick in which a maneuver of the active
+    //  behavior is running
+    //
+    // Effect:
+    //  returns true if the active behavior got suppressed,
+    //  the next arbitrate() selects the new behavior. The
+    //  event of the tick is dropped otherwise.
+    //-------------------------------------------------------
+    public boolean preempt() {
+      for (int i = behaviors.length - 1; i >= Math.max(active, 0); i--) {
+        if (behaviors[i].takeControl(true)) {
+          if (active >= 0) {
+            behaviors[active].suppress();
+          }
+          preempted = true;
+          return true;
+        }
+      }
+      if (pending >= 0 && active >= 0) {
+        deferred[active]++;
+      }
+      pending = -1;
+      return false;
+    }
+
+
+    //-------------------------------------------------------
+    //arbitrate (long now)
+    //  called in a tick in which no maneuver is running
+    //
+    // Parameters: the current time
+    //
+    // Effect:
+    //  the highest behavior which wants the robot becomes
+    //  active and its action runs, returns its index (-1 if
+    //  no behavior wants the robot)
+    //-------------------------------------------------------
+    public int arbitrate(long now) {
+      int winner = -1;
+      for (int i = behaviors.length - 1; i >= 0; i--) {
+        if (behaviors[i].takeControl(false)) {
+          winner = i;
+          break;
+        }
+      }
+      if (winner >= 0 && active >= 0 && pending >= 0 && (winner != active || preempted)) {
+        int pair = active * behaviors.length + winner;
+        long latency = now - pending;
+        switches[pair]++;
+        totalLatency[pair] += latency;
+        if (latency > maxLatency[pair]) {
+          maxLatency[pair] = latency;
+        }
+      }
+      pending = -1;
+      preempted = false;
+      if (winner >= 0) {
+        active = winner;
+        behaviors[winner].action();
+      }
+      return winner;
+    }
+
+
+    // no behavior active and no event, the measurements are kept
+    public void reset() {
+      active = -1;
+      pending = -1;
+      preempted = false;
+    }
+
+
+    // index of the active behavior, -1 before the first arbitrate()
+    public int getActive() {
+      return active;
+    }
+
+
+    public String getName(int index) {
+      return names[index];
+    }
+
+
+    public int size() {
+      return behaviors.length;
+    }
+
+
+    // changes from the behavior from to the behavior to after a sensor event
+    public long getSwitches(int from, int to) {
+      return switches[from * behaviors.length + to];
+    }
+
+
+    public long getMaxLatency(int from, int to) {
+      return maxLatency[from * behaviors.length + to];
+    }
+
+
+    public long getMeanLatency(int from, int to) {
+      int pair = from * behaviors.length + to;
+      return switches[pair] == 0 ? 0 : totalLatency[pair] / switches[pair];
+    }
+
+
+    // sensor events which arrived while a maneuver of the behavior ran and nobody preempted it
+    public long getDeferred(int index) {
+      return deferred[index];
+    }
+
+
+    //-------------------------------------------------------
+    //add (BehaviorArbitrator other)
+    //  adds the measurements of an arbitrator with the same
+    //  behaviors, e.g. of another simulated run
+    //-------------------------------------------------------
+    public void add(BehaviorArbitrator other) {
+      if (other.behaviors.length != behaviors.length) {
+        throw new IllegalArgumentException("different number of behaviors");
+      }
+      for (int i = 0; i < switches.length; i++) {
+        switches[i] += other.switches[i];
+        totalLatency[i] += other.totalLatency[i];
+        maxLatency[i] = Math.max(maxLatency[i], other.maxLatency[i]);
+      }
+      for (int i = 0; i < deferred.length; i++) {
+        deferred[i] += other.deferred[i];
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //toString ()
+    //  a line per pair which was measured: the number of
+    //  changes, the mean and the worst-case latency in ms,
+    //  and the deferred events per behavior
+    //-------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder text = new StringBuilder();
+      text.append(String.format("%-15s %-15s %8s %9s %9s%n", "from", "to", "switches",
+          "mean ms", "max ms"));
+      for (int from = 0; from < behaviors.length; from++) {
+        for (int to = 0; to < behaviors.length; to++) {
+          if (getSwitches(from, to) > 0) {
+            text.append(String.format("%-15s %-15s %8d %9.2f %9.2f%n", names[from], names[to],
+                getSwitches(from, to), getMeanLatency(from, to) / 1e6,
+                getMaxLatency(from, to) / 1e6));
+          }
+        }
+      }
+      for (int i = 0; i < behaviors.length; i++) {
+        if (deferred[i] > 0) {
+          text.append(String.format("%-15s deferred %d events%n", names[i], deferred[i]));
+        }
+      }
+      return text.toString();
+    }
+}
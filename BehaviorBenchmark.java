@@ -0,0 +1,104 @@
+//------------------------------------------------------------------------------------------
+// BehaviorBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (BehaviorBenchmark), which measures the latency of the
+// changes between the behaviors of the autopilot (BehaviorArbitrator) in the simulator:
+// from the sensor event which caused the change until the action of the new behavior. The
+// autopilot and the mission mode run on the same random tables, once taking every touch
+// sample and once with bouncing touch sensors and a debounce time, which delays the event.
+//
+// For every pair (suppressed behavior, new behavior) the table shows the number of changes
+// and the mean and worst-case latency, also in whole ticks of the control loop (0 is the
+// tick of the event). A preemption happens in the tick of the event, so the worst case has
+// to stay below the bound of one period plus the maximum sample age plus the debounce
+// time. The simulator reads the samples in the tick, on the brick the age of the samples
+// of the SensorHub adds to the measured latency.
+//
+// usage: BehaviorBenchmark [runs] [seed]   (default 200 1)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class BehaviorBenchmark {
+
+
+    // debounce time in ms and bounce rate of the second run
+    private static final int DEBOUNCE = 10;
+    private static final float BOUNCE_RATE = 0.01f;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+      simulate(runs, seed, 0, 0);
+      System.out.println();
+      simulate(runs, seed, DEBOUNCE, BOUNCE_RATE);
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int runs, long seed, int debounce, float rate)
+    //  runs the autopilot and the mission mode on every
+    //  table and prints the latencies of all runs
+    //-------------------------------------------------------
+    private static void simulate(int runs, long seed, int debounce, float rate) {
+      BehaviorArbitrator total = null;
+      for (int i = 0; i < 2 * runs; i++) {
+        boolean mission = i >= runs;
+        long tableSeed = seed + i % runs;
+        SimTable table = mission ? SimTable.random(tableSeed, FleetSimulator.MISSION_BRICKS)
+            : SimTable.random(tableSeed);
+        Simulator simulator = new Simulator(table, tableSeed);
+        simulator.getWorld().setTouchBounceRate(rate);
+        InfraredSignalCheckerThread controller = simulator.getController();
+        controller.getSensorEvents().setDebounce(debounce * 1000000L);
+        if (mission) {
+          simulator.runMission(i % 2 == 0, 300000);
+        }
+        else {
+          simulator.runAutopilot(i % 2 == 0, 120000);
+        }
+
+        if (total == null) {
+          total = controller.getArbitrator();
+        }
+        else {
+          total.add(controller.getArbitrator());
+        }
+      }
+
+      long period = InfraredSignalCheckerThread.CONTROL_PERIOD * 1000000L;
+      long bound = period + InfraredSignalCheckerThread.MAX_SAMPLE_AGE + debounce * 1000000L;
+      System.out.printf("%d autopilot and %d mission runs, debounce %d ms, bounce %.1f%%, "
+          + "bound %.1f ms%n%n", runs, runs, debounce, rate * 100, bound / 1e6);
+      System.out.printf("%-15s %-15s %8s %9s %9s %9s%n", "from", "to", "switches", "mean ms",
+          "max ms", "max ticks");
+      long worst = 0;
+      for (int from = 0; from < total.size(); from++) {
+        for (int to = 0; to < total.size(); to++) {
+          long switches = total.getSwitches(from, to);
+          if (switches == 0) {
+            continue;
+          }
+          long max = total.getMaxLatency(from, to);
+          worst = Math.max(worst, max);
+          System.out.printf("%-15s %-15s %8d %9.2f %9.2f %9d%n", total.getName(from),
+              total.getName(to), switches, total.getMeanLatency(from, to) / 1e6, max / 1e6,
+              max / period);
+        }
+      }
+      for (int i = 0; i < total.size(); i++) {
+        System.out.printf("%-15s deferred %d events while its maneuvers ran%n",
+            total.getName(i), total.getDeferred(i));
+      }
+      System.out.printf("worst case %.2f ms, %s the bound%n", worst / 1e6,
+          worst <= bound ? "within" : "ABOVE");
+    }
+}
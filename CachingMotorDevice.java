@@ -0,0 +1,251 @@
+//------------------------------------------------------------------------------------------
+// CachingMotorDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (CachingMotorDevice), a MotorDevice which remembers the last
+// commanded speed, acceleration and direction of a motor and drops writes which would not
+// change anything. Every write to a leJOS motor is a round trip into the regulator of the
+// motor, the control loop repeats the same commands in many ticks. All commands must go
+// through the cache, a motor which gets commanded by other means has to be invalidated.
+//
+// Following methods are available:
+//
+// MotorDevice methods
+//
+// invalidate ()  forgets the cached state, the next writes get sent to the motor
+//
+// getDirection () / getSpeed () / getAcceleration ()  cached state of the motor
+//
+// getWrites () / getSuppressed ()  number of sent and of dropped writes
+//
+// takeCommands ()  command bits of the writes sent since the last call
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class CachingMotorDevice implements MotorDevice {
+
+
+    // cached directions, UNKNOWN after invalidate()
+    public static final int BACKWARD = -1, STOPPED = 0, FORWARD = 1, UNKNOWN = 2;
+
+    // bits of the sent commands (takeCommands())
+    public static final int COMMAND_FORWARD = 1, COMMAND_BACKWARD = 2, COMMAND_STOP = 4;
+    public static final int COMMAND_SPEED = 8, COMMAND_ACCELERATION = 16;
+
+
+    private final MotorDevice motor;
+
+    private int direction = UNKNOWN;
+    private int speed = -1, acceleration = -1;
+
+    private long writes, suppressed;
+    private int commands;
+
+
+    //constructor, caches the commands of the given motor
+    public CachingMotorDevice(MotorDevice motor) {
+      this.motor = motor;
+    }
+
+
+    @Override
+    public void forward() {
+      if (direction == FORWARD) {
+        suppressed++;
+        return;
+      }
+      direction = FORWARD;
+      writes++;
+      commands |= COMMAND_FORWARD;
+      motor.forward();
+    }
+
+
+    @Override
+    public void backward() {
+      if (direction == BACKWARD) {
+        suppressed++;
+        return;
+      }
+      direction = BACKWARD;
+      writes++;
+      commands |= COMMAND_BACKWARD;
+      motor.backward();
+    }
+
+
+    //-------------------------------------------------------
+    //stop ()
+    //  always sent, the call waits until the motor stands
+    //  still even if it was stopped before
+    //-------------------------------------------------------
+    @Override
+    public void stop() {
+      direction = STOPPED;
+      writes++;
+      commands |= COMMAND_STOP;
+      motor.stop();
+    }
+
+
+    @Override
+    public void stop(boolean immediateReturn) {
+      if (!immediateReturn) {
+        stop();
+        return;
+      }
+      if (direction == STOPPED) {
+        suppressed++;
+        return;
+      }
+      direction = STOPPED;
+      writes++;
+      commands |= COMMAND_STOP;
+      motor.stop(true);
+    }
+
+
+    @Override
+    public void setSpeed(int speed) {
+      if (this.speed == speed) {
+        suppressed++;
+        return;
+      }
+      this.speed = speed;
+      writes++;
+      commands |= COMMAND_SPEED;
+      motor.setSpeed(speed);
+    }
+
+
+    @Override
+    public void setAcceleration(int acceleration) {
+      if (this.acceleration == acceleration) {
+        suppressed++;
+        return;
+      }
+      this.acceleration = acceleration;
+      writes++;
+      commands |= COMMAND_ACCELERATION;
+      motor.setAcceleration(acceleration);
+    }
+
+
+    @Override
+    public boolean isMoving() {
+      return motor.isMoving();
+    }
+
+
+    @Override
+    public int getTachoCount() {
+      return motor.getTachoCount();
+    }
+
+
+    //-------------------------------------------------------
+    //rotateTo (int angle, boolean immediateReturn)
+    //  always sent, the motor stops by itself at the angle,
+    //  so the cached direction is UNKNOWN afterwards
+    //-------------------------------------------------------
+    @Override
+    public void rotateTo(int angle, boolean immediateReturn) {
+      direction = UNKNOWN;
+      writes++;
+      commands |= angle >= motor.getTachoCount() ? COMMAND_FORWARD : COMMAND_BACKWARD;
+      motor.rotateTo(angle, immediateReturn);
+    }
+
+
+    //-------------------------------------------------------
+    //synchronizeWith (MotorDevice[] syncList)
+    //  cached motors in the list get unwrapped, the motors
+    //  themselves are synchronized
+    //-------------------------------------------------------
+    @Override
+    public void synchronizeWith(MotorDevice[] syncList) {
+      MotorDevice[] motors = new MotorDevice[syncList.length];
+      for (int i = 0; i < syncList.length; i++) {
+        motors[i] = syncList[i] instanceof CachingMotorDevice
+            ? ((CachingMotorDevice) syncList[i]).motor : syncList[i];
+      }
+      motor.synchronizeWith(motors);
+    }
+
+
+    @Override
+    public void startSynchronization() {
+      motor.startSynchronization();
+    }
+
+
+    @Override
+    public void endSynchronization() {
+      motor.endSynchronization();
+    }
+
+
+    @Override
+    public void close() {
+      invalidate();
+      motor.close();
+    }
+
+
+    //-------------------------------------------------------
+    //invalidate ()
+    //  forgets the cached state, used after the motor got
+    //  commanded without the cache (rotate, flt, ...)
+    //-------------------------------------------------------
+    public void invalidate() {
+      direction = UNKNOWN;
+      speed = -1;
+      acceleration = -1;
+    }
+
+
+    public int getDirection() {
+      return direction;
+    }
+
+
+    public int getSpeed() {
+      return speed;
+    }
+
+
+    public int getAcceleration() {
+      return acceleration;
+    }
+
+
+    // number of writes sent to the motor
+    public long getWrites() {
+      return writes;
+    }
+
+
+    // number of writes dropped because they would not change anything
+    public long getSuppressed() {
+      return suppressed;
+    }
+
+
+    //-------------------------------------------------------
+    //takeCommands ()
+    //  returns the bits (COMMAND_...) of the commands sent
+    //  to the motor since the last call and clears them
+    //-------------------------------------------------------
+    public int takeCommands() {
+      int taken = commands;
+      commands = 0;
+      return taken;
+    }
+}
@@ -0,0 +1,186 @@
+//------------------------------------------------------------------------------------------
+// ControlLoopScheduler.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (ControlLoopScheduler), which lets the loops of the control
+// thread run with a fixed period instead of spinning as fast as the CPU allows. Every tick
+// gets a release time, the end of the tick is its deadline (the release time of the next
+// tick). The scheduler records the jitter (how late a tick was released) and the overruns
+// (ticks which were still running at their deadline). After an overrun the schedule starts
+// again from the current time, missed ticks are not repeated. The time between the
+// releases of two ticks is recorded in a LatencyHistogram (getPeriodHistogram()). With a
+// ControlLoopWatchdog (setWatchdog()) every released tick is its heartbeat.
+//
+// Following methods are available:
+//
+// start ()  starts the schedule at the current time
+//
+// awaitNextTick ()  waits until the release time of the next tick
+//
+// setPeriod (long periodNanos)  changes the period of the ticks
+//
+// getTicks () / getOverruns () / getMaxJitterNanos () / getMeanJitterNanos ()  statistics
+//
+// getPeriodHistogram ()  measured periods of the ticks
+//
+// setWatchdog (ControlLoopWatchdog watchdog)  beats the watchdog in every tick
+//
+// resetStatistics ()  forgets the recorded ticks
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class ControlLoopScheduler {
+
+
+    private final RobotClock clock;
+    private long periodNanos;
+    private long nextRelease, lastRelease;
+    private boolean started;
+
+    // statistics
+    private long ticks, overruns;
+    private long maxJitter, jitterSum;
+    private final LatencyHistogram periods = new LatencyHistogram();
+
+    // gets a heartbeat per tick, null if not used
+    private ControlLoopWatchdog watchdog;
+
+
+    //constructor, period in nanoseconds
+    public ControlLoopScheduler(RobotClock clock, long periodNanos) {
+      this.clock = clock;
+      setPeriod(periodNanos);
+    }
+
+
+    //-------------------------------------------------------
+    //start ()
+    //  the first tick is released immediately, the following
+    //  ticks every period
+    //-------------------------------------------------------
+    public void start() {
+      nextRelease = clock.nanoTime();
+      lastRelease = -1;
+      started = true;
+    }
+
+
+    //-------------------------------------------------------
+    //awaitNextTick ()
+    //  waits until the release time of the next tick. If the
+    //  release time already passed, the last tick missed its
+    //  deadline and counts as overrun.
+    //
+    // Effect:
+    //  returns when the next tick may run
+    //-------------------------------------------------------
+    public void awaitNextTick() {
+      if (!started) {
+        start();
+      }
+
+      long now = clock.nanoTime();
+      if (now < nextRelease) {
+        clock.nsDelay(nextRelease - now);
+        now = clock.nanoTime();
+      }
+
+      if (watchdog != null) {
+        watchdog.heartbeat();
+      }
+
+      long jitter = now - nextRelease;
+      if (jitter >= periodNanos) {
+        // deadline missed, starting the schedule again
+        overruns++;
+        nextRelease = now;
+        jitter = 0;
+      }
+      if (lastRelease >= 0) {
+        periods.record(now - lastRelease);
+      }
+      lastRelease = now;
+      ticks++;
+      jitterSum += jitter;
+      if (jitter > maxJitter) {
+        maxJitter = jitter;
+      }
+      nextRelease += periodNanos;
+    }
+
+
+    //-------------------------------------------------------
+    //setPeriod (long periodNanos)
+    //  sets the period of the ticks in nanoseconds
+    //-------------------------------------------------------
+    public void setPeriod(long periodNanos) {
+      if (periodNanos <= 0) {
+        throw new IllegalArgumentException("period must be positive");
+      }
+      this.periodNanos = periodNanos;
+    }
+
+
+    // beats the watchdog at the release of every tick, null for none
+    public void setWatchdog(ControlLoopWatchdog watchdog) {
+      this.watchdog = watchdog;
+    }
+
+
+    public long getPeriod() {
+      return periodNanos;
+    }
+
+
+    public long getTicks() {
+      return ticks;
+    }
+
+
+    public long getOverruns() {
+      return overruns;
+    }
+
+
+    public long getMaxJitterNanos() {
+      return maxJitter;
+    }
+
+
+    public double getMeanJitterNanos() {
+      return ticks == 0 ? 0 : (double) jitterSum / ticks;
+    }
+
+
+    // time between the releases of two ticks, not cleared by
+    // resetStatistics()
+    public LatencyHistogram getPeriodHistogram() {
+      return periods;
+    }
+
+
+    //-------------------------------------------------------
+    //resetStatistics ()
+    //  forgets the recorded ticks, overruns and jitter
+    //-------------------------------------------------------
+    public void resetStatistics() {
+      ticks = 0;
+      overruns = 0;
+      maxJitter = 0;
+      jitterSum = 0;
+    }
+
+
+    @Override
+    public String toString() {
+      return String.format("period %.1f ms, %d ticks, %d overruns, jitter mean %.1f us max %.1f us",
+          periodNanos / 1e6, ticks, overruns, getMeanJitterNanos() / 1e3, maxJitter / 1e3);
+    }
+}
@@ -0,0 +1,245 @@
+//------------------------------------------------------------------------------------------
+// ControlLoopWatchdog.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (ControlLoopWatchdog), a background thread which watches the
+// heartbeat of the control loop. The ControlLoopScheduler beats once per tick. If no tick
+// started for the deadline, the control thread hangs, e.g. in a sensor read, a delay or a
+// long garbage collection, and the motors would go on with their last command. Then the
+// watchdog stops both drive motors in one synchronization block and the arm motor itself.
+//
+// The watchdog looks at the heartbeat CHECKS times per deadline and stops the motors when
+// the last beat is older than the deadline minus one look, so the stop is sent at most the
+// deadline after the last tick started. One hang stops the motors once, the next stop needs
+// a new heartbeat first. When the control thread goes on, it takes the stop with takeTrip()
+// and brings its cached motor state up to date.
+//
+// The watchdog commands the motor devices directly, not through the CachingMotorDevices
+// of the control thread. Its synchronization block of the drive motors is sent while
+// holding the lock of the MotorPair of the control thread (setDriveLock()), as a block of
+// the control thread may be open at the same time and the leJOS synchronization does not
+// know threads. A block of the control thread is open for a few commands only; if the
+// control thread hangs inside one, the lock is not taken and the drive motors get the stop
+// at one of the next looks. The deadline has to be a few periods of the control loop, the
+// time between two beats is at least one period.
+//
+// Following methods are available:
+//
+// run ()  watches the heartbeat until the watchdog gets stopped
+//
+// heartbeat ()  a tick of the control loop started, called by the ControlLoopScheduler
+//
+// disarm ()  no heartbeat expected until the next one, used when the control loop ends
+//
+// takeTrip ()  whether the motors were stopped since the last call, from the control thread
+//
+// stopMotors ()  stops the motors at once, e.g. when the control thread does not end
+//
+// setDriveLock (Lock driveLock)  the lock of the synchronization blocks of the drive motors
+//
+// setDeadline (long nanos) / getDeadline ()  the time without heartbeat until the stop
+//
+// getTrips () / getLastStall () / getStopLatency ()  the stops of the watchdog
+//
+// shutdown ()  stops the watchdog and waits for the thread
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+
+public class ControlLoopWatchdog extends Thread {
+
+
+    // default deadline in milliseconds, 10 periods of the control loop
+    public static final int DEADLINE = 100;
+
+    // looks at the heartbeat per deadline
+    public static final int CHECKS = 4;
+
+
+    private final MotorDevice leftMotor, rightMotor, armMotor;
+    private volatile boolean running = true;
+    private volatile long deadline = DEADLINE * 1000000L;
+    private volatile Lock driveLock;
+
+    // start of the last tick (-1 if disarmed), and the beat
+    // for which the motors were stopped
+    private volatile long lastBeat = -1;
+    private long stoppedBeat = -1;
+
+    // stops and the time without heartbeat at the last stop,
+    // the stops taken by the control thread
+    private volatile long trips;
+    private volatile long lastStall;
+    private long takenTrips;
+
+    // time from the last heartbeat until the motors got the stop
+    private final LatencyHistogram stopLatency = new LatencyHistogram();
+
+
+    //constructor, the motor devices as opened, the left drive
+    //motor synchronized with the right one
+    public ControlLoopWatchdog(MotorDevice leftMotor, MotorDevice rightMotor, MotorDevice armMotor) {
+      super("ControlLoopWatchdog");
+      this.leftMotor = leftMotor;
+      this.rightMotor = rightMotor;
+      this.armMotor = armMotor;
+      setDaemon(true);
+      setPriority(Thread.MAX_PRIORITY);
+    }
+
+
+    @Override
+    public void run() {
+      while (running) {
+        long limit = deadline;
+        long check = limit / CHECKS;
+        long beat = lastBeat;
+        if (beat >= 0 && beat != stoppedBeat && System.nanoTime() - beat >= limit - check
+            && stopMotors()) {
+          stoppedBeat = beat;
+          long stall = System.nanoTime() - beat;
+          stopLatency.record(stall);
+          lastStall = stall;
+          trips++;
+        }
+        LockSupport.parkNanos(check);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //stopMotors ()
+    //  stops both drive motors in one block, then the arm.
+    //  The drive motors are only stopped if no block of the
+    //  control thread is open, the watchdog does not wait.
+    //
+    // Effect:
+    //  returns false if the lock of the drive motors was
+    //  held by the control thread
+    //-------------------------------------------------------
+    public boolean stopMotors() {
+      Lock lock = driveLock;
+      boolean locked = lock == null || lock.tryLock();
+      if (locked) {
+        try {
+          leftMotor.startSynchronization();
+          leftMotor.stop(true);
+          rightMotor.stop(true);
+          leftMotor.endSynchronization();
+        }
+        finally {
+          if (lock != null) {
+            lock.unlock();
+          }
+        }
+      }
+      armMotor.stop(true);
+      return locked;
+    }
+
+
+    //-------------------------------------------------------
+    //heartbeat ()
+    //  a tick of the control loop started, called by the
+    //  ControlLoopScheduler of the control thread
+    //-------------------------------------------------------
+    public void heartbeat() {
+      lastBeat = System.nanoTime();
+    }
+
+
+    //-------------------------------------------------------
+    //disarm ()
+    //  the control loop ends on purpose, the watchdog waits
+    //  for the next heartbeat without stopping the motors
+    //-------------------------------------------------------
+    public void disarm() {
+      lastBeat = -1;
+    }
+
+
+    //-------------------------------------------------------
+    //takeTrip ()
+    //  from the control thread only
+    //
+    // Effect:
+    //  returns true if the watchdog stopped the motors since
+    //  the last call
+    //-------------------------------------------------------
+    public boolean takeTrip() {
+      long count = trips;
+      if (count == takenTrips) {
+        return false;
+      }
+      takenTrips = count;
+      return true;
+    }
+
+
+    //-------------------------------------------------------
+    //setDriveLock (Lock driveLock)
+    //  the lock which the control thread holds during every
+    //  synchronization block of the drive motors, the lock
+    //  of its MotorPair. Without a lock the watchdog does not
+    //  wait for the control thread.
+    //-------------------------------------------------------
+    public void setDriveLock(Lock driveLock) {
+      this.driveLock = driveLock;
+    }
+
+
+    //-------------------------------------------------------
+    //setDeadline (long nanos)
+    //  time without heartbeat after which the motors have to
+    //  be stopped, a few periods of the control loop
+    //-------------------------------------------------------
+    public void setDeadline(long nanos) {
+      if (nanos < CHECKS) {
+        throw new IllegalArgumentException("deadline too short: " + nanos);
+      }
+      this.deadline = nanos;
+    }
+
+
+    public long getDeadline() {
+      return deadline;
+    }
+
+
+    // number of stops of the motors
+    public long getTrips() {
+      return trips;
+    }
+
+
+    // time without heartbeat when the motors got the last stop
+    public long getLastStall() {
+      return lastStall;
+    }
+
+
+    // time from the last heartbeat until the motors got the stop
+    public LatencyHistogram getStopLatency() {
+      return stopLatency;
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops the watchdog and waits for its thread
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      running = false;
+      LockSupport.unpark(this);
+      join();
+    }
+}
@@ -0,0 +1,442 @@
+//------------------------------------------------------------------------------------------
+// DecisionBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (DecisionBenchmark), which measures the cost of the
+// decision logic of the control thread without sensors, motors and waiting. The loops of
+// drive() and run() get scripted samples and remote buttons, the motors do nothing and the
+// clock jumps to the next tick instead of waiting. Every scenario is warmed up first, then
+// measured in several iterations like a JMH benchmark. It prints the time per decision
+// (one loop of the control thread), the allocated bytes per decision and how often each
+// branch of drive() fired, so restructurings of the control loop can be compared with
+// this baseline.
+//
+// Scenarios: straight      both touch sensors pressed, no barrier
+//            edge-left     left sensor over the edge after a straight drive
+//            edge-right    right sensor over the edge after a straight drive
+//            both-edges    both sensors over the edge after a straight drive
+//            barrier       infrared barrier in front of the robot
+//            obstacle      obstacle() only, with changing distances
+//            remote        loop of run() with changing remote buttons
+//
+// usage: DecisionBenchmark [decisions per iteration] [iterations]   (default 1000000 10)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public class DecisionBenchmark {
+
+
+    // warm-up iterations before the measured ones
+    private static final int WARMUP_ITERATIONS = 10;
+
+
+    public static void main(String[] args) {
+      int decisions = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+      int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+      // scripts of the touch samples and distances: ticks, left, right, distance
+      Scenario[] scenarios = {
+        new DriveScenario("straight",   new float[][] {{1, 1, 1, 100}}),
+        new DriveScenario("edge-left",  new float[][] {{30, 1, 1, 100}, {300, 0, 1, 100}}),
+        new DriveScenario("edge-right", new float[][] {{30, 1, 1, 100}, {300, 1, 0, 100}}),
+        new DriveScenario("both-edges", new float[][] {{30, 1, 1, 100}, {300, 0, 0, 100}}),
+        new DriveScenario("barrier",    new float[][] {{30, 1, 1, 100}, {300, 1, 1, 5}}),
+        new ObstacleScenario(),
+        new RemoteScenario(),
+      };
+
+      System.out.printf("%-11s %14s %14s  %s%n", "scenario", "ns/decision", "bytes/decision",
+          "branches");
+      for (Scenario scenario : scenarios) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+          scenario.run(decisions);
+        }
+        scenario.resetCounts();
+
+        AllocationCounter allocations = new AllocationCounter(0);
+        double sum = 0, squares = 0;
+        for (int i = 0; i < iterations; i++) {
+          allocations.tickStart();
+          long start = System.nanoTime();
+          scenario.run(decisions);
+          double nanos = (double) (System.nanoTime() - start) / decisions;
+          allocations.tickEnd();
+          sum += nanos;
+          squares += nanos * nanos;
+        }
+        double mean = sum / iterations;
+        double deviation = Math.sqrt(Math.max(0, squares / iterations - mean * mean));
+
+        System.out.printf("%-11s %8.1f +- %4.1f %12.2f  %s%n", scenario.name, mean, deviation,
+            allocations.getBytesPerTick() / decisions, scenario.describeCounts());
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //Scenario
+    //  one measured code path, run() executes the given
+    //  number of decisions
+    //-------------------------------------------------------
+    private abstract static class Scenario {
+
+      final String name;
+
+      Scenario(String name) {
+        this.name = name;
+      }
+
+      abstract void run(int decisions);
+
+      abstract void resetCounts();
+
+      abstract String describeCounts();
+    }
+
+
+    //-------------------------------------------------------
+    //DriveScenario
+    //  runs drive() with a scripted SensorView, drive() gets
+    //  started again when the autopilot is finished
+    //-------------------------------------------------------
+    private static class DriveScenario extends Scenario {
+
+      private final InfraredSignalCheckerThread controller;
+      private final ScriptedSensors sensors;
+      private final long[] startCounts = new long[FlightRecorder.BRANCH_NAMES.length];
+      private boolean dodgeDirection;
+
+      DriveScenario(String name, float[][] script) {
+        super(name);
+        StubMotor left = new StubMotor(), right = new StubMotor();
+        left.synchronizeWith(new MotorDevice[] {right});
+        this.controller = new InfraredSignalCheckerThread(new StubInfrared(null), new StubTouch(),
+            new StubTouch(), left, right, new StubMotor(), new StepClock());
+        this.sensors = new ScriptedSensors(script, controller);
+        controller.setSensorView(sensors);
+        controller.getEventLog().setConsoleMirroring(false);
+      }
+
+      @Override
+      void run(int decisions) {
+        long end = controller.getTickCount() + decisions;
+        while (controller.getTickCount() < end) {
+          sensors.stopAt(end);
+          controller.isRunning = true;
+          controller.drive(dodgeDirection);
+          dodgeDirection = !dodgeDirection;
+        }
+      }
+
+      @Override
+      void resetCounts() {
+        for (int i = 0; i < startCounts.length; i++) {
+          startCounts[i] = controller.getBranchCount(i);
+        }
+      }
+
+      @Override
+      String describeCounts() {
+        long total = 0;
+        for (int i = 0; i < startCounts.length; i++) {
+          total += controller.getBranchCount(i) - startCounts[i];
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < startCounts.length; i++) {
+          long count = controller.getBranchCount(i) - startCounts[i];
+          if (count * 1000 >= total) {
+            text.append(String.format("%s %.1f%%  ", FlightRecorder.branchName(i),
+                100.0 * count / total));
+          }
+        }
+        return text.toString();
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //ObstacleScenario
+    //  calls obstacle() with distances crossing the limit
+    //-------------------------------------------------------
+    private static class ObstacleScenario extends Scenario {
+
+      private final InfraredSignalCheckerThread controller;
+      private final ScriptedSensors sensors;
+      private long obstacles, calls;
+
+      ObstacleScenario() {
+        super("obstacle");
+        this.controller = new InfraredSignalCheckerThread(new StubInfrared(null), new StubTouch(),
+            new StubTouch(), new StubMotor(), new StubMotor(), new StubMotor(), new StepClock());
+        this.sensors = new ScriptedSensors(new float[][] {{7, 1, 1, 50}, {3, 1, 1, 4}}, null);
+        controller.setSensorView(sensors);
+        controller.getEventLog().setConsoleMirroring(false);
+      }
+
+      @Override
+      void run(int decisions) {
+        for (int i = 0; i < decisions; i++) {
+          sensors.refresh();
+          if (controller.obstacle()) {
+            obstacles++;
+          }
+        }
+        calls += decisions;
+      }
+
+      @Override
+      void resetCounts() {
+        obstacles = 0;
+        calls = 0;
+      }
+
+      @Override
+      String describeCounts() {
+        return String.format("obstacle %.1f%%", 100.0 * obstacles / calls);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //RemoteScenario
+    //  runs the loop of run() with scripted remote buttons,
+    //  the buttons of the autopilot are not used
+    //-------------------------------------------------------
+    private static class RemoteScenario extends Scenario {
+
+      private final InfraredSignalCheckerThread controller;
+      private final StubInfrared infrared;
+      private long startReceived, startSent;
+
+      RemoteScenario() {
+        super("remote");
+        // polls, channel, button: hold forward, release, turn, reverse, release
+        int[][] script = {{50, 0, 3}, {20, 0, 0}, {30, 0, 1}, {40, 0, 4}, {60, 0, 0}, {10, 0, 2}};
+        StubMotor left = new StubMotor(), right = new StubMotor();
+        left.synchronizeWith(new MotorDevice[] {right});
+        this.infrared = new StubInfrared(script);
+        this.controller = new InfraredSignalCheckerThread(infrared, new StubTouch(),
+            new StubTouch(), left, right, new StubMotor(), new StepClock());
+        infrared.controller = controller;
+        controller.getEventLog().setConsoleMirroring(false);
+      }
+
+      @Override
+      void run(int decisions) {
+        infrared.remaining = decisions;
+        controller.isRunning = true;
+        controller.run();
+      }
+
+      @Override
+      void resetCounts() {
+        startReceived = controller.getRemoteDispatcher().getReceived();
+        startSent = controller.getRemoteDispatcher().getSent();
+      }
+
+      @Override
+      String describeCounts() {
+        long received = controller.getRemoteDispatcher().getReceived() - startReceived;
+        long sent = controller.getRemoteDispatcher().getSent() - startSent;
+        return String.format("dispatched %.1f%% of %d buttons", 100.0 * sent / received, received);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //ScriptedSensors
+    //  returns the samples of the script in a loop, each
+    //  step holds its samples for the given number of ticks.
+    //  Stops the controller at the given tick.
+    //-------------------------------------------------------
+    private static class ScriptedSensors implements SensorView {
+
+      private final float[][] script;
+      private final InfraredSignalCheckerThread controller;
+      private int step, tick;
+      private long stopTick;
+      private float left, right, distance;
+
+      ScriptedSensors(float[][] script, InfraredSignalCheckerThread controller) {
+        this.script = script;
+        this.controller = controller;
+      }
+
+      void stopAt(long stopTick) {
+        this.stopTick = stopTick;
+      }
+
+      @Override
+      public void refresh() {
+        float[] current = script[step];
+        left = current[1];
+        right = current[2];
+        distance = current[3];
+        if (++tick >= current[0]) {
+          tick = 0;
+          step = (step + 1) % script.length;
+        }
+        if (controller != null && controller.getTickCount() >= stopTick) {
+          controller.isRunning = false;
+        }
+      }
+
+      @Override
+      public float left() {
+        return left;
+      }
+
+      @Override
+      public float right() {
+        return right;
+      }
+
+      @Override
+      public float distance() {
+        return distance;
+      }
+
+      @Override
+      public long leftAge() {
+        return 0;
+      }
+
+      @Override
+      public long rightAge() {
+        return 0;
+      }
+
+      @Override
+      public long distanceAge() {
+        return 0;
+      }
+
+      // the script restarts with every autopilot
+      @Override
+      public void startDistance() {
+        step = 0;
+        tick = 0;
+      }
+
+      @Override
+      public void stopDistance() {
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //StubInfrared
+    //  returns the scripted buttons (polls, channel, button)
+    //  in a loop, stops the controller after the remaining
+    //  polls
+    //-------------------------------------------------------
+    private static class StubInfrared implements InfraredDevice {
+
+      private final int[][] script;
+      InfraredSignalCheckerThread controller;
+      long remaining;
+      private int step, poll;
+
+      StubInfrared(int[][] script) {
+        this.script = script;
+      }
+
+      @Override
+      public int getRemoteCommand(int channel) {
+        return 0;
+      }
+
+      @Override
+      public void getRemoteCommands(byte[] commands, int offset, int count) {
+        int[] current = script[step];
+        for (int i = 0; i < count; i++) {
+          commands[offset + i] = (byte) (i == current[1] ? current[2] : 0);
+        }
+        if (++poll >= current[0]) {
+          poll = 0;
+          step = (step + 1) % script.length;
+        }
+        if (--remaining <= 0) {
+          controller.isRunning = false;
+        }
+      }
+
+      @Override
+      public SampleProvider getDistanceMode() {
+        return null;
+      }
+
+      @Override
+      public void close() {
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //StubTouch
+    //  a touch sensor which is never read, the samples come
+    //  from the ScriptedSensors
+    //-------------------------------------------------------
+    private static class StubTouch implements TouchDevice {
+
+      @Override public int sampleSize() { return 1; }
+      @Override public void fetchSample(float[] sample, int offset) { sample[offset] = 1; }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //StubMotor
+    //  a motor which does nothing and never moves
+    //-------------------------------------------------------
+    private static class StubMotor implements MotorDevice {
+
+      @Override public void forward() { }
+      @Override public void backward() { }
+      @Override public void stop() { }
+      @Override public void stop(boolean immediateReturn) { }
+      @Override public void setSpeed(int speed) { }
+      @Override public void setAcceleration(int acceleration) { }
+      @Override public boolean isMoving() { return false; }
+      @Override public int getTachoCount() { return 0; }
+      @Override public void rotateTo(int angle, boolean immediateReturn) { }
+      @Override public void synchronizeWith(MotorDevice[] syncList) { }
+      @Override public void startSynchronization() { }
+      @Override public void endSynchronization() { }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //StepClock
+    //  a clock which jumps forward instead of waiting
+    //-------------------------------------------------------
+    private static class StepClock implements RobotClock {
+
+      private long now;
+
+      @Override
+      public long nanoTime() {
+        return now;
+      }
+
+      @Override
+      public void msDelay(long period) {
+        now += period * 1000000L;
+      }
+
+      @Override
+      public void nsDelay(long period) {
+        now += period;
+      }
+    }
+}
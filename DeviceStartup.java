@@ -0,0 +1,222 @@
+//------------------------------------------------------------------------------------------
+// DeviceStartup.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (DeviceStartup), which opens the sensors and motors of the
+// robot in parallel. Opening an EV3 device probes its port and takes a noticeable time, the
+// ports do not depend on each other, so every device gets opened in its own thread and the
+// robot is ready after the slowest device instead of after the sum of all. Steps which need
+// several devices, like the synchronization of the drive motors, are done by the caller
+// after await().
+//
+// The distance mode of the infrared sensor is not selected here: the SensorView selects it
+// when the autopilot gets started for the first time (startDistance()), so the remote
+// control is ready without it.
+//
+// For every device the start and the end of opening are recorded relative to the creation
+// of the DeviceStartup, timeline() prints them as a bar per device.
+//
+// usage:
+//     DeviceStartup startup = new DeviceStartup();
+//     Future<TouchDevice> touch = startup.open("touch S1", new Callable<TouchDevice>() {...});
+//     startup.await();
+//     TouchDevice leftTouch = touch.get();
+//
+// Following methods are available:
+//
+// open (String name, Callable<T> opener)  opens a device in its own thread
+//
+// await ()  waits until all devices are open, a failed device gets rethrown and the
+//           opened ones get closed
+//
+// getReadyNanos ()  time from the creation until the last device was open
+//
+// timeline ()  start and end of opening every device as text
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+
+public class DeviceStartup {
+
+
+    // width of the bars of the timeline in characters
+    private static final int TIMELINE_WIDTH = 50;
+
+
+    private final long created = System.nanoTime();
+    private final ExecutorService executor;
+    private final List<Entry> entries = new ArrayList<Entry>();
+    private long readyNanos = -1;
+
+
+    //constructor, every device gets its own daemon thread
+    public DeviceStartup() {
+      this.executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private int count;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "DeviceStartup-" + ++count);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+
+
+    //-------------------------------------------------------
+    //open (String name, Callable<T> opener)
+    //  opens a device in its own thread, the name is shown
+    //  in the timeline
+    //
+    // Effect:
+    //  returns the future of the device, its get() returns
+    //  the device after await()
+    //-------------------------------------------------------
+    public synchronized <T> Future<T> open(String name, final Callable<T> opener) {
+      if (readyNanos >= 0) {
+        throw new IllegalStateException("startup already finished");
+      }
+      final Entry entry = new Entry(name);
+      entries.add(entry);
+      entry.future = executor.submit(new Callable<T>() {
+        @Override
+        public T call() throws Exception {
+          entry.start = System.nanoTime() - created;
+          try {
+            return opener.call();
+          }
+          finally {
+            entry.end = System.nanoTime() - created;
+          }
+        }
+      });
+      @SuppressWarnings("unchecked")
+      Future<T> future = (Future<T>) entry.future;
+      return future;
+    }
+
+
+    //-------------------------------------------------------
+    //await ()
+    //  waits until every device is open and stops the
+    //  threads. If a device could not be opened, the waiting
+    //  goes on for the other ones, the opened devices get
+    //  closed again and the first failure is thrown as
+    //  IllegalStateException.
+    //-------------------------------------------------------
+    public synchronized void await() throws InterruptedException {
+      Throwable failure = null;
+      String failed = null;
+      for (Entry entry : entries) {
+        try {
+          entry.future.get();
+        }
+        catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+            failed = entry.name;
+          }
+        }
+      }
+      readyNanos = System.nanoTime() - created;
+      executor.shutdown();
+      if (failure != null) {
+        IllegalStateException exception = new IllegalStateException("could not open " + failed,
+            failure);
+        closeOpened(exception);
+        throw exception;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //closeOpened (IllegalStateException exception)
+    //  closes every device which was opened, so its port is
+    //  free for the next start. A device which cannot be
+    //  closed gets added to the exception as suppressed.
+    //-------------------------------------------------------
+    private void closeOpened(IllegalStateException exception) throws InterruptedException {
+      for (Entry entry : entries) {
+        Object device;
+        try {
+          device = entry.future.get();
+        }
+        catch (ExecutionException e) {
+          continue;
+        }
+        try {
+          if (device instanceof TouchDevice) {
+            ((TouchDevice) device).close();
+          }
+          else if (device instanceof MotorDevice) {
+            ((MotorDevice) device).close();
+          }
+          else if (device instanceof InfraredDevice) {
+            ((InfraredDevice) device).close();
+          }
+        }
+        catch (RuntimeException e) {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+
+
+    // time from the creation until all devices were open, -1 before await()
+    public synchronized long getReadyNanos() {
+      return readyNanos;
+    }
+
+
+    //-------------------------------------------------------
+    //timeline ()
+    //  returns a line per device with the start and the end
+    //  of opening in ms and a bar on the common time axis,
+    //  after await()
+    //-------------------------------------------------------
+    public synchronized String timeline() {
+      StringBuilder text = new StringBuilder();
+      double scale = readyNanos > 0 ? (double) TIMELINE_WIDTH / readyNanos : 0;
+      for (Entry entry : entries) {
+        int from = (int) (entry.start * scale);
+        int to = Math.max(from + 1, (int) (entry.end * scale));
+        text.append(String.format("%-16s %7.1f ms %7.1f ms  ", entry.name, entry.start / 1e6,
+            entry.end / 1e6));
+        for (int i = 0; i < to; i++) {
+          text.append(i < from ? ' ' : '#');
+        }
+        text.append('\n');
+      }
+      text.append(String.format("%-16s %18.1f ms%n", "ready", readyNanos / 1e6));
+      return text.toString();
+    }
+
+
+    // a device with the times of opening it in nanoseconds
+    private static class Entry {
+
+      final String name;
+      volatile long start, end;
+      Future<?> future;
+
+      Entry(String name) {
+        this.name = name;
+      }
+    }
+}
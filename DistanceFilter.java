@@ -0,0 +1,38 @@
+//------------------------------------------------------------------------------------------
+// DistanceFilter.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (DistanceFilter), the filter stage of the infrared
+// distance readings. A filter gets every reading once and returns the filtered distance,
+// adding a reading must take constant time and must not allocate memory, because it runs
+// in the control loop or in the acquisition thread of the sensor. Implemented by the
+// MovingAverage and the AlphaBetaFilter.
+//
+// Following methods are available:
+//
+// add (float sample)  adds a reading and returns the filtered distance
+//
+// value ()  filtered distance, NaN before the first reading
+//
+// reset ()  forgets all readings
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface DistanceFilter {
+
+
+    float add(float sample);
+
+
+    float value();
+
+
+    void reset();
+}
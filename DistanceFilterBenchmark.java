@@ -0,0 +1,256 @@
+//------------------------------------------------------------------------------------------
+// DistanceFilterBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (DistanceFilterBenchmark), which compares the filters
+// of the infrared distance on simulated traces with gaussian noise (1 unit) and a share
+// of outliers with a random value. Every trace is read every 10 ms like in the autopilot,
+// a barrier is reported as in obstacle(): the first reading is ignored, afterwards a
+// filtered distance below OBSTACLE_DISTANCE counts.
+//
+//            approach   the robot drives towards a barrier, latency from the true distance
+//                       crossing the limit until the report (negative if the noise reports
+//                       it before), early reports come 3 units before the limit, late
+//                       reports after the bumper touched the barrier
+//            turn       the robot turns towards a near barrier, latency from the turn
+//            far        the barrier stays far away, every report is a false positive
+//
+// Afterwards the autopilot runs in the simulator on many random tables with every filter.
+//
+// usage: DistanceFilterBenchmark [runs] [seed] [speed factor]   (default 500 1 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class DistanceFilterBenchmark {
+
+
+    // compared filters
+    private static final String[] FILTERS = {"raw", "mean 5", "alpha-beta", "ab gated"};
+
+    // share of outliers in the traces and in the simulator
+    private static final float[] OUTLIER_RATES = {0f, 0.01f, 0.05f};
+
+    // sample period in ms, approach per sample and start of an approach in units
+    private static final int PERIOD = 10;
+    private static final float APPROACH = 0.16f;
+    private static final float START = 60f;
+
+    // distance of the bumper contact (4 cm in front of the sensor) and of the
+    // barrier of the far traces in units
+    private static final float CONTACT = 4f / SimWorld.INFRARED_RANGE * 100;
+    private static final float FAR = 25f;
+
+    private static final int TRACES = 20000;
+    private static final int FAR_SAMPLES = 6000000;
+    private static final int ADDS = 20000000;
+
+    private static float sink;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 0.85f;
+
+      System.out.printf("%-11s %8s %9s %9s %6s %6s %9s %10s %8s%n", "filter", "outliers",
+          "approach", "p99", "early", "late", "turn", "false/min", "add");
+      for (float rate : OUTLIER_RATES) {
+        for (int f = 0; f < FILTERS.length; f++) {
+          measureTraces(f, rate, seed);
+        }
+      }
+
+      System.out.println();
+      System.out.printf("%-11s %8s %8s %5s %8s %9s %10s%n", "filter", "outliers", "success",
+          "fell", "timeout", "mission", "collisions");
+      for (float rate : new float[] {0f, 0.05f}) {
+        for (int f = 0; f < FILTERS.length; f++) {
+          simulate(f, rate, runs, seed, speedFactor);
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //newFilter (int f)
+    //  creates the filter with the index f of FILTERS
+    //-------------------------------------------------------
+    private static DistanceFilter newFilter(int f) {
+      switch (f) {
+        case 0:
+          return new MovingAverage(1);
+        case 1:
+          return new MovingAverage(SampleBus.DISTANCE_WINDOW);
+        case 2:
+          return new AlphaBetaFilter(SampleBus.ALPHA, SampleBus.BETA, Float.MAX_VALUE, 0);
+        default:
+          return new AlphaBetaFilter(SampleBus.ALPHA, SampleBus.BETA, SampleBus.DISTANCE_GATE,
+              SampleBus.MAX_OUTLIERS);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //read (Random random, float distance, float rate)
+    //  one reading of the true distance with noise, an
+    //  outlier has any value
+    //-------------------------------------------------------
+    private static float read(Random random, float distance, float rate) {
+      if (random.nextFloat() < rate) {
+        return random.nextFloat() * 100;
+      }
+      return (float) Math.max(0, Math.min(100, distance + random.nextGaussian()));
+    }
+
+
+    //-------------------------------------------------------
+    //detect (DistanceFilter filter, float sample,
+    //        boolean first)
+    //  adds the reading and decides like obstacle()
+    //-------------------------------------------------------
+    private static boolean detect(DistanceFilter filter, float sample, boolean first) {
+      float distance = filter.add(sample);
+      return !first && distance < InfraredSignalCheckerThread.OBSTACLE_DISTANCE;
+    }
+
+
+    //-------------------------------------------------------
+    //measureTraces (int f, float rate, long seed)
+    //  runs the approach, turn and far traces with one filter
+    //  and prints one line of the table
+    //-------------------------------------------------------
+    private static void measureTraces(int f, float rate, long seed) {
+      DistanceFilter filter = newFilter(f);
+      Random random = new Random(seed);
+      float limit = InfraredSignalCheckerThread.OBSTACLE_DISTANCE;
+
+      // approach, the latency of an early report is negative
+      int[] latencies = new int[TRACES];
+      int early = 0, late = 0;
+      for (int t = 0; t < TRACES; t++) {
+        filter.reset();
+        float start = START + random.nextFloat();
+        int crossing = (int) Math.ceil((start - limit) / APPROACH);
+        int i = 0;
+        while (true) {
+          float distance = start - i * APPROACH;
+          if (detect(filter, read(random, distance, rate), i == 0) || distance < 0) {
+            break;
+          }
+          i++;
+        }
+        latencies[t] = (i - crossing) * PERIOD;
+        if (start - i * APPROACH > limit + 3) {
+          early++;
+        }
+        if (start - i * APPROACH < CONTACT) {
+          late++;
+        }
+      }
+      Arrays.sort(latencies);
+      long sum = 0;
+      for (int latency : latencies) {
+        sum += latency;
+      }
+
+      // turn towards a barrier just below the limit
+      long turnSum = 0;
+      for (int t = 0; t < TRACES; t++) {
+        filter.reset();
+        for (int i = 0; i < 20; i++) {
+          detect(filter, read(random, START, rate), i == 0);
+        }
+        int i = 0;
+        while (!detect(filter, read(random, limit - 1.5f, rate), false) && i < 1000) {
+          i++;
+        }
+        turnSum += (i + 1) * PERIOD;
+      }
+
+      // far barrier, reports are counted when they start
+      filter.reset();
+      int falsePositives = 0;
+      boolean reported = false;
+      for (int i = 0; i < FAR_SAMPLES; i++) {
+        boolean report = detect(filter, read(random, FAR, rate), i == 0);
+        if (report && !reported) {
+          falsePositives++;
+        }
+        reported = report;
+      }
+      double minutes = FAR_SAMPLES * PERIOD / 60000.0;
+
+      System.out.printf("%-11s %7.0f%% %6.1f ms %6d ms %5.1f%% %5.1f%% %6.1f ms %10.2f %5.1f ns%n",
+          FILTERS[f], rate * 100, (double) sum / TRACES, latencies[TRACES * 99 / 100],
+          100.0 * early / TRACES, 100.0 * late / TRACES, (double) turnSum / TRACES, falsePositives / minutes,
+          measureAdd(filter, seed));
+    }
+
+
+    //-------------------------------------------------------
+    //measureAdd (DistanceFilter filter, long seed)
+    //  time of one added reading in ns, after a warmup
+    //-------------------------------------------------------
+    private static double measureAdd(DistanceFilter filter, long seed) {
+      Random random = new Random(seed);
+      float[] samples = new float[4096];
+      for (int i = 0; i < samples.length; i++) {
+        samples[i] = FAR + (float) random.nextGaussian();
+      }
+
+      long nanos = 0;
+      for (int round = 0; round < 2; round++) {
+        filter.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < ADDS; i++) {
+          sink += filter.add(samples[i & (samples.length - 1)]);
+        }
+        nanos = System.nanoTime() - start;
+      }
+      return (double) nanos / ADDS;
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int f, float rate, int runs, long seed,
+    //          float speedFactor)
+    //  runs the autopilot on random tables with one filter
+    //  and prints one line of the table
+    //-------------------------------------------------------
+    private static void simulate(int f, float rate, int runs, long seed, float speedFactor) {
+      int success = 0, fell = 0, timedOut = 0;
+      long missionNanos = 0, collisions = 0;
+
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i), seed + i);
+        SimWorld world = simulator.getWorld();
+        world.getLeftMotor().setSpeedFactor(speedFactor);
+        world.getRightMotor().setSpeedFactor(speedFactor);
+        world.setOutlierRate(rate);
+
+        SampleBus bus = new SampleBus(new SimTouchSensor(world, true),
+            new SimTouchSensor(world, false), simulator.getInfraredSensor());
+        bus.setDistanceFilter(newFilter(f));
+        simulator.getController().setSensorView(bus);
+        SimResult result = simulator.runAutopilot(i % 2 == 0, 120000);
+
+        if (result.isSuccess()) success++;
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+        missionNanos += result.missionNanos;
+        collisions += result.collisions;
+      }
+
+      System.out.printf("%-11s %7.0f%% %8d %5d %8d %7.2f s %10d%n", FILTERS[f], rate * 100,
+          success, fell, timedOut, missionNanos / 1e9 / runs, collisions);
+    }
+}
@@ -0,0 +1,162 @@
+//------------------------------------------------------------------------------------------
+// EventLog.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (EventLog), a lock-free ring buffer for the messages of the
+// control thread. The control thread only stores the event code (LogEvent) and up to
+// two numeric arguments, the text gets created and printed by the LogDrainer
+// thread. There is exactly one writing thread (the control thread) and one reading thread
+// (the drainer). If the buffer is full, new events get dropped and counted, the control
+// thread never waits for the console.
+//
+// Following methods are available:
+//
+// log (int code, ...)  stores an event with up to two whole number or float arguments
+//
+// drainTo (PrintStream out)  prints all stored events, called by the drainer thread
+//
+// setConsoleMirroring (boolean mirroring)  false switches the logging off entirely
+//
+// getDropped ()  number of events lost because the buffer was full
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class EventLog {
+
+
+    // ring buffer, the size is a power of two
+    private final int mask;
+    private final int[] codes;
+    private final long[] firstArgs, secondArgs;
+
+    // next position to write (control thread) and to read (drainer)
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private long knownHead;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean consoleMirroring = true;
+
+    // used by the drainer only
+    private final StringBuilder line = new StringBuilder(64);
+
+
+    //constructor, the capacity gets rounded up to a power of two
+    public EventLog(int capacity) {
+      int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+      this.mask = size - 1;
+      this.codes = new int[size];
+      this.firstArgs = new long[size];
+      this.secondArgs = new long[size];
+    }
+
+
+    public void log(int code) {
+      put(code, 0, 0);
+    }
+
+
+    public void log(int code, long firstArg) {
+      put(code, firstArg, 0);
+    }
+
+
+    public void log(int code, long firstArg, long secondArg) {
+      put(code, firstArg, secondArg);
+    }
+
+
+    public void log(int code, float firstArg) {
+      put(code, Float.floatToRawIntBits(firstArg), 0);
+    }
+
+
+    public void log(int code, float firstArg, float secondArg) {
+      put(code, Float.floatToRawIntBits(firstArg), Float.floatToRawIntBits(secondArg));
+    }
+
+
+    //-------------------------------------------------------
+    //put (int code, long firstArg, long secondArg)
+    //  stores the event in the next free slot, the slot gets
+    //  published to the drainer by the ordered write of the
+    //  tail. Called by the control thread only.
+    //-------------------------------------------------------
+    private void put(int code, long firstArg, long secondArg) {
+      if (!consoleMirroring) {
+        return;
+      }
+
+      long position = tail.get();
+      if (position - knownHead > mask) {
+        knownHead = head.get();
+        if (position - knownHead > mask) {
+          dropped.lazySet(dropped.get() + 1);
+          return;
+        }
+      }
+
+      int slot = (int) position & mask;
+      codes[slot] = code;
+      firstArgs[slot] = firstArg;
+      secondArgs[slot] = secondArg;
+      tail.lazySet(position + 1);
+    }
+
+
+    //-------------------------------------------------------
+    //drainTo (PrintStream out)
+    //  prints the messages of all stored events. Called by
+    //  the drainer thread only.
+    //
+    // Effect:
+    //  returns the number of printed events
+    //-------------------------------------------------------
+    public int drainTo(PrintStream out) {
+      long position = head.get();
+      long end = tail.get();
+      int count = 0;
+
+      while (position < end) {
+        int slot = (int) position & mask;
+        line.setLength(0);
+        LogEvent.format(codes[slot], firstArgs[slot], secondArgs[slot], line);
+        position++;
+        head.lazySet(position);
+
+        out.println(line);
+        count++;
+      }
+      return count;
+    }
+
+
+    //-------------------------------------------------------
+    //setConsoleMirroring (boolean mirroring)
+    //  false switches the logging off entirely, the events
+    //  are not even stored (production runs)
+    //-------------------------------------------------------
+    public void setConsoleMirroring(boolean mirroring) {
+      this.consoleMirroring = mirroring;
+    }
+
+
+    public boolean isConsoleMirroring() {
+      return consoleMirroring;
+    }
+
+
+    public long getDropped() {
+      return dropped.get();
+    }
+}
@@ -0,0 +1,192 @@
+//------------------------------------------------------------------------------------------
+// EventPipelineBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (EventPipelineBenchmark), which compares the debounced
+// SensorEventPipeline with taking every touch sample like the former polling loop (debounce
+// 0) in the simulator. The touch sensors bounce with the given rates: a pressed sensor reads
+// released for a single sample. An edge event is a false trigger if the simulated sensor
+// which it reports as released was pressed at that time. For every debounce time and bounce
+// rate the autopilot runs on the same random tables.
+//
+// The CPU time of the pipeline is measured separately with the samples of a bouncing sensor:
+// the time of one publish() per tick against the comparisons of the polling loop.
+//
+// usage: EventPipelineBenchmark [runs] [seed]   (default 200 1)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+
+
+public class EventPipelineBenchmark {
+
+
+    // debounce times in ms and bounce rates of the touch sensors
+    private static final int[] DEBOUNCES = {0, 10, 20};
+    private static final float[] BOUNCE_RATES = {0, 0.002f, 0.01f};
+
+    // ticks of the CPU measurement
+    private static final int CPU_TICKS = 20000000;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+      System.out.printf("%d autopilot runs per row%n%n", runs);
+      System.out.printf("%8s %8s %8s %8s %9s %6s %8s %10s%n", "debounce", "bounce", "edges",
+          "false", "false %", "fell", "success", "time");
+      for (float rate : BOUNCE_RATES) {
+        for (int debounce : DEBOUNCES) {
+          run(runs, seed, debounce, rate);
+        }
+      }
+
+      System.out.println();
+      cpu(seed);
+      backpressure(seed);
+    }
+
+
+    //-------------------------------------------------------
+    //run (int runs, long seed, int debounce, float rate)
+    //  runs the autopilot and counts the edge events and the
+    //  false ones
+    //-------------------------------------------------------
+    private static void run(int runs, long seed, int debounce, float rate) {
+      long edges = 0, falseEdges = 0, time = 0;
+      int fell = 0, success = 0;
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i), seed + i);
+        final SimWorld world = simulator.getWorld();
+        world.setTouchBounceRate(rate);
+        SensorEventPipeline events = simulator.getController().getSensorEvents();
+        events.setDebounce(debounce * 1000000L);
+        final long[] counts = new long[2];
+        events.subscribe(new EventSubscriber() {
+          @Override
+          public void onSubscribe(EventSubscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+          }
+
+          @Override
+          public void onNext(int event, long nanos) {
+            if (!SensorEvent.isEdge(event)) {
+              return;
+            }
+            counts[0]++;
+            boolean falseLeft = event != SensorEvent.EDGE_RIGHT && world.isTouchPressed(true);
+            boolean falseRight = event != SensorEvent.EDGE_LEFT && world.isTouchPressed(false);
+            if (falseLeft || falseRight) {
+              counts[1]++;
+            }
+          }
+        }, 16);
+
+        SimResult result = simulator.runAutopilot(i % 2 == 0, 120000);
+        edges += counts[0];
+        falseEdges += counts[1];
+        time += result.missionNanos;
+        if (result.fell) fell++;
+        if (result.isSuccess()) success++;
+      }
+      System.out.printf("%5d ms %7.1f%% %8d %8d %8.1f%% %6d %8d %8.2f s%n", debounce, rate * 100,
+          edges, falseEdges, edges == 0 ? 0 : 100.0 * falseEdges / edges, fell, success,
+          time / 1e9 / runs);
+    }
+
+
+    //-------------------------------------------------------
+    //cpu (long seed)
+    //  time per tick of the pipeline and of the comparisons
+    //  of the polling loop for a bouncing sensor
+    //-------------------------------------------------------
+    private static void cpu(long seed) {
+      Random random = new Random(seed);
+      float[] samples = new float[4096];
+      for (int i = 0; i < samples.length; i++) {
+        samples[i] = random.nextFloat() < 0.01f ? 0 : 1;
+      }
+
+      SensorEventPipeline events = new SensorEventPipeline();
+      events.setDebounce(10000000L);
+      final long[] delivered = new long[1];
+      events.subscribe(new EventSubscriber() {
+        @Override
+        public void onSubscribe(EventSubscription subscription) {
+          subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(int event, long nanos) {
+          delivered[0]++;
+        }
+      }, 16);
+
+      for (int round = 0; round < 3; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CPU_TICKS; i++) {
+          float sample = samples[i & 4095];
+          events.publish(i * 10000000L, sample, 0, samples[(i + 7) & 4095], 0, 50);
+        }
+        long pipeline = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        float lastL = 1, lastR = 1;
+        long transitions = 0;
+        for (int i = 0; i < CPU_TICKS; i++) {
+          float sampleL = samples[i & 4095];
+          float sampleR = samples[(i + 7) & 4095];
+          if ((lastL == 1 && sampleL == 0) || (lastR == 1 && sampleR == 0)) {
+            transitions++;
+          }
+          lastL = sampleL;
+          lastR = sampleR;
+        }
+        long polling = System.nanoTime() - start;
+
+        if (round == 2) {
+          System.out.printf("cpu per tick: pipeline %.1f ns (%d events), polling %.1f ns "
+              + "(%d transitions), %.4f %% of a 10 ms period%n", (double) pipeline / CPU_TICKS,
+              delivered[0], (double) polling / CPU_TICKS, transitions,
+              100.0 * pipeline / CPU_TICKS / 1e7);
+        }
+        delivered[0] = 0;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //backpressure (long seed)
+    //  a subscriber which stops requesting after 4 events
+    //  loses the oldest events, the autopilot goes on
+    //-------------------------------------------------------
+    private static void backpressure(long seed) {
+      Simulator simulator = new Simulator(SimTable.random(seed), seed);
+      simulator.getWorld().setTouchBounceRate(0.01f);
+      SensorEventPipeline events = simulator.getController().getSensorEvents();
+      final EventSubscription[] slow = new EventSubscription[1];
+      events.subscribe(new EventSubscriber() {
+        @Override
+        public void onSubscribe(EventSubscription subscription) {
+          slow[0] = subscription;
+          subscription.request(4);
+        }
+
+        @Override
+        public void onNext(int event, long nanos) {
+        }
+      }, 4);
+      SimResult result = simulator.runAutopilot(true, 120000);
+      System.out.printf("backpressure: %d events published in %d ticks, a subscriber which "
+          + "took 4 with a buffer of 4 dropped %d%n", events.getPublished(), result.ticks,
+          slow[0].getDropped());
+    }
+}
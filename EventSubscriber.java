@@ -0,0 +1,44 @@
+//------------------------------------------------------------------------------------------
+// EventSubscriber.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (EventSubscriber), the receiver of the events of the
+// SensorEventPipeline. It follows the subscriber of java.util.concurrent.Flow, which is not
+// available in the Java 8 of the brick: the subscriber gets its EventSubscription first and
+// receives events only as far as it requested them. An event is a code of SensorEvent with
+// the time of the sensor reading that caused it, so no event object gets allocated.
+//
+// Following methods are available:
+//
+// onSubscribe (EventSubscription subscription)  called once when the subscriber is added
+//
+// onNext (int event, long nanos)  receives one requested event
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface EventSubscriber {
+
+
+    //-------------------------------------------------------
+    //onSubscribe (EventSubscription subscription)
+    //  called once before the first event, the subscriber
+    //  requests its first events here
+    //-------------------------------------------------------
+    void onSubscribe(EventSubscription subscription);
+
+
+    //-------------------------------------------------------
+    //onNext (int event, long nanos)
+    //  receives an event (SensorEvent) and the time of the
+    //  sensor reading which caused it, called by the control
+    //  thread
+    //-------------------------------------------------------
+    void onNext(int event, long nanos);
+}
@@ -0,0 +1,47 @@
+//------------------------------------------------------------------------------------------
+// EventSubscription.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (EventSubscription), the link between the
+// SensorEventPipeline and one EventSubscriber, like the subscription of
+// java.util.concurrent.Flow. The subscriber requests the number of events it can take, the
+// pipeline keeps the events which were not requested yet in a bounded buffer. If the buffer
+// is full, the oldest event gets dropped and counted: the pipeline never waits for a slow
+// subscriber, the control loop goes on.
+//
+// Following methods are available:
+//
+// request (long count)  allows the pipeline to deliver further events
+//
+// cancel ()  no further events are delivered
+//
+// getDropped ()  number of events dropped because the buffer was full
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface EventSubscription {
+
+
+    //-------------------------------------------------------
+    //request (long count)
+    //  adds count to the number of events the subscriber
+    //  can take, Long.MAX_VALUE for all events. Buffered
+    //  events are delivered right away.
+    //-------------------------------------------------------
+    void request(long count);
+
+
+    // no further events, the buffer gets cleared
+    void cancel();
+
+
+    // number of events dropped because the buffer was full
+    long getDropped();
+}
@@ -0,0 +1,144 @@
+//------------------------------------------------------------------------------------------
+// FleetResult.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (FleetResult), the summed results of many simulation runs.
+// Every task of the FleetSimulator adds its runs to its own FleetResult, the results of
+// the tasks are combined when they are joined, so the runs never share a counter.
+//
+// Following methods are available:
+//
+// add (SimResult result)  adds one run
+//
+// combine (FleetResult other)  adds all runs of another result
+//
+// getRuns () ... getCollisions ()  sums of the runs
+//
+// getSuccessRate () / getMeanMissionSeconds () / getObjectsPerMinute ()  derived values
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class FleetResult {
+
+
+    private int runs, success, fell, timedOut;
+    private long missionNanos, simulationNanos, ticks;
+    private long droppedOff, collisions;
+
+
+    //-------------------------------------------------------
+    //add (SimResult result)
+    //  adds the result of one run to the sums
+    //-------------------------------------------------------
+    public void add(SimResult result) {
+      runs++;
+      if (result.isSuccess()) success++;
+      if (result.fell) fell++;
+      if (result.timedOut) timedOut++;
+      missionNanos += result.missionNanos;
+      simulationNanos += result.wallNanos;
+      ticks += result.ticks;
+      droppedOff += result.droppedOff;
+      collisions += result.collisions;
+    }
+
+
+    //-------------------------------------------------------
+    //combine (FleetResult other)
+    //  adds the sums of another result, the reduce step of
+    //  the FleetSimulator
+    //
+    // Effect:
+    //  returns this result
+    //-------------------------------------------------------
+    public FleetResult combine(FleetResult other) {
+      runs += other.runs;
+      success += other.success;
+      fell += other.fell;
+      timedOut += other.timedOut;
+      missionNanos += other.missionNanos;
+      simulationNanos += other.simulationNanos;
+      ticks += other.ticks;
+      droppedOff += other.droppedOff;
+      collisions += other.collisions;
+      return this;
+    }
+
+
+    public int getRuns() {
+      return runs;
+    }
+
+
+    public int getSuccess() {
+      return success;
+    }
+
+
+    public int getFell() {
+      return fell;
+    }
+
+
+    public int getTimedOut() {
+      return timedOut;
+    }
+
+
+    // sum of the virtual mission times in nanoseconds
+    public long getMissionNanos() {
+      return missionNanos;
+    }
+
+
+    // sum of the real times the runs needed in their threads
+    public long getSimulationNanos() {
+      return simulationNanos;
+    }
+
+
+    public long getTicks() {
+      return ticks;
+    }
+
+
+    public long getDroppedOff() {
+      return droppedOff;
+    }
+
+
+    public long getCollisions() {
+      return collisions;
+    }
+
+
+    // share of the successful runs between 0 and 1
+    public double getSuccessRate() {
+      return runs > 0 ? (double) success / runs : 0;
+    }
+
+
+    public double getMeanMissionSeconds() {
+      return runs > 0 ? missionNanos / 1e9 / runs : 0;
+    }
+
+
+    // bricks dropped off the table per virtual minute
+    public double getObjectsPerMinute() {
+      return missionNanos > 0 ? droppedOff * 60e9 / missionNanos : 0;
+    }
+
+
+    @Override
+    public String toString() {
+      return String.format("%d runs, %d success, %d fell, %d timeout, mission %.2f s, %.2f obj/min",
+          runs, success, fell, timedOut, getMeanMissionSeconds(), getObjectsPerMinute());
+    }
+}
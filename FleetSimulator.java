@@ -0,0 +1,227 @@
+//------------------------------------------------------------------------------------------
+// FleetSimulator.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (FleetSimulator), which runs the control logic of many
+// virtual robots in parallel. Every robot is a Simulator of its own with its own SimWorld,
+// VirtualClock and InfraredSignalCheckerThread, the run with the index i drives on the
+// table SimTable.random(seed + i) like in the other benchmarks, so a fleet gives the same
+// results with any number of threads.
+//
+// The runs are split into tasks of a ForkJoinPool: a task halves its range of runs until
+// at most LEAF_RUNS are left and runs them one after the other. The robots share no
+// object and no counter, every task sums its runs in a FleetResult of its own and the
+// results are combined when the halves are joined. As the runs have very different
+// lengths, the small tasks get stolen by idle threads, so all cores stay busy until the
+// end.
+//
+// As program it runs the same fleet with 1, 2, 4 ... threads up to the number of cores
+// (or the given number of threads) and prints the throughput and the speed-up against one
+// thread.
+//
+// usage: FleetSimulator [runs] [seed] [speed factor] [autopilot|mission] [threads]
+//        (default 2000 1 0.85 autopilot, threads: number of cores)
+//
+// Following methods are available:
+//
+// run (long seed, int runs)  runs the fleet and returns the summed results
+//
+// setMission (boolean mission) / setSpeedFactor (float speedFactor) / setTimeout (long ms)
+//           settings of the runs
+//
+// newSimulator (long seed)  creates the robot of one run, can be overridden
+//
+// shutdown ()  stops the threads of the pool
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+public class FleetSimulator {
+
+
+    // largest number of runs of a task which is not split
+    public static final int LEAF_RUNS = 4;
+
+    // virtual timeouts of the runs in ms
+    public static final long AUTOPILOT_TIMEOUT = 120000, MISSION_TIMEOUT = 300000;
+
+    // number of bricks on the tables of the mission
+    public static final int MISSION_BRICKS = 3;
+
+    private final ForkJoinPool pool;
+
+    private boolean mission;
+    private float speedFactor = 1;
+    private long timeoutMs = AUTOPILOT_TIMEOUT;
+
+
+    //constructor, the pool gets the given number of threads
+    public FleetSimulator(int parallelism) {
+      this.pool = new ForkJoinPool(parallelism);
+    }
+
+
+    //-------------------------------------------------------
+    //run (long seed, int runs)
+    //  runs the robots with the indices 0 to runs - 1 in the
+    //  threads of the pool
+    //
+    // Effect:
+    //  returns the summed results after all runs ended
+    //-------------------------------------------------------
+    public FleetResult run(long seed, int runs) {
+      return pool.invoke(new Batch(seed, 0, runs));
+    }
+
+
+    //-------------------------------------------------------
+    //newSimulator (long seed)
+    //  creates the robot of one run on a random table,
+    //  called in the thread of the run
+    //-------------------------------------------------------
+    protected Simulator newSimulator(long seed) {
+      SimTable table = mission ? SimTable.random(seed, MISSION_BRICKS) : SimTable.random(seed);
+      Simulator simulator = new Simulator(table, seed);
+      simulator.getWorld().getLeftMotor().setSpeedFactor(speedFactor);
+      simulator.getWorld().getRightMotor().setSpeedFactor(speedFactor);
+      return simulator;
+    }
+
+
+    // one run, the dodge direction alternates like in the benchmarks
+    private SimResult runOne(long seed, int index) {
+      Simulator simulator = newSimulator(seed + index);
+      return mission ? simulator.runMission(index % 2 == 0, timeoutMs)
+          : simulator.runAutopilot(index % 2 == 0, timeoutMs);
+    }
+
+
+    // the runs from first to last (exclusive), split in halves
+    private class Batch extends RecursiveTask<FleetResult> {
+
+      private static final long serialVersionUID = 1L;
+
+      private final long seed;
+      private final int first, last;
+
+      Batch(long seed, int first, int last) {
+        this.seed = seed;
+        this.first = first;
+        this.last = last;
+      }
+
+      @Override
+      protected FleetResult compute() {
+        if (last - first <= LEAF_RUNS) {
+          FleetResult result = new FleetResult();
+          for (int i = first; i < last; i++) {
+            result.add(runOne(seed, i));
+          }
+          return result;
+        }
+        int middle = (first + last) >>> 1;
+        Batch upper = new Batch(seed, middle, last);
+        upper.fork();
+        FleetResult result = new Batch(seed, first, middle).compute();
+        return result.combine(upper.join());
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //setMission (boolean mission)
+    //  runs the mission mode with MISSION_BRICKS bricks
+    //  instead of the self-driving mode, the timeout gets
+    //  the default of the mode
+    //-------------------------------------------------------
+    public void setMission(boolean mission) {
+      this.mission = mission;
+      this.timeoutMs = mission ? MISSION_TIMEOUT : AUTOPILOT_TIMEOUT;
+    }
+
+
+    // scales the reached speed of the drive motors
+    public void setSpeedFactor(float speedFactor) {
+      this.speedFactor = speedFactor;
+    }
+
+
+    // virtual timeout of a run in ms
+    public void setTimeout(long timeoutMs) {
+      this.timeoutMs = timeoutMs;
+    }
+
+
+    public int getParallelism() {
+      return pool.getParallelism();
+    }
+
+
+    public void shutdown() {
+      pool.shutdown();
+    }
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 0.85f;
+      boolean mission = args.length > 3 && args[3].equals("mission");
+      int cores = Runtime.getRuntime().availableProcessors();
+      int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : cores;
+
+      System.out.printf("%d %s runs, %d cores%n%n", runs, mission ? "mission" : "autopilot", cores);
+      System.out.printf("%7s %9s %9s %12s %9s %11s%n", "threads", "wall", "runs/s", "ticks/s",
+          "speed-up", "efficiency");
+
+      // warmup of the JIT on other tables
+      FleetSimulator warmup = new FleetSimulator(maxThreads);
+      warmup.setMission(mission);
+      warmup.setSpeedFactor(speedFactor);
+      warmup.run(seed + runs, Math.min(runs, 200));
+      warmup.shutdown();
+
+      double single = 0;
+      FleetResult first = null;
+      boolean identical = true;
+      for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+        FleetSimulator fleet = new FleetSimulator(threads);
+        fleet.setMission(mission);
+        fleet.setSpeedFactor(speedFactor);
+
+        long start = System.nanoTime();
+        FleetResult result = fleet.run(seed, runs);
+        double wall = (System.nanoTime() - start) / 1e9;
+        fleet.shutdown();
+
+        if (first == null) {
+          first = result;
+          single = wall;
+        }
+        else if (!result.toString().equals(first.toString())) {
+          identical = false;
+        }
+        System.out.printf("%7d %7.2f s %9.1f %12.0f %8.2fx %10.0f%%%n", threads, wall, runs / wall,
+            result.getTicks() / wall, single / wall, 100 * single / wall / threads);
+
+        if (threads >= maxThreads) {
+          break;
+        }
+      }
+
+      System.out.println();
+      System.out.println("fleet: " + first + (identical ? "" : " (results differ between thread counts)"));
+      System.out.printf("success rate %.1f%%, %d collisions, %.0fx real time per thread%n",
+          100 * first.getSuccessRate(), first.getCollisions(),
+          (double) first.getMissionNanos() / first.getSimulationNanos());
+    }
+}
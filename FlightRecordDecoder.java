@@ -0,0 +1,213 @@
+//------------------------------------------------------------------------------------------
+// FlightRecordDecoder.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (FlightRecordDecoder), which reads a recording of the
+// FlightRecorder. The records can be exported as CSV (one line per tick) or fed back into
+// the control logic as sensor replay (replay()).
+//
+// usage: FlightRecordDecoder <recording> [csv file]   (default: CSV on the console)
+//
+// Following methods are available:
+//
+// size ()  number of records in the recording, the oldest one has the index 0
+//
+// getTime (int index) ... getMotorCommands (int index)  fields of a record
+//
+// exportCsv (PrintStream out)  writes all records as CSV
+//
+// replay ()  a SensorView which returns the recorded samples tick by tick
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+public class FlightRecordDecoder {
+
+
+    // letters of the motor commands in the CSV
+    private static final String COMMAND_LETTERS = "FBSVA";
+
+
+    private final ByteBuffer buffer;
+    private final int capacity, size;
+    private final long first;
+
+
+    //constructor, reads the whole recording
+    public FlightRecordDecoder(File recording) throws IOException {
+      RandomAccessFile file = new RandomAccessFile(recording, "r");
+      try {
+        FileChannel channel = file.getChannel();
+        buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+          // reading until the buffer is full
+        }
+      }
+      finally {
+        file.close();
+      }
+
+      if (buffer.capacity() < FlightRecorder.HEADER_SIZE || buffer.getInt(0) != FlightRecorder.MAGIC) {
+        throw new IOException("not a flight recording: " + recording);
+      }
+      if (buffer.getInt(4) != FlightRecorder.VERSION
+          || buffer.getInt(8) != FlightRecorder.RECORD_SIZE) {
+        throw new IOException("unsupported version " + buffer.getInt(4) + ": " + recording);
+      }
+      capacity = buffer.getInt(12);
+      long count = buffer.getLong(FlightRecorder.COUNT_OFFSET);
+      size = (int) Math.min(count, capacity);
+      first = count - size;
+    }
+
+
+    public static void main(String[] args) throws IOException {
+      if (args.length < 1) {
+        System.out.println("usage: FlightRecordDecoder <recording> [csv file]");
+        return;
+      }
+      FlightRecordDecoder decoder = new FlightRecordDecoder(new File(args[0]));
+      if (args.length > 1) {
+        PrintStream out = new PrintStream(new FileOutputStream(args[1]));
+        decoder.exportCsv(out);
+        out.close();
+      }
+      else {
+        decoder.exportCsv(System.out);
+      }
+    }
+
+
+    // number of records, the oldest one has the index 0
+    public int size() {
+      return size;
+    }
+
+
+    // position of the record with the given index in the file
+    private int position(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("record " + index + " of " + size);
+      }
+      return FlightRecorder.HEADER_SIZE
+          + (int) ((first + index) % capacity) * FlightRecorder.RECORD_SIZE;
+    }
+
+
+    public long getTime(int index) {
+      return buffer.getLong(position(index));
+    }
+
+
+    public int getTick(int index) {
+      return buffer.getInt(position(index) + 8);
+    }
+
+
+    public float getLeft(int index) {
+      return buffer.getFloat(position(index) + 12);
+    }
+
+
+    public float getRight(int index) {
+      return buffer.getFloat(position(index) + 16);
+    }
+
+
+    public float getDistance(int index) {
+      return buffer.getFloat(position(index) + 20);
+    }
+
+
+    public int getFlags(int index) {
+      return buffer.get(position(index) + 24);
+    }
+
+
+    public int getPhase(int index) {
+      return buffer.get(position(index) + 25);
+    }
+
+
+    public int getBranch(int index) {
+      return buffer.get(position(index) + 26);
+    }
+
+
+    public int getManeuver(int index) {
+      return buffer.get(position(index) + 27);
+    }
+
+
+    public int getMotorCommands(int index) {
+      return buffer.getShort(position(index) + 28) & 0xffff;
+    }
+
+
+    //-------------------------------------------------------
+    //exportCsv (PrintStream out)
+    //  writes a header line and one line per record, the
+    //  motor commands are written as letters (F forward,
+    //  B backward, S stop, V speed, A acceleration)
+    //-------------------------------------------------------
+    public void exportCsv(PrintStream out) {
+      out.println("time_ms,tick,left,right,distance,ignore_first_value,stale,turn_aborted,"
+          + "phase,branch,maneuver,left_motor,right_motor,arm_motor");
+      StringBuilder line = new StringBuilder(128);
+      for (int i = 0; i < size; i++) {
+        int flags = getFlags(i);
+        int commands = getMotorCommands(i);
+        line.setLength(0);
+        line.append(getTime(i) / 1e6).append(',')
+            .append(getTick(i)).append(',')
+            .append(getLeft(i)).append(',')
+            .append(getRight(i)).append(',')
+            .append(getDistance(i)).append(',')
+            .append((flags & FlightRecorder.FLAG_IGNORE_FIRST_VALUE) != 0 ? 1 : 0).append(',')
+            .append((flags & FlightRecorder.FLAG_STALE) != 0 ? 1 : 0).append(',')
+            .append((flags & FlightRecorder.FLAG_TURN_ABORTED) != 0 ? 1 : 0).append(',')
+            .append(getPhase(i)).append(',')
+            .append(FlightRecorder.branchName(getBranch(i))).append(',')
+            .append(getManeuver(i)).append(',');
+        appendCommands(commands, line);
+        line.append(',');
+        appendCommands(commands >> 5, line);
+        line.append(',');
+        appendCommands(commands >> 10, line);
+        out.println(line);
+      }
+    }
+
+
+    private static void appendCommands(int bits, StringBuilder line) {
+      for (int i = 0; i < COMMAND_LETTERS.length(); i++) {
+        if ((bits & (1 << i)) != 0) {
+          line.append(COMMAND_LETTERS.charAt(i));
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //replay ()
+    //  returns a SensorView which returns the samples of the
+    //  next record on every refresh()
+    //-------------------------------------------------------
+    public ReplaySensorView replay() {
+      return new ReplaySensorView(this);
+    }
+}
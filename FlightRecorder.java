@@ -0,0 +1,168 @@
+//------------------------------------------------------------------------------------------
+// FlightRecorder.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (FlightRecorder), which stores one binary record for every
+// tick of the autopilot in a memory-mapped file. The file is allocated and loaded into
+// memory when the recorder gets opened, so recording a tick only writes to memory and
+// needs no system call. The records are kept in a ring, a full recorder overwrites the
+// oldest ticks. The recordings are read by the FlightRecordDecoder.
+//
+// Layout of the file (big endian):
+//
+//  header (32 bytes): magic, version, record size, capacity (int), number of records (long)
+//
+//  record (32 bytes): time in ns (long), tick (int), left and right touch sample and
+//                     distance (float), flags, phase, branch, maneuver (byte), motor
+//                     commands (short), 2 bytes unused
+//
+// The flags hold the state of ignoreFirstValue, stale touch samples and aborted turns, the
+// motor commands hold the commands of the left (bits 0-4), the right (bits 5-9) and the
+// arm motor (bits 10-14) as CachingMotorDevice command bits.
+//
+// Following methods are available:
+//
+// record (...)  stores the record of one tick
+//
+// getCount ()  number of recorded ticks since the start
+//
+// branchName (int branch)  name of a branch of drive()
+//
+// close ()  writes the file and closes it
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+public class FlightRecorder {
+
+
+    // layout of the file
+    public static final int MAGIC = 0x45563346;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 32;
+    static final int COUNT_OFFSET = 16;
+
+    // flags of a record
+    public static final int FLAG_IGNORE_FIRST_VALUE = 1, FLAG_STALE = 2, FLAG_TURN_ABORTED = 4;
+
+    // branches of drive() which can fire in a tick
+    public static final int BRANCH_MANEUVER = 0;
+    public static final int BRANCH_NO_DECISION = 1;
+    public static final int BRANCH_STRAIGHT = 2;
+    public static final int BRANCH_BARRIER_LEFT = 3;
+    public static final int BRANCH_BARRIER_RIGHT = 4;
+    public static final int BRANCH_BARRIER_AHEAD = 5;
+    public static final int BRANCH_EDGE = 6;
+    public static final int BRANCH_CASE_1 = 7;
+    public static final int BRANCH_CASE_2 = 8;
+    public static final int BRANCH_CASE_3 = 9;
+    public static final int BRANCH_CASE_4 = 10;
+    public static final int BRANCH_FORWARD_TO_EDGE = 11;
+    public static final int BRANCH_EDGE_REACHED = 12;
+    public static final int BRANCH_FINISH = 13;
+    public static final int BRANCH_TO_TARGET = 14;
+    public static final int BRANCH_TARGET_REACHED = 15;
+    public static final int BRANCH_TARGET_SKIPPED = 16;
+
+    // names of the branches, indexed by the branch
+    static final String[] BRANCH_NAMES = {
+      "maneuver", "no decision", "straight", "barrier left", "barrier right", "barrier ahead",
+      "edge", "case 1", "case 2", "case 3", "case 4", "forward to edge", "edge reached",
+      "finish", "to target", "target reached", "target skipped",
+    };
+
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long count;
+
+
+    //constructor, creates the file for the given number of records
+    public FlightRecorder(File file, int capacity) throws IOException {
+      if (capacity < 1) {
+        throw new IllegalArgumentException("capacity must be at least 1");
+      }
+      long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+      this.file = new RandomAccessFile(file, "rw");
+      this.file.setLength(size);
+      this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      this.capacity = capacity;
+
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, VERSION);
+      buffer.putInt(8, RECORD_SIZE);
+      buffer.putInt(12, capacity);
+      buffer.putLong(COUNT_OFFSET, 0);
+
+      // all pages get loaded now, not in the control loop
+      buffer.load();
+    }
+
+
+    //-------------------------------------------------------
+    //record (long time, long tick, float left, float right,
+    //        float distance, int flags, int phase,
+    //        int branch, int maneuver, int motorCommands)
+    //  stores the record of one tick, only writes to the
+    //  mapped memory
+    //-------------------------------------------------------
+    public void record(long time, long tick, float left, float right, float distance,
+        int flags, int phase, int branch, int maneuver, int motorCommands) {
+      int position = HEADER_SIZE + (int) (count % capacity) * RECORD_SIZE;
+      buffer.putLong(position, time);
+      buffer.putInt(position + 8, (int) tick);
+      buffer.putFloat(position + 12, left);
+      buffer.putFloat(position + 16, right);
+      buffer.putFloat(position + 20, distance);
+      buffer.put(position + 24, (byte) flags);
+      buffer.put(position + 25, (byte) phase);
+      buffer.put(position + 26, (byte) branch);
+      buffer.put(position + 27, (byte) maneuver);
+      buffer.putShort(position + 28, (short) motorCommands);
+      buffer.putShort(position + 30, (short) 0);
+
+      count++;
+      buffer.putLong(COUNT_OFFSET, count);
+    }
+
+
+    // name of a branch of drive()
+    public static String branchName(int branch) {
+      return branch >= 0 && branch < BRANCH_NAMES.length ? BRANCH_NAMES[branch] : "unknown " + branch;
+    }
+
+
+    // number of recorded ticks, the file holds the last ones
+    public long getCount() {
+      return count;
+    }
+
+
+    public int getCapacity() {
+      return capacity;
+    }
+
+
+    //-------------------------------------------------------
+    //close ()
+    //  writes the mapped memory to the file and closes it
+    //-------------------------------------------------------
+    public void close() throws IOException {
+      buffer.force();
+      file.close();
+    }
+}
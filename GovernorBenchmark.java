@@ -0,0 +1,86 @@
+//------------------------------------------------------------------------------------------
+// GovernorBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (GovernorBenchmark), which compares the SpeedGovernor
+// with the fixed pace (270, 220) of the autopilot in the simulator. The self-driving mode
+// and the mission mode run on many random tables, the table shows the mission times and
+// the stopping distances after the edge contacts: an overshoot is a stop which came closer
+// to the edge than SimWorld.EDGE_CLEARANCE. The stopping distances of the governor at its
+// highest speed are printed first.
+//
+// usage: GovernorBenchmark [runs] [seed] [speed factor]   (default 1000 1 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class GovernorBenchmark {
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 0.85f;
+
+      long latency = InfraredSignalCheckerThread.CONTROL_PERIOD * 1000000L;
+      int speed = new SpeedGovernor().speed(Float.NaN, latency, latency);
+      System.out.printf("governor:  %d deg/s, stops in %.1f cm (fixed pace 270 deg/s: %.1f cm at %d)%n",
+          speed, SpeedGovernor.stoppingDistance(speed, latency),
+          270 * 270 / (2.0 * 220) * Math.toRadians(1) * PoseEstimator.WHEEL_RADIUS, 220);
+      System.out.println();
+
+      System.out.printf("%-9s %-9s %8s %5s %8s %10s %9s %6s %10s %10s%n", "mode", "speed",
+          "success", "fell", "timeout", "mission", "obj/min", "stops", "overshoots",
+          "stop max");
+      for (int mission = 0; mission < 2; mission++) {
+        simulate(runs, seed, speedFactor, mission == 1, false);
+        simulate(runs, seed, speedFactor, mission == 1, true);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int runs, long seed, float speedFactor,
+    //          boolean mission, boolean withGovernor)
+    //  runs the autopilot or the mission on random tables
+    //  and prints one line of the table
+    //-------------------------------------------------------
+    private static void simulate(int runs, long seed, float speedFactor, boolean mission,
+        boolean withGovernor) {
+      int success = 0, fell = 0, timedOut = 0, stops = 0, overshoots = 0;
+      long missionNanos = 0, droppedOff = 0;
+      double stopMax = 0;
+
+      for (int i = 0; i < runs; i++) {
+        SimTable table = mission ? SimTable.random(seed + i, 3) : SimTable.random(seed + i);
+        Simulator simulator = new Simulator(table, seed + i);
+        SimWorld world = simulator.getWorld();
+        world.getLeftMotor().setSpeedFactor(speedFactor);
+        world.getRightMotor().setSpeedFactor(speedFactor);
+        if (!withGovernor) {
+          simulator.getController().setSpeedGovernor(null);
+        }
+        SimResult result = mission ? simulator.runMission(i % 2 == 0, 300000)
+            : simulator.runAutopilot(i % 2 == 0, 120000);
+
+        if (result.isSuccess()) success++;
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+        missionNanos += result.missionNanos;
+        droppedOff += result.droppedOff;
+        stops += world.getStops();
+        overshoots += world.getOvershoots();
+        stopMax = Math.max(stopMax, world.getStopMax());
+      }
+
+      System.out.printf("%-9s %-9s %8d %5d %8d %8.2f s %9.2f %6d %10d %7.1f cm%n",
+          mission ? "mission" : "autopilot", withGovernor ? "governor" : "fixed", success, fell,
+          timedOut, missionNanos / 1e9 / runs, droppedOff * 60e9 / missionNanos, stops,
+          overshoots, stopMax);
+    }
+}
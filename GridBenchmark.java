@@ -0,0 +1,138 @@
+//------------------------------------------------------------------------------------------
+// GridBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (GridBenchmark), which measures the OccupancyGrid: the
+// time of one update (infrared reading and touch sensors) and of one cost query on random
+// poses, the memory of the grid and the allocated bytes per update. Afterwards the
+// autopilot runs in the simulator on many random tables with and without the grid, the
+// barrier dodges count how often the robot ran into a barrier again.
+//
+// usage: GridBenchmark [runs] [seed] [speed factor]   (default 1000 1 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+
+public class GridBenchmark {
+
+
+    private static final int POSES = 4096;
+    private static final int UPDATES = 10000000;
+
+    private static long sink;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 0.85f;
+
+      measureUpdates(seed);
+      System.out.println();
+      System.out.printf("%-8s %8s %5s %8s %9s %10s %7s %13s%n", "grid", "success", "fell",
+          "timeout", "mission", "collisions", "dodges", "cells obs/edge");
+      simulate(runs, seed, speedFactor, false);
+      simulate(runs, seed, speedFactor, true);
+    }
+
+
+    //-------------------------------------------------------
+    //measureUpdates (long seed)
+    //  prints the time of an update and of a cost query on
+    //  random poses and the memory of the grid
+    //-------------------------------------------------------
+    private static void measureUpdates(long seed) {
+      Random random = new Random(seed);
+      double[] x = new double[POSES], y = new double[POSES], heading = new double[POSES];
+      float[] distance = new float[POSES];
+      for (int i = 0; i < POSES; i++) {
+        x[i] = random.nextGaussian() * 40;
+        y[i] = random.nextGaussian() * 40;
+        heading[i] = random.nextDouble() * 360;
+        distance[i] = random.nextFloat() * 100;
+      }
+
+      OccupancyGrid grid = new OccupancyGrid();
+      AllocationCounter allocations = new AllocationCounter(0);
+
+      for (int round = 0; round < 2; round++) {
+        long start = System.nanoTime();
+        allocations.tickStart();
+        for (int i = 0; i < UPDATES; i++) {
+          int p = i & (POSES - 1);
+          grid.addDistance(x[p], y[p], heading[p], distance[p]);
+          grid.addEdge(x[p], y[p], heading[p], (i & 1) == 0);
+        }
+        allocations.tickEnd();
+        long updateNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+          int p = i & (POSES - 1);
+          sink += grid.cost(x[p], y[p], heading[p], InfraredSignalCheckerThread.DODGE_LOOKAHEAD);
+        }
+        long costNanos = System.nanoTime() - start;
+
+        // the first round is the warmup
+        if (round == 1) {
+          System.out.printf("grid memory:   %d bytes (%d x %d cells of %.0f cm)%n",
+              OccupancyGrid.getMemory(), OccupancyGrid.SIZE, OccupancyGrid.SIZE, OccupancyGrid.CELL);
+          System.out.printf("update:        %.1f ns (infrared reading and touch sensor)%n",
+              (double) updateNanos / UPDATES);
+          System.out.printf("cost query:    %.1f ns (%.0f cm lane)%n",
+              (double) costNanos / UPDATES, InfraredSignalCheckerThread.DODGE_LOOKAHEAD);
+          System.out.printf("allocations:   %s%n", allocations.isSupported()
+              ? String.format("%.3f bytes per update", (double) allocations.getTotalBytes() / UPDATES / 2)
+              : "not supported");
+          System.out.printf("known cells:   %d obstacle, %d edge%n", grid.getObstacleCells(),
+              grid.getEdgeCells());
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int runs, long seed, float speedFactor,
+    //          boolean withGrid)
+    //  runs the autopilot on random tables and prints one
+    //  line of the table
+    //-------------------------------------------------------
+    private static void simulate(int runs, long seed, float speedFactor, boolean withGrid) {
+      int success = 0, fell = 0, timedOut = 0;
+      long missionNanos = 0, collisions = 0, dodges = 0, obstacleCells = 0, edgeCells = 0;
+
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i), seed + i);
+        simulator.getWorld().getLeftMotor().setSpeedFactor(speedFactor);
+        simulator.getWorld().getRightMotor().setSpeedFactor(speedFactor);
+        InfraredSignalCheckerThread controller = simulator.getController();
+        if (!withGrid) {
+          controller.setOccupancyGrid(null);
+        }
+        SimResult result = simulator.runAutopilot(i % 2 == 0, 120000);
+
+        if (result.isSuccess()) success++;
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+        missionNanos += result.missionNanos;
+        collisions += result.collisions;
+        dodges += controller.getBranchCount(FlightRecorder.BRANCH_BARRIER_AHEAD)
+            + controller.getBranchCount(FlightRecorder.BRANCH_CASE_4);
+        if (withGrid) {
+          obstacleCells += controller.getOccupancyGrid().getObstacleCells();
+          edgeCells += controller.getOccupancyGrid().getEdgeCells();
+        }
+      }
+
+      System.out.printf("%-8s %8d %5d %8d %7.2f s %10d %7d %7.1f / %.1f%n", withGrid ? "on" : "off",
+          success, fell, timedOut, missionNanos / 1e9 / runs, collisions, dodges,
+          (double) obstacleCells / runs, (double) edgeCells / runs);
+    }
+}
@@ -0,0 +1,64 @@
+//------------------------------------------------------------------------------------------
+// InfraredDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the device interface (InfraredDevice) for the infrared sensor, which
+// receives the commands of the remote control and measures the distance to barriers.
+//
+// The interface is implemented by LejosInfraredDevice on the brick and by
+// SimInfraredSensor in the simulator.
+//
+// Following methods are available:
+//
+// getRemoteCommand (int channel)  returns the button code (0-11) of the given channel
+//
+// getRemoteCommands (byte[] commands, int offset, int count)  button codes of all channels
+//
+// getDistanceMode ()  returns the sample provider for the distance measurement
+//
+// close ()  releases the sensor port
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public interface InfraredDevice {
+
+
+    //-------------------------------------------------------
+    //getRemoteCommand (int channel)
+    //  returns the button code of the remote control on the
+    //  given channel (0-3), 0 if no button is pressed
+    //-------------------------------------------------------
+    int getRemoteCommand(int channel);
+
+
+    //-------------------------------------------------------
+    //getRemoteCommands (byte[] commands, int offset, int count)
+    //  stores the button codes of the channels 0 to count-1
+    //  in the array, all channels are read at once
+    //-------------------------------------------------------
+    void getRemoteCommands(byte[] commands, int offset, int count);
+
+
+    //-------------------------------------------------------
+    //getDistanceMode ()
+    //  returns the sample provider for the distance mode,
+    //  the samples range from 0 (near) to 100 (far away)
+    //-------------------------------------------------------
+    SampleProvider getDistanceMode();
+
+
+    //-------------------------------------------------------
+    //close ()
+    //  releases the sensor port
+    //-------------------------------------------------------
+    void close();
+}
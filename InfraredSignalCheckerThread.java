@@ -1,691 +1,1982 @@
-//------------------------------------------------------------------------------------------
-// InfraredSignalCheckerThread.java
-// Lego Mindstorms EV3 Project
-//
-// Author:    Andreas Pilgerstorfer  
-//            Alexander Shönmann
-//
-// Created:   10.11.2020
-// Last changed: 19.12.2020
-//
-// This file contains a class (InfraredSignalCheckerThread), which is responsible to react on
-// various inputs which are delivered by using an infrared remote control.
-//
-// Following methods are available:
-//
-// run()     reads the input from the remote control and allows the robot to drive in
-//           different directions and starts the self-driving mode depending on the
-//           provided input.
-//
-// drive()   Allows the robot to drive by himself using autopilot-mode. The robot detects 
-//           table edges by himself due to the mounted touch sensors on both sides. He is 
-//           also able to dodge barriers by using the infrared sensors. While using his third
-//           motor the robot is capable of picking up Objects and dropping them at the 
-//           desired location.
-//
-// customDrivingPace(int motorSpeed, int motorAccelaration)
-//           setting driving speed and accelaration 
-//
-// customArmPace (int armSpeed, int armAccelaration)
-//            setting arm speed and accelaration
-//
-// driveForwardAfterTurn () the robot drives forward until he reaches the table edge for the
-//                          second time, drops the lego brick and drives backward 
-//                   
-// fetchLeft ()  gets the signals from the left touch sensor
-//
-// fetchRight ()  gets the signals from the right touch sensor
-//
-// obstacle () checks for Barriers in front of the robot.  If the value is smaller than a
-//             specified amount, the robot returns true if not false. The first measurement 
-//             after starting the autopilot gets ignored by using the global variable 
-//             ignoreFirstValue.
-//
-// stopping() stops the motors of the robot
-//
-// reardriving() the robot starts driving backwards 
-//
-// turnLeft()  the robot turns left
-//
-// turnRight() the robot turns right
-//
-// lifting ()  the robot grabs the object and raises the arm 
-//
-// dropping () the robot drops the object and lowers the arm
-//
-//------------------------------------------------------------------------------------------
-
-package remoteControl;
-
-//imports
-import lejos.hardware.sensor.EV3IRSensor;
-import lejos.hardware.sensor.NXTTouchSensor;
-import lejos.robotics.RegulatedMotor;
-import lejos.robotics.SampleProvider;
-import lejos.robotics.filter.MeanFilter;
-import lejos.utility.Delay;
-
-
-public class InfraredSignalCheckerThread extends Thread {
-  
-  
-    //class variables for the motors and sensors
-    private EV3IRSensor infraredSensor;
-    private NXTTouchSensor leftTouch, rightTouch;
-    private RegulatedMotor leftMotor,rightMotor,armMotor;
-
-    
-    //class variable for ignoring the first distance value 
-    // of the infrared sensor
-    private boolean ignoreFirstValue;
-    
- 
-    //get set to true as long as the current thread is running
-    public boolean isRunning;
-    
-    
-    //constructor
-    public InfraredSignalCheckerThread(final EV3IRSensor infraredSensor, 
-        NXTTouchSensor leftTouch, NXTTouchSensor rightTouch, RegulatedMotor left, 
-        RegulatedMotor right, RegulatedMotor arm){
-        this.infraredSensor = infraredSensor;
-        this.leftTouch = leftTouch;
-        this.rightTouch = rightTouch;
-        this.leftMotor = left;
-        this.rightMotor = right;
-        this.armMotor = arm;
-    }
-
-    
-    //-------------------------------------------------------
-    //run ()
-    //  reads the input from the remote control and allows 
-    //  the robot to drive in different directions and starts 
-    //  the self-driving mode depending on the provided input.
-    //
-    // Effect:
-    //  the robot is moved in a certain direction or starts
-    //  the self-driving mode
-    //-------------------------------------------------------    
-    @Override
-    public void run() {
-      System.out.println("Bereit...");
-        
-      
-      while(isRunning){           
-            
-            // fetching the command number from the different channels
-            final int remoteCommand_1 = infraredSensor.getRemoteCommand(0);
-            final int remoteCommand_4 = infraredSensor.getRemoteCommand(3);
-            
-            // If Statement for commands from channel one
-            if((remoteCommand_1 >= 0 && remoteCommand_1 <= 9) && remoteCommand_4 == 0) {
-                
-                //SwitchCase which allows the robot to drive forward, backwards, left, right
-                switch (remoteCommand_1){
-                    
-                    // no button pressed
-                    case 0:
-                      leftMotor.startSynchronization();     
-                      leftMotor.stop();
-                      rightMotor.stop();
-                      leftMotor.endSynchronization();
-                      break;
-                      
-                    // turn left  
-                    case 1:
-                      customDrivingPace(350, 300);
-                      rightMotor.forward();
-                      break;
-                        
-                    // turn right   
-                    case 2:
-                      customDrivingPace(350, 300);
-                      leftMotor.forward();
-                      break;
-                        
-                    // drive forward    
-                    case 3:
-                      customDrivingPace(600, 600);
-                      leftMotor.startSynchronization(); 
-                      leftMotor.forward();                    
-                      rightMotor.forward();
-                      leftMotor.endSynchronization();
-                      break;
-                      
-                    // drive backwards  
-                    case 4:
-                      customDrivingPace(600, 500);
-                      leftMotor.startSynchronization();     
-                      leftMotor.backward();
-                      rightMotor.backward();
-                      leftMotor.endSynchronization();
-                      break;
-                      
-                    // dealing with occasional errors  
-                    default:
-                      System.out.println("Button undefined, continue!");                 
-                }
-            }
-            
-            
-            // If Statement for commands from channel four
-            if ((remoteCommand_4 >= 1 && remoteCommand_4 <= 9) && remoteCommand_1 == 0){
-                System.out.println("Command_3 " + remoteCommand_4);
-                
-                //SwitchCase which allows the robot to turn into self driving mode
-                switch (remoteCommand_4){
-                                   
-                // no button pressed                                           
-                case 0:
-                  leftMotor.startSynchronization();     
-                  leftMotor.stop();
-                  rightMotor.stop();
-                  leftMotor.endSynchronization();
-                  break;
-                
-                  // self-driving mode 1
-                  // remote press to start
-                  // robot dodges to the left 
-                  case 2:
-                    drive(true);                     
-                    break;       
-                
-                
-                    // self-driving mode 2
-                    // remote press to start
-                    // robot dodges to the right 
-                   case 4:
-                     drive(false);                     
-                     break;
-                      
-                        
-                   default:
-                      System.out.println("Button undefined, continue!");
-                }
-            }                                
-            
-        }
-    }
-                 
-    
-    //-------------------------------------------------------
-    //drive (boolean dodgeDirection)
-    //  Allows the robot to drive by himself using autopilot-
-    //  mode. The robot detects table edges by himself due
-    //  to the mounted touch sensors on both sides. He is 
-    //  also able to dodge barriers by using the infrared
-    //  sensors. While using his third motor the robot is
-    //  capable of picking up objects and dropping them
-    //  at the desired location. 
-    //
-    // Parameter: needs a boolean value to operate
-    //
-    // Effect:
-    //  the robot drives with autopilot and deals with the
-    //  tasks of removing objects from the table.
-    //-------------------------------------------------------  
-    public void drive (boolean dodgeDirection) {
- 
-      ignoreFirstValue = true;                     
-      customArmPace(200, 230);
-      lifting(); 
-            
-      
-       t: while(isRunning) {
-
-                
-          // fetching commands of the left touch sensor
-          float[] sampleL = fetchLeft();
-          
-          //fetching commands of the right touch sensor
-          float[] sampleR = fetchRight();
-          
-          boolean hindernis = obstacle();
-          
-          // Case 1 right and left pressed
-          // driving straight forward and scanning for barriers
-          if ((sampleL[0] == 1 && sampleR[0] == 1) && (hindernis == false)) {
-           
-              customDrivingPace(270, 220);
-              
-              leftMotor.startSynchronization(); 
-              leftMotor.forward();
-              rightMotor.forward();
-              leftMotor.endSynchronization(); 
-             
-          }
-          
-          
-       // drives into barrier on the left side and detects barrier with infrared sensor at the same time
-          else if((sampleL[0] == 0 && sampleR[0] == 1) && (hindernis == true)) {
-             reardriving(1000);   
-             stopping();
-             if((sampleL[0] == 1 && sampleR[0] == 1) && (hindernis == false)) {
-               turnRight(600);
-             }
-             else {
-               reardriving(400);
-             }
-             stopping();
-          }
-          
-          
-          // drives into barrier on the right side and detects barrier with infrared sensor at the same time
-          else if((sampleL[0] == 1 && sampleR[0] == 0) && (hindernis == true)) {
-            reardriving(1000);      
-            stopping();
-            if((sampleL[0] == 1 && sampleR[0] == 1) && (hindernis == false)) {
-              turnLeft(600);
-            }
-            else {
-              reardriving(400);
-            }
-            stopping();
-          }
-                          
-          // driving straight into a barrier, infrared sensor detects barrier
-          else if( (sampleL[0] == 1 && sampleR[0] == 1) && (hindernis == true)) {
-
-            
-            stopping();
-            System.out.println("Infrared Barrier");
-            reardriving(1600);                                                    
-            
-            if(dodgeDirection) {
-               turnLeft(1750);
-            }
-            else {
-              turnRight(1750);
-            }
-          }
-          
-          // driving off the table 
-          // one or both of the sensors are not pressed anymore
-          else if((sampleL[0] == 0 || sampleR[0] == 0) && (hindernis == false)) {
-           
-            System.out.println("Left: " +sampleL[0] +", Right: " +sampleR[0]);
-        
-            reardriving(1600);                                
-            
-            float [] oldSampleL = sampleL;
-            float [] oldSampleR = sampleR;
-            
-            // fetching commands left-touch --> could have changed
-            sampleL = fetchLeft();
-            
-            //fetching commands right-touch --> could have changed
-            sampleR = fetchRight();
-
-                           
-            // Case 1: right sensor pressed, left not           
-            if(sampleL[0] == 0 && sampleR[0] == 1) {
-             
-              System.out.println("Case1");
-              stopping();
-              
-              // both sensors done, due to rolling after stopping
-              if(sampleL[0] == 0 && sampleR[0] == 0) {
-                dropping();
-                reardriving(500);
-                break t;
-              }
-                                        
-              customDrivingPace(220, 200);
-              reardriving(700);
-              turnLeft(1000); 
-              stopping();
-              
-              
-              // driving forward after the turn 
-              driveForwardAfterTurn();   
-              
-              // self driving mode exit
-              break t; 
-              
-            }
-                                 
-            // Case 2: left sensor pressed, right not 
-            else if(sampleL[0] == 1 && sampleR[0] == 0) {
-              
-              System.out.println("Case2");
-
-              stopping();
-              
-              // both sensors down, due to rolling after stopping
-              if(sampleL[0] == 0 && sampleR[0] == 0) {
-                dropping();
-                reardriving(500);
-                break t;
-              }
-              
-              customDrivingPace(220, 200);
-              reardriving(700);
-              turnRight(1000); 
-              stopping();
-              
-              // driving forward after turning
-              driveForwardAfterTurn();
-              
-              // self driving mode exit
-              break t; 
-              
-            }
-                        
-            // Case 3: left and right not pressed 
-             else if(sampleL[0] == 0 && sampleR[0] == 0) {
-               
-               System.out.println("Case3");
-
-               stopping();
-               
-               dropping();
-               System.out.println("Dropping brick !");
-               
-               customDrivingPace(700, 300);
-               reardriving(500);
-               stopping();
-               
-               // self driving mode exit
-               break t; 
-                                      
-             } 
-            
-             // Case 4: barrier detected
-             else { 
-               System.out.println("Barrier !");
-               reardriving(1000);           
-               stopping();
-               
-               // checking the turn direction depending on the old sample 
-               if(oldSampleL[0] == 0 && oldSampleR[0] == 1){
-                 turnLeft(2500);          
-               }
-               else if(oldSampleL[0] == 1 && oldSampleR[0] == 0){
-                 turnRight(2500);          
-               }
-               else {
-                 turnLeft(2500);      
-               }
-               stopping();
-             }
-          }
-          
-    
-       }
-      System.out.println("Waiting for Button press!");
-
-    }
-    
-    
-    
-    //-------------------------------------------------------
-    //customDrivingPace(int motorSpeed, int motorAccelaration)
-    //  setting driving speed and accelaration
-    //
-    // Parameters
-    //  needs two integers between 0 and 700 to operate
-    //
-    // Effect:
-    //  the driving speed and accelaration get set
-    //-------------------------------------------------------
-    public void customDrivingPace (int motorSpeed, int motorAccelaration) {
-      leftMotor.setSpeed(motorSpeed);
-      rightMotor.setSpeed(motorSpeed);
-      
-      leftMotor.setAcceleration(motorAccelaration);
-      rightMotor.setAcceleration(motorAccelaration);
-          
-    }
-    
-        
-    //-------------------------------------------------------
-    //customArmPace (int armSpeed, int armAccelaration)
-    //  setting arm speed and accelaration
-    //
-    // Parameters
-    //  needs two integers between 0 and 700 to operate
-    //
-    // Effect:
-    //  the  speed and accelaration of the arm gets set
-    //-------------------------------------------------------
-    public void customArmPace (int armSpeed, int armAccelaration) {
-      armMotor.setSpeed(armSpeed);
-      armMotor.setAcceleration(armAccelaration);
-      
-    }
-        
-    
-    
-    //-------------------------------------------------------
-    //driveForwardAfterTurn ()
-    //  the robot drives forward until he reaches the table 
-    //  edge for the second time, drops the lego brick and 
-    //  drives backward
-    //
-    // Effect:
-    //  the robot drives forward until he reaches the table 
-    //  edge for the second time, drops the lego brick
-    //  and drives backward
-    //-------------------------------------------------------
-    public void driveForwardAfterTurn () {  
-            
-      while(isRunning) {
-              
-        // fetching commands left
-        float [] sampleL2 = fetchLeft();
-
-        // fetching commands right
-        float[] sampleR2 = fetchRight();
-
-        // driving forward
-        leftMotor.startSynchronization();           
-        leftMotor.forward();
-        rightMotor.forward();
-        leftMotor.endSynchronization(); 
-        
-        // checking if sensors aren't pressed anymore
-        if(sampleL2[0] == 0 || sampleR2[0] == 0) {    
-          stopping();
-          
-          dropping();
-          
-          System.out.println("Dropping brick !");
-          
-          customDrivingPace(700,300);
-          reardriving(500);
-          stopping();
-          break;
-        }
-      }
-      
-    }
-    
-
-    
-    
-    //-------------------------------------------------------
-    //fetchLeft ()
-    //  gets the signals from the left touch sensor
-    //  
-    // Effect:
-    //  returns the signals of the left touch sensor
-    //-------------------------------------------------------
-    public float[] fetchLeft() {
-      
-      int sampleSizeL = leftTouch.sampleSize();
-      float[] sampleL = new float[sampleSizeL];
-      leftTouch.fetchSample(sampleL, 0);
-      
-      return sampleL;
-    }
-    
-    
-    //-------------------------------------------------------
-    //fetchRight ()
-    //  gets the signals from the right touch sensor
-    //  
-    // Effect:
-    //  returns the signals of the right touch sensor
-    //-------------------------------------------------------
-    public float[] fetchRight() {
-      
-      int sampleSizeR = rightTouch.sampleSize();
-      float[] sampleR = new float[sampleSizeR];
-      rightTouch.fetchSample(sampleR, 0);
-      
-      return sampleR;
-    }
-    
- 
-    
-    //------------------------------------------------------- 
-    //obstacle ()
-    //  checks for Barriers in front of the robot. 
-    //  If the value is smaller than a specified amount,
-    //  the robot returns true if not false.
-    //  The first measurement after starting the autopilot
-    //  gets ignored by using the global variable 
-    //  ignoreFirstValue.
-    //
-    // Effect:
-    //  checks for Barriers in front  of the robot and returns
-    //  true if an obstacle got detected and false if not.
-    //-------------------------------------------------------
-    public boolean obstacle() {
-      
-      SampleProvider distance = infraredSensor.getDistanceMode();  
-      
-      //gives the average of the last 5 samples
-      SampleProvider average = new MeanFilter(distance,5);
-
-       float[] sample = new float[average.sampleSize()];
-       average.fetchSample(sample, 0);
-       
-       // Printing the distance 
-       System.out.println("Current: " + sample[0]);                                             
-
-       if (sample[0] < 7 && ignoreFirstValue == false) {
-         
-         ignoreFirstValue = true;
-         System.out.println("Obstacle true!");
-         return true;      
-       }
-       else {
-         ignoreFirstValue = false;
-         return false;
-       }
-
-    }
-           
-    
-    //-------------------------------------------------------
-    //stopping ()
-    //  stops the motors of the robot 
-    //
-    // Effect:
-    //  the robot gets stopped
-    //-------------------------------------------------------
-    public void stopping() {
-      leftMotor.startSynchronization();           
-      leftMotor.stop();
-      rightMotor.stop(); 
-      leftMotor.endSynchronization();
-      
-      System.out.println("stopping");
-    }
-
-    
-    //-------------------------------------------------------
-    //reardriving(int duration)
-    //  the robot starts driving backwards for a certain amount
-    //  of time depending on the parameter
-    //
-    // Parameter: needs a positive integer value to operate
-    //
-    // Effect:
-    //  the robot starts driving backwards for a certain amount
-    //  of time depending on the parameter
-    //-------------------------------------------------------
-    public void reardriving(int duration) {
-      leftMotor.startSynchronization();           
-      leftMotor.backward();
-      rightMotor.backward();  
-      leftMotor.endSynchronization();
-      Delay.msDelay(duration);                                                          
-
-      System.out.println("Reardriving");
-    }
-    
-    
-    //-------------------------------------------------------
-    //turnLeft (int duration)
-    //  the robot turns left for a certain amount
-    //  of time depending on the parameter                                                
-    //
-    // Parameter: needs a positive integer value to operate
-    //
-    // Effect:
-    //  the robot turns in the direction on the left hand 
-    //  side
-    //-------------------------------------------------------
-    public void turnLeft(int duration) {
-      rightMotor.forward();
-      System.out.println("Left");
-      Delay.msDelay(duration);
-    }                                             
-    
-    
-    //-------------------------------------------------------
-    //turnRight ()                                                                 
-    //  the robot turns right for a certain amount
-    //  of time depending on the parameter  
-    //
-    // Parameter: needs a positive integer value to operate
-    //
-    // Effect:
-    //  the robot turns in the direction on the right hand 
-    //  side
-    //-------------------------------------------------------
-    public void turnRight(int duration) {
-      leftMotor.forward();
-      System.out.println("Right");
-      Delay.msDelay(duration);
-    }
-    
-       
-    
-    //-------------------------------------------------------
-    //lifting ()                                                                 
-    //  the robot grabs the object and raises the arm 
-    //
-    // Effect:
-    //  the robot grabs the object and raises the arm 
-    //  by using the third motor, the arm motor.
-    //-------------------------------------------------------
-    public void lifting() {
-      armMotor.backward();
-      Delay.msDelay(1500);
-      armMotor.stop();
-    }
-    
-    
-    //-------------------------------------------------------
-    //dropping ()                                                                 
-    //  the robot drops the object and lowers the arm 
-    //
-    // Effect:
-    //  the robot drops the object and lowers the arm 
-    //  by using the third motor, the arm motor.
-    //-------------------------------------------------------
-    public void dropping() {
-      armMotor.forward();
-      Delay.msDelay(1500);
-      armMotor.stop();
-    }
-    
- 
-}
-
-
-
+//------------------------------------------------------------------------------------------
+// InfraredSignalCheckerThread.java
+// Lego Mindstorms EV3 Project
+//
+// Author:    Andreas Pilgerstorfer  
+//            Alexander Shönmann
+//
+// Created:   10.11.2020
+// Last changed: 18.10.2026
+//
+// This file contains a class (InfraredSignalCheckerThread), which is responsible to react on
+// various inputs which are delivered by using an infrared remote control.
+//
+// Following methods are available:
+//
+// run()     reads the input from the remote control and allows the robot to drive in
+//           different directions and starts the self-driving mode depending on the
+//           provided input.
+//
+// shutdown (long timeout)  ends the control thread at its next tick and waits for it
+//
+// drive()   Allows the robot to drive by himself using autopilot-mode. The robot detects 
+//           table edges by himself due to the mounted touch sensors on both sides. He is 
+//           also able to dodge barriers by using the infrared sensors. While using his third
+//           motor the robot is capable of picking up Objects and dropping them at the 
+//           desired location.
+//
+// runMission()  runs the autopilot for every object of the target queue (getTargets())
+//
+// cruise() / dodge() / edgeReached() / edgeCheck() / toTarget()  the actions of the
+//           behaviors of the autopilot, executed by drive() when no maneuver is running
+//
+// getArbitrator ()  the arbitrator of the behaviors with the latencies of their changes
+//
+// customDrivingPace(int motorSpeed, int motorAccelaration)
+//           setting driving speed and accelaration 
+//
+// cruisingPace ()  sets the speed of the SpeedGovernor for driving forward
+//
+// customArmPace (int armSpeed, int armAccelaration)
+//            setting arm speed and accelaration
+//
+// driveForwardAfterTurn (float sampleL, float sampleR) one tick of driving forward until
+//                          the robot reaches the table edge for the second time, drops the
+//                          lego brick and drives backward 
+//                   
+// fetchLeft ()  gets the signals from the left touch sensor of the current tick
+//
+// fetchRight ()  gets the signals from the right touch sensor of the current tick
+//
+// obstacle () checks for Barriers in front of the robot.  If the filtered distance is smaller
+//             than OBSTACLE_DISTANCE, the robot returns true if not false. The first
+//             measurement after starting the autopilot gets ignored by using the global
+//             variable ignoreFirstValue.
+//
+// stopping() stops the motors of the robot
+//
+// reardriving() the robot starts driving backwards 
+//
+// turnLeft()  the robot turns left
+//
+// turnRight() the robot turns right
+//
+// rotateLeft (int degrees) / rotateRight (int degrees)  the robot turns by the given angle
+//
+// backUp (int distance)  the robot drives backwards for the given cm
+//
+// lifting ()  the robot grabs the object and raises the arm 
+//
+// dropping () the robot drops the object and lowers the arm
+//
+// calibrateArm ()  measures the arm positions once at startup, then lifting() and dropping()
+//           move the arm to them (ArmController) instead of running it for armDuration
+//
+// The maneuvers (stopping() to dropping()) do not block the control thread, they are
+// queued in a ManeuverEngine which is advanced once per tick by drive(). The sensors are
+// read in every tick, a turn gets aborted as soon as a touch sensor reaches the table edge,
+// except the turn of case 1 and 2 which goes towards the edge on purpose.
+// The autopilot turns and drives backwards by angle and distance, the maneuvers end on the
+// odometry (PoseEstimator) of the drive motors, which is updated in every tick.
+//
+// The sensors and motors are accessed through the device interfaces (TouchDevice,
+// InfraredDevice, MotorDevice) and all delays are executed by the RobotClock, so the same
+// logic runs on the brick and in the simulator (Simulator). The sensors are read through a
+// SensorView once per tick: by default the SampleBus with preallocated buffers reads them
+// in the control thread, on the brick a SensorHub (setSensorView()) reads every sensor in
+// its own thread and the control thread only takes the newest samples. A touch sample which
+// is older than MAX_SAMPLE_AGE counts as released, so a hanging sensor makes the robot
+// back away from the edge instead of driving on.
+//
+// All loops of the control thread (run(), drive(), driveForwardAfterTurn()) are paced by a
+// ControlLoopScheduler with a fixed period (setControlPeriod()), the scheduler records
+// the jitter and the overruns of the ticks.
+//
+// The motors are wrapped in CachingMotorDevices, commands which would not change the speed,
+// the acceleration or the direction of a motor are dropped. The drive motors are commanded
+// together as MotorPair in one synchronization block.
+//
+// The autopilot remembers the table in an OccupancyGrid (setOccupancyGrid()): the infrared
+// readings mark obstacles, released touch sensors mark the table edge at the position of
+// the odometry. A dodge turn goes to the side with less known cells in the grid, the side
+// given by dodgeDirection or the old samples only decides when both sides are equal.
+//
+// Driving forward, the speed comes from a SpeedGovernor (setSpeedGovernor()): as fast as the
+// robot can still stop after the measured reaction latency before the wheels reach the
+// table edge or the bumper a barrier seen by the infrared sensor. Without the governor the
+// robot drives forward at the fixed pace (270, 220).
+//
+// The thresholds, paces, angles and distances of the autopilot are taken from an
+// AutopilotParameters set (setParameters()), by default the constants below. The
+// AutopilotTuner searches better values in the simulator.
+//
+// In mission mode (runMission()) the autopilot does not stop after the first object: after
+// every drop it drives to the next target of the TargetQueue by odometry, lifts the object
+// there and carries it to the nearest point where an object was dropped before, which is a
+// known table edge. Targets which cannot be reached are skipped. The number of dropped
+// objects per minute is the measure of a mission.
+//
+// A FlightRecorder (setFlightRecorder()) stores the samples, the fired branch of drive()
+// and the motor commands of every tick of the autopilot in a memory-mapped file.
+//
+// The messages of the control thread are stored as event codes in an EventLog and printed
+// by a LogDrainer thread, so the slow console never blocks the control loop.
+//
+// The touch samples go through a SensorEventPipeline once per tick: it debounces them
+// (its setDebounce(), off by default) and publishes a released sensor as edge event, which
+// aborts a running turn. The phases decide on the debounced samples, so a single bouncing
+// reading does not start the edge branch when a debounce time is set.
+//
+// The autopilot consists of prioritized behaviors (Behavior): cruise, to target, obstacle
+// dodge, edge recovery and drop, in ascending priority. In every tick without a running
+// maneuver a BehaviorArbitrator runs the highest behavior which wants the robot, the phase
+// of the autopilot is the state the behaviors decide on. While a maneuver runs, a behavior
+// of at least the same priority preempts it in the tick of the edge event, like the edge
+// recovery a dodge turn. The arbitrator measures the latency from the sensor event until
+// the new behavior per pair of behaviors.
+//
+// The reaction latencies (touch sensor at the edge until stopping() or backUp(), remote
+// command until the motor command) and the period of the control loop are recorded in
+// LatencyHistograms without locks or allocation, a MetricsServer serves them together with
+// the counts of the branches of drive().
+//
+// Besides the infrared remote, run() takes the commands of a UDP remote (setUdpRemote()):
+// button packets go through the same RemoteDispatcher, drive packets set the speed and the
+// turn rate continuously. If the robot moves by UDP and no packet comes for UDP_TIMEOUT, it
+// stops. Both sources are read once per tick, so a command reaches the motors at most one
+// period of the control loop after it arrived.
+//
+// A ControlLoopWatchdog (setWatchdog()) gets a heartbeat in every tick and stops the motors
+// from its own thread if no tick started for its deadline. When the control thread goes on,
+// the autopilot ends and the robot waits for the next command. shutdown() ends the control
+// thread cooperatively: isRunning is volatile and checked in every tick of both loops.
+//
+//------------------------------------------------------------------------------------------
+
+package remoteControl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class InfraredSignalCheckerThread extends Thread {
+  
+  
+    //class variables for the motors and sensors
+    private InfraredDevice infraredSensor;
+    private TouchDevice leftTouch, rightTouch;
+    private CachingMotorDevice leftMotor,rightMotor,armMotor;
+    
+    //both drive motors, commanded in one synchronization block
+    private MotorPair driveMotors;
+    
+    //time source for all delays
+    private RobotClock clock;
+    
+    //samples of the sensors, read once per tick
+    private SensorView sensors;
+    
+    //maximum age of a touch sample in nanoseconds, older
+    //samples count as released
+    public static final long MAX_SAMPLE_AGE = 50000000L;
+    private boolean samplesStale;
+    
+    //counts the allocations of each autopilot loop, null if not used
+    private AllocationCounter allocationCounter;
+    
+    //records every autopilot loop, null if not used
+    private FlightRecorder flightRecorder;
+    
+    //branch of drive() which fired in the current tick and
+    //flags of the tick for the flight recorder
+    private int branch;
+    private int tickFlags;
+    
+    //number of ticks per fired branch since the start, read by
+    //the MetricsServer while the control thread counts
+    private final AtomicLongArray branchCounts = new AtomicLongArray(FlightRecorder.BRANCH_NAMES.length);
+    
+    //latencies from a touch sensor reaching the edge until the
+    //autopilot stops or backs up and from a new remote command
+    //until the motor command, touchTransition is the time of
+    //the transition without reaction yet (-1 if none)
+    private final LatencyHistogram touchReaction = new LatencyHistogram();
+    private final LatencyHistogram remoteReaction = new LatencyHistogram();
+    private long touchTransition = -1;
+    
+    //remote control over UDP, null if not used, the time of its
+    //last packet and whether its last command moved the robot,
+    //and the latency from the arrival of a packet until the
+    //motor command
+    private UdpRemoteReceiver udpRemote;
+    private long udpSeen;
+    private boolean udpMoving;
+    private final LatencyHistogram udpReaction = new LatencyHistogram();
+    
+    //time in milliseconds without UDP packets after which the
+    //robot stops, and the acceleration of the UDP commands
+    public static final int UDP_TIMEOUT = 500;
+    public static final int UDP_ACCELERATION = 600;
+    
+    //number of autopilot loops since the start
+    private long tickCount;
+    
+    //default period of the control loops in milliseconds
+    public static final int CONTROL_PERIOD = 10;
+    
+    //decodes the buttons of the remote control, the button
+    //codes of all channels are read into remoteCommands
+    private RemoteDispatcher remote;
+    private final byte[] remoteCommands = new byte[RemoteDispatcher.CHANNELS];
+    
+    //paces the loops of the control thread
+    private ControlLoopScheduler scheduler;
+    
+    //executes the maneuvers of the autopilot tick by tick
+    private ManeuverEngine maneuvers;
+    
+    //positions of the arm, used by the maneuvers once calibrated
+    private ArmController arm;
+    
+    //odometry of the drive motors, updated once per tick
+    private PoseEstimator pose;
+    
+    //angles (degrees) and distances (cm) of the autopilot
+    //maneuvers, measured with the former timed maneuvers
+    public static final int BARRIER_TURN = 79, EDGE_TURN = 27, CASE_4_TURN = 105;
+    public static final int EDGE_BACK_UP = 3, BARRIER_BACK_UP = 11, DODGE_BACK_UP = 10;
+    public static final int SHORT_BACK_UP = 2;
+    
+    //a closed-loop maneuver ends after this time in milliseconds
+    //even if the odometry did not reach its target
+    public static final int MANEUVER_TIMEOUT = 4000;
+    
+    //filtered infrared distance below which a barrier is reported
+    public static final float OBSTACLE_DISTANCE = 7f;
+    
+    //known obstacles and table edges, null if not used, and the
+    //length in cm of the lane checked before a dodge turn
+    private OccupancyGrid grid;
+    public static final float DODGE_LOOKAHEAD = 40f;
+    
+    //speed of driving forward, null for the fixed pace
+    private SpeedGovernor governor;
+    
+    //thresholds, paces, angles and distances of the autopilot
+    private AutopilotParameters parameters = new AutopilotParameters();
+    
+    //objects of a mission and the state of the mission
+    private final TargetQueue targets = new TargetQueue();
+    private boolean missionMode;
+    private long missionNanos;
+    private long targetDeadline;
+    
+    //positions where objects were dropped, known table edges, and
+    //the headings at the drops, which point over the edge; the way
+    //to a drop point aims DROP_OVERSHOOT cm past it along its heading
+    public static final int MAX_DROP_POINTS = 16, DROP_OVERSHOOT = Integer.getInteger("dov", 15);
+    private final float[] dropX = new float[MAX_DROP_POINTS];
+    private final float[] dropY = new float[MAX_DROP_POINTS];
+    private final float[] dropHeading = new float[MAX_DROP_POINTS];
+    private int dropPoints, drops;
+    private boolean edgeReuse = true;
+    
+    //distance of the claw in front of the wheels in cm, accepted
+    //distance of the claw from a target in cm, accepted heading
+    //error in degrees and time for reaching a target in ms
+    public static final float CLAW_REACH = 13f;
+    public static final float TARGET_TOLERANCE = 2f;
+    public static final float AIM_TOLERANCE = 5f;
+    public static final int TARGET_TIMEOUT = 20000;
+    
+    //messages of the control thread, printed by a LogDrainer
+    private EventLog log;
+    
+    //phases of the autopilot, the phase decides what happens
+    //in a tick when no maneuver is running
+    private static final int PHASE_CRUISE = 0, PHASE_EDGE_CHECK = 1;
+    private static final int PHASE_FORWARD_TO_EDGE = 2, PHASE_FINISH = 3;
+    private static final int PHASE_TO_TARGET = 4;
+    private int phase;
+    
+    //touch samples before the edge check
+    private float oldSampleL, oldSampleR;
+    
+    //debounces the touch samples and publishes them as edge
+    //events, edgeEvent is the time of the first edge event of
+    //the current tick (-1 if none)
+    private final SensorEventPipeline sensorEvents = new SensorEventPipeline();
+    private long edgeEvent = -1;
+    
+    //behaviors of the autopilot in ascending priority, the
+    //arbitrator selects one of them in every tick
+    public static final int CRUISE = 0, TO_TARGET = 1, OBSTACLE_DODGE = 2;
+    public static final int EDGE_RECOVERY = 3, DROP = 4;
+    public static final String[] BEHAVIOR_NAMES = {"cruise", "to target", "obstacle dodge",
+        "edge recovery", "drop"};
+    private final BehaviorArbitrator arbitrator;
+    
+    //state of the tick for the behaviors: the dodge direction
+    //of drive(), the debounced touch samples, the result of
+    //obstacle() in the tick obstacleTick and whether the
+    //autopilot is done
+    private boolean dodgeDirection;
+    private float tickSampleL, tickSampleR;
+    private long obstacleTick = -1;
+    private boolean obstacleSeen;
+    private boolean finished;
+
+    
+    //class variable for ignoring the first distance value 
+    // of the infrared sensor
+    private boolean ignoreFirstValue;
+    
+ 
+    //get set to true as long as the current thread is running,
+    //the loops end at their next tick when it gets false
+    public volatile boolean isRunning;
+    
+    //stops the motors if the control loop hangs, null if not used
+    private ControlLoopWatchdog watchdog;
+    
+    
+    //constructor
+    public InfraredSignalCheckerThread(final InfraredDevice infraredSensor, 
+        TouchDevice leftTouch, TouchDevice rightTouch, MotorDevice left, 
+        MotorDevice right, MotorDevice arm, RobotClock clock){
+        this.infraredSensor = infraredSensor;
+        this.leftTouch = leftTouch;
+        this.rightTouch = rightTouch;
+        this.leftMotor = new CachingMotorDevice(left);
+        this.rightMotor = new CachingMotorDevice(right);
+        this.armMotor = new CachingMotorDevice(arm);
+        this.driveMotors = new MotorPair(leftMotor, rightMotor);
+        this.clock = clock;
+        this.sensors = new SampleBus(leftTouch, rightTouch, infraredSensor);
+        this.scheduler = new ControlLoopScheduler(clock, CONTROL_PERIOD * 1000000L);
+        this.pose = new PoseEstimator();
+        this.grid = new OccupancyGrid();
+        this.governor = new SpeedGovernor();
+        this.maneuvers = new ManeuverEngine(driveMotors, armMotor, pose);
+        this.arm = new ArmController(armMotor, clock);
+        this.maneuvers.setArmController(this.arm);
+        this.remote = new RemoteDispatcher();
+        this.log = new EventLog(1024);
+        
+        this.arbitrator = new BehaviorArbitrator(new Behavior[] {new Cruise(), new ToTarget(),
+            new ObstacleDodge(), new EdgeRecovery(), new Drop()}, BEHAVIOR_NAMES);
+        
+        // the control thread takes every edge event right away, edge
+        // and obstacle events are the triggers of the arbitrator
+        sensorEvents.subscribe(new EventSubscriber() {
+          @Override
+          public void onSubscribe(EventSubscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+          }
+          
+          @Override
+          public void onNext(int event, long nanos) {
+            // EDGE_LEFT, EDGE_RIGHT and EDGE_BOTH, compared with the
+            // constants so the tick does not load SensorEvent
+            if (event <= SensorEvent.EDGE_BOTH) {
+              if (edgeEvent < 0) {
+                edgeEvent = nanos;
+              }
+              arbitrator.trigger(nanos);
+            }
+            else if (event == SensorEvent.OBSTACLE_NEAR) {
+              arbitrator.trigger(nanos);
+            }
+          }
+        }, 1);
+    }
+
+    
+    //-------------------------------------------------------
+    //run ()
+    //  reads the input from the remote control and allows 
+    //  the robot to drive in different directions and starts 
+    //  the self-driving mode depending on the provided input.
+    //  The buttons are decoded by a RemoteDispatcher, the
+    //  motors only get commands when the button changes.
+    //
+    // Effect:
+    //  the robot is moved in a certain direction or starts
+    //  the self-driving mode
+    //-------------------------------------------------------    
+    @Override
+    public void run() {
+      log.log(LogEvent.READY);
+        
+      scheduler.start();
+      while(isRunning){           
+            
+            // waiting for the next tick of the control loop
+            scheduler.awaitNextTick();
+            watchdogStopped();
+            
+            // fetching the command numbers of all channels at once
+            infraredSensor.getRemoteCommands(remoteCommands, 0, RemoteDispatcher.CHANNELS);
+            long received = clock.nanoTime();
+            
+            // the motors only get a command if the decoded button changed
+            int action = remote.decode(remoteCommands);
+            if (action != RemoteDispatcher.NO_CHANGE) {
+              if (remote.getLastChannel() == 3) {
+                log.log(LogEvent.COMMAND_CHANNEL_4, remote.getLastCommand());
+              }
+              dispatch(action);
+              
+              // the driving commands reached the motors
+              if (action >= RemoteDispatcher.STOP && action <= RemoteDispatcher.BACKWARD) {
+                remoteReaction.record(clock.nanoTime() - received);
+              }
+            }
+            
+            // the newest command of the UDP remote
+            if (udpRemote != null) {
+              pollUdp();
+            }
+        }
+      
+      // the robot stands still when the control thread ends
+      if (watchdog != null) {
+        watchdog.disarm();
+      }
+      driveMotors.stop(true);
+      armMotor.stop(true);
+    }
+    
+    
+    //-------------------------------------------------------
+    //dispatch (int action)
+    //  executes an action of the RemoteDispatcher, from the
+    //  infrared or the UDP remote
+    //-------------------------------------------------------
+    private void dispatch(int action) {
+      //SwitchCase which allows the robot to drive forward, backwards, left, right
+      //and to turn into self driving mode
+      switch (action) {
+              
+        // no button pressed
+        case RemoteDispatcher.STOP:
+          driveMotors.stop(false);
+          break;
+                
+        // turn left  
+        case RemoteDispatcher.TURN_LEFT:
+          customDrivingPace(350, 300);
+          rightMotor.forward();
+          break;
+                  
+        // turn right   
+        case RemoteDispatcher.TURN_RIGHT:
+          customDrivingPace(350, 300);
+          leftMotor.forward();
+          break;
+                  
+        // drive forward    
+        case RemoteDispatcher.FORWARD:
+          customDrivingPace(600, 600);
+          driveMotors.forward();
+          break;
+                
+        // drive backwards  
+        case RemoteDispatcher.BACKWARD:
+          customDrivingPace(600, 500);
+          driveMotors.backward();
+          break;
+                
+        // self-driving mode 1
+        // remote press to start
+        // robot dodges to the left 
+        case RemoteDispatcher.AUTOPILOT_DODGE_LEFT:
+          drive(true);                     
+          break;       
+              
+        // self-driving mode 2
+        // remote press to start
+        // robot dodges to the right 
+        case RemoteDispatcher.AUTOPILOT_DODGE_RIGHT:
+          drive(false);                     
+          break;
+                
+        // mission mode, removes all objects of the targets
+        case RemoteDispatcher.MISSION_DODGE_LEFT:
+          runMission(true);
+          break;
+                
+        case RemoteDispatcher.MISSION_DODGE_RIGHT:
+          runMission(false);
+          break;
+                
+        // continuous speed and turn rate of the UDP remote
+        case RemoteDispatcher.DRIVE:
+          driveContinuous(remote.getSpeed(), remote.getTurnRate());
+          break;
+                
+        // dealing with occasional errors  
+        default:
+          log.log(LogEvent.BUTTON_UNDEFINED);                 
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //pollUdp ()
+    //  takes the newest packet of the UdpRemoteReceiver and
+    //  dispatches it like a button of the infrared remote.
+    //  If the robot moves by UDP commands and no packet came
+    //  for UDP_TIMEOUT, the robot stops.
+    //-------------------------------------------------------
+    private void pollUdp() {
+      long now = clock.nanoTime();
+      int action;
+      if (udpRemote.poll()) {
+        udpSeen = now;
+        if (udpRemote.getKind() == UdpRemoteReceiver.DRIVE) {
+          action = remote.decodeDrive(udpRemote.getSpeed(), udpRemote.getTurnRate());
+        }
+        else {
+          action = remote.decodeButton(udpRemote.getChannel(), udpRemote.getCommand());
+        }
+      }
+      else if (udpMoving && now - udpSeen > UDP_TIMEOUT * 1000000L) {
+        log.log(LogEvent.UDP_TIMEOUT);
+        udpMoving = false;
+        remote.decodeDrive(0, 0);
+        driveMotors.stop(true);
+        return;
+      }
+      else {
+        return;
+      }
+      if (action == RemoteDispatcher.NO_CHANGE) {
+        return;
+      }
+      
+      dispatch(action);
+      udpMoving = (action >= RemoteDispatcher.TURN_LEFT && action <= RemoteDispatcher.BACKWARD)
+          || (action == RemoteDispatcher.DRIVE
+              && (remote.getSpeed() != 0 || remote.getTurnRate() != 0));
+      
+      // the packet reached the motors, the arrival is taken by the
+      // receiving thread in real time
+      if (action >= RemoteDispatcher.STOP && action <= RemoteDispatcher.BACKWARD
+          || action == RemoteDispatcher.DRIVE) {
+        udpReaction.record(System.nanoTime() - udpRemote.getArrival());
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //driveContinuous (int speed, int turnRate)
+    //  drives with the given speed and turn rate in degrees
+    //  of the wheels per second, a positive turn rate turns
+    //  left. The wheel speeds are limited to 700.
+    //-------------------------------------------------------
+    private void driveContinuous(int speed, int turnRate) {
+      int left = Math.max(-700, Math.min(700, speed - turnRate));
+      int right = Math.max(-700, Math.min(700, speed + turnRate));
+      driveMotors.drive(left, right, UDP_ACCELERATION);
+    }
+    
+    
+    //-------------------------------------------------------
+    //drive (boolean dodgeDirection)
+    //  Allows the robot to drive by himself using autopilot-
+    //  mode. The robot detects table edges by himself due
+    //  to the mounted touch sensors on both sides. He is 
+    //  also able to dodge barriers by using the infrared
+    //  sensors. While using his third motor the robot is
+    //  capable of picking up objects and dropping them
+    //  at the desired location. 
+    //
+    // Parameter: needs a boolean value to operate
+    //
+    // Effect:
+    //  the robot drives with autopilot and deals with the
+    //  tasks of removing objects from the table.
+    //-------------------------------------------------------  
+    public void drive (boolean dodgeDirection) {
+ 
+      ignoreFirstValue = true;                     
+      sensors.startDistance();
+      leftMotor.takeCommands();
+      rightMotor.takeCommands();
+      armMotor.takeCommands();
+      pose.reset(leftMotor.getTachoCount(), rightMotor.getTachoCount());
+      if (grid != null) {
+        grid.clear();
+      }
+      dropPoints = 0;
+      drops = 0;
+      samplesStale = false;
+      customArmPace(200, 230);
+      lifting(); 
+      phase = PHASE_CRUISE;
+      sensorEvents.reset();
+      sensorEvents.setObstacleDistance(parameters.obstacleDistance);
+      edgeEvent = -1;
+      touchTransition = -1;
+      this.dodgeDirection = dodgeDirection;
+      arbitrator.reset();
+      finished = false;
+            
+      scheduler.start();
+       t: while(isRunning) {
+
+          // waiting for the next tick of the control loop, the
+          // autopilot ends if the watchdog had to stop the motors
+          scheduler.awaitNextTick();
+          if (watchdogStopped()) {
+            break t;
+          }
+          long tickTime = clock.nanoTime();
+          tickCount++;
+          if (allocationCounter != null) {
+            allocationCounter.tickStart();
+          }
+          branch = FlightRecorder.BRANCH_MANEUVER;
+          tickFlags = 0;
+                
+          // taking the samples of the touch sensors and the distance
+          // of the infrared sensor for this tick
+          sensors.refresh();
+          
+          // updating the odometry with the tacho counts
+          pose.update(leftMotor.getTachoCount(), rightMotor.getTachoCount());
+          
+          // fetching commands of the left touch sensor
+          float sampleL = fetchLeft();
+          
+          //fetching commands of the right touch sensor
+          float sampleR = fetchRight();
+          
+          // samples which are too old count as released
+          boolean stale = sensors.leftAge() > MAX_SAMPLE_AGE || sensors.rightAge() > MAX_SAMPLE_AGE;
+          if (stale) {
+            if (!samplesStale) {
+              log.log(LogEvent.SENSOR_STALE, Math.max(sensors.leftAge(), sensors.rightAge()) / 1000000L);
+            }
+            if (sensors.leftAge() > MAX_SAMPLE_AGE) {
+              sampleL = 0;
+            }
+            if (sensors.rightAge() > MAX_SAMPLE_AGE) {
+              sampleR = 0;
+            }
+          }
+          samplesStale = stale;
+          if (stale) {
+            tickFlags |= FlightRecorder.FLAG_STALE;
+          }
+          
+          // debouncing the touch samples, a released sensor is
+          // published as edge event
+          sensorEvents.publish(clock.nanoTime(), sampleL, Math.min(sensors.leftAge(), MAX_SAMPLE_AGE),
+              sampleR, Math.min(sensors.rightAge(), MAX_SAMPLE_AGE), sensors.distance());
+          sampleL = sensorEvents.getLeft();
+          sampleR = sensorEvents.getRight();
+          
+          // adding the readings to the occupancy grid, stale samples
+          // do not show an edge
+          if (grid != null) {
+            grid.addDistance(pose.getX(), pose.getY(), pose.getHeading(), sensors.distance());
+            if (!stale && sampleL == 0) {
+              grid.addEdge(pose.getX(), pose.getY(), pose.getHeading(), true);
+            }
+            if (!stale && sampleR == 0) {
+              grid.addEdge(pose.getX(), pose.getY(), pose.getHeading(), false);
+            }
+          }
+          
+          // the time of the edge event, until the reaction
+          if (edgeEvent >= 0 && touchTransition < 0) {
+            touchTransition = edgeEvent;
+          }
+          
+          // a running maneuver gets interrupted by a behavior which has
+          // to take over, like the edge recovery when a touch sensor
+          // reaches the edge during a turn
+          tickSampleL = sampleL;
+          tickSampleR = sampleR;
+          if (!maneuvers.isIdle()) {
+            arbitrator.preempt();
+          }
+          edgeEvent = -1;
+          
+          // continuing the running maneuver
+          if (maneuvers.advance(clock.nanoTime())) {
+            endTick(tickTime, sampleL, sampleR);
+            continue t;
+          }
+          
+          // the behavior with the highest priority which wants the
+          // robot runs one tick
+          arbitrator.arbitrate(clock.nanoTime());
+          
+          // self driving mode exit, all maneuvers are done
+          if (finished) {
+            endTick(tickTime, sampleL, sampleR);
+            break t;
+          }
+          
+          endTick(tickTime, sampleL, sampleR);
+       }
+      
+      // stopping a maneuver which is still running
+      if (!maneuvers.isIdle()) {
+        maneuvers.abort();
+      }
+      sensors.stopDistance();
+      log.log(LogEvent.WAITING);
+
+    }
+    
+    
+    //-------------------------------------------------------
+    //runMission (boolean dodgeDirection)
+    //  runs the autopilot until the object in front of the
+    //  claw and the objects of all targets are dropped off
+    //  the table
+    //
+    // Parameter: the dodge direction of drive()
+    //
+    // Effect:
+    //  the targets are emptied, the number of dropped objects
+    //  and the time of the mission are logged
+    //-------------------------------------------------------
+    public void runMission(boolean dodgeDirection) {
+      long start = clock.nanoTime();
+      missionMode = true;
+      drive(dodgeDirection);
+      missionMode = false;
+      missionNanos = clock.nanoTime() - start;
+      targets.clear();
+      log.log(LogEvent.MISSION_DONE, drops, missionNanos / 1000000000L);
+    }
+    
+    
+    //-------------------------------------------------------
+    //endTick (long tickTime, float sampleL, float sampleR)
+    //  counts the fired branch, records the tick in the
+    //  flight recorder and ends the allocation count of the
+    //  tick
+    //-------------------------------------------------------
+    private void endTick(long tickTime, float sampleL, float sampleR) {
+      branchCounts.lazySet(branch, branchCounts.get(branch) + 1);
+      if (flightRecorder != null) {
+        int flags = tickFlags;
+        if (ignoreFirstValue) {
+          flags |= FlightRecorder.FLAG_IGNORE_FIRST_VALUE;
+        }
+        int commands = leftMotor.takeCommands() | rightMotor.takeCommands() << 5
+            | armMotor.takeCommands() << 10;
+        flightRecorder.record(tickTime, tickCount, sampleL, sampleR, sensors.distance(),
+            flags, phase, branch, maneuvers.getCurrent(), commands);
+      }
+      if (allocationCounter != null) {
+        allocationCounter.tickEnd();
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //cruise ()
+    //  drives straight forward while both touch sensors are
+    //  pressed and no barrier is in front of the robot
+    //-------------------------------------------------------
+    private void cruise() {
+      branch = FlightRecorder.BRANCH_STRAIGHT;
+      cruisingPace();
+      driveMotors.forward();
+    }
+    
+    
+    //-------------------------------------------------------
+    //dodge (boolean dodgeDirection, float sampleL, float sampleR)
+    //  reacts on a barrier in front of the robot
+    //
+    // Parameters: the dodge direction of drive() and the
+    //  touch samples of the current tick
+    //
+    // Effect:
+    //  queues the maneuvers for dodging the barrier, nothing
+    //  if both touch sensors are released
+    //-------------------------------------------------------
+    private void dodge(boolean dodgeDirection, float sampleL, float sampleR) {
+      branch = FlightRecorder.BRANCH_NO_DECISION;
+      
+   // drives into barrier on the left side and detects barrier with infrared sensor at the same time
+      if(sampleL == 0 && sampleR == 1) {
+         branch = FlightRecorder.BRANCH_BARRIER_LEFT;
+         backUp(parameters.dodgeBackUp);   
+         stopping();
+         backUp(parameters.shortBackUp);
+         stopping();
+      }
+      
+      
+      // drives into barrier on the right side and detects barrier with infrared sensor at the same time
+      else if(sampleL == 1 && sampleR == 0) {
+        branch = FlightRecorder.BRANCH_BARRIER_RIGHT;
+        backUp(parameters.dodgeBackUp);      
+        stopping();
+        backUp(parameters.shortBackUp);
+        stopping();
+      }
+                      
+      // driving straight into a barrier, infrared sensor detects barrier
+      else if(sampleL == 1 && sampleR == 1) {
+        branch = FlightRecorder.BRANCH_BARRIER_AHEAD;
+
+        
+        stopping();
+        log.log(LogEvent.INFRARED_BARRIER);
+        backUp(parameters.barrierBackUp);                                                    
+        
+        if(dodgeLeft(dodgeDirection, parameters.barrierTurn)) {
+           rotateLeft(parameters.barrierTurn);
+        }
+        else {
+          rotateRight(parameters.barrierTurn);
+        }
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //edgeReached (float sampleL, float sampleR)
+    //  one or both of the touch sensors are not pressed
+    //  anymore and no barrier is in front of the robot
+    //
+    // Effect:
+    //  drives backwards and starts the edge check
+    //-------------------------------------------------------
+    private void edgeReached(float sampleL, float sampleR) {
+      branch = FlightRecorder.BRANCH_EDGE;
+     
+      log.log(LogEvent.EDGE_SAMPLES, sampleL, sampleR);
+  
+      backUp(parameters.edgeBackUp);                                
+      
+      // the samples get checked again after driving backwards
+      oldSampleL = sampleL;
+      oldSampleR = sampleR;
+      phase = PHASE_EDGE_CHECK;
+    }
+    
+    
+    //-------------------------------------------------------
+    //edgeCheck (float sampleL, float sampleR)
+    //  decides how to continue after the robot reached the
+    //  table edge and drove backwards
+    //
+    // Parameters: the touch samples after driving backwards
+    //
+    // Effect:
+    //  queues the maneuvers for dropping the brick, for
+    //  turning to the edge or for dodging a barrier and
+    //  sets the next phase of the autopilot
+    //-------------------------------------------------------
+    private void edgeCheck(float sampleL, float sampleR) {
+                     
+      // Case 1: right sensor pressed, left not           
+      if(sampleL == 0 && sampleR == 1) {
+       
+        log.log(LogEvent.CASE_1);
+        branch = FlightRecorder.BRANCH_CASE_1;
+        stopping();
+        
+        // both sensors done, due to rolling after stopping
+        if(sampleL == 0 && sampleR == 0) {
+          dropping();
+          backUp(parameters.shortBackUp);
+          phase = PHASE_FINISH;
+          return;
+        }
+                                  
+        customDrivingPace(parameters.edgeSpeed, parameters.edgeAcceleration);
+        backUp(parameters.edgeBackUp);
+        rotateLeft(parameters.edgeTurn); 
+        stopping();
+        
+        
+        // driving forward after the turn 
+        phase = PHASE_FORWARD_TO_EDGE;
+        
+      }
+                           
+      // Case 2: left sensor pressed, right not 
+      else if(sampleL == 1 && sampleR == 0) {
+        
+        log.log(LogEvent.CASE_2);
+        branch = FlightRecorder.BRANCH_CASE_2;
+
+        stopping();
+        
+        // both sensors down, due to rolling after stopping
+        if(sampleL == 0 && sampleR == 0) {
+          dropping();
+          backUp(parameters.shortBackUp);
+          phase = PHASE_FINISH;
+          return;
+        }
+        
+        customDrivingPace(parameters.edgeSpeed, parameters.edgeAcceleration);
+        backUp(parameters.edgeBackUp);
+        rotateRight(parameters.edgeTurn); 
+        stopping();
+        
+        // driving forward after turning
+        phase = PHASE_FORWARD_TO_EDGE;
+        
+      }
+                  
+      // Case 3: left and right not pressed 
+       else if(sampleL == 0 && sampleR == 0) {
+         
+         log.log(LogEvent.CASE_3);
+         branch = FlightRecorder.BRANCH_CASE_3;
+
+         stopping();
+         
+         dropping();
+         log.log(LogEvent.DROPPING_BRICK);
+         
+         customDrivingPace(parameters.dropSpeed, parameters.dropAcceleration);
+         backUp(parameters.shortBackUp);
+         stopping();
+         
+         // self driving mode exit
+         phase = PHASE_FINISH;
+                                
+       } 
+      
+       // Case 4: barrier detected
+       else { 
+         log.log(LogEvent.BARRIER);
+         branch = FlightRecorder.BRANCH_CASE_4;
+         backUp(parameters.dodgeBackUp);           
+         stopping();
+         
+         // checking the turn direction depending on the old sample,
+         // the occupancy grid can overrule it
+         boolean preferLeft = !(oldSampleL == 1 && oldSampleR == 0);
+         if(dodgeLeft(preferLeft, parameters.case4Turn)){
+           rotateLeft(parameters.case4Turn);          
+         }
+         else {
+           rotateRight(parameters.case4Turn);      
+         }
+         stopping();
+         phase = PHASE_CRUISE;
+       }
+    }
+    
+    
+    
+    //-------------------------------------------------------
+    //customDrivingPace(int motorSpeed, int motorAccelaration)
+    //  setting driving speed and accelaration
+    //
+    // Parameters
+    //  needs two integers between 0 and 700 to operate
+    //
+    // Effect:
+    //  the driving speed and accelaration get set, while
+    //  maneuvers are queued the new pace gets queued after
+    //  them. Unchanged values are not sent to the motors.
+    //-------------------------------------------------------
+    public void customDrivingPace (int motorSpeed, int motorAccelaration) {
+      if (!maneuvers.isIdle()) {
+        maneuvers.pace(motorSpeed, motorAccelaration);
+        return;
+      }
+      
+      maneuvers.setPace(motorSpeed, motorAccelaration);
+          
+    }
+    
+        
+    //-------------------------------------------------------
+    //cruisingPace ()
+    //  sets the pace for driving forward: the speed of the
+    //  governor for the latency of the control loop and the
+    //  age of the samples, the fixed pace without governor.
+    //  A distance sample which is too old counts as barrier
+    //  in front of the robot.
+    //-------------------------------------------------------
+    public void cruisingPace() {
+      if (governor == null) {
+        customDrivingPace(parameters.cruiseSpeed, parameters.cruiseAcceleration);
+        return;
+      }
+      
+      long reaction = scheduler.getPeriod() + scheduler.getMaxJitterNanos();
+      long touchAge = Math.max(sensors.leftAge(), sensors.rightAge());
+      float distance = sensors.distanceAge() > MAX_SAMPLE_AGE ? 0 : sensors.distance();
+      int speed = governor.speed(distance, reaction + Math.min(touchAge, MAX_SAMPLE_AGE),
+          reaction + Math.min(sensors.distanceAge(), MAX_SAMPLE_AGE));
+      customDrivingPace(speed, SpeedGovernor.ACCELERATION);
+    }
+    
+    
+    //-------------------------------------------------------
+    //customArmPace (int armSpeed, int armAccelaration)
+    //  setting arm speed and accelaration
+    //
+    // Parameters
+    //  needs two integers between 0 and 700 to operate
+    //
+    // Effect:
+    //  the  speed and accelaration of the arm gets set
+    //-------------------------------------------------------
+    public void customArmPace (int armSpeed, int armAccelaration) {
+      armMotor.setSpeed(armSpeed);
+      armMotor.setAcceleration(armAccelaration);
+      
+    }
+        
+    
+    
+    //-------------------------------------------------------
+    //driveForwardAfterTurn (float sampleL2, float sampleR2)
+    //  one tick of driving forward until the robot reaches
+    //  the table edge for the second time, then the brick
+    //  gets dropped and the robot drives backward
+    //
+    // Parameters: the touch samples of the current tick
+    //
+    // Effect:
+    //  returns true when the edge got reached and the
+    //  maneuvers for dropping the brick are queued
+    //-------------------------------------------------------
+    public boolean driveForwardAfterTurn (float sampleL2, float sampleR2) {  
+            
+        // checking if sensors aren't pressed anymore
+        if(sampleL2 == 0 || sampleR2 == 0) {    
+          branch = FlightRecorder.BRANCH_EDGE_REACHED;
+          stopping();
+          
+          dropping();
+          
+          log.log(LogEvent.DROPPING_BRICK);
+          
+          customDrivingPace(parameters.dropSpeed, parameters.dropAcceleration);
+          backUp(parameters.shortBackUp);
+          stopping();
+          return true;
+        }
+        
+        // driving forward
+        branch = FlightRecorder.BRANCH_FORWARD_TO_EDGE;
+        driveMotors.forward();
+        return false;
+      
+    }
+    
+    
+    //-------------------------------------------------------
+    //toTarget (float sampleL, float sampleR)
+    //  drives to the next target of the mission, the robot
+    //  turns to the target and drives ahead until the claw
+    //  reaches it. A target behind the claw gets reached
+    //  backwards with the back of the robot turned to it.
+    //
+    // Parameters: the touch samples of the tick
+    //
+    // Effect:
+    //  queues the maneuvers for the way to the target, at
+    //  the target the object gets lifted and the robot turns
+    //  to the nearest known edge. A target which cannot be
+    //  reached in TARGET_TIMEOUT or which lies behind an
+    //  obstacle or the edge gets skipped.
+    //-------------------------------------------------------
+    private void toTarget(float sampleL, float sampleR) {
+      double heading = Math.toRadians(pose.getHeading());
+      double dx = targets.getX() - pose.getX();
+      double dy = targets.getY() - pose.getY();
+      double along = dx * Math.cos(heading) + dy * Math.sin(heading) - CLAW_REACH;
+      double beside = dy * Math.cos(heading) - dx * Math.sin(heading);
+      
+      // the way is blocked or the robot does not get there
+      if (sampleL == 0 || sampleR == 0 || obstacle() || clock.nanoTime() > targetDeadline) {
+        branch = FlightRecorder.BRANCH_TARGET_SKIPPED;
+        targets.remove();
+        log.log(LogEvent.TARGET_SKIPPED, targets.size());
+        stopping();
+        backUp(parameters.barrierBackUp);
+        stopping();
+        phase = PHASE_FINISH;
+      }
+      
+      // the claw is at the target
+      else if (Math.abs(along) <= TARGET_TOLERANCE && Math.abs(beside) <= TARGET_TOLERANCE) {
+        branch = FlightRecorder.BRANCH_TARGET_REACHED;
+        targets.remove();
+        log.log(LogEvent.TARGET_REACHED, targets.size());
+        lifting();
+        if (edgeReuse && dropPoints > 0) {
+          turnTo(nearestDropPoint());
+        }
+        phase = PHASE_CRUISE;
+      }
+      
+      // driven too far, the robot backs up blind: it turns its back to the
+      // target first, a back-up past a target far beside the way goes off the
+      // table. A target closely beside the way gets aimed at after the back-up.
+      else if (along < -TARGET_TOLERANCE) {
+        branch = FlightRecorder.BRANCH_TO_TARGET;
+        double turn = normalize(Math.toDegrees(Math.atan2(dy, dx)) - pose.getHeading() + 180);
+        if (Math.abs(beside) > 2 * TARGET_TOLERANCE && Math.abs(turn) > AIM_TOLERANCE) {
+          turnBy(turn);
+        }
+        else {
+          backUp((int) Math.ceil(-along));
+        }
+        stopping();
+      }
+      
+      // turning to the target or driving ahead
+      else {
+        branch = FlightRecorder.BRANCH_TO_TARGET;
+        double turn = normalize(Math.toDegrees(Math.atan2(dy, dx)) - pose.getHeading());
+        if (Math.abs(turn) > AIM_TOLERANCE) {
+          turnBy(turn);
+        }
+        else {
+          cruisingPace();
+          maneuvers.ahead((int) Math.ceil(along), MANEUVER_TIMEOUT);
+        }
+        stopping();
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //nearestDropPoint ()
+    //  returns the index of the drop point which is nearest
+    //  to the robot
+    //-------------------------------------------------------
+    private int nearestDropPoint() {
+      int nearest = 0;
+      double best = Double.MAX_VALUE;
+      for (int i = 0; i < dropPoints; i++) {
+        double dx = dropX[i] - pose.getX();
+        double dy = dropY[i] - pose.getY();
+        if (dx * dx + dy * dy < best) {
+          best = dx * dx + dy * dy;
+          nearest = i;
+        }
+      }
+      return nearest;
+    }
+    
+    
+    // turns the robot to the drop point: it aims past the point along
+    // the heading of the drop, a way straight to the point may run
+    // along the edge and cross it at a flat angle before a touch
+    // sensor is over it
+    private void turnTo(int dropPoint) {
+      double heading = Math.toRadians(dropHeading[dropPoint]);
+      double dx = dropX[dropPoint] + DROP_OVERSHOOT * Math.cos(heading) - pose.getX();
+      double dy = dropY[dropPoint] + DROP_OVERSHOOT * Math.sin(heading) - pose.getY();
+      turnBy(normalize(Math.toDegrees(Math.atan2(dy, dx)) - pose.getHeading()));
+    }
+    
+    
+    // turns the robot by the angle, positive angles turn left
+    private void turnBy(double degrees) {
+      if (degrees > 0) {
+        rotateLeft((int) Math.round(degrees));
+      }
+      else {
+        rotateRight((int) Math.round(-degrees));
+      }
+    }
+    
+    
+    // angle between -180 and 180 degrees
+    private static double normalize(double degrees) {
+      degrees %= 360;
+      if (degrees > 180) {
+        degrees -= 360;
+      }
+      else if (degrees < -180) {
+        degrees += 360;
+      }
+      return degrees;
+    }
+    
+
+    
+    
+    //-------------------------------------------------------
+    //fetchLeft ()
+    //  gets the signals from the left touch sensor
+    //  
+    // Effect:
+    //  returns the sample of the left touch sensor (1 pressed,
+    //  0 released) of the last refresh of the sensors
+    //-------------------------------------------------------
+    public float fetchLeft() {
+      return sensors.left();
+    }
+    
+    
+    //-------------------------------------------------------
+    //fetchRight ()
+    //  gets the signals from the right touch sensor
+    //  
+    // Effect:
+    //  returns the sample of the right touch sensor (1 pressed,
+    //  0 released) of the last refresh of the sensors
+    //-------------------------------------------------------
+    public float fetchRight() {
+      return sensors.right();
+    }
+    
+ 
+    
+    //------------------------------------------------------- 
+    //obstacle ()
+    //  checks for Barriers in front of the robot. 
+    //  If the filtered distance is smaller than
+    //  OBSTACLE_DISTANCE, the robot returns true if not
+    //  false. The first measurement after starting the
+    //  autopilot gets ignored by using the global variable 
+    //  ignoreFirstValue, afterwards every reading counts.
+    //
+    // Effect:
+    //  checks for Barriers in front  of the robot and returns
+    //  true if an obstacle got detected and false if not.
+    //-------------------------------------------------------
+    public boolean obstacle() {
+      
+      //gives the filtered distance, the distance gets
+      //sampled at the start of every tick
+      float distance = sensors.distance();
+       
+       // Logging the distance 
+       log.log(LogEvent.DISTANCE, distance);                                             
+
+       // the filter holds a single reading at the first tick
+       if (ignoreFirstValue) {
+         ignoreFirstValue = false;
+         return false;
+       }
+       if (distance < parameters.obstacleDistance) {
+         log.log(LogEvent.OBSTACLE);
+         return true;      
+       }
+       return false;
+
+    }
+           
+    
+    //-------------------------------------------------------
+    //stopping ()
+    //  stops the motors of the robot 
+    //
+    // Effect:
+    //  queues a synchronized stop of both drive motors, the
+    //  maneuver ends when both motors stand still
+    //-------------------------------------------------------
+    public void stopping() {
+      maneuvers.stop();
+      reacted();
+      
+      log.log(LogEvent.STOPPING);
+    }
+
+    
+    //-------------------------------------------------------
+    //reardriving(int duration)
+    //  the robot starts driving backwards for a certain amount
+    //  of time depending on the parameter
+    //
+    // Parameter: needs a positive integer value to operate
+    //
+    // Effect:
+    //  queues driving backwards for a certain amount of time
+    //  depending on the parameter
+    //-------------------------------------------------------
+    public void reardriving(int duration) {
+      maneuvers.reverse(duration);
+
+      log.log(LogEvent.REARDRIVING);
+    }
+    
+    
+    //-------------------------------------------------------
+    //turnLeft (int duration)
+    //  the robot turns left for a certain amount
+    //  of time depending on the parameter                                                
+    //
+    // Parameter: needs a positive integer value to operate
+    //
+    // Effect:
+    //  queues a turn in the direction on the left hand 
+    //  side
+    //-------------------------------------------------------
+    public void turnLeft(int duration) {
+      maneuvers.turnLeft(duration);
+      log.log(LogEvent.LEFT);
+    }                                             
+    
+    
+    //-------------------------------------------------------
+    //turnRight ()                                                                 
+    //  the robot turns right for a certain amount
+    //  of time depending on the parameter  
+    //
+    // Parameter: needs a positive integer value to operate
+    //
+    // Effect:
+    //  queues a turn in the direction on the right hand 
+    //  side
+    //-------------------------------------------------------
+    public void turnRight(int duration) {
+      maneuvers.turnRight(duration);
+      log.log(LogEvent.RIGHT);
+    }
+    
+    
+    //-------------------------------------------------------
+    //dodgeLeft (boolean preferLeft, int degrees)
+    //  chooses the side of a dodge turn with the occupancy
+    //  grid, the lane with less known obstacles and edges
+    //  after the turn wins
+    //
+    // Parameters: the preferred side and the angle of the turn
+    //
+    // Effect:
+    //  returns true for a turn to the left, the preferred
+    //  side if the grid knows both lanes equally
+    //-------------------------------------------------------
+    private boolean dodgeLeft(boolean preferLeft, int degrees) {
+      if (grid == null) {
+        return preferLeft;
+      }
+      int left = grid.cost(pose.getX(), pose.getY(), pose.getHeading() + degrees, DODGE_LOOKAHEAD);
+      int right = grid.cost(pose.getX(), pose.getY(), pose.getHeading() - degrees, DODGE_LOOKAHEAD);
+      log.log(LogEvent.GRID_COSTS, left, right);
+      return left == right ? preferLeft : left < right;
+    }
+    
+    
+    //-------------------------------------------------------
+    //rotateLeft (int degrees)
+    //  the robot turns left until the odometry measured the
+    //  given angle
+    //
+    // Parameter: angle of the turn in degrees
+    //
+    // Effect:
+    //  queues a turn to the left, which ends after the angle
+    //  or after MANEUVER_TIMEOUT
+    //-------------------------------------------------------
+    public void rotateLeft(int degrees) {
+      maneuvers.rotateLeft(degrees, MANEUVER_TIMEOUT);
+      log.log(LogEvent.LEFT);
+    }
+    
+    
+    //-------------------------------------------------------
+    //rotateRight (int degrees)
+    //  the robot turns right until the odometry measured the
+    //  given angle
+    //
+    // Parameter: angle of the turn in degrees
+    //
+    // Effect:
+    //  queues a turn to the right, which ends after the angle
+    //  or after MANEUVER_TIMEOUT
+    //-------------------------------------------------------
+    public void rotateRight(int degrees) {
+      maneuvers.rotateRight(degrees, MANEUVER_TIMEOUT);
+      log.log(LogEvent.RIGHT);
+    }
+    
+    
+    //-------------------------------------------------------
+    //backUp (int distance)
+    //  the robot drives backwards until the odometry measured
+    //  the given distance behind the point where it stopped
+    //
+    // Parameter: distance in cm
+    //
+    // Effect:
+    //  queues driving backwards, which ends after the
+    //  distance or after MANEUVER_TIMEOUT
+    //-------------------------------------------------------
+    public void backUp(int distance) {
+      maneuvers.backUp(distance, MANEUVER_TIMEOUT);
+      reacted();
+
+      log.log(LogEvent.REARDRIVING);
+    }
+    
+       
+    
+    //-------------------------------------------------------
+    //lifting ()                                                                 
+    //  the robot grabs the object and raises the arm 
+    //
+    // Effect:
+    //  queues grabbing the object and raising the arm 
+    //  by using the third motor, the arm motor.
+    //-------------------------------------------------------
+    public void lifting() {
+      maneuvers.lift(parameters.armDuration);
+    }
+    
+    
+    //-------------------------------------------------------
+    //dropping ()                                                                 
+    //  the robot drops the object and lowers the arm 
+    //
+    // Effect:
+    //  queues dropping the object and lowering the arm 
+    //  by using the third motor, the arm motor.
+    //-------------------------------------------------------
+    public void dropping() {
+      maneuvers.drop(parameters.armDuration);
+      
+      // the robot stands at the table edge, the position is
+      // remembered for the next objects of a mission
+      if (dropPoints < MAX_DROP_POINTS) {
+        dropX[dropPoints] = (float) pose.getX();
+        dropY[dropPoints] = (float) pose.getY();
+        dropHeading[dropPoints] = (float) pose.getHeading();
+        dropPoints++;
+      }
+      drops++;
+    }
+    
+ 
+    //-------------------------------------------------------
+    //setAllocationCounter (AllocationCounter allocationCounter)
+    //  counts the allocated bytes of every autopilot loop,
+    //  null switches the counting off
+    //-------------------------------------------------------
+    public void setAllocationCounter(AllocationCounter allocationCounter) {
+      this.allocationCounter = allocationCounter;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setSensorView (SensorView sensors)
+    //  sets the view on the sensors, must not be changed
+    //  while the autopilot is running
+    //-------------------------------------------------------
+    public void setSensorView(SensorView sensors) {
+      this.sensors = sensors;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setOccupancyGrid (OccupancyGrid grid)
+    //  sets the memory of the autopilot, null switches it off
+    //  and the dodge turns go to the given sides only
+    //-------------------------------------------------------
+    public void setOccupancyGrid(OccupancyGrid grid) {
+      this.grid = grid;
+    }
+    
+    
+    public OccupancyGrid getOccupancyGrid() {
+      return grid;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setSpeedGovernor (SpeedGovernor governor)
+    //  sets the speed of driving forward, null drives at the
+    //  fixed pace
+    //-------------------------------------------------------
+    public void setSpeedGovernor(SpeedGovernor governor) {
+      this.governor = governor;
+    }
+    
+    
+    public SpeedGovernor getSpeedGovernor() {
+      return governor;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setParameters (AutopilotParameters parameters)
+    //  sets the numbers the autopilot drives with, must not
+    //  be changed while the autopilot is running
+    //-------------------------------------------------------
+    public void setParameters(AutopilotParameters parameters) {
+      parameters.check();
+      this.parameters = parameters;
+    }
+    
+    
+    public AutopilotParameters getParameters() {
+      return parameters;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getTargets ()
+    //  returns the queue of the targets for the next mission,
+    //  must not be changed while the autopilot is running
+    //-------------------------------------------------------
+    public TargetQueue getTargets() {
+      return targets;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setEdgeReuse (boolean edgeReuse)
+    //  true (default) carries the objects of a mission to
+    //  the nearest known edge, false drives straight on from
+    //  the target until an edge is found
+    //-------------------------------------------------------
+    public void setEdgeReuse(boolean edgeReuse) {
+      this.edgeReuse = edgeReuse;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getDrops () / getObjectsPerMinute ()
+    //  return the number of dropped objects of the last run
+    //  and the dropped objects per minute of the last mission
+    //-------------------------------------------------------
+    public int getDrops() {
+      return drops;
+    }
+    
+    
+    public double getObjectsPerMinute() {
+      return missionNanos == 0 ? 0 : drops * 60e9 / missionNanos;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setFlightRecorder (FlightRecorder flightRecorder)
+    //  records every autopilot loop, null switches the
+    //  recording off
+    //-------------------------------------------------------
+    public void setFlightRecorder(FlightRecorder flightRecorder) {
+      this.flightRecorder = flightRecorder;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setUdpRemote (UdpRemoteReceiver udpRemote)
+    //  takes the commands of the UDP remote in every tick of
+    //  run(), null switches it off. The receiver has to be
+    //  started by the caller.
+    //-------------------------------------------------------
+    public void setUdpRemote(UdpRemoteReceiver udpRemote) {
+      this.udpRemote = udpRemote;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setControlPeriod (int period)
+    //  sets the period of the control loops in milliseconds
+    //-------------------------------------------------------
+    public void setControlPeriod(int period) {
+      scheduler.setPeriod(period * 1000000L);
+    }
+    
+    
+    //-------------------------------------------------------
+    //getScheduler ()
+    //  returns the scheduler with the jitter and overrun
+    //  statistics of the control loops
+    //-------------------------------------------------------
+    public ControlLoopScheduler getScheduler() {
+      return scheduler;
+    }
+    
+    
+    //-------------------------------------------------------
+    //setWatchdog (ControlLoopWatchdog watchdog)
+    //  every tick of the control loops beats the watchdog,
+    //  null switches it off. The watchdog stops the drive
+    //  motors with the lock of their synchronization blocks.
+    //  It has to be started by the caller.
+    //-------------------------------------------------------
+    public void setWatchdog(ControlLoopWatchdog watchdog) {
+      this.watchdog = watchdog;
+      scheduler.setWatchdog(watchdog);
+      if (watchdog != null) {
+        watchdog.setDriveLock(driveMotors.getLock());
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //watchdogStopped ()
+    //  checks at the start of a tick whether the watchdog
+    //  stopped the motors while the control thread hung
+    //
+    // Effect:
+    //  returns true if it did, the running maneuver is
+    //  aborted and the motors get the stop again through
+    //  their caches, so the cached state is right. The robot
+    //  stays until the next command.
+    //-------------------------------------------------------
+    private boolean watchdogStopped() {
+      if (watchdog == null || !watchdog.takeTrip()) {
+        return false;
+      }
+      log.log(LogEvent.WATCHDOG_STOP, watchdog.getLastStall() / 1000000L);
+      if (!maneuvers.isIdle()) {
+        maneuvers.abort();
+      }
+      leftMotor.invalidate();
+      rightMotor.invalidate();
+      armMotor.invalidate();
+      driveMotors.stop(true);
+      armMotor.stop(true);
+      udpMoving = false;
+      return true;
+    }
+    
+    
+    //-------------------------------------------------------
+    //shutdown (long timeout)
+    //  stops the control thread cooperatively instead of
+    //  Thread.stop(): the loops end at their next tick, the
+    //  autopilot aborts its maneuver and run() stops the
+    //  motors. The worst case is one period of the control
+    //  loop plus the longest tick.
+    //
+    // Parameters: the time in ms to wait for the thread
+    //
+    // Effect:
+    //  returns the time in nanoseconds until the thread
+    //  ended, -1 if it still runs after the timeout
+    //-------------------------------------------------------
+    public long shutdown(long timeout) throws InterruptedException {
+      long start = System.nanoTime();
+      isRunning = false;
+      join(timeout);
+      if (isAlive()) {
+        return -1;
+      }
+      return System.nanoTime() - start;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getRemoteDispatcher ()
+    //  returns the dispatcher of the remote control with the
+    //  numbers of received and dispatched button codes
+    //-------------------------------------------------------
+    public RemoteDispatcher getRemoteDispatcher() {
+      return remote;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getDriveMotors () / getArmMotor ()
+    //  return the cached motors with the numbers of sent
+    //  and suppressed writes
+    //-------------------------------------------------------
+    public MotorPair getDriveMotors() {
+      return driveMotors;
+    }
+    
+    
+    public CachingMotorDevice getArmMotor() {
+      return armMotor;
+    }
+    
+    
+    //-------------------------------------------------------
+    //calibrateArm ()
+    //  runs the arm against both end stops and moves it to
+    //  the open position, before the control thread starts
+    //
+    // Effect:
+    //  lifting() and dropping() move the arm to the measured
+    //  positions and end when the arm got there. Throws
+    //  IllegalStateException if the arm can not be measured.
+    //-------------------------------------------------------
+    public void calibrateArm() {
+      arm.calibrate();
+    }
+    
+    
+    public ArmController getArmController() {
+      return arm;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getManeuverEngine ()
+    //  returns the engine which executes the maneuvers of
+    //  the autopilot
+    //-------------------------------------------------------
+    public ManeuverEngine getManeuverEngine() {
+      return maneuvers;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getPose ()
+    //  returns the odometry of the robot since the start of
+    //  the autopilot
+    //-------------------------------------------------------
+    public PoseEstimator getPose() {
+      return pose;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getEventLog ()
+    //  returns the log with the messages of the control
+    //  thread
+    //-------------------------------------------------------
+    public EventLog getEventLog() {
+      return log;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getBranchCount (int branch)
+    //  returns the number of autopilot loops in which the
+    //  given branch (FlightRecorder.BRANCH_...) fired
+    //-------------------------------------------------------
+    public long getBranchCount(int branch) {
+      return branchCounts.get(branch);
+    }
+    
+    
+    // time from a touch sensor reaching the edge until the
+    // stop or back-up of the autopilot
+    public LatencyHistogram getTouchReaction() {
+      return touchReaction;
+    }
+    
+    
+    // time from a new remote command until the motor command
+    public LatencyHistogram getRemoteReaction() {
+      return remoteReaction;
+    }
+    
+    
+    // time from the arrival of a UDP packet until the motor command
+    public LatencyHistogram getUdpReaction() {
+      return udpReaction;
+    }
+    
+    
+    // period of the control loop
+    public LatencyHistogram getLoopPeriod() {
+      return scheduler.getPeriodHistogram();
+    }
+    
+    
+    //-------------------------------------------------------
+    //reacted ()
+    //  records the latency of a reaction to a touch sensor
+    //  reaching the edge, called by stopping(), backUp() and
+    //  the abort of a maneuver
+    //-------------------------------------------------------
+    private void reacted() {
+      if (touchTransition >= 0) {
+        touchReaction.record(clock.nanoTime() - touchTransition);
+        touchTransition = -1;
+      }
+    }
+    
+    
+    //-------------------------------------------------------
+    //getSensorEvents ()
+    //  returns the pipeline of the sensor events, further
+    //  subscribers get the events of the autopilot
+    //-------------------------------------------------------
+    public SensorEventPipeline getSensorEvents() {
+      return sensorEvents;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getTickCount ()
+    //  returns the number of autopilot loops since the start
+    //-------------------------------------------------------
+    public long getTickCount() {
+      return tickCount;
+    }
+    
+    
+    //-------------------------------------------------------
+    //getArbitrator ()
+    //  returns the arbitrator of the behaviors with the
+    //  latencies of the behavior changes
+    //-------------------------------------------------------
+    public BehaviorArbitrator getArbitrator() {
+      return arbitrator;
+    }
+    
+    
+    //-------------------------------------------------------
+    //obstacleInTick ()
+    //  obstacle() once per tick, as it logs the distance and
+    //  takes the first value after the start
+    //-------------------------------------------------------
+    private boolean obstacleInTick() {
+      if (obstacleTick != tickCount) {
+        obstacleTick = tickCount;
+        obstacleSeen = obstacle();
+      }
+      return obstacleSeen;
+    }
+    
+    
+    //-------------------------------------------------------
+    //hazard ()
+    //  a touch sensor reached the edge in this tick while
+    //  the robot turns or drives ahead
+    //-------------------------------------------------------
+    private boolean hazard() {
+      // the turn of case 1 and 2 goes towards the edge on purpose,
+      // the robot drives to the edge after it
+      if (phase == PHASE_FORWARD_TO_EDGE) {
+        return false;
+      }
+      return edgeEvent >= 0 && (maneuvers.isTurning() || maneuvers.isDrivingAhead());
+    }
+    
+    
+    //-------------------------------------------------------
+    //AutopilotBehavior
+    //  a behavior of the autopilot, it gets suppressed by
+    //  aborting the running maneuver
+    //-------------------------------------------------------
+    private abstract class AutopilotBehavior implements Behavior {
+      
+      @Override
+      public void suppress() {
+        log.log(LogEvent.MANEUVER_ABORTED);
+        maneuvers.abort();
+        reacted();
+        tickFlags |= FlightRecorder.FLAG_TURN_ABORTED;
+      }
+    }
+    
+    
+    // driving straight forward, when nothing else wants the robot
+    private class Cruise extends AutopilotBehavior {
+      
+      @Override
+      public boolean takeControl(boolean busy) {
+        return !busy && phase == PHASE_CRUISE;
+      }
+      
+      @Override
+      public void action() {
+        cruise();
+      }
+    }
+    
+    
+    // the way to the next target of a mission, after a drop the
+    // mission continues with backing away from the edge
+    private class ToTarget extends AutopilotBehavior {
+      
+      @Override
+      public boolean takeControl(boolean busy) {
+        boolean next = phase == PHASE_TO_TARGET
+            || (phase == PHASE_FINISH && missionMode && !targets.isEmpty());
+        return next && (!busy || hazard());
+      }
+      
+      @Override
+      public void action() {
+        if (phase == PHASE_TO_TARGET) {
+          toTarget(tickSampleL, tickSampleR);
+          return;
+        }
+        branch = FlightRecorder.BRANCH_TO_TARGET;
+        backUp(parameters.barrierBackUp);
+        stopping();
+        targetDeadline = clock.nanoTime() + TARGET_TIMEOUT * 1000000L;
+        phase = PHASE_TO_TARGET;
+      }
+    }
+    
+    
+    // a barrier in front of the robot
+    private class ObstacleDodge extends AutopilotBehavior {
+      
+      @Override
+      public boolean takeControl(boolean busy) {
+        return !busy && phase == PHASE_CRUISE && obstacleInTick();
+      }
+      
+      @Override
+      public void action() {
+        dodge(dodgeDirection, tickSampleL, tickSampleR);
+      }
+    }
+    
+    
+    // a touch sensor reached the table edge: backing up and the
+    // edge check, interrupts a turn of the lower behaviors
+    private class EdgeRecovery extends AutopilotBehavior {
+      
+      @Override
+      public boolean takeControl(boolean busy) {
+        if (phase == PHASE_EDGE_CHECK) {
+          return !busy || hazard();
+        }
+        if (phase != PHASE_CRUISE) {
+          return false;
+        }
+        if (busy) {
+          return hazard();
+        }
+        return (tickSampleL == 0 || tickSampleR == 0) && !obstacleInTick();
+      }
+      
+      @Override
+      public void action() {
+        if (phase == PHASE_EDGE_CHECK) {
+          edgeCheck(tickSampleL, tickSampleR);
+        }
+        else {
+          edgeReached(tickSampleL, tickSampleR);
+        }
+      }
+    }
+    
+    
+    // driving to the edge after the turn and dropping the object,
+    // the end of the autopilot when no target is left
+    private class Drop extends AutopilotBehavior {
+      
+      @Override
+      public boolean takeControl(boolean busy) {
+        boolean drop = phase == PHASE_FORWARD_TO_EDGE
+            || (phase == PHASE_FINISH && (!missionMode || targets.isEmpty()));
+        return drop && (!busy || hazard());
+      }
+      
+      @Override
+      public void action() {
+        if (phase == PHASE_FORWARD_TO_EDGE) {
+          if (driveForwardAfterTurn(tickSampleL, tickSampleR)) {
+            phase = PHASE_FINISH;
+          }
+          return;
+        }
+        branch = FlightRecorder.BRANCH_FINISH;
+        finished = true;
+      }
+    }
+    
+    
+}
+
+
+
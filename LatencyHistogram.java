@@ -0,0 +1,155 @@
+//------------------------------------------------------------------------------------------
+// LatencyHistogram.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (LatencyHistogram), a histogram of durations in nanoseconds
+// with a fixed memory like a HdrHistogram. The values below 2^SUB_BITS nanoseconds get one
+// bucket each, above every power of two is divided into 2^(SUB_BITS - 1) buckets, so a
+// value is stored with an error of at most 1 / 2^(SUB_BITS - 1) (about 3 %) from 1 ns up to
+// MAX_VALUE (about 68 s). Larger values are counted in the last bucket, the maximum is kept
+// exactly. The 1024 buckets are allocated once (8 KB).
+//
+// One thread records (the control thread), any other thread may read at the same time.
+// record() takes no lock and allocates no memory: the counters are only written by the
+// recording thread with lazySet(), so a reader sees them without locking the writer. A
+// reader which runs during a record() may see a value one count behind.
+//
+// Following methods are available:
+//
+// record (long nanos)  adds one duration, from the recording thread only
+//
+// getCount () / getSum () / getMax () / getMean ()  summary of the recorded values
+//
+// getPercentile (double percentile)  upper bound of the value below which the given share
+//           of the recorded values lies
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+public class LatencyHistogram {
+
+
+    // bits of the exact values, each power of two above gets
+    // 2^(SUB_BITS - 1) buckets
+    public static final int SUB_BITS = 6;
+
+    // highest value with its own bucket in nanoseconds (2^36 - 1)
+    public static final long MAX_VALUE = (1L << 36) - 1;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT / 2;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+
+    //-------------------------------------------------------
+    //record (long nanos)
+    //  adds a duration, negative durations count as 0. Only
+    //  the recording thread writes, so a counter can be
+    //  increased with a plain read and lazySet()
+    //-------------------------------------------------------
+    public void record(long nanos) {
+      long value = Math.max(0, nanos);
+      int bucket = index(Math.min(value, MAX_VALUE));
+      counts.lazySet(bucket, counts.get(bucket) + 1);
+      sum.lazySet(sum.get() + value);
+      if (value > max.get()) {
+        max.lazySet(value);
+      }
+      count.lazySet(count.get() + 1);
+    }
+
+
+    // bucket of a value between 0 and MAX_VALUE
+    private static int index(long value) {
+      if (value < SUB_COUNT) {
+        return (int) value;
+      }
+      int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+      return SUB_COUNT + (shift - 1) * HALF_COUNT + (int) (value >>> shift) - HALF_COUNT;
+    }
+
+
+    // highest value which is stored in the bucket
+    private static long highestValue(int bucket) {
+      if (bucket < SUB_COUNT) {
+        return bucket;
+      }
+      int shift = (bucket - SUB_COUNT) / HALF_COUNT + 1;
+      long sub = (bucket - SUB_COUNT) % HALF_COUNT + HALF_COUNT;
+      return ((sub + 1) << shift) - 1;
+    }
+
+
+    public long getCount() {
+      return count.get();
+    }
+
+
+    // sum of the recorded values in nanoseconds
+    public long getSum() {
+      return sum.get();
+    }
+
+
+    // highest recorded value in nanoseconds
+    public long getMax() {
+      return max.get();
+    }
+
+
+    // mean of the recorded values in nanoseconds
+    public double getMean() {
+      long n = count.get();
+      return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+
+    //-------------------------------------------------------
+    //getPercentile (double percentile)
+    //  the value in nanoseconds which is not exceeded by the
+    //  given percentage (0 to 100) of the recorded values,
+    //  given as upper bound of its bucket but not above the
+    //  maximum
+    //-------------------------------------------------------
+    public long getPercentile(double percentile) {
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        total += counts.get(i);
+      }
+      if (total == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, percentile) / 100));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts.get(i);
+        if (seen >= rank) {
+          return Math.min(highestValue(i), max.get());
+        }
+      }
+      return max.get();
+    }
+
+
+    @Override
+    public String toString() {
+      return String.format("count %d, mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us",
+          getCount(), getMean() / 1e3, getPercentile(50) / 1e3, getPercentile(99) / 1e3,
+          getMax() / 1e3);
+    }
+}
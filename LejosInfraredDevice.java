@@ -0,0 +1,58 @@
+//------------------------------------------------------------------------------------------
+// LejosInfraredDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (LejosInfraredDevice), which connects the EV3 infrared sensor
+// of the brick to the InfraredDevice interface.
+//
+// sources:
+//  http://www.rapidpm.org/2014/02/lego-mindstorms-ev3-components-infrared.html
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.hardware.port.Port;
+import lejos.hardware.sensor.EV3IRSensor;
+import lejos.robotics.SampleProvider;
+
+
+public class LejosInfraredDevice implements InfraredDevice {
+
+
+    private final EV3IRSensor sensor;
+
+
+    //constructor, opens the sensor on the given port
+    public LejosInfraredDevice(Port port) {
+      this.sensor = new EV3IRSensor(port);
+    }
+
+
+    @Override
+    public int getRemoteCommand(int channel) {
+      return sensor.getRemoteCommand(channel);
+    }
+
+
+    @Override
+    public void getRemoteCommands(byte[] commands, int offset, int count) {
+      sensor.getRemoteCommands(commands, offset, count);
+    }
+
+
+    @Override
+    public SampleProvider getDistanceMode() {
+      return sensor.getDistanceMode();
+    }
+
+
+    @Override
+    public void close() {
+      sensor.close();
+    }
+}
@@ -0,0 +1,121 @@
+//------------------------------------------------------------------------------------------
+// LejosMotorDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (LejosMotorDevice), which connects an EV3 large regulated
+// motor of the brick to the MotorDevice interface.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.hardware.motor.EV3LargeRegulatedMotor;
+import lejos.hardware.port.Port;
+import lejos.robotics.RegulatedMotor;
+
+
+public class LejosMotorDevice implements MotorDevice {
+
+
+    private final RegulatedMotor motor;
+
+
+    //constructor, opens the motor on the given port
+    public LejosMotorDevice(Port port) {
+      this.motor = new EV3LargeRegulatedMotor(port);
+    }
+
+
+    @Override
+    public void forward() {
+      motor.forward();
+    }
+
+
+    @Override
+    public void backward() {
+      motor.backward();
+    }
+
+
+    @Override
+    public void stop() {
+      motor.stop();
+    }
+
+
+    @Override
+    public void stop(boolean immediateReturn) {
+      motor.stop(immediateReturn);
+    }
+
+
+    @Override
+    public void setSpeed(int speed) {
+      motor.setSpeed(speed);
+    }
+
+
+    @Override
+    public void setAcceleration(int acceleration) {
+      motor.setAcceleration(acceleration);
+    }
+
+
+    @Override
+    public boolean isMoving() {
+      return motor.isMoving();
+    }
+
+
+    @Override
+    public int getTachoCount() {
+      return motor.getTachoCount();
+    }
+
+
+    @Override
+    public void rotateTo(int angle, boolean immediateReturn) {
+      motor.rotateTo(angle, immediateReturn);
+    }
+
+
+    //-------------------------------------------------------
+    //synchronizeWith (MotorDevice[] syncList)
+    //  only leJOS motors can be synchronized with each
+    //  other, the regulated motors get unwrapped
+    //-------------------------------------------------------
+    @Override
+    public void synchronizeWith(MotorDevice[] syncList) {
+      RegulatedMotor[] motors = new RegulatedMotor[syncList.length];
+      for (int i = 0; i < syncList.length; i++) {
+        if (!(syncList[i] instanceof LejosMotorDevice)) {
+          throw new IllegalArgumentException("only leJOS motors can be synchronized");
+        }
+        motors[i] = ((LejosMotorDevice) syncList[i]).motor;
+      }
+      motor.synchronizeWith(motors);
+    }
+
+
+    @Override
+    public void startSynchronization() {
+      motor.startSynchronization();
+    }
+
+
+    @Override
+    public void endSynchronization() {
+      motor.endSynchronization();
+    }
+
+
+    @Override
+    public void close() {
+      motor.close();
+    }
+}
@@ -0,0 +1,48 @@
+//------------------------------------------------------------------------------------------
+// LejosTouchDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (LejosTouchDevice), which connects an NXT touch sensor of the
+// brick to the TouchDevice interface.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.hardware.port.Port;
+import lejos.hardware.sensor.NXTTouchSensor;
+
+
+public class LejosTouchDevice implements TouchDevice {
+
+
+    private final NXTTouchSensor sensor;
+
+
+    //constructor, opens the sensor on the given port
+    public LejosTouchDevice(Port port) {
+      this.sensor = new NXTTouchSensor(port);
+    }
+
+
+    @Override
+    public int sampleSize() {
+      return sensor.sampleSize();
+    }
+
+
+    @Override
+    public void fetchSample(float[] sample, int offset) {
+      sensor.fetchSample(sample, offset);
+    }
+
+
+    @Override
+    public void close() {
+      sensor.close();
+    }
+}
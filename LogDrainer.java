@@ -0,0 +1,75 @@
+//------------------------------------------------------------------------------------------
+// LogDrainer.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (LogDrainer), a background thread which prints the events
+// of the EventLog. The slow console of the brick only blocks this thread, never the control
+// thread. The drainer looks for new events every 20 ms and prints the remaining events
+// when it gets stopped.
+//
+// Following methods are available:
+//
+// run ()  prints the events until the drainer gets stopped
+//
+// shutdown ()  stops the drainer after printing the remaining events
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.PrintStream;
+
+
+public class LogDrainer extends Thread {
+
+
+    // pause between two looks at the log in milliseconds
+    private static final long PAUSE = 20;
+
+
+    private final EventLog log;
+    private final PrintStream out;
+    private volatile boolean running = true;
+
+
+    //constructor, prints the events of the log to the given stream
+    public LogDrainer(EventLog log, PrintStream out) {
+      super("LogDrainer");
+      this.log = log;
+      this.out = out;
+      setDaemon(true);
+      setPriority(Thread.MIN_PRIORITY);
+    }
+
+
+    @Override
+    public void run() {
+      while (running) {
+        if (log.drainTo(out) == 0) {
+          try {
+            Thread.sleep(PAUSE);
+          }
+          catch (InterruptedException e) {
+            break;
+          }
+        }
+      }
+      log.drainTo(out);
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops the drainer and waits until the remaining
+    //  events are printed
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      running = false;
+      interrupt();
+      join();
+    }
+}
@@ -0,0 +1,124 @@
+//------------------------------------------------------------------------------------------
+// LogEvent.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the event codes (LogEvent) of the EventLog together with their
+// preformatted messages. A message contains up to two placeholders ({}) for the arguments
+// of the event, the arguments are either whole numbers or floats. The text of the messages
+// gets created by the LogDrainer thread, never by the control thread.
+//
+// Following methods are available:
+//
+// format (int code, long firstArg, long secondArg, StringBuilder out)  appends the message
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public final class LogEvent {
+
+
+    // event codes
+    public static final int READY = 0;
+    public static final int BUTTON_UNDEFINED = 1;
+    public static final int COMMAND_CHANNEL_4 = 2;
+    public static final int INFRARED_BARRIER = 3;
+    public static final int EDGE_SAMPLES = 4;
+    public static final int CASE_1 = 5;
+    public static final int CASE_2 = 6;
+    public static final int CASE_3 = 7;
+    public static final int DROPPING_BRICK = 8;
+    public static final int BARRIER = 9;
+    public static final int WAITING = 10;
+    public static final int DISTANCE = 11;
+    public static final int OBSTACLE = 12;
+    public static final int STOPPING = 13;
+    public static final int REARDRIVING = 14;
+    public static final int LEFT = 15;
+    public static final int RIGHT = 16;
+    public static final int MANEUVER_ABORTED = 17;
+    public static final int SENSOR_STALE = 18;
+    public static final int GRID_COSTS = 19;
+    public static final int TARGET_REACHED = 20;
+    public static final int TARGET_SKIPPED = 21;
+    public static final int MISSION_DONE = 22;
+    public static final int UDP_TIMEOUT = 23;
+    public static final int WATCHDOG_STOP = 24;
+
+
+    // messages of the events, indexed by the event code
+    private static final String[] MESSAGES = {
+      "Bereit...",
+      "Button undefined, continue!",
+      "Command_3 {}",
+      "Infrared Barrier",
+      "Left: {}, Right: {}",
+      "Case1",
+      "Case2",
+      "Case3",
+      "Dropping brick !",
+      "Barrier !",
+      "Waiting for Button press!",
+      "Current: {}",
+      "Obstacle true!",
+      "stopping",
+      "Reardriving",
+      "Left",
+      "Right",
+      "Maneuver aborted",
+      "Touch samples stale: {} ms",
+      "Grid costs left: {}, right: {}",
+      "Target reached, {} left",
+      "Target skipped, {} left",
+      "Mission done: {} objects in {} s",
+      "UDP remote lost, stopping",
+      "Watchdog stopped the motors, no tick for {} ms",
+    };
+
+    // events whose arguments are floats
+    private static final boolean[] FLOAT_ARGS = new boolean[MESSAGES.length];
+    static {
+      FLOAT_ARGS[EDGE_SAMPLES] = true;
+      FLOAT_ARGS[DISTANCE] = true;
+    }
+
+
+    private LogEvent() {
+    }
+
+
+    //-------------------------------------------------------
+    //format (int code, long firstArg, long secondArg,
+    //        StringBuilder out)
+    //  appends the message of the event to the builder, the
+    //  placeholders get replaced by the arguments
+    //-------------------------------------------------------
+    public static void format(int code, long firstArg, long secondArg, StringBuilder out) {
+      if (code < 0 || code >= MESSAGES.length) {
+        out.append("unknown event ").append(code);
+        return;
+      }
+
+      String message = MESSAGES[code];
+      int argument = 0;
+      int start = 0;
+      int placeholder;
+      while ((placeholder = message.indexOf("{}", start)) >= 0) {
+        out.append(message, start, placeholder);
+        long value = argument++ == 0 ? firstArg : secondArg;
+        if (FLOAT_ARGS[code]) {
+          out.append(Float.intBitsToFloat((int) value));
+        }
+        else {
+          out.append(value);
+        }
+        start = placeholder + 2;
+      }
+      out.append(message, start, message.length());
+    }
+}
@@ -0,0 +1,592 @@
+//------------------------------------------------------------------------------------------
+// ManeuverEngine.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (ManeuverEngine), which executes the maneuvers of the
+// autopilot (driving backwards, turning, stopping, lifting and dropping) without blocking
+// the control thread. The maneuvers get queued and the control loop advances the engine
+// once per tick, so the sensors are still read while a maneuver runs and a maneuver can be
+// aborted at any tick. The queue is allocated once and holds up to 16 maneuvers. The drive
+// motors are commanded as MotorPair, so commands which do not change anything are dropped.
+//
+// Besides the timed maneuvers there are closed-loop maneuvers (rotateLeft, rotateRight,
+// backUp, ahead) which end when the odometry (PoseEstimator) measured the requested angle or
+// distance, independent of battery level and friction. A timeout ends them if the wheels
+// do not turn. backUp counts the distance from the farthest point forward, so a robot which
+// is still rolling forward when the maneuver starts first brakes and then backs up. As the
+// motors need time to brake, a closed-loop maneuver already ends when the braking distance
+// at the set acceleration and the measured speed would reach the target.
+//
+// The closed-loop maneuvers and the arm movements follow a MotionProfile (setProfiled()):
+// when a maneuver starts, the S-curve for its angle or distance gets planned, limited by
+// the set pace speed and acceleration of the drive motors. The profile never brakes harder
+// than the set pace: the edge check of the autopilot relies on the braking distance of a
+// stop at the edge. In every tick the speed setpoint of the profile gets streamed to the
+// motors, corrected by the distance the robot is behind or ahead of the profile. While the
+// arm holds the brick the drive uses the lower limits of the brick (BRICK_ACCELERATION,
+// BRICK_JERK), so the brick does not slip from the claw. The arm
+// movements stream their profile open loop and end with the profile. The drive motors get
+// back the set pace with the next maneuver or when they stand still, so a stop after a
+// profile brakes with the acceleration of the profile.
+//
+// With a calibrated ArmController (setArmController()) the arm movements go to the measured
+// positions with rotateTo() instead: a movement ends as soon as the arm is at its position
+// or stalls, the given milliseconds are only the timeout.
+//
+// Following methods are available:
+//
+// reverse (int duration) / turnLeft (int duration) / turnRight (int duration)
+//           queues a drive maneuver which ends after the given milliseconds
+//
+// stop ()  queues a synchronized stop which ends when both drive motors stand still
+//
+// lift () / drop ()  queues a movement of the arm for the given milliseconds
+//
+// rotateLeft (int degrees, int timeout) / rotateRight (int degrees, int timeout)
+//           queues a turn which ends after the given angle of the robot
+//
+// backUp (int distance, int timeout)  queues a backward drive which ends after the given cm
+//
+// ahead (int distance, int timeout)  queues a forward drive which ends after the given cm
+//
+// pace (int speed, int acceleration)  queues new speed and acceleration of the drive motors
+//
+// setPace (int speed, int acceleration)  sets the pace of the drive motors while idle
+//
+// advance (long now)  executes the queued maneuvers, returns true while one is running
+//
+// abort ()  forgets all maneuvers and stops the motors immediately
+//
+// setProfiled (boolean profiled)  switches the motion profiles on and off
+//
+// setArmController (ArmController arm)  moves the arm to calibrated positions
+//
+// isIdle () / isTurning () / isDrivingAhead ()  state of the engine
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class ManeuverEngine {
+
+
+    // kinds of maneuvers
+    public static final int NONE = 0, STOP = 1, REVERSE = 2, TURN_LEFT = 3, TURN_RIGHT = 4;
+    public static final int LIFT = 5, DROP = 6, PACE = 7;
+    public static final int ROTATE_LEFT = 8, ROTATE_RIGHT = 9, BACK_UP = 10, AHEAD = 11;
+
+    // maximum number of queued maneuvers
+    public static final int CAPACITY = 16;
+
+    // change of the heading (degrees) and of the driven distance
+    // (cm) per degree of one wheel
+    private static final double TURN_PER_DEGREE = PoseEstimator.WHEEL_RADIUS / PoseEstimator.TRACK_WIDTH;
+    private static final double CM_PER_DEGREE = Math.toRadians(1) * PoseEstimator.WHEEL_RADIUS;
+
+    // minimum time in nanoseconds for measuring the rate of a
+    // closed-loop maneuver
+    private static final long RATE_WINDOW = 50000000L;
+
+    // limits of the motion profiles in degrees of the motor per
+    // second squared and cubed, the speed of the arm in degrees
+    // per second
+    public static final int DRIVE_ACCELERATION = 1500, DRIVE_JERK = 12000;
+    public static final int BRICK_ACCELERATION = 800, BRICK_JERK = 4000;
+    public static final int ARM_SPEED = 360, ARM_ACCELERATION = 1200, ARM_JERK = 6000;
+
+    // movement of an arm profile in degrees, a bit more than the 180
+    // degrees between the end stops, and time for settling in ms
+    public static final int ARM_TRAVEL = 200;
+    public static final int ARM_SETTLE = 50;
+
+    // correction of the speed setpoint per degree behind the profile
+    // and the lowest setpoint in degrees per second
+    private static final double FEEDBACK = 8;
+    private static final int CREEP_SPEED = 30;
+
+
+    private final MotorPair drive;
+    private final CachingMotorDevice leftMotor, rightMotor;
+    private final MotorDevice armMotor;
+    private final PoseEstimator pose;
+
+    // queue of maneuvers as ring buffer
+    private final int[] kinds = new int[CAPACITY];
+    private final int[] firstArgs = new int[CAPACITY];
+    private final int[] secondArgs = new int[CAPACITY];
+    private int head, size;
+
+    // running maneuver, closed-loop maneuvers end at the target
+    // angle or distance measured from the origin
+    private int current = NONE;
+    private long end;
+    private double target, origin, start, farthest;
+
+    // progress of a closed-loop maneuver at the last measurement
+    // of its rate per second, the rate is measured over at least
+    // RATE_WINDOW as the tacho counts are whole degrees
+    private double progress, rate;
+    private long progressTime;
+
+    // profiles of the maneuvers, planned when a maneuver starts
+    private final MotionProfile driveProfile = new MotionProfile(DRIVE_ACCELERATION, DRIVE_JERK);
+    private final MotionProfile brickProfile = new MotionProfile(BRICK_ACCELERATION, BRICK_JERK);
+    private final MotionProfile armProfile = new MotionProfile(ARM_ACCELERATION, ARM_JERK);
+    private boolean profiled = true, holding;
+
+    // controller of the arm positions, used once it is calibrated
+    private ArmController arm;
+    private boolean armControlled;
+
+    // running profile, null without, and the pace of the drive
+    // motors before the maneuver
+    private MotionProfile profile;
+    private long profileStart;
+    private int paceSpeed, paceAcceleration;
+    private boolean paceChanged;
+
+
+    //constructor, the pose gets updated by the control loop
+    public ManeuverEngine(MotorPair drive, MotorDevice armMotor, PoseEstimator pose) {
+      this.drive = drive;
+      this.leftMotor = drive.getLeft();
+      this.rightMotor = drive.getRight();
+      this.armMotor = armMotor;
+      this.pose = pose;
+    }
+
+
+    public void reverse(int duration) {
+      queue(REVERSE, duration, 0);
+    }
+
+
+    public void turnLeft(int duration) {
+      queue(TURN_LEFT, duration, 0);
+    }
+
+
+    public void turnRight(int duration) {
+      queue(TURN_RIGHT, duration, 0);
+    }
+
+
+    public void stop() {
+      queue(STOP, 0, 0);
+    }
+
+
+    public void rotateLeft(int degrees, int timeout) {
+      queue(ROTATE_LEFT, degrees, timeout);
+    }
+
+
+    public void rotateRight(int degrees, int timeout) {
+      queue(ROTATE_RIGHT, degrees, timeout);
+    }
+
+
+    public void backUp(int distance, int timeout) {
+      queue(BACK_UP, distance, timeout);
+    }
+
+
+    public void ahead(int distance, int timeout) {
+      queue(AHEAD, distance, timeout);
+    }
+
+
+    public void lift(int duration) {
+      queue(LIFT, duration, 0);
+    }
+
+
+    public void drop(int duration) {
+      queue(DROP, duration, 0);
+    }
+
+
+    public void pace(int speed, int acceleration) {
+      queue(PACE, speed, acceleration);
+    }
+
+
+    private void queue(int kind, int firstArg, int secondArg) {
+      if (size == CAPACITY) {
+        throw new IllegalStateException("too many maneuvers queued");
+      }
+      int slot = (head + size) % CAPACITY;
+      kinds[slot] = kind;
+      firstArgs[slot] = firstArg;
+      secondArgs[slot] = secondArg;
+      size++;
+    }
+
+
+    //-------------------------------------------------------
+    //advance (long now)
+    //  starts the next maneuver when the running one is
+    //  finished. Maneuvers which do not need time (pace)
+    //  are executed in the same call.
+    //
+    // Parameter: current time in nanoseconds
+    //
+    // Effect:
+    //  returns true as long as a maneuver is running
+    //-------------------------------------------------------
+    public boolean advance(long now) {
+      while (true) {
+        if (current == NONE) {
+          if (size == 0) {
+            if (!leftMotor.isMoving() && !rightMotor.isMoving()) {
+              restorePace();
+            }
+            return false;
+          }
+          begin(now);
+        }
+        if (!isFinished(now)) {
+          return true;
+        }
+        finish();
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //begin (long now)
+    //  takes the next maneuver from the queue and sends its
+    //  commands to the motors
+    //-------------------------------------------------------
+    private void begin(long now) {
+      current = kinds[head];
+      int firstArg = firstArgs[head];
+      int secondArg = secondArgs[head];
+      head = (head + 1) % CAPACITY;
+      size--;
+
+      // a stop after a profile brakes with the acceleration of the profile
+      if (current != STOP) {
+        restorePace();
+      }
+
+      end = now + firstArg * 1000000L;
+      switch (current) {
+        case STOP:
+          drive.stop(true);
+          break;
+
+        case REVERSE:
+          drive.backward();
+          break;
+
+        case TURN_LEFT:
+          rightMotor.forward();
+          break;
+
+        case TURN_RIGHT:
+          leftMotor.forward();
+          break;
+
+        case LIFT:
+          holding = true;
+          if (armControlled()) {
+            arm.close(now);
+            break;
+          }
+          startArm(now, firstArg);
+          armMotor.backward();
+          break;
+
+        case DROP:
+          holding = false;
+          if (armControlled()) {
+            arm.open(now);
+            break;
+          }
+          startArm(now, firstArg);
+          armMotor.forward();
+          break;
+
+        case PACE:
+          drive.setPace(firstArg, secondArg);
+          break;
+
+        case ROTATE_LEFT:
+          startClosedLoop(now, firstArg, secondArg, TURN_PER_DEGREE);
+          rightMotor.forward();
+          break;
+
+        case ROTATE_RIGHT:
+          startClosedLoop(now, firstArg, secondArg, TURN_PER_DEGREE);
+          leftMotor.forward();
+          break;
+
+        case BACK_UP:
+          startClosedLoop(now, firstArg, secondArg, CM_PER_DEGREE);
+          drive.backward();
+          break;
+
+        case AHEAD:
+          startClosedLoop(now, firstArg, secondArg, CM_PER_DEGREE);
+          drive.forward();
+          break;
+
+        default:
+          throw new IllegalStateException("unknown maneuver " + current);
+      }
+    }
+
+
+    private boolean isFinished(long now) {
+      switch (current) {
+        case STOP:
+          return !leftMotor.isMoving() && !rightMotor.isMoving();
+        case PACE:
+          return true;
+        case ROTATE_LEFT:
+          return isReached(pose.getHeading() - origin, now, rightMotor, TURN_PER_DEGREE);
+        case ROTATE_RIGHT:
+          return isReached(origin - pose.getHeading(), now, leftMotor, TURN_PER_DEGREE);
+        case BACK_UP:
+          // the profile starts when the robot stopped rolling forward
+          if (pose.getTravelled() > farthest) {
+            farthest = pose.getTravelled();
+            profileStart = now;
+          }
+          return isReached(farthest - pose.getTravelled(), now, leftMotor, CM_PER_DEGREE);
+        case AHEAD:
+          return isReached(pose.getTravelled() - start, now, leftMotor, CM_PER_DEGREE);
+        case LIFT:
+        case DROP:
+          if (armControlled) {
+            return arm.isDone(now) || now >= end;
+          }
+          if (profile != null && now < end) {
+            double t = (now - profileStart) / 1e9;
+            armMotor.setSpeed((int) Math.max(t < profile.getDuration() / 2 ? 1 : CREEP_SPEED, profile.speed(t)));
+          }
+          return now >= end;
+        default:
+          return now >= end;
+      }
+    }
+
+
+    private void startClosedLoop(long now, int target, int timeout, double perDegree) {
+      this.end = now + timeout * 1000000L;
+      this.target = target;
+      this.origin = pose.getHeading();
+      this.start = pose.getTravelled();
+      this.farthest = start;
+      this.progress = 0;
+      this.rate = 0;
+      this.progressTime = now;
+
+      if (profiled) {
+        paceSpeed = leftMotor.getSpeed();
+        paceAcceleration = leftMotor.getAcceleration();
+        profile = holding ? brickProfile : driveProfile;
+        int acceleration = holding ? BRICK_ACCELERATION : DRIVE_ACCELERATION;
+        if (paceAcceleration > 0) {
+          acceleration = Math.min(acceleration, paceAcceleration);
+        }
+        profile.plan(target / perDegree, paceSpeed > 0 ? paceSpeed : CREEP_SPEED, acceleration);
+        profileStart = now;
+        paceChanged = true;
+        drive.setPace(CREEP_SPEED, acceleration);
+      }
+    }
+
+
+    // decides at the start of an arm movement how it runs
+    private boolean armControlled() {
+      armControlled = arm != null && arm.isCalibrated();
+      return armControlled;
+    }
+
+
+    //-------------------------------------------------------
+    //startArm (long now, int duration)
+    //  plans the profile of an arm movement, the movement
+    //  ends with the profile but not after the duration
+    //-------------------------------------------------------
+    private void startArm(long now, int duration) {
+      if (!profiled) {
+        return;
+      }
+      profile = armProfile;
+      profile.plan(ARM_TRAVEL, ARM_SPEED);
+      profileStart = now;
+      long settled = (long) (profile.getDuration() * 1000) + ARM_SETTLE;
+      end = now + Math.min(duration, settled) * 1000000L;
+      armMotor.setAcceleration(ARM_ACCELERATION);
+      armMotor.setSpeed(CREEP_SPEED);
+    }
+
+
+    //-------------------------------------------------------
+    //stream (double progress, long now,
+    //        CachingMotorDevice motor, double perDegree)
+    //  sends the speed setpoint of the profile, corrected by
+    //  the degrees the motor is behind the profile
+    //-------------------------------------------------------
+    private void stream(double progress, long now, CachingMotorDevice motor, double perDegree) {
+      double t = (now - profileStart) / 1e9;
+      double behind = profile.position(t) - progress / perDegree;
+      double setpoint = Math.min(paceSpeed, profile.speed(t) + FEEDBACK * behind);
+      int speed = (int) Math.max(t < profile.getDuration() / 2 ? 1 : CREEP_SPEED, setpoint);
+      if (current == BACK_UP || current == AHEAD) {
+        drive.setPace(speed, motor.getAcceleration());
+      }
+      else {
+        motor.setSpeed(speed);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //isReached (double progress, long now,
+    //           MotorDevice motor, double perDegree)
+    //  checks if a closed-loop maneuver can end, the robot
+    //  still moves for the braking distance after the stop
+    //
+    // Parameters: the angle or distance since the start,
+    //             the current time, the driving motor and
+    //             the progress per degree of the motor
+    //-------------------------------------------------------
+    private boolean isReached(double progress, long now, CachingMotorDevice motor, double perDegree) {
+      if (profile != null) {
+        stream(progress, now, motor, perDegree);
+      }
+      if (now - progressTime >= RATE_WINDOW) {
+        rate = (progress - this.progress) * 1e9 / (now - progressTime);
+        this.progress = progress;
+        progressTime = now;
+      }
+      double braking = 0;
+      if (motor.getAcceleration() > 0) {
+        braking = rate * Math.abs(rate) / (2 * motor.getAcceleration() * perDegree);
+      }
+      return progress + braking >= target || now >= end;
+    }
+
+
+    private void finish() {
+      if (current == LIFT || current == DROP) {
+        stopArm();
+      }
+      endProfile();
+      current = NONE;
+    }
+
+
+    private void stopArm() {
+      if (armControlled) {
+        arm.stop();
+      }
+      else {
+        armMotor.stop(true);
+      }
+    }
+
+
+    private void endProfile() {
+      profile = null;
+    }
+
+
+    //-------------------------------------------------------
+    //setPace (int speed, int acceleration)
+    //  sets the pace of the drive motors right away, called
+    //  while the engine is idle
+    //
+    // Effect:
+    //  the pace from before the last profile is not restored
+    //  anymore, it would overwrite the new one
+    //-------------------------------------------------------
+    public void setPace(int speed, int acceleration) {
+      drive.setPace(speed, acceleration);
+      paceChanged = false;
+    }
+
+
+    // the drive motors get back the pace which was set before the profile
+    private void restorePace() {
+      if (paceChanged && paceSpeed > 0) {
+        drive.setPace(paceSpeed, paceAcceleration);
+      }
+      paceChanged = false;
+    }
+
+
+    //-------------------------------------------------------
+    //abort ()
+    //  forgets the running and all queued maneuvers and
+    //  stops the motors without waiting
+    //
+    // Effect:
+    //  the robot stops immediately
+    //-------------------------------------------------------
+    public void abort() {
+      if (current == LIFT || current == DROP) {
+        stopArm();
+      }
+      drive.stop(true);
+      endProfile();
+
+      current = NONE;
+      head = 0;
+      size = 0;
+    }
+
+
+    //-------------------------------------------------------
+    //setProfiled (boolean profiled)
+    //  switches the motion profiles on (default) or off, off
+    //  the maneuvers run at the set pace of the motors
+    //-------------------------------------------------------
+    public void setProfiled(boolean profiled) {
+      this.profiled = profiled;
+    }
+
+
+    //-------------------------------------------------------
+    //setArmController (ArmController arm)
+    //  lift and drop move the arm with the controller once it
+    //  is calibrated, before they run for the given time
+    //-------------------------------------------------------
+    public void setArmController(ArmController arm) {
+      this.arm = arm;
+    }
+
+
+    // true if no maneuver is running or queued
+    public boolean isIdle() {
+      return current == NONE && size == 0;
+    }
+
+
+    // true while a turn is running
+    public boolean isTurning() {
+      return current == TURN_LEFT || current == TURN_RIGHT
+          || current == ROTATE_LEFT || current == ROTATE_RIGHT;
+    }
+
+
+    // true while a closed-loop forward drive is running
+    public boolean isDrivingAhead() {
+      return current == AHEAD;
+    }
+
+
+    // kind of the running maneuver
+    public int getCurrent() {
+      return current;
+    }
+}
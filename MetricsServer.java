@@ -0,0 +1,201 @@
+//------------------------------------------------------------------------------------------
+// MetricsServer.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (MetricsServer), a small HTTP server in a background thread,
+// which shows how fast the robot reacts. GET /metrics returns the latency histograms of
+// the control thread and the number of ticks per branch of drive() as plain text in the
+// format of Prometheus, so the page can be read with a browser, curl or a scraper:
+//
+//     ev3_touch_reaction_seconds    touch sensor at the edge until stopping() or backUp()
+//     ev3_remote_reaction_seconds   new remote command until the motor command
+//     ev3_udp_reaction_seconds      arrival of a UDP remote packet until the motor command
+//     ev3_loop_period_seconds       time between two ticks of the control loop
+//     ev3_branch_ticks_total        ticks per branch of drive()
+//
+// The server answers one request after the other with a minimal HTTP/1.0 response and only
+// reads the histograms, the control thread is never blocked by it. It runs with the lowest
+// priority like the LogDrainer.
+//
+// Following methods are available:
+//
+// run ()  answers the requests until the server gets stopped
+//
+// format (StringBuilder text)  writes the metrics as text
+//
+// getPort ()  port of the server, useful if it was started on port 0
+//
+// shutdown ()  closes the server socket and waits for the thread
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+
+public class MetricsServer extends Thread {
+
+
+    // time in ms a client may take for sending its request
+    private static final int READ_TIMEOUT = 2000;
+
+    // quantiles of the histograms
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+
+    private final InfraredSignalCheckerThread controller;
+    private final ServerSocket serverSocket;
+    private volatile boolean running = true;
+
+
+    //constructor, opens the server socket on the given port (0 for
+    //any free port) of all network interfaces
+    public MetricsServer(InfraredSignalCheckerThread controller, int port) throws IOException {
+      super("MetricsServer");
+      this.controller = controller;
+      this.serverSocket = new ServerSocket(port);
+      setDaemon(true);
+      setPriority(Thread.MIN_PRIORITY);
+    }
+
+
+    @Override
+    public void run() {
+      while (running) {
+        try (Socket socket = serverSocket.accept()) {
+          socket.setSoTimeout(READ_TIMEOUT);
+          answer(socket);
+        }
+        catch (SocketException e) {
+          // the server socket was closed by shutdown()
+          if (!running) {
+            break;
+          }
+        }
+        catch (IOException e) {
+          // a broken request only ends its own connection
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //answer (Socket socket)
+    //  reads the request line and sends the metrics or an
+    //  error, the headers of the request are skipped
+    //-------------------------------------------------------
+    private void answer(Socket socket) throws IOException {
+      BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+          StandardCharsets.US_ASCII));
+      String request = in.readLine();
+      String line = request;
+      while (line != null && !line.isEmpty()) {
+        line = in.readLine();
+      }
+
+      String status;
+      StringBuilder body = new StringBuilder();
+      if (request == null || !request.startsWith("GET ")) {
+        status = "405 Method Not Allowed";
+      }
+      else if (request.startsWith("GET /metrics ") || request.startsWith("GET / ")) {
+        status = "200 OK";
+        format(body);
+      }
+      else {
+        status = "404 Not Found";
+      }
+
+      byte[] content = body.toString().getBytes(StandardCharsets.UTF_8);
+      String header = "HTTP/1.0 " + status + "\r\n"
+          + "Content-Type: text/plain; version=0.0.4; charset=utf-8\r\n"
+          + "Content-Length: " + content.length + "\r\n"
+          + "Connection: close\r\n\r\n";
+      OutputStream out = socket.getOutputStream();
+      out.write(header.getBytes(StandardCharsets.US_ASCII));
+      out.write(content);
+      out.flush();
+    }
+
+
+    //-------------------------------------------------------
+    //format (StringBuilder text)
+    //  writes the histograms as summaries and the counts of
+    //  the branches as counter
+    //-------------------------------------------------------
+    public void format(StringBuilder text) {
+      summary(text, "ev3_touch_reaction_seconds",
+          "touch sensor at the table edge until stopping() or backUp()",
+          controller.getTouchReaction());
+      summary(text, "ev3_remote_reaction_seconds",
+          "new remote command until the motor command", controller.getRemoteReaction());
+      summary(text, "ev3_udp_reaction_seconds",
+          "arrival of a UDP remote packet until the motor command", controller.getUdpReaction());
+      summary(text, "ev3_loop_period_seconds", "time between two ticks of the control loop",
+          controller.getLoopPeriod());
+
+      text.append("# HELP ev3_branch_ticks_total ticks per branch of drive()\n");
+      text.append("# TYPE ev3_branch_ticks_total counter\n");
+      for (int branch = 0; branch < FlightRecorder.BRANCH_NAMES.length; branch++) {
+        text.append("ev3_branch_ticks_total{branch=\"")
+            .append(FlightRecorder.branchName(branch)).append("\"} ")
+            .append(controller.getBranchCount(branch)).append('\n');
+      }
+    }
+
+
+    // one histogram with its quantiles, the maximum as quantile 1
+    private static void summary(StringBuilder text, String name, String help,
+        LatencyHistogram histogram) {
+      text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+      text.append("# TYPE ").append(name).append(" summary\n");
+      for (double quantile : QUANTILES) {
+        text.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+            .append(seconds(histogram.getPercentile(quantile * 100))).append('\n');
+      }
+      text.append(name).append("{quantile=\"1.0\"} ").append(seconds(histogram.getMax()))
+          .append('\n');
+      text.append(name).append("_sum ").append(seconds(histogram.getSum())).append('\n');
+      text.append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+
+    private static String seconds(long nanos) {
+      return String.format(Locale.ROOT, "%.6f", nanos / 1e9);
+    }
+
+
+    public int getPort() {
+      return serverSocket.getLocalPort();
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops the server, a request which is answered right
+    //  now gets finished
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      running = false;
+      try {
+        serverSocket.close();
+      }
+      catch (IOException e) {
+        // the socket is closed anyway
+      }
+      join();
+    }
+}
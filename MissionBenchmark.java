@@ -0,0 +1,68 @@
+//------------------------------------------------------------------------------------------
+// MissionBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (MissionBenchmark), which runs the mission mode in the
+// simulator on many random tables with further bricks. The headline is the number of
+// bricks dropped off the table per minute of mission time. The missions run twice, once
+// carrying the bricks to the nearest known edge and once driving straight on from the
+// target until an edge is found.
+//
+// usage: MissionBenchmark [runs] [seed] [further bricks] [speed factor]
+//        (default 200 1 3 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class MissionBenchmark {
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      int bricks = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+      float speedFactor = args.length > 3 ? Float.parseFloat(args[3]) : 0.85f;
+
+      System.out.printf("%-10s %11s %9s %8s %8s %5s %8s %9s%n", "edge", "objects/min", "dropped",
+          "reached", "skipped", "fell", "timeout", "s/object");
+      simulate(runs, seed, bricks, speedFactor, true);
+      simulate(runs, seed, bricks, speedFactor, false);
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int runs, long seed, int bricks,
+    //          float speedFactor, boolean edgeReuse)
+    //  runs the missions and prints one line of the table
+    //-------------------------------------------------------
+    private static void simulate(int runs, long seed, int bricks, float speedFactor, boolean edgeReuse) {
+      long missionNanos = 0, reached = 0, skipped = 0;
+      int dropped = 0, total = 0, fell = 0, timedOut = 0;
+
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i, bricks), seed + i);
+        simulator.getWorld().getLeftMotor().setSpeedFactor(speedFactor);
+        simulator.getWorld().getRightMotor().setSpeedFactor(speedFactor);
+        InfraredSignalCheckerThread controller = simulator.getController();
+        controller.setEdgeReuse(edgeReuse);
+        SimResult result = simulator.runMission(i % 2 == 0, 300000);
+
+        missionNanos += result.missionNanos;
+        dropped += result.droppedOff;
+        total += simulator.getWorld().getBrickCount();
+        reached += controller.getBranchCount(FlightRecorder.BRANCH_TARGET_REACHED);
+        skipped += controller.getBranchCount(FlightRecorder.BRANCH_TARGET_SKIPPED);
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+      }
+
+      System.out.printf("%-10s %11.2f %4d/%-4d %8d %8d %5d %8d %9.1f%n",
+          edgeReuse ? "nearest" : "straight", dropped * 60e9 / missionNanos, dropped, total,
+          reached, skipped, fell, timedOut, dropped == 0 ? 0 : missionNanos / 1e9 / dropped);
+    }
+}
@@ -0,0 +1,193 @@
+//------------------------------------------------------------------------------------------
+// MotionProfile.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (MotionProfile), the velocity profile of one movement of a
+// motor from standstill to standstill (S-curve). The profile keeps a speed, an acceleration
+// and a jerk limit: the acceleration rises with the jerk limit, stays at the acceleration
+// limit until the speed is nearly reached and falls again with the jerk limit, braking is
+// the same backwards. A short movement does not reach the speed limit, its peak speed gets
+// reduced until the ramps up and down cover the distance. This is the shortest movement
+// within the limits.
+//
+// plan() computes the profile for a distance in closed form once at the start of a
+// maneuver, afterwards speed(t) and position(t) give the setpoints at any time since the
+// start in constant time without allocating memory. All values are given in degrees of
+// the motor, seconds and degrees per second.
+//
+// Following methods are available:
+//
+// plan (double distance, double maxSpeed)  computes the profile of a movement
+//
+// plan (double distance, double maxSpeed, double maxAcceleration)
+//           the same with a lower acceleration limit for this movement
+//
+// speed (double t) / position (double t)  setpoints of the planned movement
+//
+// getDuration () / getPeak ()  length and highest speed of the planned movement
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class MotionProfile {
+
+
+    private final double limit, jerk;
+
+    // acceleration limit of the planned movement
+    private double acceleration;
+
+    // planned movement: distance, peak speed, time of one ramp
+    // (standstill to peak speed) and duration
+    private double distance, peak, ramp, duration;
+
+
+    //constructor, acceleration in degrees per second squared and jerk in
+    //degrees per second cubed
+    public MotionProfile(double acceleration, double jerk) {
+      if (acceleration <= 0 || jerk <= 0) {
+        throw new IllegalArgumentException("acceleration and jerk must be positive");
+      }
+      this.limit = acceleration;
+      this.acceleration = acceleration;
+      this.jerk = jerk;
+    }
+
+
+    public void plan(double distance, double maxSpeed) {
+      plan(distance, maxSpeed, limit);
+    }
+
+
+    //-------------------------------------------------------
+    //plan (double distance, double maxSpeed,
+    //      double maxAcceleration)
+    //  computes the profile of a movement over the distance,
+    //  the peak speed of a short movement is searched by
+    //  bisection, as a ramp up and down covers peak * ramp.
+    //  The acceleration stays below both maxAcceleration and
+    //  the limit of the profile.
+    //-------------------------------------------------------
+    public void plan(double distance, double maxSpeed, double maxAcceleration) {
+      this.acceleration = maxAcceleration > 0 ? Math.min(limit, maxAcceleration) : limit;
+      this.distance = Math.max(0, distance);
+      this.peak = maxSpeed;
+      if (this.distance < maxSpeed * rampTime(maxSpeed)) {
+        double low = 0, high = maxSpeed;
+        for (int i = 0; i < 40; i++) {
+          double middle = (low + high) / 2;
+          if (middle * rampTime(middle) < this.distance) {
+            low = middle;
+          }
+          else {
+            high = middle;
+          }
+        }
+        this.peak = low;
+      }
+      this.ramp = rampTime(peak);
+      this.duration = peak > 0 ? this.distance / peak + ramp : 0;
+    }
+
+
+    // time from standstill to the speed
+    private double rampTime(double speed) {
+      if (speed >= acceleration * acceleration / jerk) {
+        return speed / acceleration + acceleration / jerk;
+      }
+      return 2 * Math.sqrt(speed / jerk);
+    }
+
+
+    //-------------------------------------------------------
+    //speed (double t)
+    //  setpoint of the speed t seconds after the start, the
+    //  braking ramp is the starting ramp backwards
+    //-------------------------------------------------------
+    public double speed(double t) {
+      if (t <= 0 || t >= duration) {
+        return 0;
+      }
+      if (t < ramp) {
+        return rampSpeed(t);
+      }
+      if (t <= duration - ramp) {
+        return peak;
+      }
+      return rampSpeed(duration - t);
+    }
+
+
+    //-------------------------------------------------------
+    //position (double t)
+    //  setpoint of the position t seconds after the start
+    //-------------------------------------------------------
+    public double position(double t) {
+      if (t <= 0) {
+        return 0;
+      }
+      if (t >= duration) {
+        return distance;
+      }
+      if (t < ramp) {
+        return rampPosition(t);
+      }
+      if (t <= duration - ramp) {
+        return peak * ramp / 2 + peak * (t - ramp);
+      }
+      return distance - rampPosition(duration - t);
+    }
+
+
+    // the ramp is point symmetric, the second half is the first one mirrored
+    private double rampSpeed(double t) {
+      if (t > ramp / 2) {
+        return peak - halfRampSpeed(ramp - t);
+      }
+      return halfRampSpeed(t);
+    }
+
+
+    private double rampPosition(double t) {
+      if (t > ramp / 2) {
+        return peak * t - peak * ramp / 2 + halfRampPosition(ramp - t);
+      }
+      return halfRampPosition(t);
+    }
+
+
+    // first half of the ramp: rising acceleration, then the limit
+    private double halfRampSpeed(double t) {
+      double rise = Math.min(acceleration / jerk, ramp / 2);
+      if (t < rise) {
+        return jerk * t * t / 2;
+      }
+      return jerk * rise * rise / 2 + jerk * rise * (t - rise);
+    }
+
+
+    private double halfRampPosition(double t) {
+      double rise = Math.min(acceleration / jerk, ramp / 2);
+      if (t < rise) {
+        return jerk * t * t * t / 6;
+      }
+      double u = t - rise;
+      return jerk * rise * rise * rise / 6 + jerk * rise * rise / 2 * u + jerk * rise * u * u / 2;
+    }
+
+
+    public double getDuration() {
+      return duration;
+    }
+
+
+    public double getPeak() {
+      return peak;
+    }
+}
@@ -0,0 +1,143 @@
+//------------------------------------------------------------------------------------------
+// MotorDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the device interface (MotorDevice) for the regulated motors of the
+// robot. It only contains the part of the leJOS RegulatedMotor interface which is used by
+// the control logic, so the same logic can run with the leJOS motors (LejosMotorDevice)
+// and with the motors of the simulator (SimMotor).
+//
+// Following methods are available:
+//
+// forward () / backward ()  starts the motor in the given direction
+//
+// stop ()  stops the motor, waits until the motor stands still
+//
+// stop (boolean immediateReturn)  stops the motor, returns immediately if requested
+//
+// setSpeed (int speed) / setAcceleration (int acceleration)  in degrees per second (^2)
+//
+// isMoving ()  true as long as the motor turns
+//
+// getTachoCount ()  angle the motor turned since the start in degrees
+//
+// rotateTo (int angle, boolean immediateReturn)  turns the motor to a tacho count and stops
+//
+// synchronizeWith (MotorDevice[] syncList)  motors which are commanded together
+//
+// startSynchronization () / endSynchronization ()  encloses synchronized commands
+//
+// close ()  releases the motor port
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface MotorDevice {
+
+
+    //-------------------------------------------------------
+    //forward ()
+    //  starts the motor forward with the current speed
+    //-------------------------------------------------------
+    void forward();
+
+
+    //-------------------------------------------------------
+    //backward ()
+    //  starts the motor backward with the current speed
+    //-------------------------------------------------------
+    void backward();
+
+
+    //-------------------------------------------------------
+    //stop ()
+    //  stops the motor and returns when the motor stands
+    //  still (or at the end of the synchronization block)
+    //-------------------------------------------------------
+    void stop();
+
+
+    //-------------------------------------------------------
+    //stop (boolean immediateReturn)
+    //  stops the motor, with immediateReturn the method
+    //  returns while the motor is still slowing down
+    //-------------------------------------------------------
+    void stop(boolean immediateReturn);
+
+
+    //-------------------------------------------------------
+    //setSpeed (int speed)
+    //  sets the speed in degrees per second
+    //-------------------------------------------------------
+    void setSpeed(int speed);
+
+
+    //-------------------------------------------------------
+    //setAcceleration (int acceleration)
+    //  sets the acceleration in degrees per second squared
+    //-------------------------------------------------------
+    void setAcceleration(int acceleration);
+
+
+    //-------------------------------------------------------
+    //isMoving ()
+    //  returns true as long as the motor turns
+    //-------------------------------------------------------
+    boolean isMoving();
+
+
+    //-------------------------------------------------------
+    //getTachoCount ()
+    //  returns the angle in degrees which the motor turned
+    //  since it was opened, backward counts negative
+    //-------------------------------------------------------
+    int getTachoCount();
+
+
+    //-------------------------------------------------------
+    //rotateTo (int angle, boolean immediateReturn)
+    //  turns the motor with the current speed and
+    //  acceleration until the tacho count is the given
+    //  angle and stops it there, with immediateReturn the
+    //  method returns while the motor turns. A stalled
+    //  motor ends the rotation.
+    //-------------------------------------------------------
+    void rotateTo(int angle, boolean immediateReturn);
+
+
+    //-------------------------------------------------------
+    //synchronizeWith (MotorDevice[] syncList)
+    //  the given motors get commanded together with this
+    //  motor between startSynchronization() and
+    //  endSynchronization()
+    //-------------------------------------------------------
+    void synchronizeWith(MotorDevice[] syncList);
+
+
+    //-------------------------------------------------------
+    //startSynchronization ()
+    //  following commands get collected and executed
+    //  together
+    //-------------------------------------------------------
+    void startSynchronization();
+
+
+    //-------------------------------------------------------
+    //endSynchronization ()
+    //  executes the collected commands
+    //-------------------------------------------------------
+    void endSynchronization();
+
+
+    //-------------------------------------------------------
+    //close ()
+    //  releases the motor port
+    //-------------------------------------------------------
+    void close();
+}
@@ -0,0 +1,215 @@
+//------------------------------------------------------------------------------------------
+// MotorPair.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (MotorPair), the two synchronized drive motors of the robot.
+// A command for both motors is sent in one synchronization block of the left motor, the
+// block is only opened if at least one of the cached motors really needs the command,
+// otherwise the command only counts the suppressed writes of the motors.
+//
+// Every synchronization block is sent while holding the lock of the pair (getLock()). The
+// ControlLoopWatchdog stops the motors from its own thread with the same lock, so its block
+// never gets mixed into an open block of the control thread.
+//
+// Following methods are available:
+//
+// forward () / backward ()  both motors forward or backward
+//
+// stop (boolean immediateReturn)  stops both motors
+//
+// setPace (int speed, int acceleration)  speed and acceleration of both motors
+//
+// drive (int leftSpeed, int rightSpeed, int acceleration)  each motor with its own signed
+//           speed, used by the continuous commands of the UDP remote
+//
+// getLeft () / getRight ()  the cached motors
+//
+// getLock ()  the lock held during every synchronization block
+//
+// getBlocks () / getSkippedBlocks ()  number of sent and of dropped synchronization blocks
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+
+public class MotorPair {
+
+
+    private final CachingMotorDevice left, right;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long blocks, skippedBlocks;
+
+
+    //constructor, the right motor must be synchronized with the left one
+    public MotorPair(CachingMotorDevice left, CachingMotorDevice right) {
+      this.left = left;
+      this.right = right;
+    }
+
+
+    public void forward() {
+      if (left.getDirection() == CachingMotorDevice.FORWARD
+          && right.getDirection() == CachingMotorDevice.FORWARD) {
+        skippedBlocks++;
+        left.forward();
+        right.forward();
+        return;
+      }
+      start();
+      left.forward();
+      right.forward();
+      end();
+    }
+
+
+    public void backward() {
+      if (left.getDirection() == CachingMotorDevice.BACKWARD
+          && right.getDirection() == CachingMotorDevice.BACKWARD) {
+        skippedBlocks++;
+        left.backward();
+        right.backward();
+        return;
+      }
+      start();
+      left.backward();
+      right.backward();
+      end();
+    }
+
+
+    //-------------------------------------------------------
+    //stop (boolean immediateReturn)
+    //  stops both motors, without immediateReturn the block
+    //  is always sent and waits until both stand still
+    //-------------------------------------------------------
+    public void stop(boolean immediateReturn) {
+      if (immediateReturn && left.getDirection() == CachingMotorDevice.STOPPED
+          && right.getDirection() == CachingMotorDevice.STOPPED) {
+        skippedBlocks++;
+        left.stop(true);
+        right.stop(true);
+        return;
+      }
+      start();
+      left.stop(immediateReturn);
+      right.stop(immediateReturn);
+      end();
+    }
+
+
+    public void setPace(int speed, int acceleration) {
+      if (left.getSpeed() == speed && right.getSpeed() == speed
+          && left.getAcceleration() == acceleration && right.getAcceleration() == acceleration) {
+        skippedBlocks++;
+        setSpeedAndAcceleration(speed, acceleration);
+        return;
+      }
+      start();
+      setSpeedAndAcceleration(speed, acceleration);
+      end();
+    }
+
+
+    //-------------------------------------------------------
+    //drive (int leftSpeed, int rightSpeed, int acceleration)
+    //  sets the speeds of both motors in one block, a
+    //  negative speed drives the motor backward and 0 stops
+    //  it without waiting
+    //-------------------------------------------------------
+    public void drive(int leftSpeed, int rightSpeed, int acceleration) {
+      if (isDriving(left, leftSpeed, acceleration) && isDriving(right, rightSpeed, acceleration)) {
+        skippedBlocks++;
+        return;
+      }
+      start();
+      drive(left, leftSpeed, acceleration);
+      drive(right, rightSpeed, acceleration);
+      end();
+    }
+
+
+    private static void drive(CachingMotorDevice motor, int speed, int acceleration) {
+      motor.setAcceleration(acceleration);
+      if (speed == 0) {
+        motor.stop(true);
+        return;
+      }
+      motor.setSpeed(Math.abs(speed));
+      if (speed > 0) {
+        motor.forward();
+      }
+      else {
+        motor.backward();
+      }
+    }
+
+
+    // true if the motor already drives with the signed speed
+    private static boolean isDriving(CachingMotorDevice motor, int speed, int acceleration) {
+      if (motor.getAcceleration() != acceleration) {
+        return false;
+      }
+      if (speed == 0) {
+        return motor.getDirection() == CachingMotorDevice.STOPPED;
+      }
+      return motor.getSpeed() == Math.abs(speed) && motor.getDirection()
+          == (speed > 0 ? CachingMotorDevice.FORWARD : CachingMotorDevice.BACKWARD);
+    }
+
+
+    // the cached motors drop the writes which do not change anything
+    private void setSpeedAndAcceleration(int speed, int acceleration) {
+      left.setSpeed(speed);
+      right.setSpeed(speed);
+      left.setAcceleration(acceleration);
+      right.setAcceleration(acceleration);
+    }
+
+
+    private void start() {
+      lock.lock();
+      left.startSynchronization();
+    }
+
+
+    private void end() {
+      left.endSynchronization();
+      lock.unlock();
+      blocks++;
+    }
+
+
+    public CachingMotorDevice getLeft() {
+      return left;
+    }
+
+
+    public CachingMotorDevice getRight() {
+      return right;
+    }
+
+
+    // held by the control thread during every synchronization block
+    public ReentrantLock getLock() {
+      return lock;
+    }
+
+
+    // number of synchronization blocks sent to the motors
+    public long getBlocks() {
+      return blocks;
+    }
+
+
+    // number of synchronization blocks dropped because no motor needed the command
+    public long getSkippedBlocks() {
+      return skippedBlocks;
+    }
+}
@@ -0,0 +1,94 @@
+//------------------------------------------------------------------------------------------
+// MovingAverage.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (MovingAverage), the mean of the last samples of a sensor.
+// The samples are kept in a ring buffer which is allocated once, so the average survives
+// between the loops of the autopilot and adding a sample does not allocate memory. As
+// DistanceFilter it can replace the AlphaBetaFilter of the infrared distance.
+//
+// Following methods are available:
+//
+// add (float sample)  adds a sample and returns the new mean
+//
+// mean () / value ()  mean of the samples in the buffer
+//
+// reset ()  empties the buffer
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class MovingAverage implements DistanceFilter {
+
+
+    private final float[] ring;
+    private int next, count;
+    private double sum;
+
+
+    //constructor, size is the number of averaged samples
+    public MovingAverage(int size) {
+      if (size < 1) {
+        throw new IllegalArgumentException("size must be at least 1");
+      }
+      this.ring = new float[size];
+    }
+
+
+    //-------------------------------------------------------
+    //add (float sample)
+    //  adds a sample, the oldest sample gets replaced as soon
+    //  as the buffer is full
+    //
+    // Effect:
+    //  returns the mean of the samples in the buffer
+    //-------------------------------------------------------
+    @Override
+    public float add(float sample) {
+      if (count == ring.length) {
+        sum -= ring[next];
+      }
+      else {
+        count++;
+      }
+      ring[next] = sample;
+      sum += sample;
+      next = next + 1 == ring.length ? 0 : next + 1;
+
+      return mean();
+    }
+
+
+    //-------------------------------------------------------
+    //mean ()
+    //  returns the mean of the samples in the buffer, NaN if
+    //  the buffer is empty
+    //-------------------------------------------------------
+    public float mean() {
+      return count == 0 ? Float.NaN : (float) (sum / count);
+    }
+
+
+    @Override
+    public float value() {
+      return mean();
+    }
+
+
+    //-------------------------------------------------------
+    //reset ()
+    //  empties the buffer
+    //-------------------------------------------------------
+    @Override
+    public void reset() {
+      next = 0;
+      count = 0;
+      sum = 0;
+    }
+}
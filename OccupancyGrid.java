@@ -0,0 +1,228 @@
+//------------------------------------------------------------------------------------------
+// OccupancyGrid.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (OccupancyGrid), the memory of the autopilot about the
+// table. The table is divided into square cells of CELL cm around the start position of
+// the odometry (PoseEstimator), the grid covers SIZE x SIZE cells. Every cell has one bit
+// for a known obstacle and one bit for a known table edge, both layers are bitsets in long
+// arrays which are allocated once, so the grid has a fixed size of 9 KB.
+//
+// The grid is updated incrementally with the position of the odometry:
+//
+//  - every distance reading of the infrared sensor marks the cell of the hit as obstacle
+//    and clears the obstacle bits of the cells in front of it, which were seen free
+//  - every released touch sensor marks the cell below the sensor as table edge, the edge
+//    bits are never cleared
+//
+// Positions outside of the grid are ignored.
+//
+// Following methods are available:
+//
+// clear ()  forgets all known cells
+//
+// addDistance (double x, double y, double heading, float distance)  adds an infrared reading
+//
+// addEdge (double x, double y, double heading, boolean left)  adds a released touch sensor
+//
+// cost (double x, double y, double heading, float length)  known cells in a direction
+//
+// isObstacle (double x, double y) / isEdge (double x, double y)  state of a cell
+//
+// getObstacleCells () / getEdgeCells () / getMemory ()  size of the grid
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Arrays;
+
+
+public class OccupancyGrid {
+
+
+    // number of cells per side and size of a cell in cm, the
+    // grid reaches SIZE / 2 * CELL cm from the start position
+    public static final int SIZE = 192;
+    public static final float CELL = 2f;
+
+    // position of the sensors in front of and beside the middle
+    // of the drive wheels in cm
+    public static final float INFRARED_FORWARD = 7f;
+    public static final float TOUCH_FORWARD = 9f, TOUCH_SIDE = 5f;
+
+    // the infrared distance 100 are about 70 cm, larger readings
+    // than MAX_HIT saw no obstacle
+    public static final float CM_PER_DISTANCE = 0.7f;
+    public static final float MAX_HIT = 90f;
+
+    // half width of the robot in cm, used by cost()
+    public static final float HALF_WIDTH = 6f;
+
+    private static final int WORDS = SIZE * SIZE / 64;
+
+
+    private final long[] obstacles = new long[WORDS];
+    private final long[] edges = new long[WORDS];
+    private int obstacleCells, edgeCells;
+
+
+    //-------------------------------------------------------
+    //clear ()
+    //  forgets all known cells, needed when the odometry
+    //  starts at a new origin
+    //-------------------------------------------------------
+    public void clear() {
+      Arrays.fill(obstacles, 0);
+      Arrays.fill(edges, 0);
+      obstacleCells = 0;
+      edgeCells = 0;
+    }
+
+
+    //-------------------------------------------------------
+    //addDistance (double x, double y, double heading,
+    //             float distance)
+    //  adds a reading of the infrared distance mode at the
+    //  given pose of the robot
+    //
+    // Parameters: position in cm, heading in degrees and the
+    //             distance reading (0 to 100)
+    //
+    // Effect:
+    //  the cells in front of the reading get free, the cell
+    //  of the reading becomes an obstacle
+    //-------------------------------------------------------
+    public void addDistance(double x, double y, double heading, float distance) {
+      if (!(distance >= 0)) {
+        return;
+      }
+      double angle = Math.toRadians(heading);
+      double dx = Math.cos(angle), dy = Math.sin(angle);
+      double sensorX = x + INFRARED_FORWARD * dx;
+      double sensorY = y + INFRARED_FORWARD * dy;
+      double range = Math.min(distance, MAX_HIT) * CM_PER_DISTANCE;
+
+      // clearing the free cells, the last cell before the hit stays
+      for (double d = 0; d < range - CELL; d += CELL) {
+        int cell = cell(sensorX + d * dx, sensorY + d * dy);
+        if (cell >= 0 && get(obstacles, cell)) {
+          obstacles[cell >>> 6] &= ~(1L << cell);
+          obstacleCells--;
+        }
+      }
+
+      if (distance < MAX_HIT) {
+        int cell = cell(sensorX + range * dx, sensorY + range * dy);
+        if (cell >= 0 && !get(obstacles, cell)) {
+          obstacles[cell >>> 6] |= 1L << cell;
+          obstacleCells++;
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //addEdge (double x, double y, double heading,
+    //         boolean left)
+    //  marks the cell below a released touch sensor as
+    //  table edge
+    //
+    // Parameters: position in cm, heading in degrees and the
+    //             side of the touch sensor
+    //-------------------------------------------------------
+    public void addEdge(double x, double y, double heading, boolean left) {
+      double angle = Math.toRadians(heading);
+      double side = left ? TOUCH_SIDE : -TOUCH_SIDE;
+      double px = x + TOUCH_FORWARD * Math.cos(angle) - side * Math.sin(angle);
+      double py = y + TOUCH_FORWARD * Math.sin(angle) + side * Math.cos(angle);
+
+      int cell = cell(px, py);
+      if (cell >= 0 && !get(edges, cell)) {
+        edges[cell >>> 6] |= 1L << cell;
+        edgeCells++;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //cost (double x, double y, double heading, float length)
+    //  counts the known obstacle and edge cells in the lane
+    //  of the robot in the given direction
+    //
+    // Parameters: position in cm, direction in degrees and
+    //             the length of the lane in cm
+    //
+    // Effect:
+    //  returns the number of known cells on three lines
+    //  (middle and both sides of the robot), nearer cells
+    //  count more
+    //-------------------------------------------------------
+    public int cost(double x, double y, double heading, float length) {
+      double angle = Math.toRadians(heading);
+      double dx = Math.cos(angle), dy = Math.sin(angle);
+      int steps = (int) (length / CELL);
+      int cost = 0;
+
+      for (int i = 1; i <= steps; i++) {
+        double d = i * CELL;
+        int weight = steps - i + 1;
+        for (int lane = -1; lane <= 1; lane++) {
+          double side = lane * HALF_WIDTH;
+          int cell = cell(x + d * dx - side * dy, y + d * dy + side * dx);
+          if (cell >= 0 && (get(obstacles, cell) || get(edges, cell))) {
+            cost += weight;
+          }
+        }
+      }
+      return cost;
+    }
+
+
+    public boolean isObstacle(double x, double y) {
+      int cell = cell(x, y);
+      return cell >= 0 && get(obstacles, cell);
+    }
+
+
+    public boolean isEdge(double x, double y) {
+      int cell = cell(x, y);
+      return cell >= 0 && get(edges, cell);
+    }
+
+
+    // index of the cell of a position, -1 outside of the grid
+    private static int cell(double x, double y) {
+      double column = x / CELL + SIZE / 2;
+      double row = y / CELL + SIZE / 2;
+      if (!(column >= 0 && column < SIZE && row >= 0 && row < SIZE)) {
+        return -1;
+      }
+      return (int) row * SIZE + (int) column;
+    }
+
+
+    private static boolean get(long[] bits, int cell) {
+      return (bits[cell >>> 6] & 1L << cell) != 0;
+    }
+
+
+    public int getObstacleCells() {
+      return obstacleCells;
+    }
+
+
+    public int getEdgeCells() {
+      return edgeCells;
+    }
+
+
+    // memory of both layers in bytes
+    public static int getMemory() {
+      return 2 * WORDS * 8;
+    }
+}
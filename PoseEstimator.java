@@ -0,0 +1,102 @@
+//------------------------------------------------------------------------------------------
+// PoseEstimator.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (PoseEstimator), the odometry of the robot. Once per tick
+// the tacho counts of both drive motors are read, the turned angles of the wheels give the
+// driven distance and the change of the heading (differential drive). The pose starts at
+// x = 0, y = 0 with the heading 0 (along the x axis) when the estimator gets reset. The
+// heading is not wrapped, a full turn to the left counts 360 degrees.
+//
+// Following methods are available:
+//
+// reset (int leftTacho, int rightTacho)  starts a new pose at the origin
+//
+// update (int leftTacho, int rightTacho)  adds the movement since the last update
+//
+// getX () / getY ()  position in cm
+//
+// getHeading ()  heading in degrees, turning left counts positive
+//
+// getTravelled ()  driven distance in cm, driving backward counts negative
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class PoseEstimator {
+
+
+    // geometry of the robot in cm
+    public static final float WHEEL_RADIUS = 2.8f;
+    public static final float TRACK_WIDTH = 12f;
+
+    // driven distance of a wheel per degree
+    private static final double CM_PER_DEGREE = Math.toRadians(1) * WHEEL_RADIUS;
+
+
+    private int lastLeft, lastRight;
+    private double x, y, heading, travelled;
+
+
+    //-------------------------------------------------------
+    //reset (int leftTacho, int rightTacho)
+    //  starts a new pose at the origin with the current tacho
+    //  counts of the drive motors
+    //-------------------------------------------------------
+    public void reset(int leftTacho, int rightTacho) {
+      lastLeft = leftTacho;
+      lastRight = rightTacho;
+      x = 0;
+      y = 0;
+      heading = 0;
+      travelled = 0;
+    }
+
+
+    //-------------------------------------------------------
+    //update (int leftTacho, int rightTacho)
+    //  adds the movement since the last update, the robot is
+    //  assumed to drive on an arc between two updates
+    //-------------------------------------------------------
+    public void update(int leftTacho, int rightTacho) {
+      double left = (leftTacho - lastLeft) * CM_PER_DEGREE;
+      double right = (rightTacho - lastRight) * CM_PER_DEGREE;
+      lastLeft = leftTacho;
+      lastRight = rightTacho;
+
+      double distance = (left + right) / 2;
+      double turn = (right - left) / TRACK_WIDTH;
+      double middle = Math.toRadians(heading) + turn / 2;
+
+      x += distance * Math.cos(middle);
+      y += distance * Math.sin(middle);
+      heading += Math.toDegrees(turn);
+      travelled += distance;
+    }
+
+
+    public double getX() {
+      return x;
+    }
+
+
+    public double getY() {
+      return y;
+    }
+
+
+    public double getHeading() {
+      return heading;
+    }
+
+
+    public double getTravelled() {
+      return travelled;
+    }
+}
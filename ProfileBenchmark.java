@@ -0,0 +1,219 @@
+//------------------------------------------------------------------------------------------
+// ProfileBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (ProfileBenchmark), which compares the maneuvers of the
+// ManeuverEngine with and without motion profiles. Every maneuver of the autopilot is
+// driven from standstill on an empty simulated table at its pace and followed by a stop,
+// the maneuvers marked with "brick" run after a lift, so the limits of the brick are used.
+// The time runs until the engine is idle, the error is measured against the target in the
+// simulated world. The highest acceleration and jerk are taken from the speed of the
+// moving motor once per tick until the stop after the maneuver (for the arm the speed of
+// the arm motor, without the stop at the end stop).
+//
+// Afterwards the autopilot and the mission mode run on many random tables with and without
+// profiles.
+//
+// usage: ProfileBenchmark [runs] [seed] [speed factor]   (default 500 1 0.85)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class ProfileBenchmark {
+
+
+    // maneuvers of the autopilot: name, speed, acceleration, kind,
+    // target and 1 if the brick is held
+    private static final String[] NAMES = {
+      "edge turn", "barrier turn", "case 4 turn", "barrier back-up", "edge back-up",
+      "ahead 30 cm", "barrier turn", "barrier back-up", "ahead 30 cm", "lift", "drop",
+    };
+    private static final int[][] MANEUVERS = {
+      {220, 200, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.EDGE_TURN, 0},
+      {370, 600, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.BARRIER_TURN, 0},
+      {370, 600, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.CASE_4_TURN, 0},
+      {370, 600, ManeuverEngine.BACK_UP, InfraredSignalCheckerThread.BARRIER_BACK_UP, 0},
+      {220, 200, ManeuverEngine.BACK_UP, InfraredSignalCheckerThread.EDGE_BACK_UP, 0},
+      {370, 600, ManeuverEngine.AHEAD, 30, 0},
+      {370, 600, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.BARRIER_TURN, 1},
+      {370, 600, ManeuverEngine.BACK_UP, InfraredSignalCheckerThread.BARRIER_BACK_UP, 1},
+      {370, 600, ManeuverEngine.AHEAD, 30, 1},
+      {200, 230, ManeuverEngine.LIFT, 1500, 0},
+      {200, 230, ManeuverEngine.DROP, 1500, 1},
+    };
+
+    private static final long TICK = InfraredSignalCheckerThread.CONTROL_PERIOD * 1000000L;
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 0.85f;
+
+      System.out.printf("%-16s %-6s %-8s %8s %8s %9s %10s%n", "maneuver", "brick", "mode",
+          "time", "error", "max acc", "max jerk");
+      for (int m = 0; m < MANEUVERS.length; m++) {
+        print(NAMES[m], MANEUVERS[m], speedFactor, false);
+        print(NAMES[m], MANEUVERS[m], speedFactor, true);
+      }
+
+      System.out.println();
+      System.out.printf("%-9s %-8s %8s %5s %8s %10s %9s%n", "mode", "profiles", "success", "fell",
+          "timeout", "mission", "obj/min");
+      for (int mission = 0; mission < 2; mission++) {
+        simulate(runs, seed, speedFactor, mission == 1, false);
+        simulate(runs, seed, speedFactor, mission == 1, true);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //print (String name, int[] maneuver, float factor,
+    //       boolean profiled)
+    //  drives the maneuver and prints one line of the table
+    //-------------------------------------------------------
+    private static void print(String name, int[] maneuver, float factor, boolean profiled) {
+      SimTable table = new SimTable(1000, 1000);
+      SimWorld world = new SimWorld(table, 1);
+      VirtualClock clock = world.getClock();
+      clock.setDeadline(Long.MAX_VALUE);
+      world.getLeftMotor().setSpeedFactor(factor);
+      world.getRightMotor().setSpeedFactor(factor);
+
+      MotorPair drive = new MotorPair(new CachingMotorDevice(world.getLeftMotor()),
+          new CachingMotorDevice(world.getRightMotor()));
+      CachingMotorDevice arm = new CachingMotorDevice(world.getArmMotor());
+      PoseEstimator pose = new PoseEstimator();
+      ManeuverEngine engine = new ManeuverEngine(drive, arm, pose);
+      engine.setProfiled(profiled);
+      pose.reset(drive.getLeft().getTachoCount(), drive.getRight().getTachoCount());
+
+      // the brick gets lifted before, the arm is raised for dropping it
+      arm.setSpeed(200);
+      arm.setAcceleration(230);
+      if (maneuver[4] == 1) {
+        engine.lift(1500);
+        run(engine, pose, drive, clock, null);
+      }
+
+      double x = world.getX(), y = world.getY(), heading = world.getHeading();
+      int kind = maneuver[2];
+      engine.pace(maneuver[0], maneuver[1]);
+      if (kind == ManeuverEngine.LIFT) {
+        engine.lift(maneuver[3]);
+      }
+      else if (kind == ManeuverEngine.DROP) {
+        engine.drop(maneuver[3]);
+      }
+      else if (kind == ManeuverEngine.BACK_UP) {
+        engine.backUp(maneuver[3], InfraredSignalCheckerThread.MANEUVER_TIMEOUT);
+      }
+      else if (kind == ManeuverEngine.AHEAD) {
+        engine.ahead(maneuver[3], InfraredSignalCheckerThread.MANEUVER_TIMEOUT);
+      }
+      else {
+        engine.rotateLeft(maneuver[3], InfraredSignalCheckerThread.MANEUVER_TIMEOUT);
+      }
+      engine.stop();
+
+      SimMotor motor = kind == ManeuverEngine.LIFT || kind == ManeuverEngine.DROP
+          ? world.getArmMotor() : world.getRightMotor();
+      double[] peaks = new double[2];
+      long time = run(engine, pose, drive, clock, motor, peaks);
+
+      double result;
+      if (kind == ManeuverEngine.LIFT || kind == ManeuverEngine.DROP) {
+        result = world.getArmMotor().getPosition()
+            - (kind == ManeuverEngine.LIFT ? SimWorld.ARM_TOP : SimWorld.ARM_BOTTOM);
+      }
+      else if (kind == ManeuverEngine.ROTATE_LEFT) {
+        result = world.getHeading() - heading - maneuver[3];
+      }
+      else {
+        double angle = Math.toRadians(heading);
+        double moved = (world.getX() - x) * Math.cos(angle) + (world.getY() - y) * Math.sin(angle);
+        result = (kind == ManeuverEngine.BACK_UP ? -moved : moved) - maneuver[3];
+      }
+
+      System.out.printf("%-16s %-6s %-8s %5d ms %8.2f %9.0f %10.0f%n", name,
+          maneuver[4] == 1 ? "yes" : "no", profiled ? "profile" : "pace", time / 1000000L, result,
+          peaks[0], peaks[1]);
+    }
+
+
+    private static long run(ManeuverEngine engine, PoseEstimator pose, MotorPair drive,
+        VirtualClock clock, SimMotor motor) {
+      return run(engine, pose, drive, clock, motor, new double[2]);
+    }
+
+
+    //-------------------------------------------------------
+    //run (ManeuverEngine engine, PoseEstimator pose,
+    //     MotorPair drive, VirtualClock clock,
+    //     SimMotor motor, double[] peaks)
+    //  advances the engine once per tick until it is idle,
+    //  the speed of the motor is sampled in every tick
+    //
+    // Effect:
+    //  returns the virtual time in nanoseconds, peaks holds
+    //  the highest acceleration and jerk of the motor
+    //-------------------------------------------------------
+    private static long run(ManeuverEngine engine, PoseEstimator pose, MotorPair drive,
+        VirtualClock clock, SimMotor motor, double[] peaks) {
+      long start = clock.nanoTime();
+      double speed = 0, acceleration = 0;
+      boolean running = true;
+      while (running) {
+        clock.advance(TICK);
+        if (motor != null && !motor.isStalledAtEndStop() && engine.getCurrent() != ManeuverEngine.STOP) {
+          double newSpeed = motor.getVelocity();
+          double newAcceleration = (newSpeed - speed) * 1e9 / TICK;
+          peaks[0] = Math.max(peaks[0], Math.abs(newAcceleration));
+          peaks[1] = Math.max(peaks[1], Math.abs(newAcceleration - acceleration) * 1e9 / TICK);
+          speed = newSpeed;
+          acceleration = newAcceleration;
+        }
+        pose.update(drive.getLeft().getTachoCount(), drive.getRight().getTachoCount());
+        running = engine.advance(clock.nanoTime());
+      }
+      return clock.nanoTime() - start;
+    }
+
+
+    //-------------------------------------------------------
+    //simulate (int runs, long seed, float speedFactor,
+    //          boolean mission, boolean profiled)
+    //  runs the autopilot or the mission on random tables
+    //  and prints one line of the table
+    //-------------------------------------------------------
+    private static void simulate(int runs, long seed, float speedFactor, boolean mission,
+        boolean profiled) {
+      int success = 0, fell = 0, timedOut = 0;
+      long missionNanos = 0, droppedOff = 0;
+
+      for (int i = 0; i < runs; i++) {
+        SimTable table = mission ? SimTable.random(seed + i, 3) : SimTable.random(seed + i);
+        Simulator simulator = new Simulator(table, seed + i);
+        simulator.getWorld().getLeftMotor().setSpeedFactor(speedFactor);
+        simulator.getWorld().getRightMotor().setSpeedFactor(speedFactor);
+        simulator.getController().getManeuverEngine().setProfiled(profiled);
+        SimResult result = mission ? simulator.runMission(i % 2 == 0, 300000)
+            : simulator.runAutopilot(i % 2 == 0, 120000);
+
+        if (result.isSuccess()) success++;
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+        missionNanos += result.missionNanos;
+        droppedOff += result.droppedOff;
+      }
+
+      System.out.printf("%-9s %-8s %8d %5d %8d %8.2f s %9.2f%n", mission ? "mission" : "autopilot",
+          profiled ? "on" : "off", success, fell, timedOut, missionNanos / 1e9 / runs,
+          droppedOff * 60e9 / missionNanos);
+    }
+}
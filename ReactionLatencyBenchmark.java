@@ -0,0 +1,49 @@
+//------------------------------------------------------------------------------------------
+// ReactionLatencyBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (ReactionLatencyBenchmark), which measures in the
+// simulator how fast the autopilot reacts to the table edge: the virtual time from a touch
+// sensor moving over the edge until no drive motor is commanded forward anymore. Edge
+// contacts which got no reaction before the robot fell off the table are counted
+// separately.
+//
+// usage: ReactionLatencyBenchmark [runs] [seed]
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class ReactionLatencyBenchmark {
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+      long reactions = 0, sum = 0, max = 0;
+      int missed = 0, fell = 0;
+
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i), seed + i);
+        SimResult result = simulator.runAutopilot(i % 2 == 0, 120000);
+        SimWorld world = simulator.getWorld();
+
+        reactions += world.getReactions();
+        sum += world.getReactionSumNanos();
+        max = Math.max(max, world.getReactionMaxNanos());
+        if (world.isReactionPending()) missed++;
+        if (result.fell) fell++;
+      }
+
+      System.out.printf("runs:                %d%n", runs);
+      System.out.printf("edge reactions:      %d%n", reactions);
+      System.out.printf("mean latency:        %.1f ms%n", reactions == 0 ? 0 : sum / 1e6 / reactions);
+      System.out.printf("max latency:         %.1f ms%n", max / 1e6);
+      System.out.printf("missed reactions:    %d (robot fell %d times)%n", missed, fell);
+    }
+}
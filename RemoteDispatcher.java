@@ -0,0 +1,242 @@
+//------------------------------------------------------------------------------------------
+// RemoteDispatcher.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (RemoteDispatcher), which decodes the buttons of the remote
+// control. A table, indexed by channel (0-3) and button code (0-9), holds the action of
+// every button. The dispatcher is edge triggered: an action is only returned when the
+// decoded button changes, while a button is held the motors get no further commands.
+//
+// The buttons are decoded like this: if no channel has a pressed button, the button 0 of
+// channel 0 is decoded (all buttons released). If exactly one channel has a pressed button,
+// that button is decoded. Buttons on several channels at once, button codes above 9 and
+// buttons with the action IGNORE do not change anything.
+//
+// The commands of the UDP remote (UdpRemoteReceiver) go through the same table: a button
+// packet is decoded like a button of the infrared remote, a drive packet with continuous
+// speed and turn rate becomes the action DRIVE. Both sources are edge triggered on their
+// own, so the released infrared remote does not stop a robot which is driven over UDP.
+//
+// Following methods are available:
+//
+// decode (byte[] commands)  decodes the button codes of all channels
+//
+// decodeButton (int channel, int command)  decodes a button of the UDP remote
+//
+// decodeDrive (int speed, int turnRate)  decodes continuous values of the UDP remote
+//
+// setAction (int channel, int command, int action)  wires a button to an action
+//
+// getAction (int channel, int command)  action of a button
+//
+// getLastChannel () / getLastCommand ()  the button of the last infrared action
+//
+// getSpeed () / getTurnRate ()  values of the last dispatched DRIVE action
+//
+// getReceived () / getSent ()  number of decoded button codes and of dispatched actions
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class RemoteDispatcher {
+
+
+    // channels of the remote control and button codes in the table
+    public static final int CHANNELS = 4;
+    public static final int COMMANDS = 10;
+
+    // actions of the buttons
+    public static final int IGNORE = 0, STOP = 1, TURN_LEFT = 2, TURN_RIGHT = 3;
+    public static final int FORWARD = 4, BACKWARD = 5, UNDEFINED = 6;
+    public static final int AUTOPILOT_DODGE_LEFT = 7, AUTOPILOT_DODGE_RIGHT = 8;
+    public static final int MISSION_DODGE_LEFT = 9, MISSION_DODGE_RIGHT = 10;
+
+    // continuous speed and turn rate of the UDP remote
+    public static final int DRIVE = 11;
+
+    // returned by decode() if the motors need no new command
+    public static final int NO_CHANGE = -1;
+
+
+    // action of every button, indexed by channel and button code
+    private final int[][] table = new int[CHANNELS][COMMANDS];
+
+    // channel * COMMANDS + button of the last dispatched action
+    private int lastKey = -1;
+
+    // last button or drive values of the UDP remote, lastUdpKey
+    // is DRIVE_KEY after drive values
+    private static final int DRIVE_KEY = CHANNELS * COMMANDS;
+    private int lastUdpKey = -1;
+    private int speed, turnRate;
+
+    private long received, sent;
+
+
+    //constructor, wires the buttons of channel 1 (driving) and
+    //channel 4 (autopilot), the other channels are ignored
+    public RemoteDispatcher() {
+      for (int command = 1; command < COMMANDS; command++) {
+        table[0][command] = UNDEFINED;
+        table[3][command] = UNDEFINED;
+      }
+      table[0][0] = STOP;
+      table[0][1] = TURN_LEFT;
+      table[0][2] = TURN_RIGHT;
+      table[0][3] = FORWARD;
+      table[0][4] = BACKWARD;
+      table[3][2] = AUTOPILOT_DODGE_LEFT;
+      table[3][4] = AUTOPILOT_DODGE_RIGHT;
+      table[3][1] = MISSION_DODGE_LEFT;
+      table[3][3] = MISSION_DODGE_RIGHT;
+    }
+
+
+    //-------------------------------------------------------
+    //decode (byte[] commands)
+    //  decodes the button codes of the channels 0 to 3
+    //
+    // Parameter: the button codes, indexed by the channel
+    //
+    // Effect:
+    //  returns the action of the decoded button if it
+    //  differs from the last one, otherwise NO_CHANGE
+    //-------------------------------------------------------
+    public int decode(byte[] commands) {
+      received++;
+
+      int channel = 0;
+      int command = 0;
+      for (int i = 0; i < CHANNELS; i++) {
+        if (commands[i] != 0) {
+          if (command != 0) {
+            return NO_CHANGE;
+          }
+          channel = i;
+          command = commands[i];
+        }
+      }
+      if (command < 0 || command >= COMMANDS) {
+        return NO_CHANGE;
+      }
+
+      int action = table[channel][command];
+      int key = channel * COMMANDS + command;
+      if (action == IGNORE || key == lastKey) {
+        return NO_CHANGE;
+      }
+      lastKey = key;
+      sent++;
+      return action;
+    }
+
+
+    //-------------------------------------------------------
+    //decodeButton (int channel, int command)
+    //  decodes a button packet of the UDP remote with the
+    //  table of the infrared remote
+    //
+    // Effect:
+    //  returns the action of the button if it differs from
+    //  the last command of the UDP remote, else NO_CHANGE
+    //-------------------------------------------------------
+    public int decodeButton(int channel, int command) {
+      received++;
+      if (channel < 0 || channel >= CHANNELS || command < 0 || command >= COMMANDS) {
+        return NO_CHANGE;
+      }
+
+      int action = table[channel][command];
+      int key = channel * COMMANDS + command;
+      if (action == IGNORE || key == lastUdpKey) {
+        return NO_CHANGE;
+      }
+      lastUdpKey = key;
+      sent++;
+      return action;
+    }
+
+
+    //-------------------------------------------------------
+    //decodeDrive (int speed, int turnRate)
+    //  decodes a drive packet of the UDP remote
+    //
+    // Parameters: speed of the robot and turn rate in
+    //             degrees of the wheels per second
+    //
+    // Effect:
+    //  returns DRIVE if the values changed, else NO_CHANGE
+    //-------------------------------------------------------
+    public int decodeDrive(int speed, int turnRate) {
+      received++;
+      if (lastUdpKey == DRIVE_KEY && speed == this.speed && turnRate == this.turnRate) {
+        return NO_CHANGE;
+      }
+      lastUdpKey = DRIVE_KEY;
+      this.speed = speed;
+      this.turnRate = turnRate;
+      sent++;
+      return DRIVE;
+    }
+
+
+    //-------------------------------------------------------
+    //setAction (int channel, int command, int action)
+    //  wires the button of the given channel (0-3) to an
+    //  action, IGNORE unwires it
+    //-------------------------------------------------------
+    public void setAction(int channel, int command, int action) {
+      if (channel < 0 || channel >= CHANNELS || command < 0 || command >= COMMANDS) {
+        throw new IllegalArgumentException("no button " + command + " on channel " + channel);
+      }
+      table[channel][command] = action;
+    }
+
+
+    public int getAction(int channel, int command) {
+      return table[channel][command];
+    }
+
+
+    // channel of the last action of the infrared remote, -1 before the first one
+    public int getLastChannel() {
+      return lastKey < 0 ? -1 : lastKey / COMMANDS;
+    }
+
+
+    // button code of the last action of the infrared remote, -1 before the first one
+    public int getLastCommand() {
+      return lastKey < 0 ? -1 : lastKey % COMMANDS;
+    }
+
+
+    // speed of the last DRIVE action in degrees per second
+    public int getSpeed() {
+      return speed;
+    }
+
+
+    // turn rate of the last DRIVE action, the difference between
+    // the wheels is twice the turn rate
+    public int getTurnRate() {
+      return turnRate;
+    }
+
+
+    // number of decoded button codes
+    public long getReceived() {
+      return received;
+    }
+
+
+    // number of actions sent to the motors
+    public long getSent() {
+      return sent;
+    }
+}
@@ -1,70 +1,206 @@
-//------------------------------------------------------------------------------------------
-// RemoteTest.java
-// Lego Mindstorms EV3 Project
-//
-// Authors:   Andreas Pilgerstorfer
-//            Alexander Schnmann           
-//
-// Created:   10.11.2020
-// Last changed: 19.12.2020
-//
-// This file contains a test class (RemoteTest), which allows the robot to run the specified
-// code from the class InfraredSignalCheckerThread.java. This file also contains setting for
-// the different sensors and motors.
-//
-// sources: 
-//  http://www.rapidpm.org/2014/02/lego-mindstorms-ev3-components-infrared.html
-//------------------------------------------------------------------------------------------
-package remoteControl;
-
-import lejos.hardware.Button;
-import lejos.hardware.motor.EV3LargeRegulatedMotor;
-import lejos.hardware.port.MotorPort;
-import lejos.hardware.port.SensorPort;
-import lejos.hardware.sensor.EV3IRSensor;
-import lejos.hardware.sensor.NXTTouchSensor;
-import lejos.robotics.RegulatedMotor;
-
-
-public class RemoteTest {
-
-
-    public static void main(String[] args) throws InterruptedException {
-      
-        // generating objects from the available sensors 
-        final NXTTouchSensor rightTouch = new NXTTouchSensor(SensorPort.S1);
-        final NXTTouchSensor leftTouch = new NXTTouchSensor(SensorPort.S2);
-        final EV3IRSensor infraredSensor = new EV3IRSensor(SensorPort.S4);
-        
-        
-        // generating objects from the available motors
-        RegulatedMotor leftMotor = new EV3LargeRegulatedMotor(MotorPort.A);
-        RegulatedMotor rightMotor = new EV3LargeRegulatedMotor(MotorPort.B);
-        RegulatedMotor armMotor = new EV3LargeRegulatedMotor(MotorPort.C);
-        
-        
-        leftMotor.synchronizeWith(new RegulatedMotor[] {rightMotor});
-        final InfraredSignalCheckerThread checkerThread = new InfraredSignalCheckerThread(infraredSensor, leftTouch, rightTouch, leftMotor,rightMotor, armMotor);
-        
-        
-        // Settings
-        checkerThread.isRunning = true;
-        checkerThread.start();
-        Button.waitForAnyPress();
-        
-        
-        checkerThread.stop();
-        checkerThread.isRunning = false;
-        
-        //Closing Sensors and Motors
-        leftMotor.close();
-        rightMotor.close();
-        armMotor.close();
-        
-        rightTouch.close();
-        leftTouch.close();
-        infraredSensor.close();
-       
-        
-    }
+//------------------------------------------------------------------------------------------
+// RemoteTest.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schnmann           
+//
+// Created:   10.11.2020
+// Last changed: 18.10.2026
+//
+// This file contains a test class (RemoteTest), which allows the robot to run the specified
+// code from the class InfraredSignalCheckerThread.java. This file also contains setting for
+// the different sensors and motors.
+//
+// sources: 
+//  http://www.rapidpm.org/2014/02/lego-mindstorms-ev3-components-infrared.html
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import lejos.hardware.Button;
+import lejos.hardware.port.MotorPort;
+import lejos.hardware.port.Port;
+import lejos.hardware.port.SensorPort;
+
+
+public class RemoteTest {
+
+    // printing the messages of the robot on the console,
+    // false switches the messages off for production runs
+    private static final boolean CONSOLE_LOG = true;
+    
+    // file and number of ticks of the flight recorder (about 11 minutes)
+    private static final String FLIGHT_RECORDING = "flight.rec";
+    private static final int FLIGHT_RECORDS = 65536;
+    
+    // port of the metrics page (http://<brick>:8080/metrics)
+    private static final int METRICS_PORT = 8080;
+    
+    // port of the UDP remote control (UdpRemoteClient)
+    private static final int UDP_REMOTE_PORT = 5005;
+    
+    // time in ms the control thread gets to end at the exit
+    private static final int SHUTDOWN_TIMEOUT = 1000;
+
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+      
+        // generating objects from the available sensors and motors,
+        // every port is opened in its own thread
+        final DeviceStartup startup = new DeviceStartup();
+        Future<TouchDevice> rightTouchOpen = openTouch(startup, "touch S1", SensorPort.S1);
+        Future<TouchDevice> leftTouchOpen = openTouch(startup, "touch S2", SensorPort.S2);
+        Future<InfraredDevice> infraredOpen = startup.open("infrared S4", new Callable<InfraredDevice>() {
+          @Override
+          public InfraredDevice call() {
+            return new LejosInfraredDevice(SensorPort.S4);
+          }
+        });
+        Future<MotorDevice> leftMotorOpen = openMotor(startup, "motor A", MotorPort.A);
+        Future<MotorDevice> rightMotorOpen = openMotor(startup, "motor B", MotorPort.B);
+        Future<MotorDevice> armMotorOpen = openMotor(startup, "motor C", MotorPort.C);
+        startup.await();
+        
+        final TouchDevice rightTouch = get(rightTouchOpen);
+        final TouchDevice leftTouch = get(leftTouchOpen);
+        final InfraredDevice infraredSensor = get(infraredOpen);
+        MotorDevice leftMotor = get(leftMotorOpen);
+        MotorDevice rightMotor = get(rightMotorOpen);
+        MotorDevice armMotor = get(armMotorOpen);
+        System.out.print(startup.timeline());
+        
+        
+        leftMotor.synchronizeWith(new MotorDevice[] {rightMotor});
+        final RobotClock clock = new SystemClock();
+        final InfraredSignalCheckerThread checkerThread = new InfraredSignalCheckerThread(infraredSensor, leftTouch, rightTouch, leftMotor,rightMotor, armMotor, clock);
+        
+        
+        // reading every sensor in its own thread
+        final SensorHub sensors = new SensorHub(leftTouch, rightTouch, infraredSensor, clock);
+        sensors.start();
+        checkerThread.setSensorView(sensors);
+        
+        
+        // recording every tick of the autopilot
+        final FlightRecorder recorder = new FlightRecorder(new File(FLIGHT_RECORDING), FLIGHT_RECORDS);
+        checkerThread.setFlightRecorder(recorder);
+        
+        
+        // printing the messages of the control thread in the background
+        final EventLog log = checkerThread.getEventLog();
+        log.setConsoleMirroring(CONSOLE_LOG);
+        final LogDrainer drainer = new LogDrainer(log, System.out);
+        drainer.start();
+        
+        // serving the reaction latencies of the control thread
+        final MetricsServer metrics = new MetricsServer(checkerThread, METRICS_PORT);
+        metrics.start();
+        
+        // taking the commands of the UDP remote besides the infrared remote
+        final UdpRemoteReceiver udpRemote = new UdpRemoteReceiver(UDP_REMOTE_PORT);
+        udpRemote.start();
+        checkerThread.setUdpRemote(udpRemote);
+        
+        
+        // stopping the motors if the control loop hangs
+        final ControlLoopWatchdog watchdog = new ControlLoopWatchdog(leftMotor, rightMotor, armMotor);
+        watchdog.start();
+        checkerThread.setWatchdog(watchdog);
+        
+        
+        // measuring the open and closed position of the arm once,
+        // lifting and dropping move the arm to them
+        checkerThread.calibrateArm();
+        System.out.println("Arm open " + checkerThread.getArmController().getOpen()
+            + ", closed " + checkerThread.getArmController().getClosed());
+        
+        
+        // Settings
+        checkerThread.isRunning = true;
+        checkerThread.start();
+        Button.waitForAnyPress();
+        
+        
+        // the control thread ends at its next tick, if it hangs the
+        // watchdog has stopped the motors
+        long shutdownNanos = checkerThread.shutdown(SHUTDOWN_TIMEOUT);
+        if (shutdownNanos < 0) {
+          System.out.println("control thread did not end within " + SHUTDOWN_TIMEOUT + " ms");
+          watchdog.stopMotors();
+          System.out.println("motors stopped, the devices stay open");
+        }
+        else {
+          System.out.printf("control thread ended after %.1f ms%n", shutdownNanos / 1e6);
+        }
+        watchdog.shutdown();
+        
+        sensors.shutdown();
+        udpRemote.shutdown();
+        
+        //Closing Sensors and Motors, not while the hanging control
+        //thread may still use them
+        if (shutdownNanos >= 0) {
+          leftMotor.close();
+          rightMotor.close();
+          armMotor.close();
+          
+          rightTouch.close();
+          leftTouch.close();
+          infraredSensor.close();
+        }
+        
+        drainer.shutdown();
+        metrics.shutdown();
+        recorder.close();
+        
+        
+        // writes to the motors which were dropped by the motor cache
+        MotorPair driveMotors = checkerThread.getDriveMotors();
+        System.out.println("suppressed writes: left " + driveMotors.getLeft().getSuppressed()
+            + ", right " + driveMotors.getRight().getSuppressed()
+            + ", arm " + checkerThread.getArmMotor().getSuppressed());
+       
+        
+    }
+    
+    
+    // opens a touch sensor in its own thread of the startup
+    private static Future<TouchDevice> openTouch(DeviceStartup startup, String name,
+        final Port port) {
+      return startup.open(name, new Callable<TouchDevice>() {
+        @Override
+        public TouchDevice call() {
+          return new LejosTouchDevice(port);
+        }
+      });
+    }
+    
+    
+    // opens a motor in its own thread of the startup
+    private static Future<MotorDevice> openMotor(DeviceStartup startup, String name,
+        final Port port) {
+      return startup.open(name, new Callable<MotorDevice>() {
+        @Override
+        public MotorDevice call() {
+          return new LejosMotorDevice(port);
+        }
+      });
+    }
+    
+    
+    // a device of the startup, which is open after await()
+    private static <T> T get(Future<T> device) throws InterruptedException {
+      try {
+        return device.get();
+      }
+      catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
 };
\ No newline at end of file
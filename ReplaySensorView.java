@@ -0,0 +1,109 @@
+//------------------------------------------------------------------------------------------
+// ReplaySensorView.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (ReplaySensorView), a SensorView which returns the samples
+// of a flight recording instead of reading the sensors. Every refresh() takes the next
+// record, so the control logic sees the same samples as in the recorded run. After the
+// last record the samples of the last record stay.
+//
+// Following methods are available:
+//
+// SensorView methods
+//
+// isFinished ()  true after the last record was taken
+//
+// getIndex ()  number of taken records
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class ReplaySensorView implements SensorView {
+
+
+    private final FlightRecordDecoder recording;
+    private int index;
+    private float left = Float.NaN, right = Float.NaN, distance = Float.NaN;
+
+
+    //constructor, starts with the oldest record
+    public ReplaySensorView(FlightRecordDecoder recording) {
+      this.recording = recording;
+    }
+
+
+    @Override
+    public void refresh() {
+      if (index >= recording.size()) {
+        return;
+      }
+      left = recording.getLeft(index);
+      right = recording.getRight(index);
+      distance = recording.getDistance(index);
+      index++;
+    }
+
+
+    @Override
+    public float left() {
+      return left;
+    }
+
+
+    @Override
+    public float right() {
+      return right;
+    }
+
+
+    @Override
+    public float distance() {
+      return distance;
+    }
+
+
+    // the recorded samples were used in their tick, they have no age
+    @Override
+    public long leftAge() {
+      return 0;
+    }
+
+
+    @Override
+    public long rightAge() {
+      return 0;
+    }
+
+
+    @Override
+    public long distanceAge() {
+      return 0;
+    }
+
+
+    // the recorded distance is already averaged
+    @Override
+    public void startDistance() {
+    }
+
+
+    @Override
+    public void stopDistance() {
+    }
+
+
+    public boolean isFinished() {
+      return index >= recording.size();
+    }
+
+
+    public int getIndex() {
+      return index;
+    }
+}
@@ -0,0 +1,50 @@
+//------------------------------------------------------------------------------------------
+// RobotClock.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (RobotClock) for the time source of the control logic.
+// On the brick the SystemClock is used, in the simulator the VirtualClock, which lets the
+// control logic run much faster than real time.
+//
+// Following methods are available:
+//
+// nanoTime ()  current time in nanoseconds
+//
+// msDelay (long period)  waits for the given amount of milliseconds
+//
+// nsDelay (long period)  waits for the given amount of nanoseconds
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface RobotClock {
+
+
+    //-------------------------------------------------------
+    //nanoTime ()
+    //  returns the current time in nanoseconds, only the
+    //  difference between two values is meaningful
+    //-------------------------------------------------------
+    long nanoTime();
+
+
+    //-------------------------------------------------------
+    //msDelay (long period)
+    //  waits for the given amount of milliseconds
+    //-------------------------------------------------------
+    void msDelay(long period);
+
+
+    //-------------------------------------------------------
+    //nsDelay (long period)
+    //  waits for the given amount of nanoseconds, used by
+    //  the ControlLoopScheduler
+    //-------------------------------------------------------
+    void nsDelay(long period);
+}
@@ -0,0 +1,214 @@
+//------------------------------------------------------------------------------------------
+// SampleBus.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SampleBus), which reads the sensors for the control logic.
+// Every sensor gets a sample buffer which is allocated once, the distance of the infrared
+// sensor is filtered by a DistanceFilter which keeps its state between the loops (by
+// default the AlphaBetaFilter of newDistanceFilter(), which follows an approaching barrier
+// without the lag of an average and rejects single outliers). Reading the sensors through
+// the bus does not allocate memory.
+//
+// The bus is the synchronous SensorView: refresh() reads the sensors in the calling thread,
+// so the age of the samples is always 0. It is used by the simulator, where the sensors
+// have to be read in the control thread to keep the runs reproducible.
+//
+// Following methods are available:
+//
+// sampleTouch ()  reads both touch sensors
+//
+// sampleDistance ()  reads the infrared distance and adds it to the filter
+//
+// left () / right ()  last sample of the touch sensors (1 pressed, 0 released)
+//
+// distance () / rawDistance ()  filtered and last distance of the infrared sensor
+//
+// setDistanceFilter (DistanceFilter filter)  replaces the filter of the distance
+//
+// newDistanceFilter ()  creates the default filter of the distance
+//
+// refresh ()  reads the touch sensors and, while it is switched on, the distance
+//
+// startDistance () / stopDistance ()  switches the distance measurement on and off
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public class SampleBus implements SensorView {
+
+
+    // number of averaged distance samples of a MovingAverage
+    public static final int DISTANCE_WINDOW = 5;
+
+    // gains of the AlphaBetaFilter, largest accepted difference from the
+    // prediction and number of rejected readings in a row
+    public static final float ALPHA = 0.5f;
+    public static final float BETA = 0.1f;
+    public static final float DISTANCE_GATE = 5f;
+    public static final int MAX_OUTLIERS = 2;
+
+
+    private final TouchDevice leftTouch, rightTouch;
+    private final InfraredDevice infraredSensor;
+    private SampleProvider distanceMode;
+
+    // sample buffers of the sensors
+    private final float[] sampleL, sampleR;
+    private float[] sampleD;
+
+    private DistanceFilter filter;
+    private float distance = Float.NaN;
+    private boolean distanceActive;
+
+
+    //constructor
+    public SampleBus(TouchDevice leftTouch, TouchDevice rightTouch, InfraredDevice infraredSensor) {
+      this.leftTouch = leftTouch;
+      this.rightTouch = rightTouch;
+      this.infraredSensor = infraredSensor;
+      this.sampleL = new float[leftTouch.sampleSize()];
+      this.sampleR = new float[rightTouch.sampleSize()];
+      this.filter = newDistanceFilter();
+    }
+
+
+    //-------------------------------------------------------
+    //newDistanceFilter ()
+    //  creates the filter which is used for the infrared
+    //  distance unless another one gets set
+    //-------------------------------------------------------
+    public static DistanceFilter newDistanceFilter() {
+      return new AlphaBetaFilter(ALPHA, BETA, DISTANCE_GATE, MAX_OUTLIERS);
+    }
+
+
+    //-------------------------------------------------------
+    //setDistanceFilter (DistanceFilter filter)
+    //  replaces the filter of the infrared distance, the
+    //  filter starts empty
+    //-------------------------------------------------------
+    public void setDistanceFilter(DistanceFilter filter) {
+      filter.reset();
+      this.filter = filter;
+    }
+
+
+    //-------------------------------------------------------
+    //sampleTouch ()
+    //  reads the left and the right touch sensor into their
+    //  buffers
+    //-------------------------------------------------------
+    public void sampleTouch() {
+      leftTouch.fetchSample(sampleL, 0);
+      rightTouch.fetchSample(sampleR, 0);
+    }
+
+
+    //-------------------------------------------------------
+    //sampleDistance ()
+    //  reads the distance of the infrared sensor and adds it
+    //  to the filter. The distance mode gets selected on the
+    //  first call.
+    //
+    // Effect:
+    //  returns the filtered distance
+    //-------------------------------------------------------
+    public float sampleDistance() {
+      if (distanceMode == null) {
+        distanceMode = infraredSensor.getDistanceMode();
+        sampleD = new float[distanceMode.sampleSize()];
+      }
+      distanceMode.fetchSample(sampleD, 0);
+      distance = sampleD[0];
+
+      return filter.add(distance);
+    }
+
+
+    //-------------------------------------------------------
+    //refresh ()
+    //  reads both touch sensors and, while the distance
+    //  measurement is switched on, the infrared distance
+    //-------------------------------------------------------
+    @Override
+    public void refresh() {
+      sampleTouch();
+      if (distanceActive) {
+        sampleDistance();
+      }
+    }
+
+
+    // last sample of the left touch sensor
+    @Override
+    public float left() {
+      return sampleL[0];
+    }
+
+
+    // last sample of the right touch sensor
+    @Override
+    public float right() {
+      return sampleR[0];
+    }
+
+
+    // filtered distance of the infrared sensor
+    @Override
+    public float distance() {
+      return filter.value();
+    }
+
+
+    // last distance of the infrared sensor
+    public float rawDistance() {
+      return distance;
+    }
+
+
+    // the samples are read in refresh(), they have no age
+    @Override
+    public long leftAge() {
+      return 0;
+    }
+
+
+    @Override
+    public long rightAge() {
+      return 0;
+    }
+
+
+    @Override
+    public long distanceAge() {
+      return 0;
+    }
+
+
+    //-------------------------------------------------------
+    //startDistance ()
+    //  forgets the filtered distance samples and reads the
+    //  distance in every refresh(), used when the autopilot
+    //  gets started
+    //-------------------------------------------------------
+    @Override
+    public void startDistance() {
+      filter.reset();
+      distance = Float.NaN;
+      distanceActive = true;
+    }
+
+
+    @Override
+    public void stopDistance() {
+      distanceActive = false;
+    }
+}
@@ -0,0 +1,63 @@
+//------------------------------------------------------------------------------------------
+// SchedulerCalibration.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (SchedulerCalibration), which runs on the brick and finds
+// the fastest period of the control loop the hardware sustains. For every tested period the
+// worst case work of one tick (all remote channels, both touch sensors and the infrared
+// distance) is executed 500 times and the jitter and overruns of the scheduler are printed.
+//
+// usage: SchedulerCalibration [period in ms] ...   (default 2 5 10 20)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.hardware.port.SensorPort;
+
+
+public class SchedulerCalibration {
+
+
+    // ticks per tested period
+    private static final int TICKS = 500;
+
+
+    public static void main(String[] args) {
+      int[] periods = {2, 5, 10, 20};
+      if (args.length > 0) {
+        periods = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+          periods[i] = Integer.parseInt(args[i]);
+        }
+      }
+
+      final TouchDevice rightTouch = new LejosTouchDevice(SensorPort.S1);
+      final TouchDevice leftTouch = new LejosTouchDevice(SensorPort.S2);
+      final InfraredDevice infraredSensor = new LejosInfraredDevice(SensorPort.S4);
+
+      RobotClock clock = new SystemClock();
+      SampleBus bus = new SampleBus(leftTouch, rightTouch, infraredSensor);
+      byte[] commands = new byte[RemoteDispatcher.CHANNELS];
+
+      for (int period : periods) {
+        ControlLoopScheduler scheduler = new ControlLoopScheduler(clock, period * 1000000L);
+        scheduler.start();
+        for (int i = 0; i < TICKS; i++) {
+          scheduler.awaitNextTick();
+          infraredSensor.getRemoteCommands(commands, 0, commands.length);
+          bus.sampleTouch();
+          bus.sampleDistance();
+        }
+        System.out.println(scheduler);
+      }
+
+      rightTouch.close();
+      leftTouch.close();
+      infraredSensor.close();
+    }
+}
@@ -0,0 +1,55 @@
+//------------------------------------------------------------------------------------------
+// SensorEvent.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the event codes (SensorEvent) of the SensorEventPipeline. The events
+// are edge triggered: an edge event is published when a debounced touch sensor gets
+// released and names the sensors which are released after it, EDGE_CLEARED when both are
+// pressed again. The obstacle events follow the filtered infrared distance.
+//
+// Following methods are available:
+//
+// name (int event)  name of an event code
+//
+// isEdge (int event)  true for the events of a released touch sensor
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public final class SensorEvent {
+
+
+    // event codes
+    public static final int EDGE_LEFT = 0;
+    public static final int EDGE_RIGHT = 1;
+    public static final int EDGE_BOTH = 2;
+    public static final int EDGE_CLEARED = 3;
+    public static final int OBSTACLE_NEAR = 4;
+    public static final int OBSTACLE_CLEARED = 5;
+
+    // names of the events, indexed by the event code
+    public static final String[] NAMES = {
+      "EDGE_LEFT", "EDGE_RIGHT", "EDGE_BOTH", "EDGE_CLEARED", "OBSTACLE_NEAR", "OBSTACLE_CLEARED",
+    };
+
+
+    private SensorEvent() {
+    }
+
+
+    public static String name(int event) {
+      return event >= 0 && event < NAMES.length ? NAMES[event] : "UNKNOWN_" + event;
+    }
+
+
+    // true for the events of a touch sensor being released
+    public static boolean isEdge(int event) {
+      return event == EDGE_LEFT || event == EDGE_RIGHT || event == EDGE_BOTH;
+    }
+}
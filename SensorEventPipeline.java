@@ -0,0 +1,310 @@
+//------------------------------------------------------------------------------------------
+// SensorEventPipeline.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SensorEventPipeline), which turns the samples of the touch
+// sensors and the infrared distance into edge triggered events (SensorEvent) for the
+// subscribers, in three stages:
+//
+//     debounce         a touch sample which differs from the debounced value is only taken
+//                      after it stayed the same for the debounce time, a single bouncing
+//                      reading does not get through. 0 takes every sample (no debounce).
+//     combine latest   the newest debounced values of both touch sensors are combined into
+//                      one state, a released sensor publishes EDGE_LEFT, EDGE_RIGHT or
+//                      EDGE_BOTH by the state after it. The distance below the obstacle
+//                      threshold publishes OBSTACLE_NEAR and OBSTACLE_CLEARED.
+//     backpressure     every subscriber gets the events it requested, the others wait in
+//                      its bounded buffer. A full buffer drops the oldest event, the newest
+//                      state can always be read with getLeft(), getRight() and isObstacle().
+//
+// The sensors can only be polled, so the control thread feeds the pipeline once per tick
+// with publish() and the events are delivered in the same call. The pipeline takes no lock
+// and allocates no memory after subscribe(), it must only be used by the control thread.
+//
+// Following methods are available:
+//
+// subscribe (EventSubscriber subscriber, int capacity)  adds a subscriber with a buffer
+//
+// publish (long now, float sampleL, long ageL, float sampleR, long ageR, float distance)
+//           feeds the samples of one tick through the stages
+//
+// reset ()  both sensors pressed, no obstacle, used when the autopilot gets started
+//
+// getLeft () / getRight () / isObstacle ()  the debounced state
+//
+// setDebounce (long nanos) / setObstacleDistance (float distance)  settings of the stages
+//
+// getPublished () / getSuppressed ()  number of published events and of touch samples
+//           which were held back by the debounce
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SensorEventPipeline {
+
+
+    // highest number of subscribers
+    public static final int MAX_SUBSCRIBERS = 4;
+
+
+    private final Debouncer left = new Debouncer();
+    private final Debouncer right = new Debouncer();
+    private boolean obstacle;
+    private long debounceNanos;
+    private float obstacleDistance = InfraredSignalCheckerThread.OBSTACLE_DISTANCE;
+
+    private final Subscription[] subscriptions = new Subscription[MAX_SUBSCRIBERS];
+    private int subscribers;
+    private long published;
+
+
+    //-------------------------------------------------------
+    //subscribe (EventSubscriber subscriber, int capacity)
+    //  adds a subscriber with a buffer for the given number
+    //  of events which were not requested yet
+    //
+    // Effect:
+    //  calls onSubscribe() of the subscriber
+    //-------------------------------------------------------
+    public void subscribe(EventSubscriber subscriber, int capacity) {
+      if (subscribers == MAX_SUBSCRIBERS) {
+        throw new IllegalStateException("more than " + MAX_SUBSCRIBERS + " subscribers");
+      }
+      if (capacity < 1) {
+        throw new IllegalArgumentException("capacity must be positive: " + capacity);
+      }
+      Subscription subscription = new Subscription(subscriber, capacity);
+      subscriptions[subscribers++] = subscription;
+      subscriber.onSubscribe(subscription);
+    }
+
+
+    //-------------------------------------------------------
+    //publish (long now, float sampleL, long ageL,
+    //         float sampleR, long ageR, float distance)
+    //  feeds the touch samples with their age and the
+    //  filtered distance (NaN if not measured) of one tick
+    //  through the stages
+    //
+    // Effect:
+    //  the subscribers get the events of the tick, an edge
+    //  event carries the time of the first released sample
+    //-------------------------------------------------------
+    public void publish(long now, float sampleL, long ageL, float sampleR, long ageR,
+        float distance) {
+      boolean changedL = left.update(sampleL, now - ageL, now, debounceNanos);
+      boolean changedR = right.update(sampleR, now - ageR, now, debounceNanos);
+
+      // combining the newest values of both sensors
+      boolean releasedL = changedL && left.value == 0;
+      boolean releasedR = changedR && right.value == 0;
+      if (releasedL || releasedR) {
+        int event = left.value == 0 && right.value == 0 ? SensorEvent.EDGE_BOTH
+            : left.value == 0 ? SensorEvent.EDGE_LEFT : SensorEvent.EDGE_RIGHT;
+        emit(event, releasedL ? left.since : right.since);
+      }
+      else if ((changedL || changedR) && left.value == 1 && right.value == 1) {
+        emit(SensorEvent.EDGE_CLEARED, now);
+      }
+
+      boolean near = distance < obstacleDistance;
+      if (near != obstacle) {
+        obstacle = near;
+        emit(near ? SensorEvent.OBSTACLE_NEAR : SensorEvent.OBSTACLE_CLEARED, now);
+      }
+    }
+
+
+    private void emit(int event, long nanos) {
+      published++;
+      for (int i = 0; i < subscribers; i++) {
+        subscriptions[i].offer(event, nanos);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //reset ()
+    //  both sensors count as pressed and no obstacle as
+    //  seen, without publishing events. The buffers of the
+    //  subscribers are kept.
+    //-------------------------------------------------------
+    public void reset() {
+      left.reset();
+      right.reset();
+      obstacle = false;
+    }
+
+
+    // debounced value of the left touch sensor, 1 if pressed
+    public float getLeft() {
+      return left.value;
+    }
+
+
+    // debounced value of the right touch sensor, 1 if pressed
+    public float getRight() {
+      return right.value;
+    }
+
+
+    public boolean isObstacle() {
+      return obstacle;
+    }
+
+
+    //-------------------------------------------------------
+    //setDebounce (long nanos)
+    //  time a changed touch sample must stay the same until
+    //  it gets taken, 0 (default) takes every sample. The
+    //  reaction to the table edge gets later by this time.
+    //-------------------------------------------------------
+    public void setDebounce(long nanos) {
+      if (nanos < 0) {
+        throw new IllegalArgumentException("negative debounce: " + nanos);
+      }
+      this.debounceNanos = nanos;
+    }
+
+
+    public long getDebounce() {
+      return debounceNanos;
+    }
+
+
+    // filtered distance below which OBSTACLE_NEAR is published
+    public void setObstacleDistance(float distance) {
+      this.obstacleDistance = distance;
+    }
+
+
+    public long getPublished() {
+      return published;
+    }
+
+
+    // touch samples which differed from the debounced value but were not taken
+    public long getSuppressed() {
+      return left.suppressed + right.suppressed;
+    }
+
+
+    //-------------------------------------------------------
+    //Debouncer
+    //  the debounced value of one touch sensor, a new value
+    //  is taken when all samples since its first sample
+    //  showed it for the debounce time
+    //-------------------------------------------------------
+    private static class Debouncer {
+
+      float value = 1, candidate = 1;
+      long since;
+      long suppressed;
+
+      boolean update(float sample, long sampled, long now, long debounce) {
+        if (sample == value) {
+          candidate = value;
+          return false;
+        }
+        if (sample != candidate) {
+          candidate = sample;
+          since = sampled;
+        }
+        if (now - since < debounce) {
+          suppressed++;
+          return false;
+        }
+        value = sample;
+        return true;
+      }
+
+      void reset() {
+        value = 1;
+        candidate = 1;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //Subscription
+    //  a subscriber with its demand and its ring buffer of
+    //  the events which were not requested yet
+    //-------------------------------------------------------
+    private static class Subscription implements EventSubscription {
+
+      private final EventSubscriber subscriber;
+      private final int[] events;
+      private final long[] times;
+      private int head, size;
+      private long demand, dropped;
+      private boolean cancelled, delivering;
+
+      Subscription(EventSubscriber subscriber, int capacity) {
+        this.subscriber = subscriber;
+        this.events = new int[capacity];
+        this.times = new long[capacity];
+      }
+
+      void offer(int event, long nanos) {
+        if (cancelled) {
+          return;
+        }
+        if (size == events.length) {
+          head = (head + 1) % events.length;
+          size--;
+          dropped++;
+        }
+        int tail = (head + size) % events.length;
+        events[tail] = event;
+        times[tail] = nanos;
+        size++;
+        deliver();
+      }
+
+      // delivers the buffered events as far as requested, a
+      // request() from onNext() continues this loop
+      private void deliver() {
+        if (delivering) {
+          return;
+        }
+        delivering = true;
+        while (size > 0 && demand > 0 && !cancelled) {
+          int event = events[head];
+          long nanos = times[head];
+          head = (head + 1) % events.length;
+          size--;
+          if (demand != Long.MAX_VALUE) {
+            demand--;
+          }
+          subscriber.onNext(event, nanos);
+        }
+        delivering = false;
+      }
+
+      @Override
+      public void request(long count) {
+        if (count <= 0) {
+          throw new IllegalArgumentException("request must be positive: " + count);
+        }
+        demand = demand + count < 0 ? Long.MAX_VALUE : demand + count;
+        deliver();
+      }
+
+      @Override
+      public void cancel() {
+        cancelled = true;
+        size = 0;
+      }
+
+      @Override
+      public long getDropped() {
+        return dropped;
+      }
+    }
+}
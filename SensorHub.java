@@ -0,0 +1,200 @@
+//------------------------------------------------------------------------------------------
+// SensorHub.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SensorHub), the threaded SensorView used on the brick.
+// Every sensor is read by its own SensorPoller at the rate of the sensor: the touch
+// sensors every 2 ms, the infrared distance every 10 ms (filtered by the DistanceFilter of
+// SampleBus.newDistanceFilter()).
+// refresh() only copies the newest snapshots, so the control thread never waits for a
+// sensor, and the age of every sample is known. The infrared sensor is only read while
+// the distance measurement is switched on, because the remote control needs the same
+// sensor in another mode.
+//
+// Following methods are available:
+//
+// start ()  starts the acquisition threads of the touch sensors
+//
+// shutdown ()  stops all acquisition threads
+//
+// refresh ()  copies the newest samples of all sensors
+//
+// left () / right () / distance ()  samples of the last refresh()
+//
+// leftAge () / rightAge () / distanceAge ()  age of the samples in nanoseconds
+//
+// startDistance () / stopDistance ()  switches the distance measurement on and off
+//
+// getLeftPoller () / getRightPoller () / getDistancePoller ()  the acquisition threads
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public class SensorHub implements SensorView {
+
+
+    // sample periods of the sensors in nanoseconds
+    public static final long TOUCH_PERIOD = 2000000L;
+    public static final long DISTANCE_PERIOD = 10000000L;
+
+
+    private final TouchDevice leftTouch, rightTouch;
+    private final InfraredDevice infraredSensor;
+    private final RobotClock clock;
+    private SampleProvider distanceMode;
+
+    private final SensorPoller leftPoller, rightPoller, distancePoller;
+
+    // copies of the snapshots, used by the control thread only
+    private final SensorSnapshot left = new SensorSnapshot();
+    private final SensorSnapshot right = new SensorSnapshot();
+    private final SensorSnapshot distance = new SensorSnapshot();
+    private long leftAge, rightAge, distanceAge;
+
+
+    //constructor
+    public SensorHub(TouchDevice leftTouch, TouchDevice rightTouch, InfraredDevice infraredSensor,
+        RobotClock clock) {
+      this.leftTouch = leftTouch;
+      this.rightTouch = rightTouch;
+      this.infraredSensor = infraredSensor;
+      this.clock = clock;
+      this.leftPoller = new SensorPoller("LeftTouch", clock, TOUCH_PERIOD, null);
+      this.rightPoller = new SensorPoller("RightTouch", clock, TOUCH_PERIOD, null);
+      this.distancePoller = new SensorPoller("Distance", clock, DISTANCE_PERIOD,
+          SampleBus.newDistanceFilter());
+    }
+
+
+    //-------------------------------------------------------
+    //start ()
+    //  starts all acquisition threads, the touch sensors are
+    //  read from now on
+    //-------------------------------------------------------
+    public void start() {
+      leftPoller.resume(leftTouch);
+      rightPoller.resume(rightTouch);
+      leftPoller.start();
+      rightPoller.start();
+      distancePoller.start();
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops all acquisition threads, afterwards the sensors
+    //  can be closed
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      leftPoller.shutdown();
+      rightPoller.shutdown();
+      distancePoller.shutdown();
+    }
+
+
+    //-------------------------------------------------------
+    //refresh ()
+    //  copies the newest sample of every sensor, a sensor
+    //  without any sample has the value NaN and a huge age
+    //-------------------------------------------------------
+    @Override
+    public void refresh() {
+      leftPoller.getSnapshot().copyTo(left);
+      rightPoller.getSnapshot().copyTo(right);
+      distancePoller.getSnapshot().copyTo(distance);
+
+      long now = clock.nanoTime();
+      leftAge = age(left, now);
+      rightAge = age(right, now);
+      distanceAge = age(distance, now);
+    }
+
+
+    private static long age(SensorSnapshot sample, long now) {
+      return sample.getTimestamp() == 0 ? Long.MAX_VALUE : now - sample.getTimestamp();
+    }
+
+
+    @Override
+    public float left() {
+      return left.getValue();
+    }
+
+
+    @Override
+    public float right() {
+      return right.getValue();
+    }
+
+
+    @Override
+    public float distance() {
+      return distance.getValue();
+    }
+
+
+    @Override
+    public long leftAge() {
+      return leftAge;
+    }
+
+
+    @Override
+    public long rightAge() {
+      return rightAge;
+    }
+
+
+    @Override
+    public long distanceAge() {
+      return distanceAge;
+    }
+
+
+    //-------------------------------------------------------
+    //startDistance ()
+    //  selects the distance mode of the infrared sensor and
+    //  starts its acquisition thread with an empty filter
+    //-------------------------------------------------------
+    @Override
+    public void startDistance() {
+      if (distanceMode == null) {
+        distanceMode = infraredSensor.getDistanceMode();
+      }
+      distancePoller.resume(distanceMode);
+    }
+
+
+    //-------------------------------------------------------
+    //stopDistance ()
+    //  stops the acquisition thread of the infrared sensor,
+    //  returns after its last read
+    //-------------------------------------------------------
+    @Override
+    public void stopDistance() {
+      distancePoller.pause();
+    }
+
+
+    public SensorPoller getLeftPoller() {
+      return leftPoller;
+    }
+
+
+    public SensorPoller getRightPoller() {
+      return rightPoller;
+    }
+
+
+    public SensorPoller getDistancePoller() {
+      return distancePoller;
+    }
+}
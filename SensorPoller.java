@@ -0,0 +1,162 @@
+//------------------------------------------------------------------------------------------
+// SensorPoller.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SensorPoller), the acquisition thread of one sensor. The
+// poller reads the sensor at its own rate and publishes every sample with its timestamp
+// in a SensorSnapshot, so a slow sensor never delays the control thread. Optionally the
+// samples are filtered by a DistanceFilter before they get published. The poller only reads
+// the sensor while a sample provider is set, pause() waits until a running read is done.
+//
+// Following methods are available:
+//
+// run ()  reads the sensor until the poller gets stopped
+//
+// resume (SampleProvider provider)  starts reading the sensor through the given provider
+//
+// pause ()  stops reading the sensor, returns after the last read
+//
+// shutdown ()  stops the thread
+//
+// getSnapshot ()  newest sample of the sensor
+//
+// getSamples ()  number of samples since the start
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public class SensorPoller extends Thread {
+
+
+    private final RobotClock clock;
+    private final long period;
+    private final DistanceFilter filter;
+    private final SensorSnapshot snapshot = new SensorSnapshot();
+
+    // provider of the samples, null while the poller is paused
+    private volatile SampleProvider provider;
+    private volatile boolean busy;
+    private volatile boolean resetRequested;
+    private volatile boolean running = true;
+    private volatile long samples;
+
+    // sample buffer, used by the poller thread only
+    private float[] sample;
+
+
+    //constructor, period in nanoseconds, without a filter (null) every
+    //sample gets published unchanged
+    public SensorPoller(String name, RobotClock clock, long period, DistanceFilter filter) {
+      super(name);
+      this.clock = clock;
+      this.period = period;
+      this.filter = filter;
+      setDaemon(true);
+    }
+
+
+    @Override
+    public void run() {
+      long next = clock.nanoTime();
+      while (running) {
+        SampleProvider current = provider;
+        if (current != null) {
+          busy = true;
+          if (provider != null) {
+            poll(current);
+          }
+          busy = false;
+        }
+
+        // waiting for the next sample, a late read starts a new schedule
+        next += period;
+        long wait = next - clock.nanoTime();
+        if (wait > 0) {
+          clock.nsDelay(wait);
+        }
+        else {
+          next = clock.nanoTime();
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //poll (SampleProvider current)
+    //  reads one sample and publishes it, the buffer gets
+    //  allocated for the first provider only
+    //-------------------------------------------------------
+    private void poll(SampleProvider current) {
+      if (sample == null || sample.length < current.sampleSize()) {
+        sample = new float[current.sampleSize()];
+      }
+      current.fetchSample(sample, 0);
+
+      float value = sample[0];
+      if (filter != null) {
+        if (resetRequested) {
+          filter.reset();
+          resetRequested = false;
+        }
+        value = filter.add(value);
+      }
+      snapshot.publish(value, clock.nanoTime());
+      samples++;
+    }
+
+
+    //-------------------------------------------------------
+    //resume (SampleProvider provider)
+    //  starts reading the sensor, the filter starts with
+    //  the next sample
+    //-------------------------------------------------------
+    public void resume(SampleProvider provider) {
+      resetRequested = true;
+      this.provider = provider;
+    }
+
+
+    //-------------------------------------------------------
+    //pause ()
+    //  stops reading the sensor
+    //
+    // Effect:
+    //  returns when a running read is done, afterwards the
+    //  sensor can be used by the calling thread
+    //-------------------------------------------------------
+    public void pause() {
+      provider = null;
+      while (busy) {
+        Thread.yield();
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops the poller and waits for the end of the thread
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      provider = null;
+      running = false;
+      join();
+    }
+
+
+    public SensorSnapshot getSnapshot() {
+      return snapshot;
+    }
+
+
+    public long getSamples() {
+      return samples;
+    }
+}
@@ -0,0 +1,81 @@
+//------------------------------------------------------------------------------------------
+// SensorSnapshot.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SensorSnapshot), the newest sample of a sensor together
+// with its timestamp. One acquisition thread publishes the samples, any thread can read
+// them without locks (sequence lock): the sequence number is odd while a sample is
+// written, a reader repeats its read if the number was odd or changed during the read.
+//
+// Following methods are available:
+//
+// publish (float value, long timestamp)  stores a new sample, one writing thread only
+//
+// copyTo (SensorSnapshot target)  copies a consistent sample into a private snapshot
+//
+// getValue () / getTimestamp ()  fields of a private snapshot
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SensorSnapshot {
+
+
+    private volatile int sequence;
+    private volatile float value = Float.NaN;
+    private volatile long timestamp;
+
+
+    //-------------------------------------------------------
+    //publish (float value, long timestamp)
+    //  stores a new sample, must only be called by the one
+    //  acquisition thread of the sensor
+    //-------------------------------------------------------
+    public void publish(float value, long timestamp) {
+      int next = sequence + 1;
+      sequence = next;
+      this.value = value;
+      this.timestamp = timestamp;
+      sequence = next + 1;
+    }
+
+
+    //-------------------------------------------------------
+    //copyTo (SensorSnapshot target)
+    //  copies the newest sample into the target, which must
+    //  not be shared with other threads
+    //
+    // Effect:
+    //  the target holds a value and a timestamp which were
+    //  published together
+    //-------------------------------------------------------
+    public void copyTo(SensorSnapshot target) {
+      while (true) {
+        int before = sequence;
+        float v = value;
+        long t = timestamp;
+        if ((before & 1) == 0 && before == sequence) {
+          target.value = v;
+          target.timestamp = t;
+          return;
+        }
+        Thread.yield();
+      }
+    }
+
+
+    public float getValue() {
+      return value;
+    }
+
+
+    public long getTimestamp() {
+      return timestamp;
+    }
+}
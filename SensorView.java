@@ -0,0 +1,74 @@
+//------------------------------------------------------------------------------------------
+// SensorView.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the interface (SensorView), the view of the control logic on the
+// sensors. Once per tick the control logic calls refresh() and then reads a consistent set
+// of samples together with their age. The SampleBus reads the sensors in the control thread
+// (simulator), the SensorHub takes the newest samples of its acquisition threads (brick).
+//
+// Following methods are available:
+//
+// refresh ()  takes the newest samples of all sensors for the current tick
+//
+// left () / right ()  touch samples (1 pressed, 0 released)
+//
+// distance ()  averaged distance of the infrared sensor
+//
+// leftAge () / rightAge () / distanceAge ()  age of the samples in nanoseconds
+//
+// startDistance () / stopDistance ()  switches the distance measurement on and off
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public interface SensorView {
+
+
+    //-------------------------------------------------------
+    //refresh ()
+    //  takes the newest samples of all sensors, the values
+    //  do not change until the next call
+    //-------------------------------------------------------
+    void refresh();
+
+
+    float left();
+
+
+    float right();
+
+
+    float distance();
+
+
+    long leftAge();
+
+
+    long rightAge();
+
+
+    long distanceAge();
+
+
+    //-------------------------------------------------------
+    //startDistance ()
+    //  forgets the averaged distance and starts measuring,
+    //  called when the autopilot gets started
+    //-------------------------------------------------------
+    void startDistance();
+
+
+    //-------------------------------------------------------
+    //stopDistance ()
+    //  stops measuring the distance, the infrared sensor is
+    //  needed for the remote control again
+    //-------------------------------------------------------
+    void stopDistance();
+}
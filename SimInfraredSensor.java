@@ -0,0 +1,95 @@
+//------------------------------------------------------------------------------------------
+// SimInfraredSensor.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimInfraredSensor), the simulated infrared sensor. The
+// distance mode measures the distance to the next obstacle in front of the robot, the
+// remote commands are set by the simulation (setRemoteCommand). Every read costs the read
+// time of the real sensor in virtual time.
+//
+// Following methods are available:
+//
+// InfraredDevice methods
+//
+// setRemoteCommand (int channel, int command)  simulates a pressed button
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public class SimInfraredSensor implements InfraredDevice {
+
+
+    // time needed to read one value in nanoseconds
+    public static final long READ_NANOS = 2000000L;
+
+
+    private final SimWorld world;
+    private final int[] remoteCommands = new int[4];
+
+
+    // distance mode of the sensor
+    private final SampleProvider distanceMode = new SampleProvider() {
+
+      @Override
+      public int sampleSize() {
+        return 1;
+      }
+
+      @Override
+      public void fetchSample(float[] sample, int offset) {
+        world.getClock().advance(READ_NANOS);
+        sample[offset] = world.measureDistance();
+      }
+    };
+
+
+    //constructor
+    public SimInfraredSensor(SimWorld world) {
+      this.world = world;
+    }
+
+
+    @Override
+    public int getRemoteCommand(int channel) {
+      world.getClock().advance(READ_NANOS);
+      return remoteCommands[channel];
+    }
+
+
+    @Override
+    public void getRemoteCommands(byte[] commands, int offset, int count) {
+      world.getClock().advance(READ_NANOS);
+      for (int channel = 0; channel < count; channel++) {
+        commands[offset + channel] = (byte) remoteCommands[channel];
+      }
+    }
+
+
+    @Override
+    public SampleProvider getDistanceMode() {
+      return distanceMode;
+    }
+
+
+    @Override
+    public void close() {
+    }
+
+
+    //-------------------------------------------------------
+    //setRemoteCommand (int channel, int command)
+    //  simulates the given button on the given channel (0-3),
+    //  0 releases all buttons
+    //-------------------------------------------------------
+    public void setRemoteCommand(int channel, int command) {
+      remoteCommands[channel] = command;
+    }
+}
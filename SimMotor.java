@@ -0,0 +1,283 @@
+//------------------------------------------------------------------------------------------
+// SimMotor.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimMotor), a simulated regulated motor. The motor speeds
+// up and slows down with the set acceleration like the leJOS regulator does. stop() waits
+// until the motor stands still, inside a synchronization block the waiting is done at
+// endSynchronization(). A motor can get end stops (the arm of the robot), the motor stalls
+// when it pushes against one of them. rotateTo() brakes so the motor stops at the angle, a
+// stall at an end stop ends the rotation like the regulator of leJOS does.
+//
+// Following methods are available:
+//
+// MotorDevice methods
+//
+// step (long nanos)  moves the motor forward in time, called by the SimWorld
+//
+// getPosition ()  current angle in degrees
+//
+// getVelocity ()  current angular velocity in degrees per second
+//
+// setEndStops (float min, float max)  mechanical limits of the motor
+//
+// setSpeedFactor (float factor)  models battery level and friction (1 = nominal)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SimMotor implements MotorDevice {
+
+
+    private final SimWorld world;
+
+    private int direction;
+    private int speed = 360;
+    private int acceleration = 6000;
+    private float speedFactor = 1;
+
+    private double velocity;
+    private double position;
+
+    private boolean limited;
+    private double minPosition, maxPosition;
+    private boolean stalled;
+
+    // running rotateTo() and its angle, the rotation ends
+    // closer than ROTATE_TOLERANCE degrees to the angle
+    private static final double ROTATE_TOLERANCE = 0.5;
+    private boolean rotating;
+    private double limitAngle;
+
+    // synchronization, all motors of a group point to the same master
+    private SimMotor master = this;
+    private SimMotor[] group = new SimMotor[] {this};
+    private boolean synchronizing, waitAtEnd;
+
+
+    //constructor
+    public SimMotor(SimWorld world) {
+      this.world = world;
+    }
+
+
+    @Override
+    public void forward() {
+      rotating = false;
+      direction = 1;
+    }
+
+
+    @Override
+    public void backward() {
+      rotating = false;
+      direction = -1;
+    }
+
+
+    @Override
+    public void stop() {
+      stop(false);
+    }
+
+
+    @Override
+    public void stop(boolean immediateReturn) {
+      rotating = false;
+      direction = 0;
+      if (immediateReturn) {
+        return;
+      }
+      if (master.synchronizing) {
+        master.waitAtEnd = true;
+      }
+      else {
+        waitUntilStopped();
+      }
+    }
+
+
+    @Override
+    public void setSpeed(int speed) {
+      this.speed = Math.abs(speed);
+    }
+
+
+    @Override
+    public void setAcceleration(int acceleration) {
+      this.acceleration = Math.abs(acceleration);
+    }
+
+
+    @Override
+    public boolean isMoving() {
+      return direction != 0 || velocity != 0;
+    }
+
+
+    @Override
+    public int getTachoCount() {
+      return (int) Math.round(position);
+    }
+
+
+    @Override
+    public void rotateTo(int angle, boolean immediateReturn) {
+      limitAngle = angle;
+      rotating = true;
+      direction = angle >= position ? 1 : -1;
+      if (immediateReturn) {
+        return;
+      }
+      while (rotating && !world.isHalted()) {
+        world.getClock().advance(VirtualClock.STEP_NANOS);
+      }
+    }
+
+
+    @Override
+    public void synchronizeWith(MotorDevice[] syncList) {
+      group = new SimMotor[syncList.length + 1];
+      group[0] = this;
+      for (int i = 0; i < syncList.length; i++) {
+        group[i + 1] = (SimMotor) syncList[i];
+        group[i + 1].master = this;
+      }
+    }
+
+
+    @Override
+    public void startSynchronization() {
+      synchronizing = true;
+    }
+
+
+    @Override
+    public void endSynchronization() {
+      synchronizing = false;
+      if (waitAtEnd) {
+        waitAtEnd = false;
+        for (SimMotor motor : group) {
+          if (motor.direction == 0) {
+            motor.waitUntilStopped();
+          }
+        }
+      }
+    }
+
+
+    @Override
+    public void close() {
+      rotating = false;
+      direction = 0;
+      velocity = 0;
+    }
+
+
+    //-------------------------------------------------------
+    //step (long nanos)
+    //  moves the motor forward in time, the velocity follows
+    //  the set speed with the set acceleration. A rotation
+    //  slows down so it can stop at its angle.
+    //-------------------------------------------------------
+    void step(long nanos) {
+      double dt = nanos / 1e9;
+      if (rotating) {
+        double remaining = limitAngle - position;
+        if (Math.abs(remaining) <= ROTATE_TOLERANCE || remaining * direction < 0) {
+          position = limitAngle;
+          velocity = 0;
+          direction = 0;
+          rotating = false;
+        }
+      }
+      double target = direction * speed * speedFactor;
+      if (rotating) {
+        target = direction * Math.min(speed * speedFactor,
+            Math.sqrt(2 * acceleration * Math.abs(limitAngle - position)));
+      }
+      double change = acceleration * dt;
+
+      if (velocity < target) {
+        velocity = Math.min(target, velocity + change);
+      }
+      else if (velocity > target) {
+        velocity = Math.max(target, velocity - change);
+      }
+      position += velocity * dt;
+
+      stalled = false;
+      if (limited && (position < minPosition || position > maxPosition)) {
+        position = position < minPosition ? minPosition : maxPosition;
+        velocity = 0;
+        stalled = direction != 0;
+        if (rotating) {
+          rotating = false;
+          direction = 0;
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //waitUntilStopped ()
+    //  lets the virtual time pass until the motor stands
+    //  still or the world got halted
+    //-------------------------------------------------------
+    private void waitUntilStopped() {
+      while (velocity != 0 && !world.isHalted()) {
+        world.getClock().advance(VirtualClock.STEP_NANOS);
+      }
+    }
+
+
+    // commanded direction: 1 forward, -1 backward, 0 stopped
+    public int getDirection() {
+      return direction;
+    }
+
+
+    // current angle in degrees
+    public double getPosition() {
+      return position;
+    }
+
+
+    // current angular velocity in degrees per second
+    public double getVelocity() {
+      return velocity;
+    }
+
+
+    // true while the motor pushes against an end stop
+    public boolean isStalledAtEndStop() {
+      return stalled;
+    }
+
+
+    //-------------------------------------------------------
+    //setEndStops (float min, float max)
+    //  sets the mechanical limits of the motor in degrees
+    //-------------------------------------------------------
+    public void setEndStops(float min, float max) {
+      this.limited = true;
+      this.minPosition = min;
+      this.maxPosition = max;
+    }
+
+
+    //-------------------------------------------------------
+    //setSpeedFactor (float factor)
+    //  the reached speed is the set speed multiplied with the
+    //  factor, used to model battery level and friction
+    //-------------------------------------------------------
+    public void setSpeedFactor(float factor) {
+      this.speedFactor = factor;
+    }
+}
@@ -0,0 +1,62 @@
+//------------------------------------------------------------------------------------------
+// SimResult.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimResult), the result of one simulation run.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SimResult {
+
+
+    // virtual duration of the mission and real duration of the simulation
+    public final long missionNanos, wallNanos;
+
+    // number of autopilot loops
+    public final long ticks;
+
+    public final boolean fell, timedOut;
+    public final int brickState;
+
+    // number of bricks which were dropped off the table
+    public final int droppedOff;
+    public final int collisions;
+
+
+    //constructor, takes the final state of the world
+    public SimResult(SimWorld world, long missionNanos, long wallNanos, long ticks) {
+      this.missionNanos = missionNanos;
+      this.wallNanos = wallNanos;
+      this.ticks = ticks;
+      this.fell = world.getHaltReason() == SimWorld.HALT_FELL;
+      this.timedOut = world.getHaltReason() == SimWorld.HALT_TIMEOUT;
+      this.brickState = world.getBrickState();
+      this.droppedOff = world.getDroppedOff();
+      this.collisions = world.getCollisions();
+    }
+
+
+    //-------------------------------------------------------
+    //isSuccess ()
+    //  true if the brick was dropped off the table and the
+    //  robot is still standing on it
+    //-------------------------------------------------------
+    public boolean isSuccess() {
+      return brickState == SimWorld.BRICK_DROPPED_OFF && !fell && !timedOut;
+    }
+
+
+    @Override
+    public String toString() {
+      return String.format("mission %.2f s, %d ticks, %s%s%s, collisions %d",
+          missionNanos / 1e9, ticks, isSuccess() ? "success" : "failed",
+          fell ? ", fell off" : "", timedOut ? ", timeout" : "", collisions);
+    }
+}
@@ -0,0 +1,208 @@
+//------------------------------------------------------------------------------------------
+// SimTable.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimTable), the layout of a table for the simulator. The
+// table is a rectangle with its lower left corner at (0, 0), all lengths are given in
+// centimetres. The obstacles are axis aligned boxes standing on the table. The brick which
+// should be removed lies directly in front of the claw at the start position of the robot,
+// further bricks for a mission can be placed anywhere on the table.
+//
+// Following methods are available:
+//
+// addObstacle (float x, float y, float width, float depth)  places a box on the table
+//
+// setRobotStart (float x, float y, float headingDegrees)  start position of the robot
+//
+// addBrick (float x, float y)  places a further brick on the table
+//
+// random (long seed)  creates a random layout
+//
+// random (long seed, int bricks)  creates a random layout with further bricks
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+
+
+public class SimTable {
+
+
+    // maximum number of obstacles and of further bricks on one table
+    public static final int MAX_OBSTACLES = 8;
+    public static final int MAX_BRICKS = 8;
+
+
+    public final float width, depth;
+
+    // obstacles as boxes: x, y, width, depth
+    final float[] obstacleX = new float[MAX_OBSTACLES];
+    final float[] obstacleY = new float[MAX_OBSTACLES];
+    final float[] obstacleWidth = new float[MAX_OBSTACLES];
+    final float[] obstacleDepth = new float[MAX_OBSTACLES];
+    int obstacleCount;
+
+    // further bricks besides the one in front of the claw
+    final float[] brickX = new float[MAX_BRICKS];
+    final float[] brickY = new float[MAX_BRICKS];
+    int brickCount;
+
+    float startX, startY, startHeading;
+
+
+    //constructor, the robot starts in the middle of the table
+    //facing along the x axis
+    public SimTable(float width, float depth) {
+      this.width = width;
+      this.depth = depth;
+      this.startX = width / 2;
+      this.startY = depth / 2;
+    }
+
+
+    //-------------------------------------------------------
+    //addObstacle (float x, float y, float width, float depth)
+    //  places a box with its lower left corner at (x, y) on
+    //  the table
+    //-------------------------------------------------------
+    public void addObstacle(float x, float y, float width, float depth) {
+      if (obstacleCount == MAX_OBSTACLES) {
+        throw new IllegalStateException("too many obstacles");
+      }
+      obstacleX[obstacleCount] = x;
+      obstacleY[obstacleCount] = y;
+      obstacleWidth[obstacleCount] = width;
+      obstacleDepth[obstacleCount] = depth;
+      obstacleCount++;
+    }
+
+
+    //-------------------------------------------------------
+    //addBrick (float x, float y)
+    //  places a further brick with its middle at (x, y) on
+    //  the table
+    //-------------------------------------------------------
+    public void addBrick(float x, float y) {
+      if (brickCount == MAX_BRICKS) {
+        throw new IllegalStateException("too many bricks");
+      }
+      brickX[brickCount] = x;
+      brickY[brickCount] = y;
+      brickCount++;
+    }
+
+
+    //-------------------------------------------------------
+    //setRobotStart (float x, float y, float headingDegrees)
+    //  sets the start position of the robot, a heading of 0
+    //  points along the x axis, 90 along the y axis
+    //-------------------------------------------------------
+    public void setRobotStart(float x, float y, float headingDegrees) {
+      this.startX = x;
+      this.startY = y;
+      this.startHeading = headingDegrees;
+    }
+
+
+    //-------------------------------------------------------
+    //isInsideObstacle (float x, float y)
+    //  returns true if the point lies inside an obstacle
+    //-------------------------------------------------------
+    public boolean isInsideObstacle(float x, float y) {
+      for (int i = 0; i < obstacleCount; i++) {
+        if (x >= obstacleX[i] && x <= obstacleX[i] + obstacleWidth[i]
+            && y >= obstacleY[i] && y <= obstacleY[i] + obstacleDepth[i]) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+
+    //-------------------------------------------------------
+    //isOnTable (float x, float y)
+    //  returns true if the point lies above the table
+    //-------------------------------------------------------
+    public boolean isOnTable(float x, float y) {
+      return x >= 0 && x <= width && y >= 0 && y <= depth;
+    }
+
+
+    //-------------------------------------------------------
+    //random (long seed)
+    //  creates a random table between 60 and 140 cm with up
+    //  to four obstacles which keep away from the start
+    //  position of the robot
+    //-------------------------------------------------------
+    public static SimTable random(long seed) {
+      return random(seed, 0);
+    }
+
+
+    //-------------------------------------------------------
+    //random (long seed, int bricks)
+    //  creates the same table as random(seed) with further
+    //  bricks which lie at least 20 cm from the edges and
+    //  keep away from the obstacles, the start position and
+    //  each other
+    //-------------------------------------------------------
+    public static SimTable random(long seed, int bricks) {
+      Random random = new Random(seed);
+      SimTable table = new SimTable(60 + random.nextInt(81), 60 + random.nextInt(81));
+
+      float x = 25 + random.nextFloat() * (table.width - 50);
+      float y = 25 + random.nextFloat() * (table.depth - 50);
+      table.setRobotStart(x, y, random.nextFloat() * 360);
+
+      int obstacles = random.nextInt(5);
+      for (int tries = 0; table.obstacleCount < obstacles && tries < 100; tries++) {
+        float w = 6 + random.nextFloat() * 12;
+        float d = 6 + random.nextFloat() * 12;
+        float ox = random.nextFloat() * (table.width - w);
+        float oy = random.nextFloat() * (table.depth - d);
+
+        // keeping the start area of the robot free
+        float dx = ox + w / 2 - x;
+        float dy = oy + d / 2 - y;
+        if (dx * dx + dy * dy > 30 * 30) {
+          table.addObstacle(ox, oy, w, d);
+        }
+      }
+
+      for (int tries = 0; table.brickCount < bricks && tries < 200; tries++) {
+        float bx = 20 + random.nextFloat() * (table.width - 40);
+        float by = 20 + random.nextFloat() * (table.depth - 40);
+        if (table.isFree(bx, by, x, y)) {
+          table.addBrick(bx, by);
+        }
+      }
+      return table;
+    }
+
+
+    // true if a brick at (bx, by) keeps away from the obstacles,
+    // the robot start (x, y) and the other bricks
+    private boolean isFree(float bx, float by, float x, float y) {
+      if ((bx - x) * (bx - x) + (by - y) * (by - y) < 30 * 30) {
+        return false;
+      }
+      for (int i = 0; i < obstacleCount; i++) {
+        if (bx > obstacleX[i] - 15 && bx < obstacleX[i] + obstacleWidth[i] + 15
+            && by > obstacleY[i] - 15 && by < obstacleY[i] + obstacleDepth[i] + 15) {
+          return false;
+        }
+      }
+      for (int i = 0; i < brickCount; i++) {
+        if ((bx - brickX[i]) * (bx - brickX[i]) + (by - brickY[i]) * (by - brickY[i]) < 15 * 15) {
+          return false;
+        }
+      }
+      return true;
+    }
+}
@@ -0,0 +1,53 @@
+//------------------------------------------------------------------------------------------
+// SimTouchSensor.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimTouchSensor), a simulated touch sensor of the robot. The
+// sensor is pressed (1) as long as it lies on the table and released (0) if it hangs over
+// the table edge or touches a barrier, a pressed sensor may bounce (SimWorld). Every sample
+// costs the read time of the real sensor in virtual time.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SimTouchSensor implements TouchDevice {
+
+
+    // time needed to read one sample in nanoseconds
+    public static final long READ_NANOS = 1000000L;
+
+
+    private final SimWorld world;
+    private final boolean left;
+
+
+    //constructor, left selects the sensor on the left side
+    public SimTouchSensor(SimWorld world, boolean left) {
+      this.world = world;
+      this.left = left;
+    }
+
+
+    @Override
+    public int sampleSize() {
+      return 1;
+    }
+
+
+    @Override
+    public void fetchSample(float[] sample, int offset) {
+      world.getClock().advance(READ_NANOS);
+      sample[offset] = world.readTouch(left) ? 1 : 0;
+    }
+
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,587 @@
+//------------------------------------------------------------------------------------------
+// SimWorld.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SimWorld), the physical model of the simulator. It holds
+// the table, the position of the robot, the simulated motors and the brick. All lengths
+// are given in centimetres, angles in degrees. The robot position is the middle between
+// the two drive wheels, a heading of 0 points along the x axis.
+//
+// The two drive motors move the robot as a differential drive. The arm motor grabs the
+// brick in front of the claw when it is raised and releases it when it is lowered. Besides
+// the brick in front of the claw at the start (brick 0) the table can hold further bricks,
+// a brick is grabbed if it lies within GRAB_RADIUS of the claw. The robot falls off the
+// table as soon as one of the drive wheels leaves the table, the world gets halted then.
+//
+// The infrared distance carries gaussian noise, optionally a share of the readings are
+// outliers with a random value, like the spurious readings of the real sensor. A pressed
+// touch sensor can optionally bounce and read released for a single sample.
+//
+// The world measures the reaction latency of the control logic: the time from a touch
+// sensor moving over the table edge until no drive motor is commanded forward anymore.
+// It also measures the stopping distance: how far the robot still drives forward after
+// the edge contact. A stopping distance of more than TOUCH_FORWARD - EDGE_CLEARANCE is an
+// overshoot, the wheels came closer to the edge than EDGE_CLEARANCE.
+//
+// Following methods are available:
+//
+// step (long nanos)  moves the world forward in time, called by the VirtualClock
+//
+// isTouchPressed (boolean left)  state of the simulated touch sensors
+//
+// measureDistance ()  value of the simulated infrared distance mode
+//
+// setOutlierRate (float rate)  share of infrared readings with a random value
+//
+// readTouch (boolean left)  a sample of a simulated touch sensor, which may bounce
+//
+// setTouchBounceRate (float rate)  share of pressed touch readings which read released
+//
+// halt (int reason)  stops the world, the halt listener gets informed
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+
+
+public class SimWorld {
+
+
+    // geometry of the robot in centimetres
+    public static final float WHEEL_RADIUS = 2.8f;
+    public static final float TRACK_WIDTH = 12f;
+    public static final float TOUCH_FORWARD = 9f, TOUCH_SIDE = 5f;
+    public static final float INFRARED_FORWARD = 7f;
+    public static final float BUMPER_FORWARD = 11f, BUMPER_SIDE = 6f;
+    public static final float CLAW_FORWARD = 13f;
+
+    // range of the infrared distance mode in centimetres
+    public static final float INFRARED_RANGE = 70f;
+
+    // arm positions in degrees, the arm is raised backwards
+    public static final float ARM_TOP = -180f, ARM_BOTTOM = 0f;
+    public static final float ARM_GRIP = -120f, ARM_RELEASE = -60f;
+
+    // states of the brick
+    public static final int BRICK_WAITING = 0, BRICK_HELD = 1;
+    public static final int BRICK_DROPPED_OFF = 2, BRICK_ON_TABLE = 3;
+
+    // distance in cm which should stay between the stopped wheels and the
+    // edge after an edge contact
+    public static final float EDGE_CLEARANCE = 3f;
+
+    // maximum distance in cm of a brick from the claw for grabbing it
+    public static final float GRAB_RADIUS = 5f;
+
+    // reasons for halting the world
+    public static final int HALT_NONE = 0, HALT_FELL = 1, HALT_TIMEOUT = 2;
+
+
+    private final SimTable table;
+    private final VirtualClock clock;
+    private final Random noise;
+    private final Random outliers;
+    private float outlierRate;
+    private final Random bounces;
+    private float bounceRate;
+
+    private final SimMotor leftMotor, rightMotor, armMotor;
+
+    // position of the robot
+    private double x, y, heading;
+
+    // position and state of every brick, brick 0 lies in front of
+    // the claw at the start
+    private final double[] brickX, brickY;
+    private final int[] brickStates;
+    private int heldBrick = -1;
+    private int collisions;
+    private boolean touchingObstacle;
+
+    // reaction latency to edge contacts in nanoseconds
+    private long now;
+    private boolean overEdgeL, overEdgeR;
+    private long edgeContact = -1;
+    private int reactions;
+    private long reactionSum, reactionMax;
+
+    // stopping distance after edge contacts in cm
+    private boolean stopping;
+    private double contactX, contactY, contactHeading, stopDistance;
+    private int stops, overshoots;
+    private double stopSum, stopMax;
+
+    private int haltReason = HALT_NONE;
+    private Runnable haltListener;
+
+
+    //constructor, places the robot at the start position of the table
+    public SimWorld(SimTable table, long seed) {
+      this.table = table;
+      this.clock = new VirtualClock(this);
+      this.noise = new Random(seed);
+      this.outliers = new Random(~seed);
+      this.bounces = new Random(seed ^ 0x5DEECE66DL);
+
+      this.leftMotor = new SimMotor(this);
+      this.rightMotor = new SimMotor(this);
+      this.armMotor = new SimMotor(this);
+      this.armMotor.setEndStops(ARM_TOP, ARM_BOTTOM);
+
+      this.x = table.startX;
+      this.y = table.startY;
+      this.heading = table.startHeading;
+
+      int bricks = 1 + table.brickCount;
+      this.brickX = new double[bricks];
+      this.brickY = new double[bricks];
+      this.brickStates = new int[bricks];
+      brickX[0] = pointX(CLAW_FORWARD, 0);
+      brickY[0] = pointY(CLAW_FORWARD, 0);
+      for (int i = 1; i < bricks; i++) {
+        brickX[i] = table.brickX[i - 1];
+        brickY[i] = table.brickY[i - 1];
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //step (long nanos)
+    //  moves the motors and the robot forward in time. The
+    //  robot does not move into obstacles, it stands still
+    //  in front of them instead.
+    //-------------------------------------------------------
+    void step(long nanos) {
+      if (haltReason != HALT_NONE) {
+        return;
+      }
+
+      leftMotor.step(nanos);
+      rightMotor.step(nanos);
+      armMotor.step(nanos);
+
+      double dt = nanos / 1e9;
+      double vLeft = Math.toRadians(leftMotor.getVelocity()) * WHEEL_RADIUS;
+      double vRight = Math.toRadians(rightMotor.getVelocity()) * WHEEL_RADIUS;
+      double v = (vLeft + vRight) / 2;
+      double omega = (vRight - vLeft) / TRACK_WIDTH;
+
+      double newHeading = heading + Math.toDegrees(omega * dt);
+      double middle = Math.toRadians((heading + newHeading) / 2);
+      double newX = x + v * dt * Math.cos(middle);
+      double newY = y + v * dt * Math.sin(middle);
+
+      boolean blocked = bumperInsideObstacle(newX, newY, newHeading);
+      if (blocked && !touchingObstacle) {
+        collisions++;
+      }
+      touchingObstacle = blocked;
+      if (!blocked) {
+        x = newX;
+        y = newY;
+        heading = newHeading;
+      }
+
+      updateBrick();
+      now += nanos;
+      updateReaction();
+
+      if (!wheelsOnTable()) {
+        halt(HALT_FELL);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //updateBrick ()
+    //  the nearest brick in front of the claw gets grabbed
+    //  when the arm is raised and released when it is
+    //  lowered again
+    //-------------------------------------------------------
+    private void updateBrick() {
+      double arm = armMotor.getPosition();
+
+      if (heldBrick < 0 && arm <= ARM_GRIP) {
+        float clawX = pointX(CLAW_FORWARD, 0);
+        float clawY = pointY(CLAW_FORWARD, 0);
+        double nearest = GRAB_RADIUS * GRAB_RADIUS;
+        for (int i = 0; i < brickStates.length; i++) {
+          double dx = brickX[i] - clawX, dy = brickY[i] - clawY;
+          if ((brickStates[i] == BRICK_WAITING || brickStates[i] == BRICK_ON_TABLE)
+              && dx * dx + dy * dy <= nearest) {
+            nearest = dx * dx + dy * dy;
+            heldBrick = i;
+          }
+        }
+        if (heldBrick >= 0) {
+          brickStates[heldBrick] = BRICK_HELD;
+        }
+      }
+      else if (heldBrick >= 0 && arm >= ARM_RELEASE) {
+        float clawX = pointX(CLAW_FORWARD, 0);
+        float clawY = pointY(CLAW_FORWARD, 0);
+        brickX[heldBrick] = clawX;
+        brickY[heldBrick] = clawY;
+        brickStates[heldBrick] = table.isOnTable(clawX, clawY) ? BRICK_ON_TABLE : BRICK_DROPPED_OFF;
+        heldBrick = -1;
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //updateReaction ()
+    //  starts the latency measurement when a touch sensor
+    //  moves over the table edge and ends it as soon as no
+    //  drive motor is commanded forward
+    //-------------------------------------------------------
+    private void updateReaction() {
+      boolean edgeL = !table.isOnTable(pointX(TOUCH_FORWARD, TOUCH_SIDE), pointY(TOUCH_FORWARD, TOUCH_SIDE));
+      boolean edgeR = !table.isOnTable(pointX(TOUCH_FORWARD, -TOUCH_SIDE), pointY(TOUCH_FORWARD, -TOUCH_SIDE));
+
+      boolean contact = (edgeL && !overEdgeL) || (edgeR && !overEdgeR);
+      if (edgeContact < 0 && contact) {
+        edgeContact = now;
+      }
+      if (!stopping && contact) {
+        stopping = true;
+        contactX = x;
+        contactY = y;
+        contactHeading = Math.toRadians(heading);
+        stopDistance = 0;
+      }
+      overEdgeL = edgeL;
+      overEdgeR = edgeR;
+
+      if (edgeContact >= 0 && leftMotor.getDirection() <= 0 && rightMotor.getDirection() <= 0) {
+        long latency = now - edgeContact;
+        reactions++;
+        reactionSum += latency;
+        reactionMax = Math.max(reactionMax, latency);
+        edgeContact = -1;
+      }
+
+      if (stopping) {
+        updateStop();
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //updateStop ()
+    //  follows the robot after an edge contact until both
+    //  drive wheels stand still or turn backwards, the
+    //  stopping distance is measured along the heading at
+    //  the contact
+    //-------------------------------------------------------
+    private void updateStop() {
+      double ahead = (x - contactX) * Math.cos(contactHeading) + (y - contactY) * Math.sin(contactHeading);
+      stopDistance = Math.max(stopDistance, ahead);
+
+      if (leftMotor.getVelocity() <= 0 && rightMotor.getVelocity() <= 0 || !wheelsOnTable()) {
+        stopping = false;
+        stops++;
+        stopSum += stopDistance;
+        stopMax = Math.max(stopMax, stopDistance);
+        if (stopDistance > TOUCH_FORWARD - EDGE_CLEARANCE || !wheelsOnTable()) {
+          overshoots++;
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //isTouchPressed (boolean left)
+    //  returns true if the touch sensor lies on the table
+    //  and does not touch an obstacle
+    //-------------------------------------------------------
+    public boolean isTouchPressed(boolean left) {
+      float side = left ? TOUCH_SIDE : -TOUCH_SIDE;
+      float px = pointX(TOUCH_FORWARD, side);
+      float py = pointY(TOUCH_FORWARD, side);
+      return table.isOnTable(px, py) && !table.isInsideObstacle(px, py);
+    }
+
+
+    //-------------------------------------------------------
+    //readTouch (boolean left)
+    //  returns a sample of a touch sensor, a pressed sensor
+    //  reads released with the bounce rate
+    //-------------------------------------------------------
+    public boolean readTouch(boolean left) {
+      boolean pressed = isTouchPressed(left);
+      if (pressed && bounceRate > 0 && bounces.nextFloat() < bounceRate) {
+        return false;
+      }
+      return pressed;
+    }
+
+
+    //-------------------------------------------------------
+    //measureDistance ()
+    //  returns the value of the infrared distance mode (0 to
+    //  100) for the nearest obstacle in front of the robot,
+    //  the value contains some measuring noise, an outlier
+    //  any value
+    //-------------------------------------------------------
+    public float measureDistance() {
+      if (outlierRate > 0 && outliers.nextFloat() < outlierRate) {
+        return outliers.nextFloat() * 100;
+      }
+
+      double ox = pointX(INFRARED_FORWARD, 0);
+      double oy = pointY(INFRARED_FORWARD, 0);
+      double dx = Math.cos(Math.toRadians(heading));
+      double dy = Math.sin(Math.toRadians(heading));
+
+      double nearest = INFRARED_RANGE;
+      for (int i = 0; i < table.obstacleCount; i++) {
+        double hit = rayHit(ox, oy, dx, dy, table.obstacleX[i], table.obstacleY[i],
+            table.obstacleX[i] + table.obstacleWidth[i], table.obstacleY[i] + table.obstacleDepth[i]);
+        if (hit < nearest) {
+          nearest = hit;
+        }
+      }
+
+      double value = nearest / INFRARED_RANGE * 100 + noise.nextGaussian();
+      return (float) Math.max(0, Math.min(100, value));
+    }
+
+
+    //-------------------------------------------------------
+    //rayHit (...)
+    //  distance along the ray to the box, infinity if the
+    //  ray misses the box (slab method)
+    //-------------------------------------------------------
+    private static double rayHit(double ox, double oy, double dx, double dy,
+        double minX, double minY, double maxX, double maxY) {
+      double tNear = 0, tFar = Double.POSITIVE_INFINITY;
+
+      if (Math.abs(dx) < 1e-9) {
+        if (ox < minX || ox > maxX) return Double.POSITIVE_INFINITY;
+      }
+      else {
+        double t1 = (minX - ox) / dx, t2 = (maxX - ox) / dx;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+      }
+
+      if (Math.abs(dy) < 1e-9) {
+        if (oy < minY || oy > maxY) return Double.POSITIVE_INFINITY;
+      }
+      else {
+        double t1 = (minY - oy) / dy, t2 = (maxY - oy) / dy;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+      }
+      return tNear <= tFar ? tNear : Double.POSITIVE_INFINITY;
+    }
+
+
+    private boolean bumperInsideObstacle(double px, double py, double h) {
+      double c = Math.cos(Math.toRadians(h)), s = Math.sin(Math.toRadians(h));
+      for (int side = -1; side <= 1; side++) {
+        double bx = px + BUMPER_FORWARD * c - side * BUMPER_SIDE * s;
+        double by = py + BUMPER_FORWARD * s + side * BUMPER_SIDE * c;
+        if (table.isInsideObstacle((float) bx, (float) by)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+
+    private boolean wheelsOnTable() {
+      return table.isOnTable(pointX(0, TRACK_WIDTH / 2), pointY(0, TRACK_WIDTH / 2))
+          && table.isOnTable(pointX(0, -TRACK_WIDTH / 2), pointY(0, -TRACK_WIDTH / 2));
+    }
+
+
+    // x coordinate of a point given relative to the robot (left side positive)
+    float pointX(float forward, float side) {
+      double h = Math.toRadians(heading);
+      return (float) (x + forward * Math.cos(h) - side * Math.sin(h));
+    }
+
+
+    // y coordinate of a point given relative to the robot (left side positive)
+    float pointY(float forward, float side) {
+      double h = Math.toRadians(heading);
+      return (float) (y + forward * Math.sin(h) + side * Math.cos(h));
+    }
+
+
+    //-------------------------------------------------------
+    //halt (int reason)
+    //  stops the world, the halt listener gets informed once
+    //-------------------------------------------------------
+    public void halt(int reason) {
+      if (haltReason == HALT_NONE) {
+        haltReason = reason;
+        if (haltListener != null) {
+          haltListener.run();
+        }
+      }
+    }
+
+
+    public boolean isHalted() {
+      return haltReason != HALT_NONE;
+    }
+
+
+    public int getHaltReason() {
+      return haltReason;
+    }
+
+
+    //-------------------------------------------------------
+    //setOutlierRate (float rate)
+    //  sets the share of infrared readings which are
+    //  replaced by a random value (0 to 1), 0 by default.
+    //  The outliers come from their own random numbers, so
+    //  the other readings stay the same.
+    //-------------------------------------------------------
+    public void setOutlierRate(float rate) {
+      this.outlierRate = rate;
+    }
+
+
+    //-------------------------------------------------------
+    //setTouchBounceRate (float rate)
+    //  sets the share of readings of a pressed touch sensor
+    //  which read released (0 to 1), 0 by default. The
+    //  bounces come from their own random numbers.
+    //-------------------------------------------------------
+    public void setTouchBounceRate(float rate) {
+      this.bounceRate = rate;
+    }
+
+
+    public void setHaltListener(Runnable haltListener) {
+      this.haltListener = haltListener;
+    }
+
+
+    public VirtualClock getClock() {
+      return clock;
+    }
+
+
+    public SimTable getTable() {
+      return table;
+    }
+
+
+    public SimMotor getLeftMotor() {
+      return leftMotor;
+    }
+
+
+    public SimMotor getRightMotor() {
+      return rightMotor;
+    }
+
+
+    public SimMotor getArmMotor() {
+      return armMotor;
+    }
+
+
+    // state of the brick in front of the claw at the start
+    public int getBrickState() {
+      return brickStates[0];
+    }
+
+
+    public int getBrickState(int brick) {
+      return brickStates[brick];
+    }
+
+
+    // number of bricks including brick 0
+    public int getBrickCount() {
+      return brickStates.length;
+    }
+
+
+    // number of bricks which were dropped off the table
+    public int getDroppedOff() {
+      int dropped = 0;
+      for (int state : brickStates) {
+        if (state == BRICK_DROPPED_OFF) {
+          dropped++;
+        }
+      }
+      return dropped;
+    }
+
+
+    public int getCollisions() {
+      return collisions;
+    }
+
+
+    // number of measured reactions to edge contacts
+    public int getReactions() {
+      return reactions;
+    }
+
+
+    public long getReactionSumNanos() {
+      return reactionSum;
+    }
+
+
+    public long getReactionMaxNanos() {
+      return reactionMax;
+    }
+
+
+    // number of measured stops after edge contacts and their distances in cm
+    public int getStops() {
+      return stops;
+    }
+
+
+    public double getStopSum() {
+      return stopSum;
+    }
+
+
+    public double getStopMax() {
+      return stopMax;
+    }
+
+
+    // number of stops which came closer to the edge than EDGE_CLEARANCE
+    public int getOvershoots() {
+      return overshoots;
+    }
+
+
+    // true if the last edge contact got no reaction yet
+    public boolean isReactionPending() {
+      return edgeContact >= 0;
+    }
+
+
+    public double getX() {
+      return x;
+    }
+
+
+    public double getY() {
+      return y;
+    }
+
+
+    public double getHeading() {
+      return heading;
+    }
+}
@@ -0,0 +1,139 @@
+//------------------------------------------------------------------------------------------
+// Simulator.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (Simulator), which connects the control logic of the
+// robot (InfraredSignalCheckerThread) with the simulated sensors and motors of a SimWorld.
+// The control logic runs in the calling thread on the VirtualClock, so a run is
+// deterministic and much faster than real time.
+//
+// Following methods are available:
+//
+// runAutopilot (boolean dodgeDirection, long timeoutMs)  runs the self-driving mode until
+//           it is finished, the robot fell off the table or the timeout is reached
+//
+// runMission (boolean dodgeDirection, long timeoutMs)  runs the mission mode with the
+//           further bricks of the table as targets
+//
+// getWorld () / getController () / getInfraredSensor ()  parts of the simulation
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class Simulator {
+
+
+    private final SimWorld world;
+    private final SimInfraredSensor infraredSensor;
+    private final InfraredSignalCheckerThread controller;
+
+
+    //constructor, the seed selects the measuring noise of the sensors
+    public Simulator(SimTable table, long seed) {
+      this.world = new SimWorld(table, seed);
+      this.infraredSensor = new SimInfraredSensor(world);
+
+      SimMotor leftMotor = world.getLeftMotor();
+      SimMotor rightMotor = world.getRightMotor();
+      leftMotor.synchronizeWith(new MotorDevice[] {rightMotor});
+
+      this.controller = new InfraredSignalCheckerThread(infraredSensor,
+          new SimTouchSensor(world, true), new SimTouchSensor(world, false),
+          leftMotor, rightMotor, world.getArmMotor(), world.getClock());
+
+      // no console output in the simulation
+      controller.getEventLog().setConsoleMirroring(false);
+
+      // the control logic ends as soon as the world stops
+      world.setHaltListener(new Runnable() {
+        @Override
+        public void run() {
+          controller.isRunning = false;
+        }
+      });
+    }
+
+
+    //-------------------------------------------------------
+    //runAutopilot (boolean dodgeDirection, long timeoutMs)
+    //  runs the self-driving mode of the robot in the
+    //  calling thread
+    //
+    // Parameters: the dodge direction of drive() and the
+    //  timeout in virtual milliseconds
+    //
+    // Effect:
+    //  returns the result of the run
+    //-------------------------------------------------------
+    public SimResult runAutopilot(boolean dodgeDirection, long timeoutMs) {
+      VirtualClock clock = world.getClock();
+      long start = clock.nanoTime();
+      clock.setDeadline(start + timeoutMs * 1000000L);
+
+      long wallStart = System.nanoTime();
+      controller.isRunning = true;
+      controller.drive(dodgeDirection);
+      controller.isRunning = false;
+      long wallNanos = System.nanoTime() - wallStart;
+
+      return new SimResult(world, clock.nanoTime() - start, wallNanos, controller.getTickCount());
+    }
+
+
+    //-------------------------------------------------------
+    //runMission (boolean dodgeDirection, long timeoutMs)
+    //  runs the mission mode of the robot in the calling
+    //  thread, the further bricks of the table are queued as
+    //  targets in the coordinates of the odometry
+    //
+    // Parameters: the dodge direction of drive() and the
+    //  timeout in virtual milliseconds
+    //
+    // Effect:
+    //  returns the result of the run
+    //-------------------------------------------------------
+    public SimResult runMission(boolean dodgeDirection, long timeoutMs) {
+      SimTable table = world.getTable();
+      double angle = Math.toRadians(table.startHeading);
+      TargetQueue targets = controller.getTargets();
+      for (int i = 0; i < table.brickCount; i++) {
+        double dx = table.brickX[i] - table.startX;
+        double dy = table.brickY[i] - table.startY;
+        targets.add((float) (dx * Math.cos(angle) + dy * Math.sin(angle)),
+            (float) (dy * Math.cos(angle) - dx * Math.sin(angle)));
+      }
+
+      VirtualClock clock = world.getClock();
+      long start = clock.nanoTime();
+      clock.setDeadline(start + timeoutMs * 1000000L);
+
+      long wallStart = System.nanoTime();
+      controller.isRunning = true;
+      controller.runMission(dodgeDirection);
+      controller.isRunning = false;
+      long wallNanos = System.nanoTime() - wallStart;
+
+      return new SimResult(world, clock.nanoTime() - start, wallNanos, controller.getTickCount());
+    }
+
+
+    public SimWorld getWorld() {
+      return world;
+    }
+
+
+    public InfraredSignalCheckerThread getController() {
+      return controller;
+    }
+
+
+    public SimInfraredSensor getInfraredSensor() {
+      return infraredSensor;
+    }
+}
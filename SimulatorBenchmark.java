@@ -0,0 +1,63 @@
+//------------------------------------------------------------------------------------------
+// SimulatorBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (SimulatorBenchmark), which runs the self-driving mode
+// in the simulator on many random tables and reports the speed of the simulation (ticks
+// per second, speed-up against real time) and the virtual mission times. The writes to
+// the motors which were sent and which were suppressed by the motor cache are counted too.
+//
+// The speed factor scales the reached speed of the drive motors (battery level, friction).
+//
+// usage: SimulatorBenchmark [runs] [seed] [speed factor]   (default 1000 1 1.0)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class SimulatorBenchmark {
+
+
+    public static void main(String[] args) {
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+      long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+      float speedFactor = args.length > 2 ? Float.parseFloat(args[2]) : 1;
+
+      long ticks = 0, missionNanos = 0, wallNanos = 0;
+      int success = 0, fell = 0, timedOut = 0;
+      long writes = 0, suppressed = 0, blocks = 0, skippedBlocks = 0;
+
+      for (int i = 0; i < runs; i++) {
+        Simulator simulator = new Simulator(SimTable.random(seed + i), seed + i);
+        simulator.getWorld().getLeftMotor().setSpeedFactor(speedFactor);
+        simulator.getWorld().getRightMotor().setSpeedFactor(speedFactor);
+        SimResult result = simulator.runAutopilot(i % 2 == 0, 120000);
+
+        ticks += result.ticks;
+        missionNanos += result.missionNanos;
+        wallNanos += result.wallNanos;
+        if (result.isSuccess()) success++;
+        if (result.fell) fell++;
+        if (result.timedOut) timedOut++;
+
+        MotorPair drive = simulator.getController().getDriveMotors();
+        CachingMotorDevice arm = simulator.getController().getArmMotor();
+        writes += drive.getLeft().getWrites() + drive.getRight().getWrites() + arm.getWrites();
+        suppressed += drive.getLeft().getSuppressed() + drive.getRight().getSuppressed()
+            + arm.getSuppressed();
+        blocks += drive.getBlocks();
+        skippedBlocks += drive.getSkippedBlocks();
+      }
+
+      System.out.printf("runs:               %d%n", runs);
+      System.out.printf("success / fell:     %d / %d (timeout %d)%n", success, fell, timedOut);
+      System.out.printf("mean mission time:  %.2f s (virtual)%n", missionNanos / 1e9 / runs);
+      System.out.printf("ticks per second:   %.0f%n", ticks / (wallNanos / 1e9));
+      System.out.printf("speed-up:           %.0fx real time%n", (double) missionNanos / wallNanos);
+      System.out.printf("motor writes:       %d sent, %d suppressed%n", writes, suppressed);
+      System.out.printf("sync blocks:        %d sent, %d suppressed%n", blocks, skippedBlocks);
+    }}
@@ -0,0 +1,110 @@
+//------------------------------------------------------------------------------------------
+// SpeedGovernor.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SpeedGovernor), which computes the fastest speed of the
+// drive motors at which the robot can still stop in time. After a hazard shows up the
+// robot keeps driving for the latency (until the control loop reacts and the motors get
+// the command) and then brakes with ACCELERATION, so it needs
+//
+//     latency * v + v * v / (2 * ACCELERATION)
+//
+// degrees of the wheels for stopping. Two hazards limit this stopping distance:
+//
+//  - the table edge can show up at any time, the robot has to stop within the distance of
+//    the touch sensors in front of the wheels less EDGE_MARGIN
+//  - a barrier seen by the infrared sensor, the robot has to stop before the bumper in
+//    front of the sensor touches it
+//
+// The governor returns the speed which keeps both limits, between MIN_SPEED and MAX_SPEED
+// in steps of SPEED_STEP, so the motor cache drops the pace of most ticks.
+// The latency is measured by the caller (period and jitter of the control loop, age of
+// the samples), MOTOR_LATENCY is added for the command to the motors.
+//
+// Following methods are available:
+//
+// speed (float distance, long edgeLatency, long barrierLatency)  allowed speed of the tick
+//
+// stoppingDistance (int speed, long latency)  distance in cm for stopping from the speed
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class SpeedGovernor {
+
+
+    // speed range in degrees per second and acceleration of the
+    // drive motors in degrees per second squared
+    public static final int MIN_SPEED = 100, MAX_SPEED = 600;
+    public static final int ACCELERATION = 600;
+    public static final int SPEED_STEP = 10;
+
+    // time in nanoseconds until a command moves the motors
+    public static final long MOTOR_LATENCY = 5000000L;
+
+    // distance in cm which stays between the stopped wheels and the
+    // edge below the touch sensors
+    public static final float EDGE_MARGIN = 3f;
+
+    // distance in cm of the bumper in front of the infrared sensor
+    public static final float BUMPER_AHEAD = 4f;
+
+    private static final double CM_PER_DEGREE = Math.toRadians(1) * PoseEstimator.WHEEL_RADIUS;
+
+
+    //-------------------------------------------------------
+    //speed (float distance, long edgeLatency,
+    //       long barrierLatency)
+    //  computes the allowed speed of the drive motors
+    //
+    // Parameters: filtered infrared distance (NaN if not
+    //  known) and the latencies in nanoseconds from a
+    //  touch sample and from a distance sample to the
+    //  reaction of the control loop
+    //
+    // Effect:
+    //  returns the speed in degrees per second
+    //-------------------------------------------------------
+    public int speed(float distance, long edgeLatency, long barrierLatency) {
+      double speed = maxSpeed(OccupancyGrid.TOUCH_FORWARD - EDGE_MARGIN, edgeLatency);
+      if (!Float.isNaN(distance) && distance < OccupancyGrid.MAX_HIT) {
+        speed = Math.min(speed, maxSpeed(distance * OccupancyGrid.CM_PER_DISTANCE - BUMPER_AHEAD,
+            barrierLatency));
+      }
+      int steps = (int) (Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed)) / SPEED_STEP);
+      return steps * SPEED_STEP;
+    }
+
+
+    //-------------------------------------------------------
+    //maxSpeed (double stop, long latency)
+    //  largest speed in degrees per second which stops
+    //  within the given cm, solves the stopping distance
+    //  for the speed
+    //-------------------------------------------------------
+    private static double maxSpeed(double stop, long latency) {
+      if (stop <= 0) {
+        return 0;
+      }
+      double degrees = stop / CM_PER_DEGREE;
+      double seconds = (latency + MOTOR_LATENCY) / 1e9;
+      return ACCELERATION * (Math.sqrt(seconds * seconds + 2 * degrees / ACCELERATION) - seconds);
+    }
+
+
+    //-------------------------------------------------------
+    //stoppingDistance (int speed, long latency)
+    //  distance in cm the robot drives after a hazard at the
+    //  given speed and latency
+    //-------------------------------------------------------
+    public static double stoppingDistance(int speed, long latency) {
+      double seconds = (latency + MOTOR_LATENCY) / 1e9;
+      return (seconds * speed + (double) speed * speed / (2 * ACCELERATION)) * CM_PER_DEGREE;
+    }
+}
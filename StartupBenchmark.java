@@ -0,0 +1,191 @@
+//------------------------------------------------------------------------------------------
+// StartupBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (StartupBenchmark), which measures the time until the
+// robot is ready on a simulated set of devices: two touch sensors, the infrared sensor and
+// three motors, each of which waits for its probe time when it gets opened. The devices
+// are opened one after another like before, and in parallel by a DeviceStartup. The old
+// startup is measured with the distance mode selected right away and without it, the
+// parallel startup leaves the distance mode to the first start of the autopilot.
+//
+// The probe times are assumptions (PROBE_TIMES, in ms), they can be scaled to the times
+// measured on a brick with the first argument.
+//
+// usage: StartupBenchmark [scale] [rounds]   (default 1 5)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import lejos.robotics.SampleProvider;
+
+
+public class StartupBenchmark {
+
+
+    // assumed probe times in ms of a touch sensor, the infrared
+    // sensor, a motor and the switch to the distance mode
+    private static final int[] PROBE_TIMES = {150, 400, 300, 200};
+    private static final int TOUCH = 0, INFRARED = 1, MOTOR = 2, DISTANCE_MODE = 3;
+
+
+    public static void main(String[] args) throws Exception {
+      float scale = args.length > 0 ? Float.parseFloat(args[0]) : 1;
+      int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+      final long[] probes = new long[PROBE_TIMES.length];
+      for (int i = 0; i < probes.length; i++) {
+        probes[i] = (long) (PROBE_TIMES[i] * scale);
+      }
+
+      long eager = 0, sequential = 0, parallel = 0, deferred = 0;
+      DeviceStartup last = null;
+      for (int round = 0; round < rounds; round++) {
+        eager += openSequential(probes, true);
+        sequential += openSequential(probes, false);
+
+        DeviceStartup startup = new DeviceStartup();
+        for (int i = 0; i < 2; i++) {
+          startup.open("touch " + (i + 1), probe(new ProbedTouch(), probes[TOUCH]));
+        }
+        Future<InfraredDevice> infrared = startup.open("infrared",
+            probe(new ProbedInfrared(probes[DISTANCE_MODE]), probes[INFRARED]));
+        for (int i = 0; i < 3; i++) {
+          startup.open("motor " + (char) ('A' + i), probe(new ProbedMotor(), probes[MOTOR]));
+        }
+        startup.await();
+        parallel += startup.getReadyNanos();
+        last = startup;
+
+        // the first start of the autopilot selects the distance mode
+        long start = System.nanoTime();
+        infrared.get().getDistanceMode();
+        deferred += System.nanoTime() - start;
+      }
+
+      System.out.printf("%d rounds, probe times touch %d ms, infrared %d ms, motor %d ms, "
+          + "distance mode %d ms%n%n", rounds, probes[TOUCH], probes[INFRARED], probes[MOTOR],
+          probes[DISTANCE_MODE]);
+      System.out.printf("%-38s %8.1f ms%n", "one after another, with distance mode",
+          eager / 1e6 / rounds);
+      System.out.printf("%-38s %8.1f ms%n", "one after another", sequential / 1e6 / rounds);
+      System.out.printf("%-38s %8.1f ms  (%.1fx faster)%n", "parallel (DeviceStartup)",
+          parallel / 1e6 / rounds, (double) sequential / parallel);
+      System.out.printf("%-38s %8.1f ms%n%n", "distance mode at the first autopilot",
+          deferred / 1e6 / rounds);
+      System.out.print(last.timeline());
+    }
+
+
+    //-------------------------------------------------------
+    //openSequential (long[] probes, boolean distanceMode)
+    //  opens the devices one after another in the order of
+    //  RemoteTest, optionally with the distance mode
+    //
+    // Effect:
+    //  returns the time until all devices were open
+    //-------------------------------------------------------
+    private static long openSequential(long[] probes, boolean distanceMode) throws Exception {
+      long start = System.nanoTime();
+      for (int i = 0; i < 2; i++) {
+        probe(new ProbedTouch(), probes[TOUCH]).call();
+      }
+      InfraredDevice infrared = probe(new ProbedInfrared(probes[DISTANCE_MODE]),
+          probes[INFRARED]).call();
+      for (int i = 0; i < 3; i++) {
+        probe(new ProbedMotor(), probes[MOTOR]).call();
+      }
+      if (distanceMode) {
+        infrared.getDistanceMode();
+      }
+      return System.nanoTime() - start;
+    }
+
+
+    // opens a device by waiting for its probe time
+    private static <T> Callable<T> probe(final T device, final long millis) {
+      return new Callable<T>() {
+        @Override
+        public T call() throws InterruptedException {
+          Thread.sleep(millis);
+          return device;
+        }
+      };
+    }
+
+
+    //-------------------------------------------------------
+    //ProbedTouch / ProbedInfrared / ProbedMotor
+    //  devices which do nothing, the infrared sensor waits
+    //  when the distance mode gets selected the first time
+    //-------------------------------------------------------
+    private static class ProbedTouch implements TouchDevice {
+
+      @Override public int sampleSize() { return 1; }
+      @Override public void fetchSample(float[] sample, int offset) { sample[offset] = 1; }
+      @Override public void close() { }
+    }
+
+
+    private static class ProbedInfrared implements InfraredDevice {
+
+      private final long modeSwitch;
+      private boolean distanceMode;
+
+      ProbedInfrared(long modeSwitch) {
+        this.modeSwitch = modeSwitch;
+      }
+
+      @Override
+      public int getRemoteCommand(int channel) {
+        return 0;
+      }
+
+      @Override
+      public void getRemoteCommands(byte[] commands, int offset, int count) {
+      }
+
+      @Override
+      public SampleProvider getDistanceMode() {
+        if (!distanceMode) {
+          distanceMode = true;
+          try {
+            Thread.sleep(modeSwitch);
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public void close() {
+      }
+    }
+
+
+    private static class ProbedMotor implements MotorDevice {
+
+      @Override public void forward() { }
+      @Override public void backward() { }
+      @Override public void stop() { }
+      @Override public void stop(boolean immediateReturn) { }
+      @Override public void setSpeed(int speed) { }
+      @Override public void setAcceleration(int acceleration) { }
+      @Override public boolean isMoving() { return false; }
+      @Override public int getTachoCount() { return 0; }
+      @Override public void rotateTo(int angle, boolean immediateReturn) { }
+      @Override public void synchronizeWith(MotorDevice[] syncList) { }
+      @Override public void startSynchronization() { }
+      @Override public void endSynchronization() { }
+      @Override public void close() { }
+    }
+}
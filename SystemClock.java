@@ -0,0 +1,38 @@
+//------------------------------------------------------------------------------------------
+// SystemClock.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (SystemClock), the real time source of the robot. The
+// delays are executed by the leJOS Delay class.
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.utility.Delay;
+
+
+public class SystemClock implements RobotClock {
+
+
+    @Override
+    public long nanoTime() {
+      return System.nanoTime();
+    }
+
+
+    @Override
+    public void msDelay(long period) {
+      Delay.msDelay(period);
+    }
+
+
+    @Override
+    public void nsDelay(long period) {
+      Delay.nsDelay(period);
+    }
+}
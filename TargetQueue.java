@@ -0,0 +1,93 @@
+//------------------------------------------------------------------------------------------
+// TargetQueue.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (TargetQueue), the positions of the objects which a mission
+// should remove from the table. The positions are given in cm in the coordinates of the
+// odometry (PoseEstimator) at the start of the mission: the robot stands at (0, 0) and
+// looks along the x axis, the y axis points to the left. The queue is a ring buffer which
+// is allocated once and holds up to CAPACITY targets, they are visited in the given order.
+//
+// Following methods are available:
+//
+// add (float x, float y)  appends a target
+//
+// getX () / getY ()  position of the next target
+//
+// remove ()  takes the next target from the queue
+//
+// clear () / size () / isEmpty ()  state of the queue
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class TargetQueue {
+
+
+    // maximum number of queued targets
+    public static final int CAPACITY = 16;
+
+
+    private final float[] xs = new float[CAPACITY];
+    private final float[] ys = new float[CAPACITY];
+    private int head, size;
+
+
+    public void add(float x, float y) {
+      if (size == CAPACITY) {
+        throw new IllegalStateException("too many targets queued");
+      }
+      int slot = (head + size) % CAPACITY;
+      xs[slot] = x;
+      ys[slot] = y;
+      size++;
+    }
+
+
+    public float getX() {
+      check();
+      return xs[head];
+    }
+
+
+    public float getY() {
+      check();
+      return ys[head];
+    }
+
+
+    public void remove() {
+      check();
+      head = (head + 1) % CAPACITY;
+      size--;
+    }
+
+
+    private void check() {
+      if (size == 0) {
+        throw new IllegalStateException("no target queued");
+      }
+    }
+
+
+    public void clear() {
+      head = 0;
+      size = 0;
+    }
+
+
+    public int size() {
+      return size;
+    }
+
+
+    public boolean isEmpty() {
+      return size == 0;
+    }
+}
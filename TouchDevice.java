@@ -0,0 +1,37 @@
+//------------------------------------------------------------------------------------------
+// TouchDevice.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the device interface (TouchDevice) for the touch sensors which detect
+// the table surface. A sample of 1 means the sensor is pressed (table below the sensor),
+// a sample of 0 means the sensor is released (table edge reached).
+//
+// The interface is implemented by LejosTouchDevice on the brick and by SimTouchSensor
+// in the simulator.
+//
+// Following methods are available:
+//
+// sampleSize ()  / fetchSample (float[] sample, int offset)  inherited from SampleProvider
+//
+// close ()  releases the sensor port
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import lejos.robotics.SampleProvider;
+
+
+public interface TouchDevice extends SampleProvider {
+
+
+    //-------------------------------------------------------
+    //close ()
+    //  releases the sensor port
+    //-------------------------------------------------------
+    void close();
+}
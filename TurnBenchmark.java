@@ -0,0 +1,165 @@
+//------------------------------------------------------------------------------------------
+// TurnBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (TurnBenchmark), which compares the timed maneuvers with
+// the closed-loop maneuvers of the ManeuverEngine. Every maneuver of the autopilot is driven
+// from standstill on an empty simulated table with different speed factors of the drive
+// motors (battery level, friction), followed by a stop. The angle and the distance are
+// taken from the simulated world, not from the odometry.
+//
+// For every maneuver the result per speed factor, the largest error and the maneuver time
+// are printed. The error of a closed-loop maneuver is measured against its target, the
+// error of a timed maneuver against its own result at the speed factor 1.0. The cycle time
+// is the time of one tick of the engine including the odometry update.
+//
+// usage: TurnBenchmark
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+public class TurnBenchmark {
+
+
+    // speed factors of the drive motors
+    private static final float[] FACTORS = {0.6f, 0.7f, 0.8f, 0.9f, 1.0f, 1.1f, 1.2f, 1.3f};
+
+    // maneuvers of the autopilot: name, speed, acceleration,
+    // timed duration in ms and closed-loop kind and target
+    private static final String[] NAMES = {
+      "edge turn", "barrier turn", "case 4 turn", "barrier back-up", "edge back-up",
+    };
+    private static final int[][] MANEUVERS = {
+      {220, 200, 1000, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.EDGE_TURN},
+      {270, 220, 1750, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.BARRIER_TURN},
+      {270, 220, 2500, ManeuverEngine.ROTATE_LEFT, InfraredSignalCheckerThread.CASE_4_TURN},
+      {270, 220, 1600, ManeuverEngine.BACK_UP, InfraredSignalCheckerThread.BARRIER_BACK_UP},
+      {220, 200, 700, ManeuverEngine.BACK_UP, InfraredSignalCheckerThread.EDGE_BACK_UP},
+    };
+
+    private static final long TICK = InfraredSignalCheckerThread.CONTROL_PERIOD * 1000000L;
+
+    private static long cycles, cycleNanos;
+
+
+    public static void main(String[] args) {
+      // warmup of the engine and the odometry
+      for (int i = 0; i < 200; i++) {
+        run(MANEUVERS[i % MANEUVERS.length], 1, i % 2 == 0);
+      }
+      cycles = 0;
+      cycleNanos = 0;
+
+      System.out.printf("%-16s %-7s %6s", "maneuver", "mode", "target");
+      for (float factor : FACTORS) {
+        System.out.printf(" %6.1f", factor);
+      }
+      System.out.printf(" %9s %9s%n", "max error", "time 1.0");
+
+      for (int m = 0; m < MANEUVERS.length; m++) {
+        print(NAMES[m], MANEUVERS[m], false);
+        print(NAMES[m], MANEUVERS[m], true);
+      }
+
+      System.out.printf("%ncycle time:  %.0f ns per tick (%d ticks)%n",
+          (double) cycleNanos / cycles, cycles);
+    }
+
+
+    //-------------------------------------------------------
+    //print (String name, int[] maneuver, boolean closedLoop)
+    //  drives the maneuver with all speed factors and prints
+    //  one line of the table
+    //-------------------------------------------------------
+    private static void print(String name, int[] maneuver, boolean closedLoop) {
+      double[] results = new double[FACTORS.length];
+      double reference = maneuver[4];
+      long time = 0;
+
+      for (int i = 0; i < FACTORS.length; i++) {
+        long start = cycles;
+        results[i] = run(maneuver, FACTORS[i], closedLoop);
+        if (FACTORS[i] == 1) {
+          time = (cycles - start) * TICK / 1000000L;
+          if (!closedLoop) {
+            reference = results[i];
+          }
+        }
+      }
+
+      double maxError = 0;
+      System.out.printf("%-16s %-7s %6.1f", name, closedLoop ? "closed" : "timed", reference);
+      for (double result : results) {
+        System.out.printf(" %6.1f", result);
+        maxError = Math.max(maxError, Math.abs(result - reference));
+      }
+      System.out.printf(" %9.1f %6d ms%n", maxError, time);
+    }
+
+
+    //-------------------------------------------------------
+    //run (int[] maneuver, float factor, boolean closedLoop)
+    //  drives one maneuver and the following stop on an
+    //  empty table
+    //
+    // Effect:
+    //  returns the turned angle in degrees or the driven
+    //  distance backwards in cm
+    //-------------------------------------------------------
+    private static double run(int[] maneuver, float factor, boolean closedLoop) {
+      SimTable table = new SimTable(1000, 1000);
+      SimWorld world = new SimWorld(table, 1);
+      VirtualClock clock = world.getClock();
+      clock.setDeadline(Long.MAX_VALUE);
+      world.getLeftMotor().setSpeedFactor(factor);
+      world.getRightMotor().setSpeedFactor(factor);
+
+      MotorPair drive = new MotorPair(new CachingMotorDevice(world.getLeftMotor()),
+          new CachingMotorDevice(world.getRightMotor()));
+      PoseEstimator pose = new PoseEstimator();
+      ManeuverEngine engine = new ManeuverEngine(drive, new CachingMotorDevice(world.getArmMotor()), pose);
+      pose.reset(drive.getLeft().getTachoCount(), drive.getRight().getTachoCount());
+
+      double x = world.getX(), y = world.getY(), heading = world.getHeading();
+
+      engine.pace(maneuver[0], maneuver[1]);
+      if (!closedLoop) {
+        if (maneuver[3] == ManeuverEngine.BACK_UP) {
+          engine.reverse(maneuver[2]);
+        }
+        else {
+          engine.turnLeft(maneuver[2]);
+        }
+      }
+      else if (maneuver[3] == ManeuverEngine.BACK_UP) {
+        engine.backUp(maneuver[4], InfraredSignalCheckerThread.MANEUVER_TIMEOUT);
+      }
+      else {
+        engine.rotateLeft(maneuver[4], InfraredSignalCheckerThread.MANEUVER_TIMEOUT);
+      }
+      engine.stop();
+
+      while (true) {
+        clock.advance(TICK);
+        long start = System.nanoTime();
+        pose.update(drive.getLeft().getTachoCount(), drive.getRight().getTachoCount());
+        boolean running = engine.advance(clock.nanoTime());
+        cycleNanos += System.nanoTime() - start;
+        cycles++;
+        if (!running) {
+          break;
+        }
+      }
+
+      if (maneuver[3] == ManeuverEngine.BACK_UP) {
+        double angle = Math.toRadians(heading);
+        return -((world.getX() - x) * Math.cos(angle) + (world.getY() - y) * Math.sin(angle));
+      }
+      return world.getHeading() - heading;
+    }
+}
@@ -0,0 +1,228 @@
+//------------------------------------------------------------------------------------------
+// UdpRemoteBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (UdpRemoteBenchmark), the loopback test of the UDP remote.
+// The control thread runs in real time with stub devices and a UdpRemoteReceiver on the
+// loopback interface. The benchmark alternately presses and releases a button of the stub
+// infrared remote and sends drive commands with a UdpRemoteClient, and measures the time
+// from the command until the left drive motor gets it, for each source. The commands are
+// spread over the period of the control loop, so the latencies include the wait for the
+// next tick. The time the infrared sensor itself needs for a button is not included.
+//
+// At the end a second client, which starts again with sequence number 1, sends a packet
+// that must be dropped as stale.
+//
+// usage: UdpRemoteBenchmark [commands] [control period in ms]   (default 500 10)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.net.InetAddress;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import lejos.robotics.SampleProvider;
+
+
+public class UdpRemoteBenchmark {
+
+
+    // button code of driving forward on channel 0
+    private static final int FORWARD_BUTTON = 3;
+
+    // time in ms the benchmark waits for a motor command
+    private static final int COMMAND_TIMEOUT = 1000;
+
+
+    public static void main(String[] args) throws Exception {
+      int commands = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+      int period = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+      StubInfrared infrared = new StubInfrared();
+      TimingMotor left = new TimingMotor();
+      InfraredSignalCheckerThread controller = new InfraredSignalCheckerThread(infrared,
+          new StubTouch(), new StubTouch(), left, new TimingMotor(), new TimingMotor(),
+          new RealClock());
+      controller.setControlPeriod(period);
+      UdpRemoteReceiver receiver = new UdpRemoteReceiver(0);
+      receiver.start();
+      controller.setUdpRemote(receiver);
+      controller.isRunning = true;
+      controller.start();
+
+      InetAddress loopback = InetAddress.getLoopbackAddress();
+      UdpRemoteClient client = new UdpRemoteClient(loopback, receiver.getPort());
+      LatencyHistogram infraredLatency = new LatencyHistogram();
+      LatencyHistogram udpLatency = new LatencyHistogram();
+      Random random = new Random(1);
+      int lost = 0;
+
+      for (int i = 0; i < 2 * commands; i++) {
+        // both sources press and release in turn, so every
+        // command changes the direction of the motors
+        boolean press = i % 2 == 0;
+        boolean udp = i % 4 >= 2;
+        Thread.sleep(2 * period + random.nextInt(period));
+
+        long count = left.commands;
+        long start = System.nanoTime();
+        if (udp) {
+          client.drive(press ? 300 : 0, 0);
+        }
+        else {
+          infrared.button = press ? FORWARD_BUTTON : 0;
+        }
+        if (!awaitCommand(left, count)) {
+          lost++;
+          continue;
+        }
+        (udp ? udpLatency : infraredLatency).record(left.time - start);
+      }
+
+      UdpRemoteClient restarted = new UdpRemoteClient(loopback, receiver.getPort());
+      long stale = receiver.getStale();
+      restarted.drive(100, 0);
+      Thread.sleep(10 * period);
+      boolean dropped = receiver.getStale() == stale + 1;
+      restarted.close();
+
+      controller.isRunning = false;
+      controller.join();
+      client.close();
+      receiver.shutdown();
+
+      System.out.printf("control period %d ms, %d commands per source%n%n", period, commands);
+      System.out.printf("%-20s %9s %9s %9s %9s%n", "command to motor", "mean", "p50", "p99", "max");
+      print("infrared remote", infraredLatency);
+      print("udp remote", udpLatency);
+      System.out.printf("%narrival of the packets until the motor (controller): %s%n",
+          controller.getUdpReaction());
+      System.out.printf("packets accepted %d, stale %d, invalid %d, commands lost %d%n",
+          receiver.getAccepted(), receiver.getStale(), receiver.getInvalid(), lost);
+      System.out.println("restarted sender dropped as stale: " + dropped);
+    }
+
+
+    // waits until the motor got a new command
+    private static boolean awaitCommand(TimingMotor motor, long count) {
+      long deadline = System.nanoTime() + COMMAND_TIMEOUT * 1000000L;
+      while (motor.commands == count) {
+        if (System.nanoTime() > deadline) {
+          return false;
+        }
+        LockSupport.parkNanos(50000);
+      }
+      return true;
+    }
+
+
+    private static void print(String source, LatencyHistogram latency) {
+      System.out.printf("%-20s %6.2f ms %6.2f ms %6.2f ms %6.2f ms%n", source,
+          latency.getMean() / 1e6, latency.getPercentile(50) / 1e6, latency.getPercentile(99) / 1e6,
+          latency.getMax() / 1e6);
+    }
+
+
+    //-------------------------------------------------------
+    //StubInfrared
+    //  an infrared remote with the button which is set by
+    //  the benchmark on channel 0
+    //-------------------------------------------------------
+    private static class StubInfrared implements InfraredDevice {
+
+      volatile int button;
+
+      @Override
+      public int getRemoteCommand(int channel) {
+        return channel == 0 ? button : 0;
+      }
+
+      @Override
+      public void getRemoteCommands(byte[] commands, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+          commands[offset + i] = (byte) getRemoteCommand(i);
+        }
+      }
+
+      @Override
+      public SampleProvider getDistanceMode() {
+        return null;
+      }
+
+      @Override
+      public void close() {
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //StubTouch
+    //  a touch sensor which is never read by run()
+    //-------------------------------------------------------
+    private static class StubTouch implements TouchDevice {
+
+      @Override public int sampleSize() { return 1; }
+      @Override public void fetchSample(float[] sample, int offset) { sample[offset] = 1; }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //TimingMotor
+    //  a motor which stores the time of its last change of
+    //  the direction and counts these commands
+    //-------------------------------------------------------
+    private static class TimingMotor implements MotorDevice {
+
+      volatile long time;
+      volatile long commands;
+
+      private void command() {
+        time = System.nanoTime();
+        commands++;
+      }
+
+      @Override public void forward() { command(); }
+      @Override public void backward() { command(); }
+      @Override public void stop() { command(); }
+      @Override public void stop(boolean immediateReturn) { command(); }
+      @Override public void setSpeed(int speed) { }
+      @Override public void setAcceleration(int acceleration) { }
+      @Override public boolean isMoving() { return false; }
+      @Override public int getTachoCount() { return 0; }
+      @Override public void rotateTo(int angle, boolean immediateReturn) { }
+      @Override public void synchronizeWith(MotorDevice[] syncList) { }
+      @Override public void startSynchronization() { }
+      @Override public void endSynchronization() { }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //RealClock
+    //  the clock of the brick without the leJOS Delay class
+    //-------------------------------------------------------
+    private static class RealClock implements RobotClock {
+
+      @Override
+      public long nanoTime() {
+        return System.nanoTime();
+      }
+
+      @Override
+      public void msDelay(long period) {
+        LockSupport.parkNanos(period * 1000000L);
+      }
+
+      @Override
+      public void nsDelay(long period) {
+        LockSupport.parkNanos(period);
+      }
+    }
+}
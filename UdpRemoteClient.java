@@ -0,0 +1,120 @@
+//------------------------------------------------------------------------------------------
+// UdpRemoteClient.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (UdpRemoteClient), the sender of the UDP remote control. It
+// writes the packets of the UdpRemoteReceiver with its own sequence number and can be used
+// from a PC or, on the loopback interface, by the UdpRemoteBenchmark. The caller has to
+// repeat a drive command faster than InfraredSignalCheckerThread.UDP_TIMEOUT (every 100 ms),
+// otherwise the robot stops.
+//
+// usage: UdpRemoteClient <host> [port] [speed] [turn rate] [seconds]   (default 5005 300 0 2)
+//
+// Following methods are available:
+//
+// drive (int speed, int turnRate)  sends the continuous values of driving
+//
+// button (int channel, int command)  sends a button of the infrared remote
+//
+// close ()  closes the socket
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+
+
+public class UdpRemoteClient {
+
+
+    // pause between two repeated drive commands in milliseconds
+    public static final int REPEAT_PERIOD = 100;
+
+
+    private final DatagramSocket socket;
+    private final byte[] buffer = new byte[UdpRemoteReceiver.PACKET_LENGTH];
+    private final DatagramPacket packet;
+    private int sequence;
+
+
+    //constructor, sends to the receiver at the given address
+    public UdpRemoteClient(InetAddress address, int port) throws SocketException {
+      this.socket = new DatagramSocket();
+      this.packet = new DatagramPacket(buffer, buffer.length, address, port);
+    }
+
+
+    //-------------------------------------------------------
+    //drive (int speed, int turnRate)
+    //  sends the speed and the turn rate in degrees of the
+    //  wheels per second, between -32768 and 32767
+    //-------------------------------------------------------
+    public void drive(int speed, int turnRate) throws IOException {
+      send(UdpRemoteReceiver.DRIVE, speed, turnRate);
+    }
+
+
+    //-------------------------------------------------------
+    //button (int channel, int command)
+    //  sends a button of the infrared remote, decoded with
+    //  the same table as the infrared remote
+    //-------------------------------------------------------
+    public void button(int channel, int command) throws IOException {
+      send(UdpRemoteReceiver.BUTTON, channel, command);
+    }
+
+
+    private void send(int kind, int first, int second) throws IOException {
+      if (first != (short) first || second != (short) second) {
+        throw new IllegalArgumentException("value out of range: " + first + ", " + second);
+      }
+      sequence++;
+      buffer[0] = (byte) UdpRemoteReceiver.MAGIC;
+      buffer[1] = (byte) (UdpRemoteReceiver.VERSION << 4 | kind);
+      buffer[2] = (byte) (sequence >>> 24);
+      buffer[3] = (byte) (sequence >>> 16);
+      buffer[4] = (byte) (sequence >>> 8);
+      buffer[5] = (byte) sequence;
+      buffer[6] = (byte) (first >>> 8);
+      buffer[7] = (byte) first;
+      buffer[8] = (byte) (second >>> 8);
+      buffer[9] = (byte) second;
+      socket.send(packet);
+    }
+
+
+    public void close() {
+      socket.close();
+    }
+
+
+    public static void main(String[] args) throws Exception {
+      if (args.length == 0) {
+        System.out.println("usage: UdpRemoteClient <host> [port] [speed] [turn rate] [seconds]");
+        return;
+      }
+      InetAddress address = InetAddress.getByName(args[0]);
+      int port = args.length > 1 ? Integer.parseInt(args[1]) : 5005;
+      int speed = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+      int turnRate = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+      float seconds = args.length > 4 ? Float.parseFloat(args[4]) : 2;
+
+      UdpRemoteClient client = new UdpRemoteClient(address, port);
+      long end = System.nanoTime() + (long) (seconds * 1e9);
+      while (System.nanoTime() < end) {
+        client.drive(speed, turnRate);
+        Thread.sleep(REPEAT_PERIOD);
+      }
+      client.drive(0, 0);
+      client.close();
+    }
+}
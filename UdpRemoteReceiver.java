@@ -0,0 +1,261 @@
+//------------------------------------------------------------------------------------------
+// UdpRemoteReceiver.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (UdpRemoteReceiver), a background thread which receives the
+// commands of a remote control over UDP (WLAN or USB network of the brick). Unlike the
+// buttons of the infrared remote a drive packet carries continuous values, the speed and
+// the turn rate of the robot. Every packet has 10 bytes, all numbers big endian:
+//
+//     byte 0      MAGIC
+//     byte 1      VERSION in the high 4 bits, kind (DRIVE or BUTTON) in the low 4 bits
+//     byte 2-5    sequence number, increased by the sender for every packet
+//     byte 6-7    DRIVE: speed in degrees of the wheels per second, negative backwards
+//                 BUTTON: channel of the infrared remote (0 to 3)
+//     byte 8-9    DRIVE: turn rate in degrees of the wheels per second, positive left
+//                 BUTTON: button code of the infrared remote
+//
+// UDP may lose, duplicate and reorder packets. A packet whose sequence number is not newer
+// than the last accepted one is dropped as stale, the comparison works across the overflow
+// of the sequence number. After RESYNC_TIME without packets any sequence number is taken,
+// so a restarted sender is accepted again. Packets with a wrong length, magic, version or
+// kind are counted as invalid.
+//
+// The thread only keeps the newest command: it is published with a volatile counter and
+// the control thread takes it in its next tick with poll(), without locks or allocation.
+// A command which is overwritten before the control thread took it is lost, which is
+// wanted, as the newer command replaces it anyway. The sender repeats its drive command
+// (every 100 ms), the control thread stops the robot if no packet arrived for
+// InfraredSignalCheckerThread.UDP_TIMEOUT.
+//
+// Following methods are available:
+//
+// run ()  receives the packets until the receiver gets stopped
+//
+// poll ()  takes the newest command, from the control thread only
+//
+// getKind () / getSpeed () / getTurnRate () / getChannel () / getCommand () / getArrival ()
+//           the command taken by the last poll()
+//
+// getAccepted () / getStale () / getInvalid ()  numbers of the received packets
+//
+// getPort ()  port of the receiver, useful if it was started on port 0
+//
+// shutdown ()  closes the socket and waits for the thread
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+
+
+public class UdpRemoteReceiver extends Thread {
+
+
+    // first byte and protocol version of every packet
+    public static final int MAGIC = 0xE3;
+    public static final int VERSION = 1;
+
+    // kinds of the packets
+    public static final int DRIVE = 1, BUTTON = 2;
+
+    // length of a packet in bytes
+    public static final int PACKET_LENGTH = 10;
+
+    // time in nanoseconds without packets after which any
+    // sequence number is accepted
+    public static final long RESYNC_TIME = 1000000000L;
+
+
+    private final DatagramSocket socket;
+    private final byte[] buffer = new byte[PACKET_LENGTH + 1];
+    private final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+    private volatile boolean running = true;
+
+    // state of the receiving thread
+    private int lastSequence;
+    private long lastAccepted = -1;
+
+    // newest command: kind, first and second value packed into
+    // a long, the arrival time, and the number of accepted
+    // packets which is written last and publishes both
+    private volatile long latest;
+    private volatile long latestArrival;
+    private volatile long accepted;
+    private volatile long stale, invalid;
+
+    // command taken by the last poll() of the control thread
+    private long polled;
+    private int kind, first, second;
+    private long arrival;
+
+
+    //constructor, opens the socket on the given port (0 for any
+    //free port) of all network interfaces
+    public UdpRemoteReceiver(int port) throws SocketException {
+      super("UdpRemoteReceiver");
+      this.socket = new DatagramSocket(port);
+      setDaemon(true);
+    }
+
+
+    @Override
+    public void run() {
+      while (running) {
+        try {
+          packet.setLength(buffer.length);
+          socket.receive(packet);
+          accept(packet.getLength(), System.nanoTime());
+        }
+        catch (SocketException e) {
+          // the socket was closed by shutdown()
+          if (!running) {
+            break;
+          }
+        }
+        catch (IOException e) {
+          // a broken packet is lost like on the air
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //accept (int length, long now)
+    //  checks the received packet and publishes it if it is
+    //  newer than the last accepted one
+    //-------------------------------------------------------
+    private void accept(int length, long now) {
+      int kind = buffer[1] & 0x0F;
+      if (length != PACKET_LENGTH || (buffer[0] & 0xFF) != MAGIC
+          || (buffer[1] & 0xFF) >>> 4 != VERSION || (kind != DRIVE && kind != BUTTON)) {
+        invalid++;
+        return;
+      }
+
+      int sequence = readInt(2);
+      if (lastAccepted >= 0 && now - lastAccepted < RESYNC_TIME && sequence - lastSequence <= 0) {
+        stale++;
+        return;
+      }
+      lastSequence = sequence;
+      lastAccepted = now;
+
+      latest = (long) kind << 32 | (readShort(6) & 0xFFFFL) << 16 | (readShort(8) & 0xFFFFL);
+      latestArrival = now;
+      accepted++;
+    }
+
+
+    private int readInt(int offset) {
+      return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16
+          | (buffer[offset + 2] & 0xFF) << 8 | (buffer[offset + 3] & 0xFF);
+    }
+
+
+    private short readShort(int offset) {
+      return (short) ((buffer[offset] & 0xFF) << 8 | (buffer[offset + 1] & 0xFF));
+    }
+
+
+    //-------------------------------------------------------
+    //poll ()
+    //  takes the newest command if a packet was accepted
+    //  since the last poll, from the control thread only
+    //
+    // Effect:
+    //  returns true if a packet arrived, the command can be
+    //  read with the getters until the next poll. A repeated
+    //  command also returns true.
+    //-------------------------------------------------------
+    public boolean poll() {
+      long count = accepted;
+      if (count == polled) {
+        return false;
+      }
+      polled = count;
+      long command = latest;
+      arrival = latestArrival;
+      kind = (int) (command >>> 32);
+      first = (short) (command >>> 16);
+      second = (short) command;
+      return true;
+    }
+
+
+    // DRIVE or BUTTON
+    public int getKind() {
+      return kind;
+    }
+
+
+    // speed of a DRIVE command in degrees per second
+    public int getSpeed() {
+      return first;
+    }
+
+
+    // turn rate of a DRIVE command in degrees per second
+    public int getTurnRate() {
+      return second;
+    }
+
+
+    // channel of a BUTTON command
+    public int getChannel() {
+      return first;
+    }
+
+
+    // button code of a BUTTON command
+    public int getCommand() {
+      return second;
+    }
+
+
+    // System.nanoTime() when the polled packet arrived
+    public long getArrival() {
+      return arrival;
+    }
+
+
+    public long getAccepted() {
+      return accepted;
+    }
+
+
+    // packets dropped because they were not newer than the last one
+    public long getStale() {
+      return stale;
+    }
+
+
+    public long getInvalid() {
+      return invalid;
+    }
+
+
+    public int getPort() {
+      return socket.getLocalPort();
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown ()
+    //  stops the receiver, a packet which is checked right
+    //  now still gets published
+    //-------------------------------------------------------
+    public void shutdown() throws InterruptedException {
+      running = false;
+      socket.close();
+      join();
+    }
+}
@@ -0,0 +1,95 @@
+//------------------------------------------------------------------------------------------
+// VirtualClock.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains the class (VirtualClock), the time source of the simulator. The time
+// only moves forward when the control logic waits (msDelay) or reads a simulated device
+// (advance). Every advance steps the simulated world in steps of at most one millisecond,
+// so a simulation run is deterministic and runs as fast as the CPU allows.
+//
+// Following methods are available:
+//
+// nanoTime ()  current virtual time in nanoseconds
+//
+// msDelay (long period) / nsDelay (long period)  moves the virtual time forward
+//
+// advance (long nanos)  moves the virtual time forward and steps the world
+//
+// setDeadline (long nanos)  the world gets halted when the deadline is reached
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+
+public class VirtualClock implements RobotClock {
+
+
+    // longest step of the world in nanoseconds
+    public static final long STEP_NANOS = 1000000L;
+
+
+    private final SimWorld world;
+    private long now;
+    private long deadline = Long.MAX_VALUE;
+
+
+    //constructor
+    public VirtualClock(SimWorld world) {
+      this.world = world;
+    }
+
+
+    @Override
+    public long nanoTime() {
+      return now;
+    }
+
+
+    @Override
+    public void msDelay(long period) {
+      advance(period * 1000000L);
+    }
+
+
+    @Override
+    public void nsDelay(long period) {
+      advance(period);
+    }
+
+
+    //-------------------------------------------------------
+    //advance (long nanos)
+    //  moves the virtual time forward by the given amount of
+    //  nanoseconds and steps the world along the way
+    //
+    // Effect:
+    //  the simulated robot moves, the world gets halted if
+    //  the deadline is reached
+    //-------------------------------------------------------
+    public void advance(long nanos) {
+      while (nanos > 0) {
+        long step = nanos < STEP_NANOS ? nanos : STEP_NANOS;
+        now += step;
+        nanos -= step;
+        world.step(step);
+
+        if (now >= deadline && !world.isHalted()) {
+          world.halt(SimWorld.HALT_TIMEOUT);
+        }
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //setDeadline (long nanos)
+    //  sets the virtual time at which the world gets halted
+    //-------------------------------------------------------
+    public void setDeadline(long nanos) {
+      this.deadline = nanos;
+    }
+}
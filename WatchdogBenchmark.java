@@ -0,0 +1,288 @@
+//------------------------------------------------------------------------------------------
+// WatchdogBenchmark.java
+// Lego Mindstorms EV3 Project
+//
+// Authors:   Andreas Pilgerstorfer
+//            Alexander Schönmann
+//
+// Created:   18.10.2026
+// Last changed: 18.10.2026
+//
+// This file contains a test class (WatchdogBenchmark), which runs the control thread in
+// real time with stub devices and a ControlLoopWatchdog and measures two things:
+//
+//     shutdown   the time shutdown() needs to end the control thread, while the robot is
+//                driving by the remote control and while the autopilot runs. The shutdown
+//                is requested at a random time of the period. At the end the motors must
+//                stand still and the watchdog must not have stopped them.
+//     hang       the read of the infrared remote hangs for three deadlines while the robot
+//                drives forward. The time from the start of the hang until the motors get
+//                the stop of the watchdog is measured for several deadlines, it has to stay
+//                below the deadline. Without the watchdog the motors would run for the
+//                whole hang. After the hang the robot has to stay stopped.
+//
+// usage: WatchdogBenchmark [rounds] [control period in ms]   (default 50 10)
+//------------------------------------------------------------------------------------------
+package remoteControl;
+
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import lejos.robotics.SampleProvider;
+
+
+public class WatchdogBenchmark {
+
+
+    // buttons of driving forward on channel 0 and of the
+    // autopilot on channel 3
+    private static final int FORWARD_BUTTON = 3;
+    private static final int AUTOPILOT_BUTTON = 2;
+
+    // deadlines of the watchdog in ms for the hang
+    private static final int[] DEADLINES = {30, 50, 100, 200};
+
+    // time in ms the benchmark waits for the stop of the watchdog
+    private static final int STOP_TIMEOUT = 2000;
+
+
+    public static void main(String[] args) throws Exception {
+      int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+      int period = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+      Random random = new Random(1);
+
+      System.out.printf("control period %d ms, %d rounds%n%n", period, rounds);
+      System.out.printf("%-22s %9s %9s %9s %8s %8s%n", "shutdown", "mean", "p99", "max",
+          "trips", "moving");
+      shutdown(rounds, period, false, random);
+      shutdown(rounds, period, true, random);
+
+      System.out.printf("%n%-22s %9s %9s %9s %8s %8s%n", "hang, deadline", "mean", "max",
+          "from beat", "trips", "moving");
+      for (int deadline : DEADLINES) {
+        hang(Math.max(1, rounds / 5), period, deadline);
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //shutdown (int rounds, int period, boolean autopilot,
+    //          Random random)
+    //  ends a running control thread with shutdown() and
+    //  prints the latencies
+    //-------------------------------------------------------
+    private static void shutdown(int rounds, int period, boolean autopilot, Random random)
+        throws InterruptedException {
+      LatencyHistogram latency = new LatencyHistogram();
+      long trips = 0;
+      int moving = 0;
+      for (int round = 0; round < rounds; round++) {
+        Robot robot = new Robot(period, ControlLoopWatchdog.DEADLINE);
+        if (autopilot) {
+          robot.infrared.channel = 3;
+          robot.infrared.button = AUTOPILOT_BUTTON;
+        }
+        else {
+          robot.infrared.button = FORWARD_BUTTON;
+        }
+        Thread.sleep(5 * period);
+        LockSupport.parkNanos(random.nextInt(period * 1000) * 1000L);
+
+        long nanos = robot.controller.shutdown(STOP_TIMEOUT);
+        latency.record(nanos < 0 ? STOP_TIMEOUT * 1000000L : nanos);
+        trips += robot.watchdog.getTrips();
+        if (robot.left.moving || robot.right.moving) {
+          moving++;
+        }
+        robot.watchdog.shutdown();
+      }
+      System.out.printf("%-22s %6.2f ms %6.2f ms %6.2f ms %8d %8d%n",
+          autopilot ? "autopilot" : "remote control", latency.getMean() / 1e6,
+          latency.getPercentile(99) / 1e6, latency.getMax() / 1e6, trips, moving);
+    }
+
+
+    //-------------------------------------------------------
+    //hang (int rounds, int period, int deadline)
+    //  lets the read of the remote hang while the robot
+    //  drives forward and prints the time until the motors
+    //  got the stop of the watchdog
+    //-------------------------------------------------------
+    private static void hang(int rounds, int period, int deadline) throws InterruptedException {
+      LatencyHistogram latency = new LatencyHistogram();
+      long trips = 0, fromBeat = 0;
+      int moving = 0;
+      for (int round = 0; round < rounds; round++) {
+        Robot robot = new Robot(period, deadline);
+        robot.infrared.button = FORWARD_BUTTON;
+        Thread.sleep(5 * period);
+
+        robot.infrared.hang = 3 * deadline;
+        long timeout = System.nanoTime() + STOP_TIMEOUT * 1000000L;
+        while ((robot.infrared.hangStart == 0 || robot.left.moving)
+            && System.nanoTime() < timeout) {
+          LockSupport.parkNanos(50000);
+        }
+        latency.record(robot.left.stopTime - robot.infrared.hangStart);
+
+        // the control thread goes on after the hang
+        Thread.sleep(3 * deadline + 5 * period);
+        if (robot.left.moving || robot.right.moving) {
+          moving++;
+        }
+        robot.controller.shutdown(STOP_TIMEOUT);
+        robot.watchdog.shutdown();
+        trips += robot.watchdog.getTrips();
+        fromBeat = Math.max(fromBeat, robot.watchdog.getStopLatency().getMax());
+      }
+      System.out.printf("%-22s %6.2f ms %6.2f ms %6.2f ms %8d %8d%n", deadline + " ms",
+          latency.getMean() / 1e6, latency.getMax() / 1e6, fromBeat / 1e6, trips, moving);
+    }
+
+
+    //-------------------------------------------------------
+    //Robot
+    //  a running control thread with stub devices and its
+    //  watchdog
+    //-------------------------------------------------------
+    private static class Robot {
+
+      final StubInfrared infrared = new StubInfrared();
+      final TimingMotor left = new TimingMotor();
+      final TimingMotor right = new TimingMotor();
+      final InfraredSignalCheckerThread controller;
+      final ControlLoopWatchdog watchdog;
+
+      Robot(int period, int deadline) {
+        controller = new InfraredSignalCheckerThread(infrared, new StubTouch(), new StubTouch(),
+            left, right, new TimingMotor(), new RealClock());
+        controller.setControlPeriod(period);
+        watchdog = new ControlLoopWatchdog(left, right, new TimingMotor());
+        watchdog.setDeadline(deadline * 1000000L);
+        watchdog.start();
+        controller.setWatchdog(watchdog);
+        controller.isRunning = true;
+        controller.start();
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //StubInfrared
+    //  an infrared remote with the button which is set by
+    //  the benchmark, a distance far away and a read of the
+    //  remote which hangs once if hang is set
+    //-------------------------------------------------------
+    private static class StubInfrared implements InfraredDevice {
+
+      volatile int channel;
+      volatile int button;
+      volatile int hang;
+      volatile long hangStart;
+
+      private final SampleProvider distanceMode = new SampleProvider() {
+        @Override
+        public int sampleSize() {
+          return 1;
+        }
+
+        @Override
+        public void fetchSample(float[] sample, int offset) {
+          sample[offset] = 100;
+        }
+      };
+
+      @Override
+      public int getRemoteCommand(int channel) {
+        return channel == this.channel ? button : 0;
+      }
+
+      @Override
+      public void getRemoteCommands(byte[] commands, int offset, int count) {
+        int millis = hang;
+        if (millis > 0) {
+          hang = 0;
+          hangStart = System.nanoTime();
+          LockSupport.parkNanos(millis * 1000000L);
+        }
+        for (int i = 0; i < count; i++) {
+          commands[offset + i] = (byte) getRemoteCommand(i);
+        }
+      }
+
+      @Override
+      public SampleProvider getDistanceMode() {
+        return distanceMode;
+      }
+
+      @Override
+      public void close() {
+      }
+    }
+
+
+    //-------------------------------------------------------
+    //StubTouch
+    //  a touch sensor which is always pressed
+    //-------------------------------------------------------
+    private static class StubTouch implements TouchDevice {
+
+      @Override public int sampleSize() { return 1; }
+      @Override public void fetchSample(float[] sample, int offset) { sample[offset] = 1; }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //TimingMotor
+    //  a motor which remembers whether it moves and the time
+    //  of its last stop
+    //-------------------------------------------------------
+    private static class TimingMotor implements MotorDevice {
+
+      volatile boolean moving;
+      volatile long stopTime;
+
+      private void stopped() {
+        moving = false;
+        stopTime = System.nanoTime();
+      }
+
+      @Override public void forward() { moving = true; }
+      @Override public void backward() { moving = true; }
+      @Override public void stop() { stopped(); }
+      @Override public void stop(boolean immediateReturn) { stopped(); }
+      @Override public void setSpeed(int speed) { }
+      @Override public void setAcceleration(int acceleration) { }
+      @Override public boolean isMoving() { return moving; }
+      @Override public int getTachoCount() { return 0; }
+      @Override public void rotateTo(int angle, boolean immediateReturn) { }
+      @Override public void synchronizeWith(MotorDevice[] syncList) { }
+      @Override public void startSynchronization() { }
+      @Override public void endSynchronization() { }
+      @Override public void close() { }
+    }
+
+
+    //-------------------------------------------------------
+    //RealClock
+    //  the clock of the brick without the leJOS Delay class
+    //-------------------------------------------------------
+    private static class RealClock implements RobotClock {
+
+      @Override
+      public long nanoTime() {
+        return System.nanoTime();
+      }
+
+      @Override
+      public void msDelay(long period) {
+        LockSupport.parkNanos(period * 1000000L);
+      }
+
+      @Override
+      public void nsDelay(long period) {
+        LockSupport.parkNanos(period);
+      }
+    }
+}